@@ -2,6 +2,7 @@ package com.laderrco.fortunelink.portfolio.api.web.controller;
 
 import com.laderrco.fortunelink.portfolio.api.web.dto.requests.ExcludeTransactionRequest;
 import com.laderrco.fortunelink.portfolio.api.web.dto.requests.FeeRequest;
+import com.laderrco.fortunelink.portfolio.api.web.dto.requests.LotSelectionRequest;
 import com.laderrco.fortunelink.portfolio.api.web.dto.requests.transactions.RecordDRIPRequest;
 import com.laderrco.fortunelink.portfolio.api.web.dto.requests.transactions.RecordDepositRequest;
 import com.laderrco.fortunelink.portfolio.api.web.dto.requests.transactions.RecordDividendRequest;
@@ -36,6 +37,7 @@ import com.laderrco.fortunelink.portfolio.application.views.TransactionView;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Fee;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Fee.FeeMetadata;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotSelection;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
@@ -124,7 +126,8 @@ public class TransactionController {
    * Records an asset sale.
    * <p>
    * Increases the account's cash balance and decreases the position quantity. This action triggers
-   * realized gain/loss calculations.
+   * realized gain/loss calculations. On SPECIFIC_ID accounts, {@code lots} names the tax lots to
+   * close by the id of the transaction that opened each one.
    */
   @PostMapping("/sell")
   @ResponseStatus(HttpStatus.CREATED)
@@ -142,7 +145,7 @@ public class TransactionController {
             userId, AccountId.fromString(accountId), request.symbol(),
             new Quantity(request.quantity()),
             Price.of(request.price(), Currency.of(request.currency())), fees, validatedDate,
-            emptyIfNull(request.notes())));
+            emptyIfNull(request.notes()), mapLotSelections(request.lots())));
   }
 
   /**
@@ -446,6 +449,16 @@ public class TransactionController {
             new FeeMetadata(Map.of()))).toList();
   }
 
+  private List<LotSelection> mapLotSelections(List<LotSelectionRequest> lotRequests) {
+    if (lotRequests == null || lotRequests.isEmpty()) {
+      return List.of();
+    }
+
+    return lotRequests.stream()
+        .map(l -> new LotSelection(new TransactionId(l.lotId()), new Quantity(l.quantity())))
+        .toList();
+  }
+
   private UUID validateUuid(String idempotencyKey) {
     return idempotencyKey != null ? UUID.fromString(idempotencyKey) : UUID.randomUUID();
   }
@@ -0,0 +1,16 @@
+package com.laderrco.fortunelink.portfolio.api.web.dto.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Schema(description = "A tax lot closed by a SPECIFIC_ID sale")
+public record LotSelectionRequest(
+    @Schema(description = "Id of the BUY or DRIP transaction that opened the lot")
+    @NotNull UUID lotId,
+
+    @Schema(description = "Quantity to sell from this lot", example = "2.5")
+    @NotNull @Positive BigDecimal quantity) {
+}
@@ -1,8 +1,10 @@
 package com.laderrco.fortunelink.portfolio.api.web.dto.requests.transactions;
 
 import com.laderrco.fortunelink.portfolio.api.web.dto.requests.FeeRequest;
+import com.laderrco.fortunelink.portfolio.api.web.dto.requests.LotSelectionRequest;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -16,5 +18,7 @@ public record RecordSaleRequest(
     @Schema(example = "USD") @NotNull String currency,
     List<FeeRequest> fees,
     Instant transactionDate,
-    String notes) {
+    String notes,
+    @Schema(description = "Lots to sell from; only for SPECIFIC_ID accounts")
+    List<@Valid LotSelectionRequest> lots) {
 }
\ No newline at end of file
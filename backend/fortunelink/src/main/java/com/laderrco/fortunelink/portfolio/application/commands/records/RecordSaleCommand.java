@@ -3,6 +3,7 @@ package com.laderrco.fortunelink.portfolio.application.commands.records;
 import com.laderrco.fortunelink.portfolio.application.utils.annotations.AdditionalInfoTransactionCommand;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Fee;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotSelection;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
@@ -13,6 +14,10 @@ import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * @param lotSelections lots to close, for SPECIFIC_ID accounts; empty lets the account's strategy
+ *                      pick
+ */
 public record RecordSaleCommand(
     UUID idempotencyKey,
     PortfolioId portfolioId,
@@ -23,7 +28,12 @@ public record RecordSaleCommand(
     Price price,
     List<Fee> fees,
     Instant transactionDate,
-    String notes) implements AdditionalInfoTransactionCommand {
+    String notes,
+    List<LotSelection> lotSelections) implements AdditionalInfoTransactionCommand {
+  public RecordSaleCommand {
+    lotSelections = lotSelections == null ? List.of() : List.copyOf(lotSelections);
+  }
+
   public Money totalFees(Currency currency) {
     return Fee.totalInAccountCurrency(fees, currency);
   }
@@ -0,0 +1,15 @@
+package com.laderrco.fortunelink.portfolio.application.exceptions;
+
+/**
+ * Thrown when a recalculation could not run yet. The run leaves its queue entry unacknowledged, so
+ * the entry becomes due again once its lease runs out instead of the request being dropped.
+ */
+public class RecalculationDeferredException extends RuntimeException {
+  public RecalculationDeferredException(String message) {
+    super(message);
+  }
+
+  public RecalculationDeferredException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -13,7 +13,10 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Pe
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.FifoPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.LifoPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.LotPosition;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.SpecificIdPosition;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.services.ExchangeRateService;
 import com.laderrco.fortunelink.shared.enums.Precision;
@@ -52,12 +55,14 @@ public class PortfolioViewMapper {
 
   /**
    * Determines the cost basis methodology used by the position. Returns "ACB" for Canadian tax
-   * method or "FIFO" for US tax method.
+   * method, or "FIFO", "LIFO" or "SPECIFIC_ID" for the lot-based methods.
    */
   private static String determineMethodology(Position position) {
     return switch (position) {
       case AcbPosition _ -> "ACB";
       case FifoPosition _ -> "FIFO";
+      case LifoPosition _ -> "LIFO";
+      case SpecificIdPosition _ -> "SPECIFIC_ID";
     };
   }
 
@@ -71,9 +76,9 @@ public class PortfolioViewMapper {
   private static Instant extractFirstAcquiredDate(Position position) {
     return switch (position) {
       case AcbPosition acb -> acb.firstAcquiredAt();
-      case FifoPosition fifo -> {
-        var lots = fifo.lots();
-        yield lots.isEmpty() ? null : lots.get(0).acquiredDate();
+      case LotPosition lp -> {
+        var lots = lp.lots();
+        yield lots.isEmpty() ? null : lots.getFirst().acquiredDate();
       }
     };
   }
@@ -152,6 +157,15 @@ public class PortfolioViewMapper {
    */
   public PositionView toPositionView(Position position, MarketAssetQuote quote,
       Money feesForSymbol) {
+    return toPositionView(position, quote, feesForSymbol, determineMethodology(position));
+  }
+
+  /**
+   * Maps position totals whose methodology is not their type: read-model rows arrive as an
+   * {@link AcbPosition} whatever the account's strategy, which the caller passes in.
+   */
+  public PositionView toPositionView(Position position, MarketAssetQuote quote,
+      Money feesForSymbol, String methodology) {
     AssetSymbol symbol = position.symbol();
     Currency currency = position.accountCurrency();
 
@@ -167,7 +181,7 @@ public class PortfolioViewMapper {
           Price.zero(currency), // current price unknown
           Money.zero(currency), // market value unknown
           Money.zero(currency), // unrealized P&L unknown
-          PercentageChange.ZERO, determineMethodology(position), extractFirstAcquiredDate(position),
+          PercentageChange.ZERO, methodology, extractFirstAcquiredDate(position),
           extractLastModifiedDate(position));
     }
 
@@ -192,7 +206,7 @@ public class PortfolioViewMapper {
 
     return new PositionView(symbol.symbol(), position.type(), position.totalQuantity(),
         new Price(position.totalCostBasis()), new Price(position.costPerUnit()), fees,
-        normalizedPrice, marketValue, unrealizedPnL, returnPct, determineMethodology(position),
+        normalizedPrice, marketValue, unrealizedPnL, returnPct, methodology,
         extractFirstAcquiredDate(position), extractLastModifiedDate(position));
   }
 }
\ No newline at end of file
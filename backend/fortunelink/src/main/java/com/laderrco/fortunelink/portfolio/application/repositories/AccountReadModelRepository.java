@@ -0,0 +1,64 @@
+package com.laderrco.fortunelink.portfolio.application.repositories;
+
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountLifecycleState;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Denormalized read side of accounts and their open positions.
+ * <p>
+ * {@code account_summary_view} and {@code position_view} hold what the account list and detail
+ * screens show, with the excluded-transaction count and per-symbol BUY fees already aggregated, so
+ * each screen is one indexed query instead of an aggregate load plus follow-up lookups. The rows
+ * are derived data: {@link #refresh} rewrites them from the write tables and is run before every
+ * account-changing commit, and can be run over every account to rebuild them from scratch.
+ */
+public interface AccountReadModelRepository {
+  /**
+   * One page of the non-CLOSED accounts of a live portfolio owned by {@code userId}, in creation
+   * order, each with its positions. Empty, not an error, when the portfolio is missing or belongs
+   * to someone else; callers that need to tell those apart check ownership on an empty page.
+   */
+  Page<AccountRow> findByPortfolioId(PortfolioId portfolioId, UserId userId, Pageable pageable);
+
+  /**
+   * One account of a live portfolio owned by {@code userId}, with its positions.
+   */
+  Optional<AccountRow> findById(PortfolioId portfolioId, UserId userId, AccountId accountId);
+
+  /**
+   * Rewrites the read rows of {@code accountIds} from accounts, positions and transactions. Runs in
+   * the caller's transaction, after flushing it, so it sees that transaction's own writes.
+   */
+  void refresh(Collection<AccountId> accountIds);
+
+  /**
+   * Next page of account ids greater than {@code afterAccountId}, in id order, for a full rebuild.
+   */
+  List<AccountId> findAccountIdsAfter(UUID afterAccountId, int limit);
+
+  record AccountRow(AccountId accountId, String name, AccountType type,
+      AccountLifecycleState state, PositionStrategy strategy, Currency currency, Money cashBalance,
+      int excludedTransactionCount, Instant createdDate, List<PositionRow> positions) {
+  }
+
+  /**
+   * {@code totals} carries only what the row stores (quantity, cost basis, dates), whatever the
+   * account's strategy; lots stay in the write model.
+   */
+  record PositionRow(AcbPosition totals, Money feesIncurred) {
+  }
+}
@@ -0,0 +1,35 @@
+package com.laderrco.fortunelink.portfolio.application.repositories;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Work list and outcome log of the STALE-account sweeper.
+ */
+public interface AccountRepairRepository {
+  /**
+   * Next page of open STALE accounts with an id greater than {@code afterAccountId}, in id order,
+   * leaving out accounts whose last failed repair backs them off past {@code now}.
+   */
+  List<StaleAccount> findRepairableAfter(UUID afterAccountId, Instant now, int limit);
+
+  /**
+   * Records a successful repair and resets the account's failure count.
+   */
+  void recordHealed(AccountId accountId, Instant at);
+
+  /**
+   * Records a failed repair. The account is not offered again until
+   * {@code min(baseBackoff * 2^previousFailures, maxBackoff)} after {@code at}.
+   */
+  void recordFailure(AccountId accountId, String error, Instant at, Duration baseBackoff,
+      Duration maxBackoff);
+
+  record StaleAccount(PortfolioId portfolioId, UserId userId, AccountId accountId) {
+  }
+}
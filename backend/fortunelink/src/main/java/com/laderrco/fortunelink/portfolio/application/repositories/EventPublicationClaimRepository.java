@@ -0,0 +1,28 @@
+package com.laderrco.fortunelink.portfolio.application.repositories;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface EventPublicationClaimRepository {
+  /**
+   * Claims up to {@code batchSize} incomplete publications that were published before
+   * {@code publishedBefore} and not claimed since {@code claimedBefore}.
+   * <p>
+   * Rows locked by another node's claim are skipped rather than waited on, and claimed rows are
+   * stamped so that other nodes leave them alone until {@code claimedBefore} moves past the stamp.
+   */
+  List<ClaimedPublication> claimIncomplete(Instant publishedBefore, Instant claimedBefore,
+      int batchSize);
+
+  /**
+   * Clears the claim stamp of publications that could not be handed to their listener, so the next
+   * round claims them again instead of waiting out the lease.
+   */
+  void releaseClaims(Collection<UUID> publicationIds);
+
+  record ClaimedPublication(UUID id, String listenerId, String eventType,
+      String serializedEvent) {
+  }
+}
@@ -1,9 +1,13 @@
 package com.laderrco.fortunelink.portfolio.application.repositories;
 
 import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.GainsAggregation;
+import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.LossSaleCandidate;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.RealizedGainRecord;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,6 +25,13 @@ public interface RealizedGainsQueryRepository {
 
   GainsAggregation calculateTotals(AccountId accountId, Integer year, AssetSymbol symbol);
 
+  /**
+   * Taxable ACB accounts of the user with a loss sale of {@code symbol} between {@code from} and
+   * {@code to}, both inclusive.
+   */
+  List<LossSaleCandidate> findLossSales(UserId userId, AssetSymbol symbol, Instant from,
+      Instant to);
+
   // Lightweight, avoids loading the full account aggregate just for currency.
   Optional<String> findAccountCurrencyCode(AccountId accountId);
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.laderrco.fortunelink.portfolio.application.repositories;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import java.util.Optional;
+
+/**
+ * Change stamps for the aggregates behind cached read views, one indexed lookup each.
+ * <p>
+ * Built from the JPA {@code @Version} columns: every domain write touches the account or portfolio
+ * it changes, so its version moves. Transaction-side writes that leave the account row alone
+ * (exclusion, restore, purge) bump the account version explicitly. Account health is also flipped
+ * to STALE by a bulk update that bypasses versioning, which is why the stale count is part of the
+ * stamp.
+ */
+public interface ViewVersionRepository {
+  /**
+   * Stamp of a live portfolio owned by {@code userId}, or empty if there is none.
+   */
+  Optional<ViewVersion> findPortfolioVersion(PortfolioId portfolioId, UserId userId);
+
+  /**
+   * Stamp of one account in a live portfolio owned by {@code userId}, or empty if there is none.
+   */
+  Optional<ViewVersion> findAccountVersion(PortfolioId portfolioId, UserId userId,
+      AccountId accountId);
+
+  /**
+   * {@code version} is the portfolio's or account's own; the account fields cover the accounts
+   * under it (just the one, for an account stamp).
+   */
+  record ViewVersion(long version, long accounts, long accountVersions, long staleAccounts) {
+  }
+}
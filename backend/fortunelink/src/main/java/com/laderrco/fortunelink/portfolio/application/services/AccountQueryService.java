@@ -2,22 +2,17 @@ package com.laderrco.fortunelink.portfolio.application.services;
 
 import com.laderrco.fortunelink.portfolio.application.queries.GetAccountSummaryQuery;
 import com.laderrco.fortunelink.portfolio.application.queries.GetAllAccountsQuery;
-import com.laderrco.fortunelink.portfolio.application.repositories.AccountQueryRepository;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository.AccountRow;
 import com.laderrco.fortunelink.portfolio.application.utils.AccountViewBuilder;
-import com.laderrco.fortunelink.portfolio.application.utils.PortfolioAccessUtils;
 import com.laderrco.fortunelink.portfolio.application.utils.PortfolioLoader;
+import com.laderrco.fortunelink.portfolio.application.utils.VersionedViewCache;
 import com.laderrco.fortunelink.portfolio.application.views.AccountView;
 import com.laderrco.fortunelink.portfolio.domain.exceptions.AccountNotFoundException;
-import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountLifecycleState;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.MarketAssetQuote;
-import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
-import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
-import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
-import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
 import com.laderrco.fortunelink.portfolio.domain.services.MarketDataService;
-import com.laderrco.fortunelink.portfolio.infrastructure.persistence.projections.AccountSummaryProjection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -31,67 +26,50 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Account-level read operations.
+ * Account-level read operations, served from the account read model (account_summary_view and
+ * position_view) rather than the Portfolio aggregate.
  * <p>
- * getAllAccounts: paginated, does NOT load the Portfolio aggregate. Queries accounts table directly
- * -> batch-fetches symbols -> batch-fetches quotes. Three DB/cache hits total regardless of how
- * many accounts are on the page.
+ * getAllAccounts: paginated. One query returns the page of accounts with every position's
+ * quantity, then one batch-fetch of quotes. Two DB/cache hits total regardless of how many accounts
+ * are on the page; ownership is only checked separately when the page comes back empty, to tell a
+ * missing or foreign portfolio from one with no accounts.
  * <p>
- * getAccountSummary: single account, DOES load the aggregate because it needs full position detail
- * (quantity, cost basis per lot, etc.) for the detail view.
+ * getAccountSummary: single account. One query returns the account, its positions, per-symbol BUY
+ * fees and the excluded-transaction count. The assembled view is cached in
+ * {@link VersionedViewCache} until the account changes or prices move to a new cache window.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class AccountQueryService {
   private final MarketDataService marketDataService;
-  private final TransactionRepository transactionRepository;
-  private final AccountQueryRepository accountQueryRepository;
+  private final AccountReadModelRepository accountReadModelRepository;
   private final PortfolioLoader portfolioLoader;
   private final AccountViewBuilder accountViewBuilder;
+  private final VersionedViewCache viewCache;
 
   public Page<AccountView> getAllAccounts(GetAllAccountsQuery query) {
-    portfolioLoader.validateOwnership(query.portfolioId(), query.userId());
-
     Pageable pageable = query.pageable();
-    Page<AccountSummaryProjection> page = accountQueryRepository.findByPortfolioId(
-        query.portfolioId(), pageable);
+    Page<AccountRow> page = accountReadModelRepository.findByPortfolioId(query.portfolioId(),
+        query.userId(), pageable);
 
     if (page.isEmpty()) {
+      portfolioLoader.validateOwnership(query.portfolioId(), query.userId());
       return new PageImpl<>(List.of(), pageable, page.getTotalElements());
     }
 
-    List<AccountSummaryProjection> projections = page.getContent();
-
-    boolean hasActiveAccounts = projections.stream().anyMatch(
-        p -> !AccountLifecycleState.CLOSED.name().equals(p.getLifecycleState())
-            && !AccountLifecycleState.REPLAYING.name().equals(p.getLifecycleState()));
-
-    if (!hasActiveAccounts) {
-      List<AccountView> content = projections.stream()
-          .map(p -> accountViewBuilder.buildFromProjection(p, Map.of(), Map.of(), Map.of()))
-          .toList();
-      return new PageImpl<>(content, pageable, page.getTotalElements());
-    }
-
-    List<AccountId> accountIds = projections.stream().map(a -> new AccountId(a.getId())).toList();
-
-    Map<AccountId, Map<AssetSymbol, Quantity>> quantitiesByAccount = accountQueryRepository.findQuantitiesForAccounts(
-        accountIds);
-
-    Set<AssetSymbol> allSymbols = quantitiesByAccount.values().stream()
-        .flatMap(m -> m.keySet().stream()).collect(Collectors.toSet());
+    // CLOSED accounts are never listed; a page of only REPLAYING ones is not priced.
+    boolean hasActiveAccounts = page.getContent().stream()
+        .anyMatch(row -> row.state() == AccountLifecycleState.ACTIVE);
+    Set<AssetSymbol> symbols = !hasActiveAccounts ? Set.of() : page.getContent().stream()
+        .flatMap(row -> row.positions().stream()).map(position -> position.totals().symbol())
+        .collect(Collectors.toSet());
 
     Map<AssetSymbol, MarketAssetQuote> quoteCache =
-        allSymbols.isEmpty() ? Map.of() : marketDataService.getBatchQuotes(allSymbols);
-
-    List<AccountView> content = projections.stream().map(projection -> {
-      AccountId currentId = AccountId.fromString(projection.getId().toString());
-      var accountQuantities = quantitiesByAccount.getOrDefault(currentId, Map.of());
+        symbols.isEmpty() ? Map.of() : marketDataService.getBatchQuotes(symbols);
 
-      return accountViewBuilder.buildFromProjection(projection, accountQuantities, quoteCache,
-          Map.of());
-    }).toList();
+    List<AccountView> content = page.getContent().stream()
+        .map(row -> accountViewBuilder.buildSummary(row, quoteCache)).toList();
 
     return new PageImpl<>(content, pageable, page.getTotalElements());
   }
@@ -99,19 +77,21 @@ public class AccountQueryService {
   public AccountView getAccountSummary(GetAccountSummaryQuery query) {
     Objects.requireNonNull(query, "GetAccountSummaryQuery cannot be null");
 
-    Account account = accountQueryRepository.findByIdWithDetails(query.accountId(),
-            query.portfolioId(), query.userId())
+    return viewCache.account(query.portfolioId(), query.userId(), query.accountId(),
+        () -> buildAccount(query));
+  }
+
+  private AccountView buildAccount(GetAccountSummaryQuery query) {
+    AccountRow account = accountReadModelRepository.findById(query.portfolioId(), query.userId(),
+            query.accountId())
         .orElseThrow(() -> new AccountNotFoundException(query.accountId(), query.portfolioId()));
 
-    if (account.getPositionCount() == 0) {
-      return accountViewBuilder.build(account, Map.of(), Map.of());
+    if (account.positions().isEmpty()) {
+      return accountViewBuilder.build(account, Map.of());
     }
 
-    Set<AssetSymbol> symbols = PortfolioAccessUtils.extractSymbolsByAccount(account);
-    Map<AssetSymbol, MarketAssetQuote> quoteCache = marketDataService.getBatchQuotes(symbols);
-    Map<AssetSymbol, Money> feeBreakdown = transactionRepository.sumBuyFeesBySymbolForAccount(
-        account.getAccountId());
-
-    return accountViewBuilder.build(account, quoteCache, feeBreakdown);
+    Set<AssetSymbol> symbols = account.positions().stream()
+        .map(position -> position.totals().symbol()).collect(Collectors.toSet());
+    return accountViewBuilder.build(account, marketDataService.getBatchQuotes(symbols));
   }
-}
\ No newline at end of file
+}
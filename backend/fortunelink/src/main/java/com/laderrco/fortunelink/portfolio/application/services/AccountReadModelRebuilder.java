@@ -0,0 +1,53 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Regenerates the whole account read model from the write tables.
+ * <p>
+ * Walks every account in id order with keyset pagination and refreshes one page per transaction,
+ * so a rebuild never holds locks on more than a page of read rows. A refresh is idempotent: running
+ * this while users write only repeats work their own commits already did.
+ */
+@Service
+public class AccountReadModelRebuilder {
+  private static final Logger log = LoggerFactory.getLogger(AccountReadModelRebuilder.class);
+  private static final UUID FIRST_PAGE = new UUID(0, 0);
+
+  private final AccountReadModelRepository accountReadModelRepository;
+  private final int pageSize;
+
+  public AccountReadModelRebuilder(AccountReadModelRepository accountReadModelRepository,
+      @Value("${fortunelink.read-model.rebuild.page-size:500}") int pageSize) {
+    this.accountReadModelRepository = accountReadModelRepository;
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * Refreshes every account and returns how many there were.
+   */
+  public int rebuild() {
+    int refreshed = 0;
+    UUID after = FIRST_PAGE;
+    List<AccountId> page;
+    do {
+      page = accountReadModelRepository.findAccountIdsAfter(after, pageSize);
+      if (page.isEmpty()) {
+        break;
+      }
+      accountReadModelRepository.refresh(page);
+      refreshed += page.size();
+      after = page.getLast().id();
+    } while (page.size() == pageSize);
+
+    log.info("Rebuilt the account read model for {} accounts", refreshed);
+    return refreshed;
+  }
+}
@@ -216,7 +216,7 @@ public class CsvImportService {
       case SELL -> transactionService.recordSale(
           new RecordSaleCommand(idempotencyKey, portfolioId, userId, accountId, row.symbol(),
               new Quantity(row.quantity()), Price.of(row.price(), Currency.of(row.currency())),
-              List.of(), row.date(), row.notes()));
+              List.of(), row.date(), row.notes(), List.of()));
 
       case DEPOSIT -> transactionService.recordDeposit(
           new RecordDepositCommand(idempotencyKey, portfolioId, userId, accountId,
@@ -0,0 +1,134 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import com.laderrco.fortunelink.portfolio.application.repositories.EventPublicationClaimRepository;
+import com.laderrco.fortunelink.portfolio.application.repositories.EventPublicationClaimRepository.ClaimedPublication;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.modulith.events.CompletedEventPublications;
+import org.springframework.modulith.events.core.EventSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalApplicationListener;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Re-delivers event publications whose listener never completed (crash, rejected executor, failed
+ * recalculation) and prunes the archive of completed ones.
+ * <p>
+ * Each node claims its own batch with {@code FOR UPDATE SKIP LOCKED}, so several instances can run
+ * this at once without delivering the same publication twice in one round. The claimed rows are
+ * handed straight to their listeners, the way Modulith's own resubmission does, rather than
+ * through {@code IncompleteEventPublications}, which would load every incomplete publication to
+ * filter for the batch. Completion is still recorded by Modulith around the listener.
+ * <p>
+ * A listener whose executor rejects the hand-off never ran, so its claim and those of the rest of
+ * the batch are cleared for the next round instead of waiting out the lease.
+ */
+@Service
+public class EventPublicationResubmitter {
+  private static final Logger log = LoggerFactory.getLogger(EventPublicationResubmitter.class);
+
+  private final EventPublicationClaimRepository claimRepository;
+  private final AbstractApplicationContext applicationContext;
+  private final EventSerializer eventSerializer;
+  private final CompletedEventPublications completedPublications;
+  private final int batchSize;
+  private final Duration minAge;
+  private final Duration archiveRetention;
+
+  public EventPublicationResubmitter(EventPublicationClaimRepository claimRepository,
+      AbstractApplicationContext applicationContext, EventSerializer eventSerializer,
+      CompletedEventPublications completedPublications,
+      @Value("${fortunelink.events.resubmission.batch-size:100}") int batchSize,
+      @Value("${fortunelink.events.resubmission.min-age-seconds:300}") long minAgeSeconds,
+      @Value("${fortunelink.events.archive-retention-days:7}") int archiveRetentionDays) {
+    this.claimRepository = claimRepository;
+    this.applicationContext = applicationContext;
+    this.eventSerializer = eventSerializer;
+    this.completedPublications = completedPublications;
+    this.batchSize = batchSize;
+    this.minAge = Duration.ofSeconds(minAgeSeconds);
+    this.archiveRetention = Duration.ofDays(archiveRetentionDays);
+  }
+
+  @Scheduled(fixedDelayString = "${fortunelink.events.resubmission.interval-ms:60000}")
+  public void resubmitIncomplete() {
+    try {
+      // minAge doubles as the claim lease: a claimed row is not picked up again before then.
+      Instant cutoff = Instant.now().minus(minAge);
+      List<ClaimedPublication> claimed = claimRepository.claimIncomplete(cutoff, cutoff,
+          batchSize);
+      if (claimed.isEmpty()) {
+        return;
+      }
+
+      Map<String, TransactionalApplicationListener<ApplicationEvent>> listeners = listeners();
+      for (int i = 0; i < claimed.size(); i++) {
+        try {
+          resubmit(claimed.get(i), listeners);
+        } catch (TaskRejectedException e) {
+          List<UUID> unsent = claimed.subList(i, claimed.size()).stream()
+              .map(ClaimedPublication::id).toList();
+          claimRepository.releaseClaims(unsent);
+          log.warn("Listener executor rejected a resubmission, released {} claims", unsent.size());
+          return;
+        }
+      }
+      log.info("Resubmitted {} incomplete event publications", claimed.size());
+    } catch (Exception e) {
+      // Don't rethrow - the next tick retries whatever is still incomplete.
+      log.error("Event publication resubmission failed", e);
+    }
+  }
+
+  @Scheduled(cron = "0 30 3 * * *", zone = "UTC")
+  public void pruneArchive() {
+    completedPublications.deletePublicationsOlderThan(archiveRetention);
+  }
+
+  private void resubmit(ClaimedPublication publication,
+      Map<String, TransactionalApplicationListener<ApplicationEvent>> listeners) {
+    TransactionalApplicationListener<ApplicationEvent> listener = listeners.get(
+        publication.listenerId());
+    if (listener == null) {
+      log.warn("No listener {} for event publication {}, retrying after lease",
+          publication.listenerId(), publication.id());
+      return;
+    }
+
+    Object event;
+    try {
+      event = eventSerializer.deserialize(publication.serializedEvent(),
+          ClassUtils.forName(publication.eventType(), applicationContext.getClassLoader()));
+    } catch (ClassNotFoundException | RuntimeException e) {
+      log.warn("Could not read event publication {}, retrying after lease", publication.id(), e);
+      return;
+    }
+    // A failing listener is marked failed by Modulith and claimed again after the lease.
+    listener.processEvent(new PayloadApplicationEvent<>(this, event));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, TransactionalApplicationListener<ApplicationEvent>> listeners() {
+    Map<String, TransactionalApplicationListener<ApplicationEvent>> listeners = new HashMap<>();
+    for (ApplicationListener<?> listener : applicationContext.getApplicationListeners()) {
+      if (listener instanceof TransactionalApplicationListener<?> transactional) {
+        listeners.put(transactional.getListenerId(),
+            (TransactionalApplicationListener<ApplicationEvent>) transactional);
+      }
+    }
+    return listeners;
+  }
+}
@@ -2,6 +2,8 @@ package com.laderrco.fortunelink.portfolio.application.services;
 
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import com.laderrco.fortunelink.portfolio.domain.repositories.PortfolioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +24,9 @@ import org.springframework.stereotype.Service;
  * <p>
  * Idempotency: - The UNIQUE INDEX on (user_id, DATE(snapshot_date)) prevents duplicate rows if the
  * job fires twice. Use INSERT ... ON CONFLICT DO NOTHING in the repository.
+ * <p>
+ * Each user's snapshot is timed into {@code fortunelink.snapshot.user}, tagged with its outcome,
+ * so one slow or failing portfolio stands out from the job total.
  */
 @Slf4j
 @Service
@@ -29,6 +34,7 @@ import org.springframework.stereotype.Service;
 public class NetWorthSnapshotService {
   private final PortfolioRepository portfolioRepository;
   private final UserSnapshotWorker worker; // Inject the new worker
+  private final MeterRegistry meterRegistry;
 
   @Scheduled(cron = "0 0 2 * * *", zone = "UTC")
   public void snapshotAllUsers() {
@@ -37,17 +43,25 @@ public class NetWorthSnapshotService {
 
     int success = 0, skipped = 0, failed = 0;
     for (UserId userId : activeUsers) {
+      Timer.Sample sample = Timer.start(meterRegistry);
+      String outcome;
       try {
         // Calling a different bean naturally triggers the @Transactional proxy
         if (worker.snapshotForUser(userId)) {
           success++;
+          outcome = "written";
         } else {
           skipped++;
+          outcome = "skipped";
         }
       } catch (Exception e) {
         failed++;
+        outcome = "failed";
         log.error("Snapshot failed for userId={}: {}", userId, e.getMessage(), e);
       }
+      sample.stop(Timer.builder("fortunelink.snapshot.user")
+          .description("Time to value and store one user's daily net worth snapshot")
+          .tag("outcome", outcome).register(meterRegistry));
     }
     log.info("Net worth snapshot job complete. success={}, skipped={}, failed={}", success, skipped,
         failed);
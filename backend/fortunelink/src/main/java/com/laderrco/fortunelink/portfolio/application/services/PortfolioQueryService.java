@@ -7,6 +7,7 @@ import com.laderrco.fortunelink.portfolio.application.queries.GetPortfoliosByUse
 import com.laderrco.fortunelink.portfolio.application.utils.AccountViewBuilder;
 import com.laderrco.fortunelink.portfolio.application.utils.PortfolioAccessUtils;
 import com.laderrco.fortunelink.portfolio.application.utils.PortfolioLoader;
+import com.laderrco.fortunelink.portfolio.application.utils.VersionedViewCache;
 import com.laderrco.fortunelink.portfolio.application.views.AccountView;
 import com.laderrco.fortunelink.portfolio.application.views.NetWorthView;
 import com.laderrco.fortunelink.portfolio.application.views.PortfolioSummaryView;
@@ -21,12 +22,15 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
 import com.laderrco.fortunelink.portfolio.domain.services.MarketDataService;
 import com.laderrco.fortunelink.portfolio.domain.services.PortfolioValuationService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -43,6 +47,13 @@ import org.springframework.transaction.annotation.Transactional;
  * API call discipline: ONE getBatchQuotes() call per request, resolved here at the service layer
  * and passed down into mappers and domain services. Domain services must NOT independently call
  * MarketDataService.
+ * <p>
+ * Each phase of a read runs in its own {@code fortunelink.portfolio.*} observation (load, fees,
+ * build-view); quotes and FX are observed by their services. Together they make up the
+ * Server-Timing breakdown for a request.
+ * <p>
+ * getPortfolioById is served from {@link VersionedViewCache} while neither the portfolio nor any of
+ * its accounts has changed and prices are still in the same cache window.
  */
 @Service
 @RequiredArgsConstructor
@@ -55,11 +66,18 @@ public class PortfolioQueryService {
   private final PortfolioViewMapper portfolioViewMapper;
   private final AccountViewBuilder accountViewBuilder;
   private final PortfolioLoader portfolioLoader;
+  private final ObservationRegistry observationRegistry;
+  private final VersionedViewCache viewCache;
 
   public PortfolioView getPortfolioById(GetPortfolioByIdQuery query) {
     Objects.requireNonNull(query, "GetPortfolioByIdQuery cannot be null");
 
-    Portfolio portfolio = portfolioLoader.loadUserPortfolio(query.portfolioId(), query.userId());
+    return viewCache.portfolio(query.portfolioId(), query.userId(), () -> buildPortfolio(query));
+  }
+
+  private PortfolioView buildPortfolio(GetPortfolioByIdQuery query) {
+    Portfolio portfolio = observe("load",
+        () -> portfolioLoader.loadUserPortfolio(query.portfolioId(), query.userId()));
     Currency displayCurrency = portfolio.getDisplayCurrency();
     Collection<Account> accounts = portfolio.getAccounts();
 
@@ -71,25 +89,32 @@ public class PortfolioQueryService {
     Set<AccountId> accountIds = accounts.stream().map(Account::getAccountId)
         .collect(Collectors.toSet());
 
-    Map<AccountId, Map<AssetSymbol, Money>> allFeesByAccount = transactionRepository.sumBuyFeesBySymbolForAccounts(
-        accountIds);
+    Map<AccountId, Map<AssetSymbol, Money>> allFeesByAccount = observe("fees",
+        () -> transactionRepository.sumBuyFeesBySymbolForAccounts(accountIds));
 
-    List<AccountView> accountViews = accounts.stream().map(
-        account -> accountViewBuilder.build(account, quoteCache,
-            allFeesByAccount.getOrDefault(account.getAccountId(), Map.of()))).toList();
+    Map<AccountId, Integer> excludedByAccount = observe("excluded",
+        () -> transactionRepository.countExcludedPositionAffecting(accountIds));
 
-    Money totalValue = portfolioValuationService.calculateTotalValue(portfolio, displayCurrency,
-        quoteCache);
-    boolean hasStaleData = accounts.stream().anyMatch(Account::isStale);
+    return observe("build-view", () -> {
+      List<AccountView> accountViews = accounts.stream().map(
+          account -> accountViewBuilder.build(account, quoteCache,
+              allFeesByAccount.getOrDefault(account.getAccountId(), Map.of()),
+              excludedByAccount.getOrDefault(account.getAccountId(), 0))).toList();
 
-    return portfolioViewMapper.toPortfolioView(portfolio, accountViews, totalValue, hasStaleData);
+      Money totalValue = portfolioValuationService.calculateTotalValue(portfolio, displayCurrency,
+          quoteCache);
+      boolean hasStaleData = accounts.stream().anyMatch(Account::isStale);
 
+      return portfolioViewMapper.toPortfolioView(portfolio, accountViews, totalValue,
+          hasStaleData);
+    });
   }
 
   public List<PortfolioSummaryView> getPortfolioSummaries(GetPortfoliosByUserIdQuery query) {
     Objects.requireNonNull(query, "GetPortfoliosByUserIdQuery cannot be null");
 
-    List<Portfolio> portfolios = portfolioLoader.loadAllUserPortfolios(query.userId());
+    List<Portfolio> portfolios = observe("load",
+        () -> portfolioLoader.loadAllUserPortfolios(query.userId()));
 
     if (portfolios.isEmpty()) {
       return List.of();
@@ -115,7 +140,8 @@ public class PortfolioQueryService {
   public NetWorthView getNetWorth(GetNetWorthQuery query) {
     Objects.requireNonNull(query, "ViewNetWorthQuery cannot be null");
 
-    Portfolio portfolio = portfolioLoader.loadUserPortfolio(query.portfolioId(), query.userId());
+    Portfolio portfolio = observe("load",
+        () -> portfolioLoader.loadUserPortfolio(query.portfolioId(), query.userId()));
     Currency displayCurrency = portfolio.getDisplayCurrency();
 
     Map<AssetSymbol, MarketAssetQuote> quoteCache = fetchQuotes(portfolio);
@@ -138,6 +164,11 @@ public class PortfolioQueryService {
         liabilitiesIncluded, isStale, Instant.now());
   }
 
+  private <T> T observe(String phase, Supplier<T> work) {
+    return Observation.createNotStarted("fortunelink.portfolio." + phase, observationRegistry)
+        .observe(work);
+  }
+
   /**
    * Fetches all market quotes for positions in a portfolio. This is the ONLY place getBatchQuotes()
    * should be called for portfolio queries.
@@ -12,6 +12,7 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.po
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.services.ExchangeRateService;
 import com.laderrco.fortunelink.portfolio.domain.services.PortfolioValuationService;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -61,7 +62,7 @@ public final class PortfolioValuationServiceImpl implements PortfolioValuationSe
 
     return totalsByCurrency.values().stream()
         .map(value -> exchangeRateService.convert(value, targetCurrency))
-        .reduce(Money.zero(targetCurrency), Money::add);
+        .collect(Money.summing(targetCurrency));
   }
 
   /**
@@ -99,12 +100,22 @@ public final class PortfolioValuationServiceImpl implements PortfolioValuationSe
     Objects.requireNonNull(account, "Account cannot be null");
     Objects.requireNonNull(quoteCache, "Quote cache cannot be null");
 
-    Currency accountCurrency = account.getAccountCurrency();
+    // Positions are read straight off the account's view: no copies, no entry wrappers
+    return calculatePositionsValue(account.getPositions(), account.getAccountCurrency(),
+        quoteCache);
+  }
+
+  @Override
+  public Money calculatePositionsValue(Collection<? extends Position> positions,
+      Currency accountCurrency, Map<AssetSymbol, MarketAssetQuote> quoteCache) {
+    Objects.requireNonNull(positions, "Positions cannot be null");
+    Objects.requireNonNull(accountCurrency, "Account currency cannot be null");
+    Objects.requireNonNull(quoteCache, "Quote cache cannot be null");
 
-    return account.getPositionEntries().stream()
-        .filter(entry -> entry.getValue().type() != AssetType.CASH) // cash tracked separately
-        .map(pos -> resolvePositionValue(pos.getValue(), quoteCache.get(pos.getKey()),
-            accountCurrency)).reduce(Money::add).orElse(Money.zero(accountCurrency));
+    return positions.stream()
+        .filter(pos -> pos.type() != AssetType.CASH) // cash tracked separately
+        .map(pos -> resolvePositionValue(pos, quoteCache.get(pos.symbol()), accountCurrency))
+        .collect(Money.summing(accountCurrency));
   }
 
   /**
@@ -114,7 +125,7 @@ public final class PortfolioValuationServiceImpl implements PortfolioValuationSe
    * This is a deliberate trade-off: cost basis is a known real number, whereas showing $0 would be
    * actively wrong.
    */
-  private Money resolvePositionValue(Position position, MarketAssetQuote quote,
+  Money resolvePositionValue(Position position, MarketAssetQuote quote,
       Currency accountCurrency) {
     if (quote == null || quote.currentPrice() == null || quote.currentPrice().pricePerUnit()
         .isZero()) {
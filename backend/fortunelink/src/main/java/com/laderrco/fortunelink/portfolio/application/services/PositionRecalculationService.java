@@ -1,75 +1,157 @@
 package com.laderrco.fortunelink.portfolio.application.services;
 
 import com.laderrco.fortunelink.portfolio.application.events.PositionRecalculationRequestedEvent;
+import com.laderrco.fortunelink.portfolio.application.exceptions.RecalculationDeferredException;
 import com.laderrco.fortunelink.portfolio.application.services.redislock.DistributedLock;
 import com.laderrco.fortunelink.portfolio.application.services.redislock.DistributedLockProvider;
 import com.laderrco.fortunelink.portfolio.application.utils.PositionRecalculationExecutor;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
-import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * Runs the position recalculations requested by {@link PositionRecalculationRequestedEvent}.
+ * <p>
+ * The listener only queues the account in {@link RecalculationDelayQueue}. Its event publication
+ * is backed by the Modulith registry and completes once the request is in Redis; a Redis outage
+ * leaves it incomplete for {@link EventPublicationResubmitter} to retry. From there on the queue
+ * is the durable record: a claimed entry whose run fails or whose node dies becomes due again when
+ * its lease runs out, so pending work survives restarts and can be picked up by any node.
+ * <p>
+ * Every node polls the queue and claims only as many due accounts as it has free permits in its
+ * DB-connection budget, so a saturated node leaves work in Redis for the next poll or another node
+ * instead of buffering it in memory. Runs go to virtual threads; the permits, not the thread count,
+ * bound how many hold a connection at once. Each run recalculates every pending symbol of the
+ * account under one lock, one load and one save. A write that lands during a run re-queues the
+ * account, which keeps the entry's ack from removing it, and its symbols wait in the pending set
+ * for that follow-up run rather than being settled by this one. A full replay queued by
+ * {@link StaleAccountSweeper} runs the same way, so sweeps share the permits with user work.
+ */
 @Service
-@RequiredArgsConstructor
 public class PositionRecalculationService {
   private static final Logger log = LoggerFactory.getLogger(PositionRecalculationService.class);
-  private static final Duration DEBOUNCE_WINDOW = Duration.ofSeconds(3);
-  private final StringRedisTemplate redisTemplate;
+  private final RecalculationDelayQueue queue;
   private final PositionRecalculationExecutor executor;
   private final AccountHealthService accountHealthService;
+  private final StaleAccountSweeper sweeper;
   private final DistributedLockProvider lockProvider;
+  private final TaskExecutor workerExecutor;
+  private final Semaphore connectionBudget;
+  private final Duration lease;
+  private final Counter rejections;
+
+  public PositionRecalculationService(RecalculationDelayQueue queue,
+      PositionRecalculationExecutor executor, AccountHealthService accountHealthService,
+      StaleAccountSweeper sweeper, DistributedLockProvider lockProvider,
+      @Qualifier("recalculationWorkerExecutor") TaskExecutor workerExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${fortunelink.recalculation.queue.db-connections:4}") int dbConnections,
+      @Value("${fortunelink.recalculation.queue.lease-ms:60000}") long leaseMillis) {
+    this.queue = queue;
+    this.executor = executor;
+    this.accountHealthService = accountHealthService;
+    this.sweeper = sweeper;
+    this.lockProvider = lockProvider;
+    this.workerExecutor = workerExecutor;
+    this.connectionBudget = new Semaphore(dbConnections);
+    this.lease = Duration.ofMillis(leaseMillis);
+
+    Gauge.builder("fortunelink.recalculation.in-flight", connectionBudget,
+            budget -> dbConnections - budget.availablePermits())
+        .description("Recalculations running on this node, out of its DB-connection budget")
+        .register(meterRegistry);
+    this.rejections = Counter.builder("fortunelink.recalculation.rejections")
+        .description("Claims handed back to the queue because no worker could take them")
+        .register(meterRegistry);
+  }
 
   @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
   @Async("recalculationExecutor")
   public void onRecalculationRequested(PositionRecalculationRequestedEvent event) {
-    String key = String.format("recalc:%s:%s", event.accountId().id(), event.symbol().symbol());
-
-    String token = UUID.randomUUID().toString();
-
-    Boolean isFirst = redisTemplate.opsForValue().setIfAbsent(key, token, DEBOUNCE_WINDOW);
-
-    if (Boolean.TRUE.equals(isFirst)) {
-      schedule(event, key, token);
-    } else {
-      redisTemplate.opsForValue().set(key, token, DEBOUNCE_WINDOW);
-    }
-  }
-
-  private void schedule(PositionRecalculationRequestedEvent event, String key, String token) {
-    CompletableFuture.delayedExecutor(DEBOUNCE_WINDOW.toMillis(), TimeUnit.MILLISECONDS)
-        .execute(() -> runIfLatest(event, key, token));
+    queue.enqueue(
+        new RecalculationDelayQueue.Entry(event.portfolioId(), event.userId(), event.accountId()),
+        event.symbol(), RecalculationDelayQueue.Priority.USER);
   }
 
-  private void runIfLatest(PositionRecalculationRequestedEvent event, String key, String token) {
-    String current = redisTemplate.opsForValue().get(key);
+  @Scheduled(fixedDelayString = "${fortunelink.recalculation.queue.poll-ms:500}")
+  public void drainQueue() {
+    int capacity = connectionBudget.availablePermits();
+    if (capacity == 0) {
+      return;
+    }
 
-    if (!token.equals(current)) {
-      // A newer event replaced this one → skip
+    List<RecalculationDelayQueue.Claim> claims;
+    try {
+      claims = queue.claim(capacity, lease);
+    } catch (Exception e) {
+      // Don't rethrow - the next tick polls again.
+      log.warn("Could not poll the recalculation queue", e);
       return;
     }
 
-    // We are the latest → delete key and execute
-    redisTemplate.delete(key);
+    for (RecalculationDelayQueue.Claim claim : claims) {
+      // Only this thread acquires, so the permits counted above are still there.
+      connectionBudget.acquireUninterruptibly();
+      try {
+        workerExecutor.execute(() -> {
+          try {
+            process(claim);
+          } finally {
+            connectionBudget.release();
+          }
+        });
+      } catch (TaskRejectedException e) {
+        connectionBudget.release();
+        rejections.increment();
+        spill(claim);
+      }
+    }
+  }
 
+  private void spill(RecalculationDelayQueue.Claim claim) {
     try {
-      acquireAndRun(String.format("lock:account:%s", event.accountId().id()), event);
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      log.error("Interrupted", e);
+      queue.release(claim);
+      log.warn("Recalculation worker rejected accountId={}, returned it to the queue",
+          claim.entry().accountId());
+    } catch (Exception e) {
+      log.warn("Recalculation worker rejected accountId={}, retrying after lease",
+          claim.entry().accountId(), e);
     }
   }
 
-  private void acquireAndRun(String lockKey, PositionRecalculationRequestedEvent event)
-      throws InterruptedException {
+  void process(RecalculationDelayQueue.Claim claim) {
+    RecalculationDelayQueue.Entry entry = claim.entry();
+    try {
+      acquireAndRun(String.format("lock:account:%s", entry.accountId().id()), entry);
+      queue.ack(claim);
+    } catch (RecalculationDeferredException e) {
+      log.info("Recalculation deferred for accountId={}: {}", entry.accountId(), e.getMessage());
+    } catch (Exception e) {
+      // The entry stays leased and becomes due again when the lease runs out.
+      log.warn("Recalculation run failed for accountId={}, retrying after lease",
+          entry.accountId(), e);
+    }
+  }
 
+  private void acquireAndRun(String lockKey, RecalculationDelayQueue.Entry entry) {
     DistributedLock lock = lockProvider.getLock(lockKey);
     boolean acquired = false;
 
@@ -77,16 +159,18 @@ public class PositionRecalculationService {
       acquired = lock.tryLock(10, 30, TimeUnit.SECONDS);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
-      throw e;
+      throw new RecalculationDeferredException(
+          "Interrupted before recalculating accountId=" + entry.accountId(), e);
     } catch (Exception redisEx) {
       log.error("Redis unavailable. Marking account STALE.", redisEx);
-      accountHealthService.markStale(event.accountId());
-      return;
+      accountHealthService.markStale(entry.accountId());
+      throw new RecalculationDeferredException(
+          "Lock unavailable for accountId=" + entry.accountId(), redisEx);
     }
 
     if (acquired) {
       try {
-        runRecalculation(event);
+        runPending(entry);
       } finally {
         try {
           lock.unlock();
@@ -95,18 +179,37 @@ public class PositionRecalculationService {
         }
       }
     } else {
-      log.warn("Lock busy for accountId={}", event.accountId());
+      log.warn("Lock busy for accountId={}", entry.accountId());
+      throw new RecalculationDeferredException("Lock busy for accountId=" + entry.accountId());
+    }
+  }
+
+  private void runPending(RecalculationDelayQueue.Entry entry) {
+    // Handed over atomically: symbols queued from here on wait for the next run.
+    Set<String> pending = queue.takePending(entry.accountId());
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    if (pending.contains(RecalculationDelayQueue.FULL_REPLAY)) {
+      // Rebuilds every symbol, so it settles whatever else is pending too. Records its own outcome.
+      sweeper.repair(entry);
+    } else {
+      Set<AssetSymbol> symbols = new LinkedHashSet<>();
+      pending.forEach(symbol -> symbols.add(AssetSymbol.of(symbol)));
+      runRecalculation(entry, symbols);
     }
+    queue.completePending(entry.accountId());
   }
 
-  private void runRecalculation(PositionRecalculationRequestedEvent event) {
+  private void runRecalculation(RecalculationDelayQueue.Entry entry, Set<AssetSymbol> symbols) {
     try {
-      executor.scheduleRecalculation(event.portfolioId(), event.userId(), event.accountId(),
-          event.symbol());
+      executor.recalculateSymbols(entry.portfolioId(), entry.userId(), entry.accountId(),
+          symbols);
     } catch (Exception e) {
-      log.error("Recalculation failed for accountId={} symbol={}", event.accountId(),
-          event.symbol().symbol(), e);
-      accountHealthService.markStale(event.accountId());
+      log.error("Recalculation failed for accountId={} symbols={}", entry.accountId(), symbols,
+          e);
+      accountHealthService.markStale(entry.accountId());
       throw e;
     }
   }
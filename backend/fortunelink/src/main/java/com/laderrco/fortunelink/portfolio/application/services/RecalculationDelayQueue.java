@@ -0,0 +1,340 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cluster-wide delay queue of accounts waiting for a position recalculation.
+ * <p>
+ * Each account is one member of a Redis sorted set, scored by the epoch millis at which it becomes
+ * due. Enqueuing pushes the due time back by the debounce window, capped at {@code max-delay}
+ * after the first pending request, so a burst of writes collapses into one run. The symbols to
+ * recalculate accumulate in a per-account set next to it.
+ * <p>
+ * A run takes that set over in one step with {@link #takePending}: it is renamed to a per-run key,
+ * so a symbol queued while the run is in progress lands in a fresh set for the next run instead of
+ * being swallowed by this one. {@link #completePending} drops the per-run key once the run
+ * succeeded; after a failure it stays, and the next run merges it back with whatever was queued in
+ * the meantime.
+ * <p>
+ * Claiming is one Lua call that reads the due members and re-scores them to a lease deadline, so
+ * two nodes never claim the same entry and an entry whose worker dies becomes due again once its
+ * lease runs out. {@link #ack} only removes an entry whose score is still the lease it was claimed
+ * with; an entry re-enqueued mid-run stays queued for its new due time. All times come from the
+ * Redis clock, so nodes with skewed clocks still agree on what is due.
+ * <p>
+ * There is one sorted set per {@link Priority}. {@link #claim} fills from the {@code USER} lane
+ * first, so background sweeps only get the capacity that user-triggered work leaves over.
+ * <p>
+ * A full replay of the account is queued as {@link #FULL_REPLAY} in the pending set; it is never a
+ * valid ticker, so it cannot clash with a symbol.
+ */
+@Component
+public class RecalculationDelayQueue {
+  private static final Logger log = LoggerFactory.getLogger(RecalculationDelayQueue.class);
+  // Hash tag keeps every lane's keys on one slot so the scripts stay valid on Redis Cluster.
+  private static final String USER_QUEUE_KEY = "{recalc}:queue";
+  private static final String BACKGROUND_QUEUE_KEY = "{recalc}:queue:background";
+  // Outlives a failed run's lease and retries, which still need the symbols they took over.
+  private static final Duration PENDING_TTL = Duration.ofDays(1);
+  static final String FULL_REPLAY = "*";
+
+  private static final RedisScript<Long> ENQUEUE_SCRIPT = new DefaultRedisScript<>("""
+      local t = redis.call('time')
+      local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+      local first = tonumber(redis.call('hget', KEYS[2], ARGV[1]))
+      if not first then
+        first = now
+        redis.call('hset', KEYS[2], ARGV[1], now)
+      end
+      local due = math.min(now + tonumber(ARGV[2]), first + tonumber(ARGV[3]))
+      redis.call('zadd', KEYS[1], due, ARGV[1])
+      return due
+      """, Long.class);
+
+  // Returns the lease score first, then each claimed member followed by how long it was overdue.
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+      local t = redis.call('time')
+      local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+      local due = redis.call('zrangebyscore', KEYS[1], '-inf', now, 'WITHSCORES', 'LIMIT', 0,
+          tonumber(ARGV[1]))
+      local lease = now + tonumber(ARGV[2])
+      local result = { tostring(lease) }
+      for i = 1, #due, 2 do
+        redis.call('zadd', KEYS[1], lease, due[i])
+        redis.call('hdel', KEYS[2], due[i])
+        table.insert(result, due[i])
+        table.insert(result, tostring(math.max(0, now - tonumber(due[i + 1]))))
+      end
+      return result
+      """, List.class);
+
+  private static final RedisScript<Long> ACK_SCRIPT = new DefaultRedisScript<>("""
+      if tonumber(redis.call('zscore', KEYS[1], ARGV[1])) == tonumber(ARGV[2]) then
+        return redis.call('zrem', KEYS[1], ARGV[1])
+      end
+      return 0
+      """, Long.class);
+
+  // Hands a claimed entry straight back: due now, unless it was re-enqueued in the meantime.
+  private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+      if tonumber(redis.call('zscore', KEYS[1], ARGV[1])) == tonumber(ARGV[2]) then
+        local t = redis.call('time')
+        return redis.call('zadd', KEYS[1], tonumber(t[1]) * 1000, ARGV[1])
+      end
+      return 0
+      """, Long.class);
+
+  // Moves the pending set into the running set, merging with one a failed run left behind.
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> TAKE_PENDING_SCRIPT = new DefaultRedisScript<>("""
+      if redis.call('exists', KEYS[1]) == 1 then
+        if redis.call('exists', KEYS[2]) == 1 then
+          redis.call('sunionstore', KEYS[2], KEYS[1], KEYS[2])
+          redis.call('del', KEYS[1])
+        else
+          redis.call('rename', KEYS[1], KEYS[2])
+        end
+      end
+      redis.call('pexpire', KEYS[2], ARGV[1])
+      return redis.call('smembers', KEYS[2])
+      """, List.class);
+
+  private static final RedisScript<Long> LAG_SCRIPT = new DefaultRedisScript<>("""
+      local t = redis.call('time')
+      local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+      local oldest = redis.call('zrange', KEYS[1], 0, 0, 'WITHSCORES')
+      if #oldest == 0 then
+        return 0
+      end
+      return math.max(0, now - tonumber(oldest[2]))
+      """, Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final long debounceMillis;
+  private final long maxDelayMillis;
+  private final Map<Priority, Timer> waitTimers = new EnumMap<>(Priority.class);
+
+  public RecalculationDelayQueue(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+      @Value("${fortunelink.recalculation.debounce-ms:3000}") long debounceMillis,
+      @Value("${fortunelink.recalculation.max-delay-ms:30000}") long maxDelayMillis) {
+    this.redisTemplate = redisTemplate;
+    this.debounceMillis = debounceMillis;
+    this.maxDelayMillis = maxDelayMillis;
+
+    for (Priority priority : Priority.values()) {
+      String tag = priority.tag();
+      Gauge.builder("fortunelink.recalculation.queue.depth", this, q -> q.depth(priority))
+          .description("Accounts waiting for, or leased for, a position recalculation")
+          .tag("priority", tag).register(meterRegistry);
+      Gauge.builder("fortunelink.recalculation.queue.lag", this, q -> q.lagSeconds(priority))
+          .description("How long the oldest due recalculation has been waiting to be claimed")
+          .tag("priority", tag).baseUnit("seconds").register(meterRegistry);
+      waitTimers.put(priority, Timer.builder("fortunelink.recalculation.queue.wait")
+          .description("Time from an entry becoming due to a node claiming it")
+          .tag("priority", tag).register(meterRegistry));
+    }
+  }
+
+  /**
+   * Queues {@code symbol} for recalculation and (re)schedules the account in the lane for
+   * {@code priority}. Redis failures reach the caller so the requesting event publication stays
+   * incomplete and is resubmitted.
+   */
+  public void enqueue(Entry entry, AssetSymbol symbol, Priority priority) {
+    enqueue(entry, symbol.symbol(), priority);
+  }
+
+  /**
+   * Queues a replay of the account's whole history, which also settles any symbols pending for it.
+   */
+  public void enqueueFullReplay(Entry entry, Priority priority) {
+    enqueue(entry, FULL_REPLAY, priority);
+  }
+
+  private void enqueue(Entry entry, String pending, Priority priority) {
+    String pendingKey = pendingKey(entry.accountId());
+    // Queued before scheduling, so whichever run claims the entry is sure to see it.
+    redisTemplate.opsForSet().add(pendingKey, pending);
+    redisTemplate.expire(pendingKey, PENDING_TTL);
+    redisTemplate.execute(ENQUEUE_SCRIPT, priority.keys(), entry.encode(),
+        Long.toString(debounceMillis), Long.toString(maxDelayMillis));
+  }
+
+  /**
+   * Atomically claims up to {@code limit} due entries for {@code lease}, user-triggered ones first.
+   * Whatever is not claimed stays in Redis for the next poll or another node.
+   */
+  public List<Claim> claim(int limit, Duration lease) {
+    List<Claim> claims = new ArrayList<>(claim(Priority.USER, limit, lease));
+    if (claims.size() < limit) {
+      claims.addAll(claim(Priority.BACKGROUND, limit - claims.size(), lease));
+    }
+    return claims;
+  }
+
+  private List<Claim> claim(Priority priority, int limit, Duration lease) {
+    List<?> result = redisTemplate.execute(CLAIM_SCRIPT, priority.keys(), Integer.toString(limit),
+        Long.toString(lease.toMillis()));
+    if (result == null || result.size() < 3) {
+      return List.of();
+    }
+
+    String leaseScore = result.getFirst().toString();
+    List<Claim> claims = new ArrayList<>(result.size() / 2);
+    for (int i = 1; i + 1 < result.size(); i += 2) {
+      String member = result.get(i).toString();
+      try {
+        claims.add(new Claim(Entry.decode(member), priority, leaseScore));
+        waitTimers.get(priority)
+            .record(Duration.ofMillis(Long.parseLong(result.get(i + 1).toString())));
+      } catch (RuntimeException e) {
+        // Unreadable member: drop it so it can't block the head of the queue forever.
+        log.error("Discarding malformed recalculation queue entry '{}'", member, e);
+        redisTemplate.opsForZSet().remove(priority.queueKey(), member);
+      }
+    }
+    return claims;
+  }
+
+  /**
+   * Removes a finished entry, unless it was re-enqueued while it ran.
+   */
+  public void ack(Claim claim) {
+    redisTemplate.execute(ACK_SCRIPT, List.of(claim.priority().queueKey()),
+        claim.entry().encode(), claim.leaseScore());
+  }
+
+  /**
+   * Gives up a claim this node can't run after all, making the entry due again straight away
+   * instead of when its lease runs out.
+   */
+  public void release(Claim claim) {
+    redisTemplate.execute(RELEASE_SCRIPT, List.of(claim.priority().queueKey()),
+        claim.entry().encode(), claim.leaseScore());
+  }
+
+  /**
+   * Hands the account's pending symbols over to the calling run, together with any a failed run
+   * left behind. Symbols queued from here on go to the next run. Call under the account lock.
+   */
+  public Set<String> takePending(AccountId accountId) {
+    List<?> taken = redisTemplate.execute(TAKE_PENDING_SCRIPT, pendingKeys(accountId),
+        Long.toString(PENDING_TTL.toMillis()));
+    if (taken == null || taken.isEmpty()) {
+      return Set.of();
+    }
+    Set<String> pending = new LinkedHashSet<>();
+    taken.forEach(symbol -> pending.add(symbol.toString()));
+    return pending;
+  }
+
+  /**
+   * Drops the symbols a run took over once it has recalculated them. Symbols queued while it ran
+   * are in the pending set, not the running one, so they stay queued.
+   */
+  public void completePending(AccountId accountId) {
+    redisTemplate.delete(runningKey(accountId));
+  }
+
+  double depth(Priority priority) {
+    try {
+      Long size = redisTemplate.opsForZSet().zCard(priority.queueKey());
+      return size == null ? Double.NaN : size;
+    } catch (RuntimeException e) {
+      return Double.NaN;
+    }
+  }
+
+  double lagSeconds(Priority priority) {
+    try {
+      Long lag = redisTemplate.execute(LAG_SCRIPT, List.of(priority.queueKey()));
+      return lag == null ? Double.NaN : lag / 1000.0;
+    } catch (RuntimeException e) {
+      return Double.NaN;
+    }
+  }
+
+  // Hash tag keeps an account's two sets on one slot, so the handover can rename between them.
+  private static String pendingKey(AccountId accountId) {
+    return String.format("recalc:{%s}:symbols", accountId.id());
+  }
+
+  private static String runningKey(AccountId accountId) {
+    return pendingKey(accountId) + ":running";
+  }
+
+  private static List<String> pendingKeys(AccountId accountId) {
+    return List.of(pendingKey(accountId), runningKey(accountId));
+  }
+
+  /**
+   * Queue lane. User-triggered recalculations are always claimed ahead of background ones.
+   */
+  public enum Priority {
+    USER(USER_QUEUE_KEY), BACKGROUND(BACKGROUND_QUEUE_KEY);
+
+    private final String queueKey;
+
+    Priority(String queueKey) {
+      this.queueKey = queueKey;
+    }
+
+    String queueKey() {
+      return queueKey;
+    }
+
+    List<String> keys() {
+      return List.of(queueKey, queueKey + ":first-seen");
+    }
+
+    private String tag() {
+      return name().toLowerCase();
+    }
+  }
+
+  /**
+   * One queued account. The portfolio and user ride along because the recalculation loads the
+   * portfolio through them.
+   */
+  public record Entry(PortfolioId portfolioId, UserId userId, AccountId accountId) {
+    String encode() {
+      return portfolioId + ":" + userId + ":" + accountId;
+    }
+
+    static Entry decode(String member) {
+      String[] parts = member.split(":");
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("Expected portfolioId:userId:accountId");
+      }
+      return new Entry(PortfolioId.fromString(parts[0]), UserId.fromString(parts[1]),
+          AccountId.fromString(parts[2]));
+    }
+  }
+
+  /**
+   * A claimed entry, its lane, and the lease score that {@link #ack} checks against.
+   */
+  public record Claim(Entry entry, Priority priority, String leaseScore) {
+  }
+}
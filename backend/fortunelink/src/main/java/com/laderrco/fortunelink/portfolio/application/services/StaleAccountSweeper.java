@@ -0,0 +1,183 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountRepairRepository;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountRepairRepository.StaleAccount;
+import com.laderrco.fortunelink.portfolio.application.services.redislock.DistributedLock;
+import com.laderrco.fortunelink.portfolio.application.services.redislock.DistributedLockProvider;
+import com.laderrco.fortunelink.portfolio.application.utils.PositionRecalculationExecutor;
+import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Heals accounts left STALE by failed or deferred recalculations, which otherwise stay STALE until
+ * the next write to the account.
+ * <p>
+ * One node at a time sweeps, under a cluster-wide lock. It walks the STALE accounts in id order
+ * with keyset pagination and queues a full replay for each in the {@code BACKGROUND} lane of
+ * {@link RecalculationDelayQueue}. The replays then run like any other recalculation, under the
+ * account lock and a node's DB-connection permits, and only on the capacity user-triggered work
+ * leaves over. Each sweep also has a DB-load budget counted in transaction rows: an account whose
+ * history doesn't fit in what's left ends the sweep and is first in line next time. Healed
+ * accounts drop out of the STALE set, so every sweep makes progress.
+ * <p>
+ * Outcomes are recorded per account through {@link AccountRepairRepository} when
+ * {@link PositionRecalculationService} runs the replay. A failure backs the account off
+ * exponentially so one broken history can't take the whole budget on every sweep.
+ */
+@Service
+public class StaleAccountSweeper {
+  private static final Logger log = LoggerFactory.getLogger(StaleAccountSweeper.class);
+  private static final String SWEEPER_LOCK = "lock:stale-account-sweeper";
+  private static final UUID FIRST_PAGE = new UUID(0, 0);
+  // -1 lets Redisson's watchdog extend the lease for as long as the holder is alive.
+  private static final long WATCHDOG_LEASE = -1;
+
+  private final AccountRepairRepository repairRepository;
+  private final TransactionRepository transactionRepository;
+  private final PositionRecalculationExecutor executor;
+  private final DistributedLockProvider lockProvider;
+  private final RecalculationDelayQueue queue;
+  private final MeterRegistry meterRegistry;
+  private final int pageSize;
+  private final long rowBudget;
+  private final Duration baseBackoff;
+  private final Duration maxBackoff;
+
+  public StaleAccountSweeper(AccountRepairRepository repairRepository,
+      TransactionRepository transactionRepository, PositionRecalculationExecutor executor,
+      DistributedLockProvider lockProvider, RecalculationDelayQueue queue,
+      MeterRegistry meterRegistry,
+      @Value("${fortunelink.recalculation.sweeper.page-size:100}") int pageSize,
+      @Value("${fortunelink.recalculation.sweeper.row-budget:500000}") long rowBudget,
+      @Value("${fortunelink.recalculation.sweeper.backoff-minutes:5}") long backoffMinutes,
+      @Value("${fortunelink.recalculation.sweeper.max-backoff-minutes:720}") long maxMinutes) {
+    this.repairRepository = repairRepository;
+    this.transactionRepository = transactionRepository;
+    this.executor = executor;
+    this.lockProvider = lockProvider;
+    this.queue = queue;
+    this.meterRegistry = meterRegistry;
+    this.pageSize = pageSize;
+    this.rowBudget = rowBudget;
+    this.baseBackoff = Duration.ofMinutes(backoffMinutes);
+    this.maxBackoff = Duration.ofMinutes(maxMinutes);
+  }
+
+  @Scheduled(fixedDelayString = "${fortunelink.recalculation.sweeper.interval-ms:300000}")
+  public void sweep() {
+    DistributedLock lock = lockProvider.getLock(SWEEPER_LOCK);
+    try {
+      if (!lock.tryLock(0, WATCHDOG_LEASE, TimeUnit.SECONDS)) {
+        log.debug("STALE account sweep already running on another node");
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    } catch (Exception e) {
+      // Don't rethrow - the next tick tries again.
+      log.warn("Could not acquire the STALE account sweeper lock", e);
+      return;
+    }
+
+    try {
+      sweepOnce(Instant.now());
+    } catch (Exception e) {
+      log.error("STALE account sweep failed", e);
+    } finally {
+      try {
+        lock.unlock();
+      } catch (Exception e) {
+        log.debug("Sweeper lock already released or expired.");
+      }
+    }
+  }
+
+  void sweepOnce(Instant now) {
+    int queued = 0;
+    long remaining = rowBudget;
+    UUID cursor = FIRST_PAGE;
+
+    pages:
+    while (true) {
+      List<StaleAccount> page = repairRepository.findRepairableAfter(cursor, now, pageSize);
+      for (StaleAccount account : page) {
+        long rows = transactionRepository.countReplayHistory(account.accountId());
+        // The first account always goes, or one oversized history would block the sweep forever.
+        if (rows > remaining && queued > 0) {
+          log.info("STALE account sweep stopped at its row budget, resuming next sweep at {}",
+              account.accountId());
+          break pages;
+        }
+        remaining -= rows;
+        cursor = account.accountId().id();
+
+        queue.enqueueFullReplay(
+            new RecalculationDelayQueue.Entry(account.portfolioId(), account.userId(),
+                account.accountId()), RecalculationDelayQueue.Priority.BACKGROUND);
+        queued++;
+      }
+      if (page.size() < pageSize) {
+        break;
+      }
+    }
+
+    if (queued > 0) {
+      log.info("STALE account sweep queued {} accounts, {} of {} rows left in budget", queued,
+          Math.max(remaining, 0), rowBudget);
+    }
+  }
+
+  /**
+   * Runs a queued full replay and records its outcome. Called by
+   * {@link PositionRecalculationService} on a recalculation worker, which already holds the
+   * account lock and one of the node's DB-connection permits.
+   */
+  void repair(RecalculationDelayQueue.Entry entry) {
+    StaleAccount account = new StaleAccount(entry.portfolioId(), entry.userId(),
+        entry.accountId());
+    try {
+      executor.replayFullAccount(account.portfolioId(), account.userId(), account.accountId());
+      recordHealed(account);
+      count("healed");
+    } catch (Exception e) {
+      // replayFullAccount has already marked it STALE again.
+      log.warn("Repair failed for accountId={}: {}", account.accountId(), e.getMessage());
+      recordFailure(account, e);
+      count("failed");
+    }
+  }
+
+  private void recordHealed(StaleAccount account) {
+    try {
+      repairRepository.recordHealed(account.accountId(), Instant.now());
+    } catch (Exception e) {
+      log.error("Could not record repair of accountId={}", account.accountId(), e);
+    }
+  }
+
+  private void recordFailure(StaleAccount account, Exception cause) {
+    try {
+      repairRepository.recordFailure(account.accountId(),
+          cause.getClass().getSimpleName() + ": " + cause.getMessage(), Instant.now(), baseBackoff,
+          maxBackoff);
+    } catch (Exception e) {
+      log.error("Could not record repair failure for accountId={}", account.accountId(), e);
+    }
+  }
+
+  private void count(String outcome) {
+    meterRegistry.counter("fortunelink.recalculation.sweeper.outcomes", "outcome", outcome)
+        .increment();
+  }
+}
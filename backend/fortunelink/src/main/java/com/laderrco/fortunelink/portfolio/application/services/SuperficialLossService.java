@@ -0,0 +1,105 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import com.laderrco.fortunelink.portfolio.application.events.PositionRecalculationRequestedEvent;
+import com.laderrco.fortunelink.portfolio.application.repositories.RealizedGainsQueryRepository;
+import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.LossSaleCandidate;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import com.laderrco.fortunelink.portfolio.domain.repositories.PositionCheckpointRepository;
+import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
+import com.laderrco.fortunelink.portfolio.domain.services.superficialloss.AcquisitionWindowIndex;
+import com.laderrco.fortunelink.portfolio.domain.services.superficialloss.SuperficialLossEngine;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/**
+ * Connects {@link SuperficialLossEngine} to the database.
+ * <p>
+ * Recording applies every loss at face value, because the trades that make it superficial can
+ * arrive up to 30 days later, or be backdated into its window at any time. Every BUY, DRIP or SELL
+ * therefore looks up the loss sales within 30 days of it in the user's taxable ACB accounts, in
+ * any portfolio. Each such account has its checkpoints dropped from its first affected sale and is
+ * queued for a recalculation of the symbol, which replays from there with the engine applied.
+ * Accounts whose losses sit outside the window are never touched.
+ */
+@Service
+@RequiredArgsConstructor
+public class SuperficialLossService {
+  private static final Logger log = LoggerFactory.getLogger(SuperficialLossService.class);
+  private static final Set<TransactionType> WINDOW_TYPES = EnumSet.of(TransactionType.BUY,
+      TransactionType.DIVIDEND_REINVEST, TransactionType.SELL);
+
+  private final TransactionRepository transactionRepository;
+  private final RealizedGainsQueryRepository realizedGainsQueryRepository;
+  private final PositionCheckpointRepository checkpointRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Engine for one replay of {@code account}. Registered accounts and lot-based strategies get the
+   * disabled engine; for the rest, each symbol's index is loaded on its first loss.
+   */
+  public SuperficialLossEngine engineFor(UserId userId, Account account) {
+    if (!appliesTo(account)) {
+      return SuperficialLossEngine.disabled();
+    }
+    return SuperficialLossEngine.using(symbols -> loadIndexes(userId, symbols));
+  }
+
+  /**
+   * Queues recalculations for the loss sales whose window {@code tx} falls into. Call it in the
+   * transaction that wrote, excluded or restored {@code tx}; the requests publish on commit.
+   */
+  public void requestRecalculations(UserId userId, Transaction tx) {
+    if (tx.execution() == null || !WINDOW_TYPES.contains(tx.transactionType())) {
+      return;
+    }
+
+    AssetSymbol symbol = tx.execution().asset();
+    Instant at = tx.occurredAt();
+    List<LossSaleCandidate> candidates = realizedGainsQueryRepository.findLossSales(userId,
+        symbol, at.minus(SuperficialLossEngine.WINDOW), at.plus(SuperficialLossEngine.WINDOW));
+
+    for (LossSaleCandidate candidate : candidates) {
+      checkpointRepository.deleteFrom(candidate.accountId(), symbol, candidate.earliestSale());
+      eventPublisher.publishEvent(
+          new PositionRecalculationRequestedEvent(candidate.portfolioId(), userId,
+              candidate.accountId(), symbol));
+    }
+    if (!candidates.isEmpty()) {
+      log.debug("{} {} at {} reopens loss sales in {} account(s)", tx.transactionType(),
+          symbol.symbol(), at, candidates.size());
+    }
+  }
+
+  static boolean appliesTo(Account account) {
+    return account.getAccountType().requiresCapitalGainsTracking()
+        && account.getPositionStrategy() == PositionStrategy.ACB;
+  }
+
+  private Map<AssetSymbol, AcquisitionWindowIndex> loadIndexes(UserId userId,
+      Collection<AssetSymbol> symbols) {
+    Map<AssetSymbol, List<Transaction>> bySymbol = transactionRepository
+        .findHoldingHistoryForUser(userId, symbols).stream()
+        .collect(Collectors.groupingBy(tx -> tx.execution().asset(), LinkedHashMap::new,
+            Collectors.toList()));
+
+    Map<AssetSymbol, AcquisitionWindowIndex> indexes = new LinkedHashMap<>();
+    bySymbol.forEach((symbol, history) -> indexes.put(symbol, AcquisitionWindowIndex.of(history)));
+    return indexes;
+  }
+}
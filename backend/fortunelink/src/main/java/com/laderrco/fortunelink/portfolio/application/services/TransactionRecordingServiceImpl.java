@@ -11,6 +11,7 @@ import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.FeeType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Fee;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotSelection;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
@@ -21,11 +22,15 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.po
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
 import com.laderrco.fortunelink.portfolio.domain.services.TransactionRecordingService;
+import com.laderrco.fortunelink.portfolio.domain.services.projectors.SymbolPartitionedReplay;
 import com.laderrco.fortunelink.portfolio.domain.services.projectors.TransactionApplier;
+import com.laderrco.fortunelink.portfolio.domain.services.superficialloss.SuperficialLossEngine;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -42,6 +47,11 @@ public class TransactionRecordingServiceImpl implements TransactionRecordingServ
   private static final String REASON_INTEREST = "INTEREST: ";
   private static final String REASON_DIVIDEND = "DIVIDEND: ";
   private static final String REASON_ROC = "RETURN OF CAPITAL: ";
+  private static final String REASON_REPLAY_NET_CASH = "REPLAY NET CASH";
+  // Below this, forking per symbol costs more than stepping through the history.
+  static final int PARALLEL_REPLAY_THRESHOLD = 2_000;
+
+  private final ForkJoinPool replayPool;
 
   @Override
   public Transaction recordBuy(Account account, AssetSymbol symbol, AssetType type,
@@ -232,7 +242,7 @@ public class TransactionRecordingServiceImpl implements TransactionRecordingServ
 
   @Override
   public Transaction recordSell(Account account, AssetSymbol symbol, Quantity quantity, Price price,
-      List<Fee> fees, String notes, Instant date) {
+      List<Fee> fees, String notes, Instant date, List<LotSelection> lotSelections) {
     validateIsActive(account);
     validateTradeInputs(account, symbol, quantity, price, notes, date);
     validateTransactionDate(date);
@@ -254,7 +264,10 @@ public class TransactionRecordingServiceImpl implements TransactionRecordingServ
     Transaction tx = Transaction.builder().transactionId(TransactionId.newId())
         .accountId(account.getAccountId()).transactionType(TransactionType.SELL)
         .execution(new TradeExecution(symbol, quantity, price)).cashDelta(cashDelta).fees(feeList)
-        .notes(notes).occurredAt(date).metadata(TransactionMetadata.manual(existingPosition.type()))
+        .notes(notes).occurredAt(date)
+        // Stored on the transaction so replays close the same lots
+        .metadata(TransactionMetadata.manual(existingPosition.type())
+            .withLotSelections(lotSelections))
         .build();
 
     applyPositionEffect(account, tx);
@@ -313,16 +326,23 @@ public class TransactionRecordingServiceImpl implements TransactionRecordingServ
   }
 
   @Override
-  public void replayFullTransaction(Account account, List<Transaction> history) {
+  public void replayFullTransaction(Account account, List<Transaction> history,
+      SuperficialLossEngine superficialLosses) {
     account.beginReplay();
     try {
       if (history == null || history.isEmpty()) {
         return;
       }
 
+      if (history.size() >= PARALLEL_REPLAY_THRESHOLD) {
+        replayPartitioned(account, history.stream().filter(tx -> !tx.isExcluded()).toList(),
+            superficialLosses);
+        return;
+      }
+
       for (Transaction tx : history) {
         if (!tx.isExcluded()) {
-          executeReplayStep(account, tx);
+          executeReplayStep(account, tx, superficialLosses);
         }
       }
     } finally {
@@ -331,7 +351,44 @@ public class TransactionRecordingServiceImpl implements TransactionRecordingServ
   }
 
   @Override
-  public void replayTransaction(Account account, Transaction tx) {
+  public void replayFullHistory(Account account, Stream<Transaction> ordered,
+      SuperficialLossEngine superficialLosses) {
+    account.beginReplay();
+    try {
+      ordered.filter(tx -> !tx.isExcluded())
+          .forEachOrdered(tx -> executeReplayStep(account, tx, superficialLosses));
+    } finally {
+      account.endReplay();
+    }
+  }
+
+  /**
+   * Same end state as stepping through {@code active} one transaction at a time, with every symbol
+   * projected in parallel. Cash lands as one net movement instead of one entry per transaction.
+   */
+  private void replayPartitioned(Account account, List<Transaction> active,
+      SuperficialLossEngine superficialLosses) {
+    SymbolPartitionedReplay.Result result = SymbolPartitionedReplay.replay(active,
+        account.getAccountCurrency(), account.getPositionStrategy(), superficialLosses,
+        replayPool);
+
+    result.positions().forEach(account::applyPositionResult);
+    result.realizedGains().forEach(
+        g -> account.recordRealizedGain(g.symbol(), g.gainLoss(), g.costBasisSold(), g.at(),
+            g.consumedLots()));
+
+    Money cash = result.netCash();
+    if (cash.isPositive()) {
+      account.deposit(cash, REASON_REPLAY_NET_CASH);
+    } else if (cash.isNegative()) {
+      // allowNegative = true is critical for replaying historical sequences
+      account.withdraw(cash.abs(), REASON_REPLAY_NET_CASH, true);
+    }
+  }
+
+  @Override
+  public void replayTransaction(Account account, Transaction tx,
+      SuperficialLossEngine superficialLosses) {
     if (tx.isExcluded()) {
       return;
     }
@@ -346,10 +403,19 @@ public class TransactionRecordingServiceImpl implements TransactionRecordingServ
           "replayTransaction() is position-only. Use replayFullTransaction().");
     }
 
-    applyPositionEffect(account, tx);
+    applyPositionEffect(account, tx, superficialLosses);
   }
 
+  /**
+   * Recording applies losses at face value. Whether a loss is superficial depends on trades up to
+   * 30 days later, so the rule is applied by the recalculation that recording requests.
+   */
   private void applyPositionEffect(Account account, Transaction tx) {
+    applyPositionEffect(account, tx, SuperficialLossEngine.disabled());
+  }
+
+  private void applyPositionEffect(Account account, Transaction tx,
+      SuperficialLossEngine superficialLosses) {
     if (tx.execution() == null || !tx.transactionType().affectsHoldings()) {
       return;
     }
@@ -367,22 +433,24 @@ public class TransactionRecordingServiceImpl implements TransactionRecordingServ
     Position current = account.getPosition(symbol).orElseThrow(() -> new IllegalStateException(
         tx.transactionType() + " requires position for " + symbol.symbol()));
 
-    ApplyResult<? extends Position> result = TransactionApplier.apply(current, tx);
+    ApplyResult<? extends Position> result = superficialLosses.adjust(tx,
+        TransactionApplier.apply(current, tx));
     account.applyPositionResult(symbol, result.newPosition());
 
     if (result instanceof ApplyResult.Sale<?> sale) {
       account.recordRealizedGain(symbol, sale.realizedGainLoss(), sale.costBasisSold(),
-          tx.occurredAt());
+          tx.occurredAt(), sale.consumedLots());
     } else if (result instanceof ApplyResult.RocAdjustment<?> roc) {
       account.recordRealizedGain(symbol, roc.excessCapitalGain(),
           Money.zero(account.getAccountCurrency()), tx.occurredAt());
     }
   }
 
-  private void executeReplayStep(Account account, Transaction tx) {
+  private void executeReplayStep(Account account, Transaction tx,
+      SuperficialLossEngine superficialLosses) {
     // Apply position effects (Buy, Sell, Reinvest, etc.)
     if (tx.transactionType().affectsHoldings()) {
-      applyPositionEffect(account, tx);
+      applyPositionEffect(account, tx, superficialLosses);
     }
 
     // Apply cash effects
@@ -23,12 +23,11 @@ import com.laderrco.fortunelink.portfolio.application.utils.PortfolioLoader;
 import com.laderrco.fortunelink.portfolio.application.utils.ValidationUtils;
 import com.laderrco.fortunelink.portfolio.application.utils.annotations.IdentifiedTransactionCommand;
 import com.laderrco.fortunelink.portfolio.application.utils.annotations.TransactionCommand;
-import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.PortfolioContext;
+import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.AccountContext;
 import com.laderrco.fortunelink.portfolio.application.validators.TransactionCommandValidator;
 import com.laderrco.fortunelink.portfolio.application.validators.ValidationResult;
 import com.laderrco.fortunelink.portfolio.application.views.TransactionView;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
-import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
@@ -52,6 +51,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -68,6 +68,8 @@ import org.springframework.retry.annotation.Recover;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /*
 TransactionService-> TransactionRecordingService (create transaction) -> PositionTransactionApplier
@@ -91,6 +93,7 @@ public class TransactionService {
   private final PortfolioLoader portfolioLoader;
   private final ExchangeRateService exchangeRateService;
   private final TransactionRecordingService transactionRecordingService;
+  private final SuperficialLossService superficialLossService;
   private final CacheManager cacheManager;
   private final IdempotencyCache idempotencyCache; // Inject the Caffeine bean
 
@@ -110,7 +113,8 @@ public class TransactionService {
   }
 
   public TransactionView recordPurchase(RecordPurchaseCommand command) {
-    return execute(command, validator::validate, "recordPurchase", ctx -> {
+    return execute(command, validator::validate, "recordPurchase",
+        c -> symbolScope(c.symbol()), ctx -> {
       AssetSymbol symbol = new AssetSymbol(command.symbol());
       AssetType resolvedType = resolveAssetType(symbol, command.assetType());
       Price price = resolvePrice(command.price(), ctx.account().getAccountCurrency());
@@ -127,7 +131,8 @@ public class TransactionService {
   }
 
   public TransactionView recordSale(RecordSaleCommand command) {
-    return execute(command, validator::validate, "recordSale", ctx -> {
+    return execute(command, validator::validate, "recordSale",
+        c -> symbolScope(c.symbol()), ctx -> {
       AssetSymbol symbol = new AssetSymbol(command.symbol());
       if (!ctx.account().hasPosition(symbol)) {
         throw new InsufficientQuantityException("No position found for: " + command.symbol());
@@ -141,7 +146,8 @@ public class TransactionService {
 
       // 2. Pass the convertedFees to the recording service
       return transactionRecordingService.recordSell(ctx.account(), symbol, command.quantity(),
-          price, convertedFees, command.notes(), command.transactionDate());
+          price, convertedFees, command.notes(), command.transactionDate(),
+          command.lotSelections());
     });
   }
 
@@ -183,7 +189,8 @@ public class TransactionService {
   }
 
   public TransactionView recordDividendReinvestment(RecordDividendReinvestmentCommand command) {
-    return execute(command, validator::validate, "recordDividendReinvestment", ctx -> {
+    return execute(command, validator::validate, "recordDividendReinvestment",
+        c -> symbolScope(c.assetSymbol()), ctx -> {
       AssetSymbol symbol = new AssetSymbol(command.assetSymbol());
       warnIfDuplicateExists(command.accountId(), TransactionType.DIVIDEND, symbol,
           command.transactionDate());
@@ -194,7 +201,8 @@ public class TransactionService {
   }
 
   public TransactionView recordSplit(RecordSplitCommand command) {
-    return execute(command, validator::validate, "recordSplit", ctx -> {
+    return execute(command, validator::validate, "recordSplit",
+        c -> symbolScope(c.symbol()), ctx -> {
       AssetSymbol symbol = new AssetSymbol(command.symbol());
       if (!ctx.account().hasPosition(symbol)) {
         throw new InsufficientQuantityException(
@@ -207,6 +215,7 @@ public class TransactionService {
 
   public TransactionView recordReturnOfCapital(RecordReturnOfCapitalCommand command) {
     return execute(command, validator::validate, "recordReturnOfCapital",
+        c -> symbolScope(c.assetSymbol()),
         ctx -> transactionRecordingService.recordReturnOfCapital(ctx.account(),
             new AssetSymbol(command.assetSymbol()), command.heldQuantity(),
             command.distributionPerUnit(), command.notes(), command.transactionDate()));
@@ -237,9 +246,10 @@ public class TransactionService {
       }
 
       Transaction excluded = existing.markAsExcluded(command.userId(), command.reason());
-      transactionRepository.save(excluded, command.portfolioId(), command.idempotencyKey());
+      transactionRepository.saveExclusionState(excluded);
 
       publishRecalculationIfRequired(existing, command);
+      superficialLossService.requestRecalculations(command.userId(), existing);
       if (existing.transactionType() == TransactionType.BUY) {
         evictBuyFeeCache(command.accountId());
       }
@@ -259,9 +269,10 @@ public class TransactionService {
       }
 
       Transaction restored = existing.restore();
-      transactionRepository.save(restored, command.portfolioId(), command.idempotencyKey());
+      transactionRepository.saveExclusionState(restored);
 
       publishRecalculationIfRequired(existing, command);
+      superficialLossService.requestRecalculations(command.userId(), existing);
       if (existing.transactionType() == TransactionType.BUY) {
         evictBuyFeeCache(command.accountId());
       }
@@ -276,34 +287,49 @@ public class TransactionService {
 
   private <C extends TransactionCommand> TransactionView execute(C command,
       Function<C, ValidationResult> validationFn, String operationName,
-      Function<PortfolioContext, Transaction> recordFn) {
+      Function<AccountContext, Transaction> recordFn) {
+    return execute(command, validationFn, operationName, c -> Set.of(), recordFn);
+  }
+
+  /**
+   * {@code positionScope} names the positions the command can touch. Only those rows are loaded
+   * and written back, so cash-only commands never read a position and no command reads the
+   * realized-gain history. It runs after validation, so symbol strings are already known-good.
+   */
+  private <C extends TransactionCommand> TransactionView execute(C command,
+      Function<C, ValidationResult> validationFn, String operationName,
+      Function<C, Set<AssetSymbol>> positionScope, Function<AccountContext, Transaction> recordFn) {
     ValidationUtils.validate(command, validationFn, operationName);
 
     return executeWithIdempotency(command, () -> {
-      PortfolioContext ctx = getPortfolioContext(command);
+      AccountContext ctx = getAccountContext(command, positionScope.apply(command));
       Transaction tx = recordFn.apply(ctx);
 
       persistChanges(ctx, tx, command.idempotencyKey());
+      superficialLossService.requestRecalculations(command.userId(), tx);
       return transactionViewMapper.toTransactionView(tx);
     });
   }
 
-  private PortfolioContext getPortfolioContext(TransactionCommand command) {
-    Portfolio portfolio = portfolioLoader.loadUserPortfolio(command.portfolioId(),
-        command.userId());
-    Account account = portfolio.getAccount(command.accountId());
-    return new PortfolioContext(portfolio, account);
+  private AccountContext getAccountContext(TransactionCommand command, Set<AssetSymbol> scope) {
+    Account account = portfolioLoader.loadAccountSlice(command.portfolioId(), command.userId(),
+        command.accountId(), scope);
+    return new AccountContext(command.portfolioId(), account, scope);
+  }
+
+  private static Set<AssetSymbol> symbolScope(String symbol) {
+    return Set.of(new AssetSymbol(symbol));
   }
 
   /**
-   * Persists both the portfolio aggregate and the new transaction. The portfolioId is taken
-   * directly from the in-memory context , no DB lookup.
+   * Persists the account slice and the new transaction. The portfolioId is taken directly from the
+   * command context , no DB lookup.
    */
-  private void persistChanges(PortfolioContext ctx, Transaction tx, UUID idempotencyKey) {
-    portfolioRepository.save(ctx.portfolio());
+  private void persistChanges(AccountContext ctx, Transaction tx, UUID idempotencyKey) {
+    portfolioRepository.saveAccountSlice(ctx.account(), ctx.positionScope());
     // Pass portfolioId from context, eliminates the findPortfolioIdByAccountId
     // secondary query that previously fired on every single transaction insert.
-    transactionRepository.save(tx, ctx.portfolio().getPortfolioId(), idempotencyKey);
+    transactionRepository.save(tx, ctx.portfolioId(), idempotencyKey);
 
     // Fee totals change only on BUY transactions that carry fees.
     // Evict so the next portfolio read reflects the updated ACB.
@@ -389,34 +415,31 @@ public class TransactionService {
     }
   }
 
+  /**
+   * Concurrent duplicates never get this far: {@code IdempotencyClaimAspect} claims the key, or
+   * waits for the request that holds it, before the transaction opens.
+   */
   private TransactionView executeWithIdempotency(TransactionCommand command,
       Supplier<TransactionView> businessLogic) {
     UUID key = command.idempotencyKey();
+    String cacheKey = key == null ? null : IdempotencyCache.keyFor(command.portfolioId(), key);
 
     // 1. Initial Checks (Still good to have for performance)
     if (key != null) {
-      TransactionView cached = idempotencyCache.get(key.toString());
-      if (cached != null) {
-        return cached;
-      }
-
-      Optional<Transaction> existing = transactionRepository.findByIdempotencyKeyAndPortfolioId(key,
-          command.portfolioId());
-
-      if (existing.isPresent()) {
-        TransactionView view = transactionViewMapper.toTransactionView(existing.get());
-        idempotencyCache.put(key.toString(), view);
-        return view;
+      Optional<TransactionView> known = findKnownResult(key, cacheKey, command);
+      if (known.isPresent()) {
+        return known.get();
       }
     }
 
     // 2. The Critical Section
+    boolean deferred = key != null && deferPublicationToCommit(cacheKey);
     try {
       // Run the logic and save
       TransactionView result = businessLogic.get();
 
       if (key != null) {
-        idempotencyCache.put(key.toString(), result);
+        publishResult(cacheKey, result, deferred);
       }
       return result;
 
@@ -425,14 +448,72 @@ public class TransactionService {
       // If we hit this, it means another thread JUST saved this exact key.
       // Instead of erroring out, we act like we found it in the first place.
       if (key != null) {
+        idempotencyCache.release(cacheKey);
         return transactionRepository.findByIdempotencyKeyAndPortfolioId(key, command.portfolioId())
             .map(transactionViewMapper::toTransactionView)
             .orElseThrow(() -> ex); // If we still can't find it, rethrow the original error
       }
       throw ex;
+    } catch (RuntimeException ex) {
+      if (key != null && !deferred) {
+        idempotencyCache.release(cacheKey);
+      }
+      throw ex;
     }
   }
 
+  private Optional<TransactionView> findKnownResult(UUID key, String cacheKey,
+      TransactionCommand command) {
+    TransactionView cached = idempotencyCache.get(cacheKey);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+
+    Optional<Transaction> existing = transactionRepository.findByIdempotencyKeyAndPortfolioId(key,
+        command.portfolioId());
+
+    if (existing.isPresent()) {
+      TransactionView view = transactionViewMapper.toTransactionView(existing.get());
+      idempotencyCache.put(cacheKey, view);
+      return Optional.of(view);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Inside a transaction the result must not become visible to other nodes before the commit, or
+   * a duplicate could be answered with a transaction that then rolls back. The claim is released on
+   * any non-commit outcome so waiters fall back to the DB check. Returns false when no transaction
+   * synchronization is active and the caller publishes immediately.
+   */
+  private boolean deferPublicationToCommit(String key) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return false;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status != STATUS_COMMITTED) {
+          idempotencyCache.release(key);
+        }
+      }
+    });
+    return true;
+  }
+
+  private void publishResult(String key, TransactionView result, boolean deferred) {
+    if (!deferred) {
+      idempotencyCache.put(key, result);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        idempotencyCache.put(key, result);
+      }
+    });
+  }
+
   private List<Fee> processFees(List<Fee> fees, Account account, Instant txDate) {
     if (fees == null || fees.isEmpty()) {
       return List.of();
@@ -53,7 +53,7 @@ public class UserSnapshotWorker {
 
     Money totalAssets = portfolios.stream()
         .map(p -> portfolioValuationService.calculateTotalValue(p, displayCurrency, quoteCache))
-        .reduce(Money.zero(displayCurrency), Money::add);
+        .collect(Money.summing(displayCurrency));
 
     boolean hasStale = portfolios.stream().flatMap(p -> p.getAccounts().stream())
         .anyMatch(Account::isStale);
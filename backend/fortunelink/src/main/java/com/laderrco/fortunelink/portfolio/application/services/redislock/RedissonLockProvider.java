@@ -1,30 +1,57 @@
 package com.laderrco.fortunelink.portfolio.application.services.redislock;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Component;
 
+/**
+ * Redisson-backed locks that time how long callers wait for a lock and how long they hold it.
+ * <p>
+ * Meters are tagged with the lock family, not the full key: {@code lock:account:<uuid>} reports
+ * as {@code account}, so per-account keys do not create a meter each.
+ */
 @Component
 @RequiredArgsConstructor
 public class RedissonLockProvider implements DistributedLockProvider {
   private final RedissonClient redisson;
+  private final MeterRegistry meterRegistry;
+
+  static String family(String key) {
+    String name = key.startsWith("lock:") ? key.substring("lock:".length()) : key;
+    int separator = name.indexOf(':');
+    return separator < 0 ? name : name.substring(0, separator);
+  }
 
   @Override
   public DistributedLock getLock(String key) {
     RLock rLock = redisson.getLock(key);
+    String family = family(key);
 
     return new DistributedLock() {
+      private long acquiredAt;
+
       @Override
       public boolean tryLock(long waitTime, long leaseTime, TimeUnit unit)
           throws InterruptedException {
-        return rLock.tryLock(waitTime, leaseTime, unit);
+        long start = System.nanoTime();
+        boolean acquired = rLock.tryLock(waitTime, leaseTime, unit);
+        acquiredAt = System.nanoTime();
+        Timer.builder("fortunelink.lock.wait").description("Time spent acquiring a Redis lock")
+            .tag("lock", family).tag("acquired", String.valueOf(acquired)).register(meterRegistry)
+            .record(acquiredAt - start, TimeUnit.NANOSECONDS);
+        return acquired;
       }
 
       @Override
       public void unlock() {
         rLock.unlock();
+        Timer.builder("fortunelink.lock.held").description("Time a Redis lock was held")
+            .tag("lock", family).register(meterRegistry)
+            .record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
       }
     };
   }
@@ -0,0 +1,153 @@
+package com.laderrco.fortunelink.portfolio.application.utils;
+
+import com.google.common.hash.Hashing;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Striped per-account command mailbox.
+ * <p>
+ * Every account maps to one stripe, and every stripe drains its queue on a single virtual thread.
+ * Commands for the same account therefore run one after another instead of racing each other to
+ * the account version and burning {@code @Retryable} attempts, while commands for accounts on
+ * different stripes still run in parallel. Two accounts can share a stripe; that costs some
+ * parallelism, never correctness.
+ * <p>
+ * Stripes are picked with a consistent hash of the account ID so that resizing the stripe count
+ * only moves a small share of accounts. This only orders commands inside one JVM; across nodes the
+ * optimistic lock and retry in {@code TransactionService} remain the guard.
+ * <p>
+ * A caller that already has a transaction open (CSV import) bypasses the mailbox and runs the
+ * command on its own thread. Its transaction may already hold the account's row lock from an
+ * earlier command, and the command at the head of the stripe may be blocked on that very lock, so
+ * queueing behind it would deadlock without Postgres ever seeing the cycle. Those commands are
+ * ordered by the row lock and the optimistic version instead.
+ * <p>
+ * Callers wait at most {@code fortunelink.commands.mailbox.wait-timeout-seconds} for their turn
+ * and result. On timeout a command that has not started is dropped; one that is already running
+ * is left to finish, and the idempotency key covers the client's retry.
+ */
+@Component
+public class AccountCommandSerializer {
+  private static final ThreadLocal<Boolean> ON_MAILBOX = ThreadLocal.withInitial(() -> false);
+
+  private final List<ExecutorService> stripes;
+  private final long waitTimeoutSeconds;
+
+  public AccountCommandSerializer(
+      @Value("${fortunelink.commands.mailbox.stripes:64}") int stripeCount,
+      @Value("${fortunelink.commands.mailbox.wait-timeout-seconds:10}") long waitTimeoutSeconds) {
+    if (stripeCount < 1) {
+      throw new IllegalArgumentException("stripeCount must be positive");
+    }
+    if (waitTimeoutSeconds < 1) {
+      throw new IllegalArgumentException("waitTimeoutSeconds must be positive");
+    }
+    this.waitTimeoutSeconds = waitTimeoutSeconds;
+
+    List<ExecutorService> created = new ArrayList<>(stripeCount);
+    for (int i = 0; i < stripeCount; i++) {
+      created.add(Executors.newSingleThreadExecutor(
+          Thread.ofVirtual().name("account-mailbox-" + i + "-", 0).factory()));
+    }
+    this.stripes = List.copyOf(created);
+  }
+
+  /**
+   * Runs {@code command} after every command queued earlier for the same account and returns its
+   * result. Exceptions thrown by the command reach the caller unchanged.
+   */
+  public <T> T submit(AccountId accountId, Supplier<T> command) {
+    // Nested submissions would wait on their own stripe forever, and a caller's open transaction
+    // may hold locks the stripe's current command is waiting for; see the class comment.
+    if (ON_MAILBOX.get() || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return command.get();
+    }
+
+    ExecutorService stripe = stripes.get(stripeOf(accountId));
+
+    // Keep the request ID on log lines written from the mailbox thread.
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+    return await(stripe.submit(() -> {
+      if (mdc != null) {
+        MDC.setContextMap(mdc);
+      }
+      try {
+        return runOnMailbox(command);
+      } finally {
+        MDC.clear();
+      }
+    }));
+  }
+
+  int stripeOf(AccountId accountId) {
+    return Hashing.consistentHash(
+        Hashing.murmur3_128().hashString(accountId.toString(), StandardCharsets.UTF_8),
+        stripes.size());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    stripes.forEach(ExecutorService::shutdown);
+    for (ExecutorService stripe : stripes) {
+      try {
+        if (!stripe.awaitTermination(30, TimeUnit.SECONDS)) {
+          stripe.shutdownNow();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        stripe.shutdownNow();
+      }
+    }
+  }
+
+  private static <T> T runOnMailbox(Supplier<T> command) {
+    ON_MAILBOX.set(true);
+    try {
+      return command.get();
+    } finally {
+      ON_MAILBOX.remove();
+    }
+  }
+
+  private <T> T await(Future<T> result) {
+    try {
+      return result.get(waitTimeoutSeconds, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      // Drops the command if it is still queued; a running one finishes on its own.
+      result.cancel(false);
+      throw new IllegalStateException("Account is busy with other commands, try again", e);
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for account mailbox", e);
+    } catch (CancellationException e) {
+      throw new IllegalStateException("Account command was cancelled", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+}
@@ -1,21 +1,18 @@
 package com.laderrco.fortunelink.portfolio.application.utils;
 
 import com.laderrco.fortunelink.portfolio.application.mappers.PortfolioViewMapper;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository.AccountRow;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository.PositionRow;
 import com.laderrco.fortunelink.portfolio.application.views.AccountView;
 import com.laderrco.fortunelink.portfolio.application.views.PositionView;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountLifecycleState;
-import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.MarketAssetQuote;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
-import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
-import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
-import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
 import com.laderrco.fortunelink.portfolio.domain.services.ExchangeRateService;
 import com.laderrco.fortunelink.portfolio.domain.services.PortfolioValuationService;
-import com.laderrco.fortunelink.portfolio.infrastructure.persistence.projections.AccountSummaryProjection;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
@@ -27,19 +24,17 @@ public class AccountViewBuilder {
   private final PortfolioValuationService portfolioValuationService;
   private final ExchangeRateService exchangeRateService;
   private final PortfolioViewMapper portfolioViewMapper;
-  private final TransactionRepository transactionRepository;
 
   /**
    * Full detail build , includes position views, fee breakdown, and cash imbalance check. Used by
-   * getAccountSummary (single account detail page).
+   * getPortfolioById for every account of the portfolio.
    *
    * <p>
-   * This fires one extra DB query (countExcludedPositionAffecting) beyond the basic build. That's
-   * acceptable for the detail path where the user explicitly navigated to an account. Do NOT use
-   * this for the list path (getAllAccounts) , use {@link #buildFromProjection} there.
+   * Fees and the excluded count are looked up by the caller for all accounts at once, so building
+   * N accounts costs no query per account.
    */
   public AccountView build(Account account, Map<AssetSymbol, MarketAssetQuote> quoteCache,
-      Map<AssetSymbol, Money> feeBreakdownBySymbol) {
+      Map<AssetSymbol, Money> feeBreakdownBySymbol, int excludedCount) {
 
     List<PositionView> positionViews = account.getPositionEntries().stream().map(entry -> {
       AssetSymbol symbol = entry.getKey();
@@ -52,49 +47,65 @@ public class AccountViewBuilder {
     Money totalValue = portfolioValuationService.calculateAccountValue(account, quoteCache);
     Money cashBalance = account.getCashBalance();
 
-    int excludedCount = transactionRepository.countExcludedPositionAffecting(
-        account.getAccountId());
-
     return portfolioViewMapper.toAccountView(account, positionViews, totalValue, cashBalance,
         excludedCount > 0, excludedCount);
   }
 
   /**
-   * Summary build from a lightweight projection , used by getAllAccounts (paginated list).
+   * Full detail build from the account read model , used by getAccountSummary.
+   *
+   * <p>
+   * Same view as {@link #build(Account, Map, Map, int)}, but the fee breakdown and excluded count
+   * come pre-aggregated on the row, so nothing here touches the database.
+   */
+  public AccountView build(AccountRow row, Map<AssetSymbol, MarketAssetQuote> quoteCache) {
+    String methodology = row.strategy().name();
+    List<PositionView> positionViews = row.positions().stream()
+        .map(position -> portfolioViewMapper.toPositionView(position.totals(),
+            quoteCache.get(position.totals().symbol()), position.feesIncurred(), methodology))
+        .toList();
+
+    // Mirrors calculateAccountValue: closed and replaying accounts are worth nothing.
+    Money totalValue = row.state() != AccountLifecycleState.ACTIVE ? Money.zero(row.currency())
+        : portfolioValuationService.calculatePositionsValue(
+            row.positions().stream().map(PositionRow::totals).toList(), row.currency(),
+            quoteCache).add(row.cashBalance());
+
+    return new AccountView(row.accountId(), row.name(), row.type(), row.state(), positionViews,
+        row.currency(), row.cashBalance(), totalValue, row.createdDate(),
+        row.excludedTransactionCount() > 0, row.excludedTransactionCount());
+  }
+
+  /**
+   * Summary build from the account read model , used by getAllAccounts (paginated list).
    *
    * <p>
-   * Deliberately does NOT check for cash imbalance. The list view shows hasCashImbalance=false for
+   * Deliberately does NOT report the cash imbalance. The list view shows hasCashImbalance=false for
    * all accounts. The user gets the warning when they navigate into the account detail page (which
-   * calls {@link #build}).
+   * calls {@link #build(AccountRow, Map)}).
    *
    * <p>
-   * This keeps getAllAccounts at O(3 queries total) regardless of account count: 1.
-   * findByPortfolioId (accounts page) 2. findQuantitiesForAccounts (batch) 3. getBatchQuotes
-   * (Redis/FMP)
+   * This keeps getAllAccounts at one query plus one getBatchQuotes (Redis/FMP) regardless of
+   * account count: the row already carries every position's quantity.
    */
-  public AccountView buildFromProjection(AccountSummaryProjection projection,
-      Map<AssetSymbol, Quantity> quantities, Map<AssetSymbol, MarketAssetQuote> allQuotes,
-      Map<AssetSymbol, Money> feesForAccount) {
-
-    Currency currency = Currency.of(projection.getBaseCurrencyCode());
-    Money cashBalance = new Money(projection.getCashBalanceAmount(), currency);
+  public AccountView buildSummary(AccountRow row, Map<AssetSymbol, MarketAssetQuote> allQuotes) {
+    Currency currency = row.currency();
+    Money cashBalance = row.cashBalance();
 
-    Money marketValue = quantities.entrySet().stream().map(entry -> {
-      MarketAssetQuote quote = allQuotes.get(entry.getKey());
+    Money marketValue = row.positions().stream().map(PositionRow::totals).map(position -> {
+      MarketAssetQuote quote = allQuotes.get(position.symbol());
       if (quote == null || quote.currentPrice().isZero()) {
         return Money.zero(currency);
       }
-      Money value = quote.currentPrice().calculateValue(entry.getValue());
+      Money value = quote.currentPrice().calculateValue(position.totalQuantity());
       return exchangeRateService.convert(value, currency);
-    }).reduce(Money.zero(currency), Money::add);
+    }).collect(Money.summing(currency));
 
     Money totalValue = cashBalance.add(marketValue);
 
-    return new AccountView(new AccountId(projection.getId()), projection.getName(),
-        AccountType.valueOf(projection.getAccountType()),
-        AccountLifecycleState.valueOf(projection.getLifecycleState()), List.of(),
-        // positions not loaded on list view
-        currency, cashBalance, totalValue, projection.getCreatedDate(), false,
+    return new AccountView(row.accountId(), row.name(), row.type(), row.state(), List.of(),
+        // positions not listed on list view
+        currency, cashBalance, totalValue, row.createdDate(), false,
         // imbalance check skipped on list view , see Javadoc
         0);
   }
@@ -104,7 +115,7 @@ public class AccountViewBuilder {
    * loaded but fee detail is not needed (e.g., portfolio-level rollups).
    *
    * <p>
-   * Same as buildFromProjection: no imbalance check, no fee breakdown.
+   * Same as {@link #buildSummary(AccountRow, Map)}: no imbalance check, no fee breakdown.
    */
   public AccountView buildSummary(Account account, Map<AssetSymbol, MarketAssetQuote> quoteCache) {
 
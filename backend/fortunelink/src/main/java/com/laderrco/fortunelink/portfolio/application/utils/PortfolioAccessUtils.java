@@ -2,8 +2,9 @@ package com.laderrco.fortunelink.portfolio.application.utils;
 
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
-import java.util.Map;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -13,12 +14,10 @@ public class PortfolioAccessUtils {
   }
 
   public static Set<AssetSymbol> extractSymbols(Portfolio portfolio) {
-    return portfolio.getAccounts().stream()
-        .flatMap(account -> account.getPositionEntries().stream().map(Map.Entry::getKey))
-        .collect(Collectors.toSet());
+    return portfolio.streamPositions().map(Position::symbol).collect(Collectors.toSet());
   }
 
   public static Set<AssetSymbol> extractSymbolsByAccount(Account account) {
-    return account.getPositionEntries().stream().map(Map.Entry::getKey).collect(Collectors.toSet());
+    return new HashSet<>(account.getPositionSymbols());
   }
 }
@@ -2,12 +2,15 @@ package com.laderrco.fortunelink.portfolio.application.utils;
 
 import com.laderrco.fortunelink.portfolio.application.exceptions.PortfolioNotFoundException;
 import com.laderrco.fortunelink.portfolio.domain.exceptions.AccountNotFoundException;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import com.laderrco.fortunelink.portfolio.domain.repositories.PortfolioRepository;
 import java.util.List;
+import java.util.Set;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -34,6 +37,18 @@ public class PortfolioLoader {
         .filter(p -> !p.isDeleted()).orElseThrow(() -> new PortfolioNotFoundException(portfolioId));
   }
 
+  /**
+   * Loads a single account with only the positions for {@code symbols} and no realized-gain
+   * history. Ownership (user, portfolio, not deleted) is checked in the same query, so there is no
+   * separate validate call. An empty symbol set yields a cash-only view of the account.
+   */
+  public Account loadAccountSlice(PortfolioId portfolioId, UserId userId, AccountId accountId,
+      Set<AssetSymbol> symbols) {
+    return portfolioRepository.findAccountSlice(portfolioId, userId, accountId, symbols)
+        // intentionally vague, same as validatePortfolioAndAccountOwnership
+        .orElseThrow(() -> new PortfolioNotFoundException(portfolioId));
+  }
+
   /**
    * Loads all active portfolios for a user. Mirrors loadUserPortfolio() semantics: deleted
    * portfolios are excluded at the query level. Returns empty list (not an exception) when the user
@@ -1,18 +1,27 @@
 package com.laderrco.fortunelink.portfolio.application.utils;
 
 import com.laderrco.fortunelink.portfolio.application.services.AccountHealthService;
+import com.laderrco.fortunelink.portfolio.application.services.SuperficialLossService;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.PositionCheckpoint;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import com.laderrco.fortunelink.portfolio.domain.repositories.PortfolioRepository;
+import com.laderrco.fortunelink.portfolio.domain.repositories.PositionCheckpointRepository;
 import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
 import com.laderrco.fortunelink.portfolio.domain.services.TransactionRecordingService;
-import java.util.Comparator;
+import com.laderrco.fortunelink.portfolio.domain.services.superficialloss.SuperficialLossEngine;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,58 +32,137 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class PositionRecalculationExecutor {
   private static final Logger log = LoggerFactory.getLogger(PositionRecalculationExecutor.class);
+  static final int CHECKPOINT_INTERVAL = 50;
+  /**
+   * Largest full-account history replayed from a list (symbol-partitioned once it is big enough);
+   * anything longer is replayed straight off the database cursor.
+   */
+  static final int IN_MEMORY_REPLAY_LIMIT = 100_000;
 
   private final PortfolioRepository portfolioRepository;
   private final TransactionRepository transactionRepository;
   private final TransactionRecordingService transactionRecordingService;
   private final AccountHealthService accountHealthService;
   private final PortfolioLoader portfolioLoader;
+  private final PositionCheckpointRepository checkpointRepository;
+  private final SuperficialLossService superficialLossService;
 
   /**
    * Surgical recalculation for a single symbol.` Corrects ACB/Position but leaves Cash Balance
    * as-is.
-   * <p>
-   * This filters to affectsHolding() before calling replayTransaction()
+   *
+   * @see #recalculateSymbols(PortfolioId, UserId, AccountId, Collection)
    */
   @Transactional
   public void scheduleRecalculation(PortfolioId portfolioId, UserId userId, AccountId accountId,
       AssetSymbol symbol) {
+    recalculateSymbols(portfolioId, userId, accountId, List.of(symbol));
+  }
+
+  /**
+   * Surgical recalculation for every symbol in {@code symbols}, sharing one portfolio load and one
+   * save. Corrects ACB/Position but leaves Cash Balance as-is.
+   * <p>
+   * Each symbol starts from its latest position checkpoint when there is one. Writing or excluding
+   * a transaction deletes the checkpoints at or after it, so the latest survivor always precedes
+   * the edit and only the transactions after it are loaded and replayed. The replay leaves a new
+   * checkpoint every {@value #CHECKPOINT_INTERVAL} transactions for the next run.
+   * <p>
+   * Taxable ACB accounts replay with the superficial-loss rule applied. No checkpoint is cut while
+   * a denied loss is still waiting for replacement shares, since the checkpoint could not hold it.
+   * <p>
+   * This filters to affectsHolding() before calling replayTransaction()
+   */
+  @Transactional
+  public void recalculateSymbols(PortfolioId portfolioId, UserId userId, AccountId accountId,
+      Collection<AssetSymbol> symbols) {
+    if (symbols.isEmpty()) {
+      return;
+    }
+
     Portfolio portfolio = portfolioLoader.loadUserPortfolio(portfolioId, userId);
     Account account = portfolio.getAccount(accountId);
 
-    List<Transaction> active = transactionRepository.findByAccountIdAndSymbol(accountId, symbol)
-        .stream().filter(tx -> !tx.isExcluded())
-        .filter(tx -> tx.transactionType().affectsHoldings())
-        .sorted(Comparator.comparing(Transaction::occurredAt)).toList();
-
+    SuperficialLossEngine superficialLosses = superficialLossService.engineFor(userId, account);
+    List<PositionCheckpoint> taken = new ArrayList<>();
     try {
-      account.prepareForRecalculation(symbol);
-
-      active.forEach(tx -> transactionRecordingService.replayTransaction(account, tx));
+      for (AssetSymbol symbol : new LinkedHashSet<>(symbols)) {
+        taken.addAll(recalculateSymbol(account, accountId, symbol, superficialLosses));
+      }
       portfolio.reportRecalculationSuccess(accountId);
     } catch (Exception e) {
-      log.error("Recalculation failed for account {} symbol {}", accountId, symbol, e);
+      log.error("Recalculation failed for account {} symbols {}", accountId, symbols, e);
       accountHealthService.markStale(accountId);
       throw e;
     }
 
     portfolioRepository.save(portfolio);
+    checkpointRepository.saveAll(taken);
+  }
+
+  private List<PositionCheckpoint> recalculateSymbol(Account account, AccountId accountId,
+      AssetSymbol symbol, SuperficialLossEngine superficialLosses) {
+    Optional<PositionCheckpoint> checkpoint = checkpointRepository.findLatest(accountId, symbol);
+
+    checkpoint.ifPresentOrElse(
+        cp -> account.rewindToCheckpoint(symbol, cp.position(), cp.asOf()),
+        () -> account.prepareForRecalculation(symbol));
+
+    // Excluded rows are filtered and the order is applied by the query, no sort here.
+    try (Stream<Transaction> history = transactionRepository.streamReplayHistory(accountId, symbol,
+        checkpoint.map(PositionCheckpoint::asOf).orElse(null))) {
+      return replay(account, symbol,
+          history.filter(tx -> tx.transactionType().affectsHoldings()).iterator(),
+          superficialLosses);
+    }
+  }
+
+  private List<PositionCheckpoint> replay(Account account, AssetSymbol symbol,
+      Iterator<Transaction> active, SuperficialLossEngine superficialLosses) {
+    List<PositionCheckpoint> checkpoints = new ArrayList<>();
+    int sinceLast = 0;
+
+    Transaction next = active.hasNext() ? active.next() : null;
+    while (next != null) {
+      Transaction tx = next;
+      next = active.hasNext() ? active.next() : null;
+      transactionRecordingService.replayTransaction(account, tx, superficialLosses);
+      sinceLast++;
+
+      // Only cut where the next transaction is strictly later, see PositionCheckpoint.
+      boolean boundary = next != null && next.occurredAt().isAfter(tx.occurredAt());
+      if (sinceLast >= CHECKPOINT_INTERVAL && boundary && !superficialLosses.isCarrying(symbol)) {
+        checkpoints.add(new PositionCheckpoint(account.getAccountId(), symbol, tx.occurredAt(),
+            tx.transactionId(), account.getPosition(symbol).orElse(null)));
+        sinceLast = 0;
+      }
+    }
+    return checkpoints;
   }
 
   /**
    * Full account recovery. Resets everything to zero and re-runs history.
+   * <p>
+   * History arrives already ordered from the database. Up to {@value #IN_MEMORY_REPLAY_LIMIT}
+   * transactions it is collected so the recording service can partition it by symbol; past that it
+   * is replayed one row at a time off the cursor, trading the parallel speed-up for flat memory.
    */
   @Transactional
   public void replayFullAccount(PortfolioId portfolioId, UserId userId, AccountId accountId) {
     Portfolio portfolio = portfolioLoader.loadUserPortfolio(portfolioId, userId);
     Account account = portfolio.getAccount(accountId);
-
-    List<Transaction> allActive = transactionRepository.findByPortfolioIdAndUserIdAndAccountId(
-            portfolioId, userId, accountId).stream().filter(tx -> !tx.isExcluded())
-        .sorted(Comparator.comparing(Transaction::occurredAt)).toList();
+    long size = transactionRepository.countReplayHistory(accountId);
+    SuperficialLossEngine superficialLosses = superficialLossService.engineFor(userId, account);
 
     try {
-      transactionRecordingService.replayFullTransaction(account, allActive);
+      try (Stream<Transaction> history = transactionRepository.streamReplayHistory(accountId)) {
+        if (size <= IN_MEMORY_REPLAY_LIMIT) {
+          transactionRecordingService.replayFullTransaction(account, history.toList(),
+              superficialLosses);
+        } else {
+          transactionRecordingService.replayFullHistory(account, history, superficialLosses);
+        }
+      }
       portfolio.reportRecalculationSuccess(accountId);
       portfolioRepository.save(portfolio);
     } catch (Exception e) {
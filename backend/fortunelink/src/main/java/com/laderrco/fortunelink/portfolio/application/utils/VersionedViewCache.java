@@ -0,0 +1,101 @@
+package com.laderrco.fortunelink.portfolio.application.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.laderrco.fortunelink.portfolio.application.repositories.ViewVersionRepository;
+import com.laderrco.fortunelink.portfolio.application.repositories.ViewVersionRepository.ViewVersion;
+import com.laderrco.fortunelink.portfolio.application.views.AccountView;
+import com.laderrco.fortunelink.portfolio.application.views.PortfolioView;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process cache of assembled portfolio and account views.
+ * <p>
+ * Nothing is ever evicted on write. Each entry is keyed on the aggregate's change stamp plus the
+ * current quote epoch (wall clock divided by the price cache TTL), so a write or a new price window
+ * simply produces a key that has not been seen yet and the old entry ages out. That also keeps
+ * nodes consistent without a shared cache: every node reads the same stamp from the database.
+ * <p>
+ * The stamp is read before the view is built, so a cached view is never older than its key. When
+ * there is no stamp (unknown portfolio, wrong owner, deleted) the build runs uncached and raises
+ * the usual not-found error.
+ */
+@Component
+public class VersionedViewCache {
+  private final Cache<ViewKey, Object> cache;
+  private final ViewVersionRepository viewVersionRepository;
+  private final MeterRegistry meterRegistry;
+  private final LongSupplier clock;
+  private final long quoteWindowMillis;
+
+  public VersionedViewCache(ViewVersionRepository viewVersionRepository,
+      MeterRegistry meterRegistry,
+      @Value("${fortunelink.cache.ttl.current-prices}") long currentPriceTtlSeconds) {
+    this(viewVersionRepository, meterRegistry, currentPriceTtlSeconds, System::currentTimeMillis);
+  }
+
+  VersionedViewCache(ViewVersionRepository viewVersionRepository, MeterRegistry meterRegistry,
+      long currentPriceTtlSeconds, LongSupplier clock) {
+    this.viewVersionRepository = viewVersionRepository;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+    this.quoteWindowMillis = Duration.ofSeconds(currentPriceTtlSeconds).toMillis();
+    this.cache = Caffeine.newBuilder().maximumSize(10_000)
+        .expireAfterWrite(Duration.ofSeconds(currentPriceTtlSeconds)).build();
+    Gauge.builder("fortunelink.cache.size", cache, Cache::estimatedSize)
+        .description("Entries currently held by an in-process cache").tag("cache", "views")
+        .tag("tier", "caffeine").register(meterRegistry);
+  }
+
+  public PortfolioView portfolio(PortfolioId portfolioId, UserId userId,
+      Supplier<PortfolioView> build) {
+    return get("portfolio-view", portfolioId.id(),
+        viewVersionRepository.findPortfolioVersion(portfolioId, userId), PortfolioView.class,
+        build);
+  }
+
+  public AccountView account(PortfolioId portfolioId, UserId userId, AccountId accountId,
+      Supplier<AccountView> build) {
+    return get("account-view", accountId.id(),
+        viewVersionRepository.findAccountVersion(portfolioId, userId, accountId),
+        AccountView.class, build);
+  }
+
+  private <V> V get(String kind, UUID id, Optional<ViewVersion> version, Class<V> type,
+      Supplier<V> build) {
+    if (version.isEmpty()) {
+      return build.get();
+    }
+
+    ViewKey key = new ViewKey(kind, id, version.get(), clock.getAsLong() / quoteWindowMillis);
+    Object cached = cache.getIfPresent(key);
+    count(kind, cached != null);
+    if (cached != null) {
+      return type.cast(cached);
+    }
+
+    V view = build.get();
+    cache.put(key, view);
+    return view;
+  }
+
+  private void count(String kind, boolean hit) {
+    Counter.builder("fortunelink.cache.requests").tag("cache", kind).tag("tier", "caffeine")
+        .tag("result", hit ? "hit" : "miss").register(meterRegistry).increment();
+  }
+
+  private record ViewKey(String kind, UUID id, ViewVersion version, long quoteEpoch) {
+  }
+}
@@ -0,0 +1,14 @@
+package com.laderrco.fortunelink.portfolio.application.utils.valueobjects;
+
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import java.util.Set;
+
+/**
+ * The slice of a portfolio a single transaction command works against: one account, holding only
+ * the positions in {@code positionScope}. The scope is carried so the same symbols are written back.
+ */
+public record AccountContext(PortfolioId portfolioId, Account account,
+                             Set<AssetSymbol> positionScope) {
+}
@@ -0,0 +1,13 @@
+package com.laderrco.fortunelink.portfolio.application.utils.valueobjects;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import java.time.Instant;
+
+/**
+ * An account with loss sales whose superficial-loss window a trade may fall into, and the first
+ * such sale, which is where its recalculation has to start.
+ */
+public record LossSaleCandidate(PortfolioId portfolioId, AccountId accountId,
+                                Instant earliestSale) {
+}
@@ -18,9 +18,14 @@ import com.laderrco.fortunelink.portfolio.application.utils.ValidationUtils;
 import com.laderrco.fortunelink.portfolio.application.utils.annotations.IdentifiedTransactionCommand;
 import com.laderrco.fortunelink.portfolio.application.utils.annotations.TransactionCommand;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Fee;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotSelection;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 import org.springframework.stereotype.Component;
 
@@ -47,6 +52,7 @@ public class TransactionCommandValidator {
       ValidationUtils.validateQuantity(command.quantity(), errors);
       ValidationUtils.validateAmount(command.price().amount(), errors);
       validateFees(command.fees(), errors);
+      validateLotSelections(command, errors);
       ValidationUtils.validateDate(command.transactionDate(), errors);
     });
   }
@@ -193,6 +199,23 @@ public class TransactionCommandValidator {
     }
   }
 
+  private void validateLotSelections(RecordSaleCommand command, List<String> errors) {
+    if (command.lotSelections().isEmpty() || command.quantity() == null) {
+      return;
+    }
+    Set<TransactionId> lotIds = new HashSet<>();
+    Quantity selected = Quantity.ZERO;
+    for (LotSelection selection : command.lotSelections()) {
+      if (!lotIds.add(selection.lotId())) {
+        errors.add("Lot " + selection.lotId() + " is selected more than once");
+      }
+      selected = selected.add(selection.quantity());
+    }
+    if (!selected.equals(command.quantity())) {
+      errors.add("Lot selections must add up to the quantity sold");
+    }
+  }
+
   private void validateStringLength(String reason, List<String> errors) {
     if (reason == null || reason.trim().isEmpty()) {
       errors.add("Reason is required");
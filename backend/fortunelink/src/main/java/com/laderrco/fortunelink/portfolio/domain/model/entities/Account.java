@@ -12,6 +12,7 @@ import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.HealthStatus;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotConsumption;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.RealizedGainRecord;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
@@ -21,9 +22,13 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 // NOTE: The variables AccountId, Currency, PositionStrategy, creationDate, and PositionBook
 // were initially private final, but now just private, still effectively final because no setters
@@ -41,7 +46,14 @@ public class Account {
   private Instant closeDate;
   private Instant lastUpdatedOn;
   private Money cashBalance;
-  private List<RealizedGainRecord> realizedGains;
+  // Realized gains are an append-only stream owned by the persistence layer. The aggregate never
+  // holds history, only what changed since it was loaded, so load size does not grow with years
+  // of trading.
+  private List<RealizedGainRecord> newRealizedGains;
+  private Set<AssetSymbol> resetGainSymbols;
+  // Symbols rewound to a checkpoint: only gains after the instant are invalidated.
+  private Map<AssetSymbol, Instant> gainResetWatermarks;
+  private boolean gainHistoryReset;
 
   // JPA hydration constructor only. Fields populated by persistence layer via
   // reflection
@@ -51,7 +63,9 @@ public class Account {
     this.positionStrategy = null;
     this.creationDate = null;
     this.positionBook = new PositionBook(Map.of(), null, null);
-    this.realizedGains = new ArrayList<>();
+    this.newRealizedGains = new ArrayList<>();
+    this.resetGainSymbols = new LinkedHashSet<>();
+    this.gainResetWatermarks = new LinkedHashMap<>();
   }
 
   public Account(AccountId accountId, String name, AccountType accountType,
@@ -67,7 +81,9 @@ public class Account {
     this.state = AccountLifecycleState.ACTIVE;
     this.cashBalance = Money.zero(accountCurrency);
     this.positionBook = new PositionBook(accountCurrency, positionStrategy);
-    this.realizedGains = new ArrayList<>();
+    this.newRealizedGains = new ArrayList<>();
+    this.resetGainSymbols = new LinkedHashSet<>();
+    this.gainResetWatermarks = new LinkedHashMap<>();
     this.creationDate = Instant.now();
     this.lastUpdatedOn = Instant.now();
   }
@@ -75,16 +91,14 @@ public class Account {
   public static Account reconstitute(AccountId accountId, String name, AccountType accountType,
       Currency accountCurrency, PositionStrategy positionStrategy, HealthStatus healthStatus,
       AccountLifecycleState state, Instant closeDate, Instant creationDate, Instant lastUpdatedOn,
-      Money cashBalance, Map<AssetSymbol, Position> positions, // from PositionJpaEntity rows
-      List<RealizedGainRecord> realizedGains) { // from RealizedGainJpaEntity rows
+      Money cashBalance, Map<AssetSymbol, Position> positions) { // from PositionJpaEntity rows
 
     Account account = new Account(); // uses the protected no-arg JPA ctor
 
     // Reflective setters are fragile across refactors; we use package-private
     // field assignment via a dedicated internal init method instead.
     account.initFromPersistence(accountId, name, accountType, accountCurrency, positionStrategy,
-        healthStatus, state, closeDate, creationDate, lastUpdatedOn, cashBalance, positions,
-        realizedGains);
+        healthStatus, state, closeDate, creationDate, lastUpdatedOn, cashBalance, positions);
 
     return account;
   }
@@ -94,8 +108,7 @@ public class Account {
   void initFromPersistence(AccountId accountId, String name, AccountType accountType,
       Currency accountCurrency, PositionStrategy positionStrategy, HealthStatus healthStatus,
       AccountLifecycleState state, Instant closeDate, Instant creationDate, Instant lastUpdatedOn,
-      Money cashBalance, Map<AssetSymbol, Position> positions,
-      List<RealizedGainRecord> realizedGains) {
+      Money cashBalance, Map<AssetSymbol, Position> positions) {
 
     this.accountId = notNull(accountId, "accountId");
     this.accountCurrency = notNull(accountCurrency, "accountCurrency");
@@ -109,7 +122,6 @@ public class Account {
     this.closeDate = closeDate;
     this.lastUpdatedOn = lastUpdatedOn;
     this.cashBalance = cashBalance;
-    this.realizedGains = new ArrayList<>(realizedGains);
 
     // PositionBook has a package-private constructor that accepts an existing map.
     // Both Account and PositionBook are in the same package so this is legal.
@@ -180,40 +192,91 @@ public class Account {
     return positionBook.size();
   }
 
-  // --- Gain Management ---
+  /**
+   * Read-only, live view of the held symbols.
+   */
+  public Set<AssetSymbol> getPositionSymbols() {
+    return positionBook.symbols();
+  }
+
+  /**
+   * Read-only, live view of the held positions. Positions are immutable and returned as stored, so
+   * iterating allocates nothing per position. Prefer this over the entry views on hot paths.
+   */
+  public Collection<Position> getPositions() {
+    return positionBook.positions();
+  }
 
+  /**
+   * Read-only, live view of the positions keyed by symbol.
+   */
   public Collection<Map.Entry<AssetSymbol, Position>> getPositionEntries() {
     return positionBook.entries();
   }
 
+  public Stream<Map.Entry<AssetSymbol, Position>> streamPositionEntries() {
+    return positionBook.stream();
+  }
+
+  // --- Gain Management ---
+
   public void recordRealizedGain(AssetSymbol symbol, Money gainLoss, Money costBasisSold,
       Instant at) {
+    recordRealizedGain(symbol, gainLoss, costBasisSold, at, List.of());
+  }
+
+  public void recordRealizedGain(AssetSymbol symbol, Money gainLoss, Money costBasisSold,
+      Instant at, List<LotConsumption> consumedLots) {
     requireActive();
     notNull(symbol, "symbol");
     notNull(gainLoss, "gainLoss");
     notNull(costBasisSold, "costBasisSold");
     notNull(at, "at");
 
-    realizedGains.add(RealizedGainRecord.of(this.accountId, symbol, gainLoss, costBasisSold, at));
+    newRealizedGains.add(
+        RealizedGainRecord.of(this.accountId, symbol, gainLoss, costBasisSold, at, consumedLots));
     touch();
   }
 
-  public List<RealizedGainRecord> getRealizedGains() {
-    return Collections.unmodifiableList(realizedGains);
+  /**
+   * Gains recorded since this account was loaded. Persisted history is never hydrated; read it
+   * through the realized gains query side instead.
+   */
+  public List<RealizedGainRecord> getNewRealizedGains() {
+    return Collections.unmodifiableList(newRealizedGains);
   }
 
-  public List<RealizedGainRecord> getRealizedGainsFor(AssetSymbol symbol) {
+  public List<RealizedGainRecord> getNewRealizedGainsFor(AssetSymbol symbol) {
     notNull(symbol, "symbol");
-    return realizedGains.stream().filter(r -> r.symbol().equals(symbol)).toList();
+    return newRealizedGains.stream().filter(r -> r.symbol().equals(symbol)).toList();
   }
 
-  // --- Lifecycle Transitions ---
+  /**
+   * Symbols whose persisted gains were invalidated by a recalculation. The repository deletes them
+   * before inserting {@link #getNewRealizedGains()}.
+   */
+  public Set<AssetSymbol> getResetRealizedGainSymbols() {
+    return Collections.unmodifiableSet(resetGainSymbols);
+  }
 
-  public Money getTotalRealizedGainLoss() {
-    return realizedGains.stream().map(RealizedGainRecord::realizedGainLoss)
-        .reduce(Money.zero(accountCurrency), Money::add);
+  /**
+   * True after a full replay: every persisted gain for this account is invalidated, not just the
+   * symbols in {@link #getResetRealizedGainSymbols()}.
+   */
+  public boolean isRealizedGainHistoryReset() {
+    return gainHistoryReset;
   }
 
+  /**
+   * Symbols rewound by {@link #rewindToCheckpoint}, mapped to the checkpoint instant. The
+   * repository deletes only the persisted gains after that instant.
+   */
+  public Map<AssetSymbol, Instant> getRealizedGainResetWatermarks() {
+    return Collections.unmodifiableMap(gainResetWatermarks);
+  }
+
+  // --- Lifecycle Transitions ---
+
   public void beginReplay() {
     if (this.state == AccountLifecycleState.CLOSED) {
       throw new IllegalStateException("Cannot replay a closed account");
@@ -225,7 +288,10 @@ public class Account {
     this.state = AccountLifecycleState.REPLAYING;
     this.cashBalance = Money.zero(this.accountCurrency);
     this.positionBook.clearAll();
-    this.realizedGains = new ArrayList<>();
+    this.newRealizedGains = new ArrayList<>();
+    this.resetGainSymbols.clear();
+    this.gainResetWatermarks.clear();
+    this.gainHistoryReset = true;
   }
 
   public void endReplay() {
@@ -269,6 +335,29 @@ public class Account {
     clearRealizedGainsForSymbol(symbol);
   }
 
+  /**
+   * Partial form of {@link #prepareForRecalculation(AssetSymbol)}: restores the position captured
+   * by a checkpoint instead of clearing it, so only transactions after {@code asOf} need to be
+   * replayed. Gains realized up to {@code asOf} stay valid.
+   *
+   * @param position the checkpointed position, or null if the symbol was flat at {@code asOf}
+   */
+  public void rewindToCheckpoint(AssetSymbol symbol, Position position, Instant asOf) {
+    notNull(symbol, "symbol");
+    notNull(asOf, "asOf");
+
+    positionBook.clearSymbol(symbol);
+    if (position != null) {
+      positionBook.applyResult(symbol, position);
+    }
+
+    newRealizedGains.removeIf(g -> g.symbol().equals(symbol));
+    if (!gainHistoryReset && !resetGainSymbols.contains(symbol)) {
+      gainResetWatermarks.merge(symbol, asOf, (a, b) -> a.isBefore(b) ? a : b);
+    }
+    touch();
+  }
+
   // --- Metadata & Health Updates ---
   public void updateName(String newName) {
     if (newName == null || newName.trim().isEmpty()) {
@@ -350,7 +439,8 @@ public class Account {
   }
 
   private void requireActive() {
-    if (!isActive()) {
+    // Replays rebuild the account through the same mutators as live commands.
+    if (!isActive() && !isInReplayMode()) {
       throw new AccountClosedException("Account " + accountId + " is closed");
     }
   }
@@ -378,7 +468,11 @@ public class Account {
 
   private void clearRealizedGainsForSymbol(AssetSymbol symbol) {
     notNull(symbol, "symbol");
-    realizedGains.removeIf(g -> g.symbol().equals(symbol));
+    newRealizedGains.removeIf(g -> g.symbol().equals(symbol));
+    if (!gainHistoryReset) {
+      resetGainSymbols.add(symbol);
+      gainResetWatermarks.remove(symbol);
+    }
     touch();
   }
 
@@ -9,6 +9,7 @@ import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountLifecycleSta
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
@@ -19,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 // so we are going to actually add back a 'currency preference'
 // it is only meant to be used to display your aggregate data
@@ -89,12 +91,6 @@ public class Portfolio {
     notNull(currency, "currency");
     notNull(strategy, "strategy");
 
-    // Guard, supports ACB only for now
-    if (strategy != PositionStrategy.ACB) {
-      throw new IllegalArgumentException(
-          "Only ACB strategy is supported. " + strategy + " is not available.");
-    }
-
     if (name.trim().isEmpty()) {
       throw new IllegalArgumentException("Account name cannot be empty");
     }
@@ -265,6 +261,14 @@ public class Portfolio {
     return Collections.unmodifiableCollection(accounts.values());
   }
 
+  /**
+   * Streams every account's positions without copying them. Symbols held in more than one account
+   * appear once per account.
+   */
+  public Stream<Position> streamPositions() {
+    return accounts.values().stream().flatMap(a -> a.getPositions().stream());
+  }
+
   public boolean hasAccounts() {
     return !accounts.isEmpty();
   }
@@ -6,26 +6,37 @@ import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.FifoPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.LifoPosition;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.SpecificIdPosition;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Encapculsates the position ledger for an Account is private pacakte, only Accoutn should
  * construct or mutate this directly.
+ * <p>
+ * Positions are immutable, so readers get the stored instances through unmodifiable views of the
+ * map instead of copies. The views are created once and are live: they reflect later changes to
+ * the book, so a caller that needs a snapshot must copy.
  */
 final class PositionBook {
   private final Map<AssetSymbol, Position> positions;
   private final Currency currency;
   private final PositionStrategy strategy;
+  private final Set<AssetSymbol> symbolView;
+  private final Collection<Position> positionView;
+  private final Set<Map.Entry<AssetSymbol, Position>> entryView;
 
   PositionBook(Currency currency, PositionStrategy strategy) {
-    this.currency = currency;
-    this.strategy = strategy;
-    this.positions = new HashMap<>();
+    this(new HashMap<>(), currency, strategy);
   }
 
   // Used in JPA reconstitution ONLY
@@ -33,6 +44,9 @@ final class PositionBook {
     this.positions = new HashMap<>(existing);
     this.currency = currency;
     this.strategy = strategy;
+    this.symbolView = Collections.unmodifiableSet(positions.keySet());
+    this.positionView = Collections.unmodifiableCollection(positions.values());
+    this.entryView = Collections.unmodifiableMap(positions).entrySet();
   }
 
   Position ensurePosition(AssetSymbol symbol, AssetType type) {
@@ -71,8 +85,7 @@ final class PositionBook {
   }
 
   Optional<Position> get(AssetSymbol symbol) {
-    Position p = positions.get(symbol);
-    return Optional.ofNullable(p != null ? p.copy() : null);
+    return Optional.ofNullable(positions.get(symbol));
   }
 
   boolean has(AssetSymbol symbol) {
@@ -87,16 +100,31 @@ final class PositionBook {
     return positions.size();
   }
 
+  Set<AssetSymbol> symbols() {
+    return symbolView;
+  }
+
+  /**
+   * Iterating this view allocates nothing per position; each position carries its own symbol.
+   */
+  Collection<Position> positions() {
+    return positionView;
+  }
+
   Collection<Map.Entry<AssetSymbol, Position>> entries() {
-    return positions.entrySet().stream().map(e -> Map.entry(e.getKey(), e.getValue().copy()))
-        .toList();
+    return entryView;
+  }
+
+  Stream<Map.Entry<AssetSymbol, Position>> stream() {
+    return entryView.stream();
   }
 
   private Position createEmpty(AssetSymbol symbol, AssetType type) {
     return switch (strategy) {
       case ACB -> AcbPosition.empty(symbol, type, currency);
-      case FIFO, LIFO, SPECIFIC_ID ->
-          throw new IllegalArgumentException(strategy + " not supported");
+      case FIFO -> FifoPosition.empty(symbol, type, currency);
+      case LIFO -> LifoPosition.empty(symbol, type, currency);
+      case SPECIFIC_ID -> SpecificIdPosition.empty(symbol, type, currency);
     };
   }
 }
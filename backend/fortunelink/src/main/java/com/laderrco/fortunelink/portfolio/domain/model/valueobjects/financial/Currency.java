@@ -1,16 +1,26 @@
 package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
+/**
+ * Flyweight over {@link java.util.Currency}: {@link #of} hands out one shared instance per ISO
+ * code, so mapping rows doesn't allocate and same-currency checks in {@link Money} hit the
+ * reference fast path of {@code equals}. The cache can't grow past the ISO 4217 list, since
+ * unknown codes are rejected before they're stored.
+ */
 @ToString
 @EqualsAndHashCode
 public class Currency {
-  public static final Currency CAD = new Currency("CAD");
-  public static final Currency EUR = new Currency("EUR");
-  public static final Currency GBP = new Currency("GBP");
-  public static final Currency JPY = new Currency("JPY");
-  public static final Currency USD = new Currency("USD");
+  private static final Map<String, Currency> INTERNED = new ConcurrentHashMap<>();
+
+  public static final Currency CAD = of("CAD");
+  public static final Currency EUR = of("EUR");
+  public static final Currency GBP = of("GBP");
+  public static final Currency JPY = of("JPY");
+  public static final Currency USD = of("USD");
   private final java.util.Currency currency;
 
   private Currency(String locale) {
@@ -18,7 +28,8 @@ public class Currency {
   }
 
   public static Currency of(String locale) {
-    return new Currency(locale);
+    Currency interned = INTERNED.get(locale);
+    return interned != null ? interned : INTERNED.computeIfAbsent(locale, Currency::new);
   }
 
   // i.e. USD
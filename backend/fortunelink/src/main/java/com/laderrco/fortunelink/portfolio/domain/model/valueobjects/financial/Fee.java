@@ -3,6 +3,7 @@ package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial;
 import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
 
 import com.laderrco.fortunelink.portfolio.domain.model.enums.FeeType;
+import com.laderrco.fortunelink.shared.enums.Precision;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
@@ -73,7 +74,7 @@ public record Fee(
     if (fees == null || fees.isEmpty()) {
       return Money.zero(accountCurrency);
     }
-    Money total = Money.zero(accountCurrency);
+    FixedPointSum total = new FixedPointSum(Precision.getMoneyPrecision());
     for (Fee fee : fees) {
       Money amount = fee.accountAmount() != null ? fee.accountAmount() : fee.nativeAmount();
       if (!amount.currency().equals(accountCurrency)) {
@@ -81,9 +82,9 @@ public record Fee(
             "Fee currency mismatch: expected " + accountCurrency + ", got " + amount.currency()
                 + " - ensure accountAmount is set for cross-currency fees");
       }
-      total = total.add(amount);
+      total.add(amount.amount());
     }
-    return total;
+    return new Money(total.toBigDecimal(), accountCurrency);
   }
 
   // Ensure the convertedAmount currency actually matches the rate's target
@@ -0,0 +1,59 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Running sum of decimals that all share one scale, kept as an unscaled {@code long}.
+ * <p>
+ * {@link Money} and {@link Quantity} always normalize to a fixed scale, so adding them as scaled
+ * longs is exact and gives the same result as the {@code BigDecimal} add-then-setScale chain,
+ * without a new {@code BigDecimal} and value object per element. Once the long would overflow (or a
+ * value arrives at another scale) the sum moves to {@code BigDecimal} and stays there.
+ * <p>
+ * Mutable and not thread-safe; only ever lives inside one collector or loop.
+ */
+final class FixedPointSum {
+  private final int scale;
+  private long unscaled;
+  private BigDecimal spilled;
+
+  FixedPointSum(int scale) {
+    this.scale = scale;
+  }
+
+  void add(BigDecimal value) {
+    if (spilled == null && value.scale() == scale) {
+      BigInteger raw = value.unscaledValue();
+      if (raw.bitLength() < Long.SIZE) {
+        long next = unscaled + raw.longValue();
+        // Overflow iff both operands share a sign the result doesn't.
+        if (((unscaled ^ next) & (raw.longValue() ^ next)) >= 0) {
+          unscaled = next;
+          return;
+        }
+      }
+    }
+    spill(value);
+  }
+
+  FixedPointSum combine(FixedPointSum other) {
+    add(other.toBigDecimal());
+    return this;
+  }
+
+  BigDecimal toBigDecimal() {
+    return spilled != null ? spilled : BigDecimal.valueOf(unscaled, scale);
+  }
+
+  boolean spilled() {
+    return spilled != null;
+  }
+
+  private void spill(BigDecimal value) {
+    if (spilled == null) {
+      spilled = BigDecimal.valueOf(unscaled, scale);
+    }
+    spilled = spilled.add(value);
+  }
+}
@@ -0,0 +1,25 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial;
+
+import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import java.time.Instant;
+
+/**
+ * The part of one tax lot closed by a sale: which lot, how much of it and the cost basis that left
+ * with it.
+ *
+ * @param lotId        the transaction that opened the lot; null for lots persisted before lots
+ *                     carried an id
+ * @param acquiredDate when the lot was acquired
+ * @param quantity     quantity closed
+ * @param costBasis    cost basis closed
+ */
+public record LotConsumption(
+    TransactionId lotId, Instant acquiredDate, Quantity quantity, Money costBasis) {
+  public LotConsumption {
+    notNull(acquiredDate, "acquiredDate");
+    notNull(quantity, "quantity");
+    notNull(costBasis, "costBasis");
+  }
+}
@@ -0,0 +1,58 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial;
+
+import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One lot named by a SPECIFIC_ID sale, and how much of it the sale closes.
+ * <p>
+ * A lot is identified by the BUY or DIVIDEND_REINVEST transaction that opened it, which stays the
+ * same across replays. Selections travel on the SELL transaction's metadata (see
+ * {@link TransactionMetadata#KEY_LOT_SELECTIONS}) so a replay closes the same lots again.
+ */
+public record LotSelection(TransactionId lotId, Quantity quantity) {
+  private static final String ENTRY_SEPARATOR = ",";
+  private static final String FIELD_SEPARATOR = ":";
+
+  public LotSelection {
+    notNull(lotId, "lotId");
+    notNull(quantity, "quantity");
+    if (quantity.isZero()) {
+      throw new IllegalArgumentException("Lot selection quantity must be positive");
+    }
+  }
+
+  /**
+   * Encodes selections as {@code lotId:quantity} pairs for a metadata value.
+   */
+  public static String encode(List<LotSelection> selections) {
+    StringBuilder sb = new StringBuilder();
+    for (LotSelection s : selections) {
+      if (!sb.isEmpty()) {
+        sb.append(ENTRY_SEPARATOR);
+      }
+      sb.append(s.lotId()).append(FIELD_SEPARATOR).append(s.quantity().amount().toPlainString());
+    }
+    return sb.toString();
+  }
+
+  public static List<LotSelection> decode(String encoded) {
+    if (encoded == null || encoded.isBlank()) {
+      return List.of();
+    }
+    List<LotSelection> selections = new ArrayList<>();
+    for (String entry : encoded.split(ENTRY_SEPARATOR)) {
+      String[] fields = entry.split(FIELD_SEPARATOR, 2);
+      if (fields.length != 2) {
+        throw new IllegalArgumentException("Malformed lot selection: " + entry);
+      }
+      selections.add(new LotSelection(TransactionId.fromString(fields[0].trim()),
+          new Quantity(new BigDecimal(fields[1].trim()))));
+    }
+    return List.copyOf(selections);
+  }
+}
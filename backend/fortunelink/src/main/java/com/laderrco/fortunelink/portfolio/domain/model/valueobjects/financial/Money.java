@@ -7,6 +7,7 @@ import com.laderrco.fortunelink.shared.enums.Precision;
 import com.laderrco.fortunelink.shared.enums.Rounding;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.stream.Collector;
 
 public record Money(BigDecimal amount, Currency currency) implements Comparable<Money> {
   private static final int MONEY_PRECISION = Precision.getMoneyPrecision();
@@ -34,6 +35,23 @@ public record Money(BigDecimal amount, Currency currency) implements Comparable<
     return new Money(BigDecimal.ZERO, currency);
   }
 
+  /**
+   * Sums amounts in {@code currency}, giving exactly what chaining {@link #add} would but on a
+   * scaled {@code long} instead of one {@code Money} per element. Empty input sums to zero.
+   *
+   * @throws CurrencyMismatchException if an element is in another currency
+   */
+  public static Collector<Money, ?, Money> summing(Currency currency) {
+    notNull(currency, "currency");
+    return Collector.of(() -> new FixedPointSum(MONEY_PRECISION), (sum, money) -> {
+      notNull(money, "add");
+      if (!currency.equals(money.currency())) {
+        throw new CurrencyMismatchException(currency, money.currency(), "add");
+      }
+      sum.add(money.amount());
+    }, FixedPointSum::combine, sum -> new Money(sum.toBigDecimal(), currency));
+  }
+
   private static BigDecimal normalize(BigDecimal value) {
     return value.setScale(MONEY_PRECISION, M_ROUNDING_MODE);
   }
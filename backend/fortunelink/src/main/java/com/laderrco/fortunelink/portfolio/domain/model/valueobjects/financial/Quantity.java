@@ -6,6 +6,7 @@ import com.laderrco.fortunelink.shared.enums.Precision;
 import com.laderrco.fortunelink.shared.enums.Rounding;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.stream.Collector;
 
 public record Quantity(BigDecimal amount) implements Comparable<Quantity> {
   public static final Quantity ZERO = new Quantity(BigDecimal.ZERO);
@@ -24,6 +25,16 @@ public record Quantity(BigDecimal amount) implements Comparable<Quantity> {
     return new Quantity(BigDecimal.valueOf(value));
   }
 
+  /**
+   * Sums quantities on a scaled {@code long}; same result as chaining {@link #add}.
+   */
+  public static Collector<Quantity, ?, Quantity> summing() {
+    return Collector.of(() -> new FixedPointSum(QUANTITY_PRECISION), (sum, quantity) -> {
+      notNull(quantity, "other quantity");
+      sum.add(quantity.amount());
+    }, FixedPointSum::combine, sum -> new Quantity(sum.toBigDecimal()));
+  }
+
   public Quantity add(Quantity other) {
     notNull(other, "other quantity");
     return new Quantity(this.amount.add(other.amount));
@@ -6,6 +6,7 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -16,20 +17,25 @@ import java.util.UUID;
  * <p>
  * <b>ID contract:</b>
  * - New gains: use {@link #of} , generates a stable UUID once, persisted immediately. - DB
- * hydration: use {@link #reconstitute} , passes the existing row UUID through, ensuring the mapper
- * can detect which gains already exist and skip re-inserting them.
+ * hydration: use {@link #reconstitute} , passes the existing row UUID through. Only the read side
+ * hydrates gains; the Account aggregate holds just the gains recorded since it was loaded.
  * <p>
  * <b>Note:</b> {@code realizedGainLoss} is signed; positive = capital gain,
  * negative = capital loss.
+ * <p>
+ * {@code consumedLots} lists the tax lots a lot-based sale closed. It is empty for ACB positions,
+ * return-of-capital gains and rows recorded before lots were tracked.
  */
 public record RealizedGainRecord(
-    UUID id, AssetSymbol symbol, Money realizedGainLoss, Money costBasisSold, Instant occurredAt) {
+    UUID id, AssetSymbol symbol, Money realizedGainLoss, Money costBasisSold, Instant occurredAt,
+    List<LotConsumption> consumedLots) {
   public RealizedGainRecord {
     notNull(id, "id");
     notNull(symbol, "symbol");
     notNull(realizedGainLoss, "realizedGainLoss");
     notNull(costBasisSold, "costBasisSold");
     notNull(occurredAt, "occurredAt");
+    consumedLots = consumedLots == null ? List.of() : List.copyOf(consumedLots);
   }
 
   /**
@@ -38,22 +44,35 @@ public record RealizedGainRecord(
    */
   public static RealizedGainRecord of(AccountId accountId, AssetSymbol symbol, Money gain,
       Money cost, Instant at) {
+    return of(accountId, symbol, gain, cost, at, List.of());
+  }
+
+  /**
+   * As {@link #of(AccountId, AssetSymbol, Money, Money, Instant)}; the consumed lots don't feed the
+   * id, so a gain keeps its id whichever lots it closed.
+   */
+  public static RealizedGainRecord of(AccountId accountId, AssetSymbol symbol, Money gain,
+      Money cost, Instant at, List<LotConsumption> consumedLots) {
     String source = String.format("%s-%s-%s-%s-%s", accountId.id(), symbol.symbol(),
         at.toEpochMilli(), gain.amount().toPlainString(), cost.amount().toPlainString());
 
     UUID deterministicId = UUID.nameUUIDFromBytes(source.getBytes(StandardCharsets.UTF_8));
 
-    return new RealizedGainRecord(deterministicId, symbol, gain, cost, at);
+    return new RealizedGainRecord(deterministicId, symbol, gain, cost, at, consumedLots);
   }
 
   /**
-   * Reconstitutes a realized gain record from a persisted row. Passes the existing DB row UUID
-   * through so the mapper can perform ID-based diffing and avoid DELETE + re-INSERT on every
-   * portfolio save. Call this only from the infrastructure mapper.
+   * Reconstitutes a realized gain record from a persisted row, passing the existing DB row UUID
+   * through. Call this only from the infrastructure layer.
    */
   public static RealizedGainRecord reconstitute(UUID id, AssetSymbol symbol, Money gain, Money cost,
       Instant at) {
-    return new RealizedGainRecord(id, symbol, gain, cost, at);
+    return reconstitute(id, symbol, gain, cost, at, List.of());
+  }
+
+  public static RealizedGainRecord reconstitute(UUID id, AssetSymbol symbol, Money gain, Money cost,
+      Instant at, List<LotConsumption> consumedLots) {
+    return new RealizedGainRecord(id, symbol, gain, cost, at, consumedLots);
   }
 
   public boolean isGain() {
@@ -2,6 +2,7 @@ package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial;
 
 import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
 
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
 import com.laderrco.fortunelink.shared.enums.Precision;
 import com.laderrco.fortunelink.shared.enums.Rounding;
 import java.math.BigDecimal;
@@ -15,8 +16,13 @@ import java.time.Instant;
  * This record maintains the history of a tax lot through partial sales and stock splits.
  * <b>Note on Cost Basis:</b> The {@code costBasis} represents the total amount paid for the
  * entire lot. The average price per share (PPS) is derived as {@code costBasis / quantity}.
+ * <p>
+ * {@code lotId} is the transaction that opened the lot. Partial sales and splits keep it, so a
+ * SPECIFIC_ID sale can name the lot for as long as any of it is open. It is null for lots built
+ * without a transaction, such as lots persisted before lots carried an id.
  */
-public record TaxLot(Quantity quantity, Money costBasis, Instant acquiredDate) {
+public record TaxLot(
+    Quantity quantity, Money costBasis, Instant acquiredDate, TransactionId lotId) {
   private static final int MONEY_PRECISION = Precision.getMoneyPrecision();
   private static final RoundingMode M_ROUNDING_MODE = Rounding.MONEY.getMode();
 
@@ -30,6 +36,25 @@ public record TaxLot(Quantity quantity, Money costBasis, Instant acquiredDate) {
     }
   }
 
+  public TaxLot(Quantity quantity, Money costBasis, Instant acquiredDate) {
+    this(quantity, costBasis, acquiredDate, null);
+  }
+
+  /**
+   * Same lot with a new cost basis, e.g. after a return of capital.
+   */
+  public TaxLot withCostBasis(Money newCostBasis) {
+    return new TaxLot(quantity, newCostBasis, acquiredDate, lotId);
+  }
+
+  /**
+   * Records {@code soldQuantity} of this lot leaving with its proportional cost.
+   */
+  public LotConsumption consume(Quantity soldQuantity) {
+    Money cost = soldQuantity.equals(quantity) ? costBasis : proportionalCost(soldQuantity);
+    return new LotConsumption(lotId, acquiredDate, soldQuantity, cost);
+  }
+
   /**
    * Calculates the portion of the cost basis to realize for a partial sale.
    * <p>
@@ -77,7 +102,7 @@ public record TaxLot(Quantity quantity, Money costBasis, Instant acquiredDate) {
     Money newCost = costBasis.subtract(soldCost);
     Quantity newQty = quantity.subtract(soldQuantity);
 
-    return new TaxLot(newQty, newCost, acquiredDate);
+    return new TaxLot(newQty, newCost, acquiredDate, lotId);
   }
 
   /**
@@ -95,7 +120,7 @@ public record TaxLot(Quantity quantity, Money costBasis, Instant acquiredDate) {
         .setScale(Precision.QUANTITY.getDecimalPlaces(), Rounding.QUANTITY.getMode());
 
     // Total cost basis for the lot remains the same
-    return new TaxLot(newQuantity, costBasis, acquiredDate);
+    return new TaxLot(newQuantity, costBasis, acquiredDate, lotId);
   }
 
   /**
@@ -7,6 +7,7 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -29,6 +30,10 @@ public record TransactionMetadata(
     Map<String, String> additionalData) {
   public static final String KEY_SYMBOL = "symbol";
   public static final String KEY_FEE_TYPE = "feeType";
+  /**
+   * Lots a SPECIFIC_ID sale closes, encoded by {@link LotSelection#encode}.
+   */
+  public static final String KEY_LOT_SELECTIONS = "lotSelections";
 
   public TransactionMetadata {
     notNull(assetType, "AssetType");
@@ -105,6 +110,13 @@ public record TransactionMetadata(
     return additionalData.isEmpty();
   }
 
+  /**
+   * Lots named by a SPECIFIC_ID sale; empty for every other transaction.
+   */
+  public List<LotSelection> lotSelections() {
+    return LotSelection.decode(additionalData.get(KEY_LOT_SELECTIONS));
+  }
+
   // --- Wither Methods (Immutable updates) ---
 
   public TransactionMetadata with(String key, String value) {
@@ -113,6 +125,11 @@ public record TransactionMetadata(
     return new TransactionMetadata(assetType, source, exclusion, copy);
   }
 
+  public TransactionMetadata withLotSelections(List<LotSelection> selections) {
+    return selections == null || selections.isEmpty() ? this
+        : with(KEY_LOT_SELECTIONS, LotSelection.encode(selections));
+  }
+
   public TransactionMetadata withAll(Map<String, String> additionalMetadata) {
     Map<String, String> copy = new HashMap<>(additionalData);
     copy.putAll(additionalMetadata);
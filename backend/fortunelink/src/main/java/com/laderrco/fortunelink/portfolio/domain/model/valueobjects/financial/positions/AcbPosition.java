@@ -121,6 +121,25 @@ public record AcbPosition(
     return new ApplyResult.Adjustment<>(updated);
   }
 
+  /**
+   * Adds {@code amount} to the cost basis without changing the quantity, e.g. a superficial loss
+   * denied on a sale and carried into the replacement shares (ITA s.53(1)(f)).
+   */
+  public ApplyResult.Adjustment<AcbPosition> increaseCostBasis(Money amount, Instant at) {
+    notNull(amount, "amount");
+    if (amount.isNegative()) {
+      throw new IllegalArgumentException("Cost basis increase cannot be negative: " + amount);
+    }
+    if (totalQuantity.isZero()) {
+      throw new IllegalStateException(
+          "Cannot increase the cost basis of an empty " + symbol.symbol() + " position");
+    }
+
+    AcbPosition updated = new AcbPosition(symbol, type, accountCurrency, totalQuantity,
+        totalCostBasis.add(amount), firstAcquiredAt, at);
+    return new ApplyResult.Adjustment<>(updated);
+  }
+
   @Override
   public Money costPerUnit() {
     return isEmpty() ? Money.zero(accountCurrency) : totalCostBasis.divide(totalQuantity.amount());
@@ -1,6 +1,8 @@
 package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
 
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotConsumption;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import java.util.List;
 
 public sealed interface ApplyResult<P extends Position> extends PositionResult {
   P newPosition();
@@ -13,8 +15,19 @@ public sealed interface ApplyResult<P extends Position> extends PositionResult {
   record Purchase<P extends Position>(P newPosition) implements ApplyResult<P> {
   }
 
+  /**
+   * @param consumedLots the lot slices the sale closed; empty for ACB, which has no lots
+   */
   record Sale<P extends Position>(
-      P newPosition, Money costBasisSold, Money realizedGainLoss) implements ApplyResult<P> {
+      P newPosition, Money costBasisSold, Money realizedGainLoss,
+      List<LotConsumption> consumedLots) implements ApplyResult<P> {
+    public Sale {
+      consumedLots = consumedLots == null ? List.of() : List.copyOf(consumedLots);
+    }
+
+    public Sale(P newPosition, Money costBasisSold, Money realizedGainLoss) {
+      this(newPosition, costBasisSold, realizedGainLoss, List.of());
+    }
   }
 
   record RocAdjustment<P extends Position>(P newPosition, Money excessCapitalGain) implements
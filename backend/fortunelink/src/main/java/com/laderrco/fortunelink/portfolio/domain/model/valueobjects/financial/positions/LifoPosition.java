@@ -0,0 +1,129 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
+
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Ratio;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Position whose cost basis is tracked per tax lot and sold newest-first.
+ * <p>
+ * {@code lots} is always a {@link LotLedger}: any other list is copied into one on construction,
+ * and every update derives the next ledger from the current one, so a buy appends one lot and a
+ * sale drops or trims lots at the back without copying the rest.
+ */
+public record LifoPosition(
+    AssetSymbol symbol,
+    AssetType type,
+    Currency accountCurrency,
+    List<TaxLot> lots,
+    Instant lastModifiedAt) implements LotPosition {
+  public LifoPosition {
+    notNull(symbol, "AssetSymbol");
+    notNull(type, "type");
+    notNull(accountCurrency, "accountCurrency");
+    lots = LotLedger.from(lots);
+  }
+
+  public static LifoPosition empty(AssetSymbol symbol, AssetType type, Currency accountCurrency) {
+    return new LifoPosition(symbol, type, accountCurrency, List.of(), null);
+  }
+
+  /**
+   * Rebuilds a persisted position; {@code firstLotSeq} is the sequence number of its first lot.
+   */
+  public static LifoPosition reconstitute(AssetSymbol symbol, AssetType type,
+      Currency accountCurrency, long firstLotSeq, List<TaxLot> lots, Instant lastModifiedAt) {
+    return new LifoPosition(symbol, type, accountCurrency, LotLedger.of(firstLotSeq, lots),
+        lastModifiedAt);
+  }
+
+  @Override
+  public ApplyResult.Purchase<LifoPosition> buy(Quantity quantity, Money totalCost, Instant at) {
+    return buy(quantity, totalCost, at, null);
+  }
+
+  @Override
+  public ApplyResult.Purchase<LifoPosition> buy(Quantity quantity, Money totalCost, Instant at,
+      TransactionId lotId) {
+    TaxLot newLot = new TaxLot(quantity, totalCost, at, lotId);
+
+    return new ApplyResult.Purchase<>(
+        new LifoPosition(symbol, type, accountCurrency, ledger().append(newLot), at));
+  }
+
+  @Override
+  public ApplyResult.Sale<LifoPosition> sell(Quantity quantity, Money proceeds, Instant at) {
+    LotAdjustments.LedgerSale sale = LotAdjustments.sellFromEnd(ledger(), quantity,
+        accountCurrency, false);
+
+    Money realizedGainLoss = proceeds.subtract(sale.costBasisSold());
+
+    return new ApplyResult.Sale<>(
+        new LifoPosition(symbol, type, accountCurrency, sale.remaining(), at),
+        sale.costBasisSold(), realizedGainLoss, sale.consumed());
+  }
+
+  @Override
+  public ApplyResult.Adjustment<LifoPosition> split(Ratio ratio) {
+    LotLedger splitLots = ledger().map(lot -> lot.split(ratio));
+
+    return new ApplyResult.Adjustment<>(
+        new LifoPosition(symbol, type, accountCurrency, splitLots, Instant.now()));
+  }
+
+  @Override
+  public ApplyResult<LifoPosition> applyReturnOfCapital(Price price, Quantity heldQuantity) {
+    LotAdjustments.Roc roc = LotAdjustments.returnOfCapital(lots, price, heldQuantity,
+        totalQuantity(), totalCostBasis(), accountCurrency);
+    if (roc.lots() == null) {
+      return new ApplyResult.RocAdjustment<>(this, roc.excessGain());
+    }
+
+    LifoPosition updated = new LifoPosition(symbol, type, accountCurrency,
+        LotLedger.of(ledger().firstSeq(), roc.lots()), Instant.now());
+    return roc.excessGain() != null ? new ApplyResult.RocAdjustment<>(updated, roc.excessGain())
+        : new ApplyResult.Adjustment<>(updated);
+  }
+
+  /**
+   * The lots as a {@link LotLedger}, for callers that need sequence numbers.
+   */
+  public LotLedger ledger() {
+    return (LotLedger) lots;
+  }
+
+  @Override
+  public List<SequencedLot> sequencedLots() {
+    return ledger().sequencedLots();
+  }
+
+  @Override
+  public Quantity totalQuantity() {
+    return new Quantity(ledger().quantity());
+  }
+
+  @Override
+  public Money totalCostBasis() {
+    return new Money(ledger().costBasis(), accountCurrency);
+  }
+
+  @Override
+  public Money costPerUnit() {
+    return isEmpty() ? Money.zero(accountCurrency) : totalCostBasis().divide(totalQuantity());
+  }
+
+  @Override
+  public Money currentValue(Price currentPrice) {
+    return currentPrice.calculateValue(totalQuantity());
+  }
+}
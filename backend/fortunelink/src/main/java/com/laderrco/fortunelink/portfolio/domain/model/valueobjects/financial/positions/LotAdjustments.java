@@ -0,0 +1,146 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotConsumption;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
+import com.laderrco.fortunelink.shared.enums.Precision;
+import com.laderrco.fortunelink.shared.enums.Rounding;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Lot arithmetic shared by the {@link LotPosition} strategies, which differ only in which lots a
+ * sale closes.
+ */
+final class LotAdjustments {
+  private LotAdjustments() {
+    // Utility class
+  }
+
+  /**
+   * Closes lots from one end of {@code lots}: the oldest first for FIFO, the newest first for LIFO.
+   * Each closed lot is one O(1) ledger update.
+   */
+  static LedgerSale sellFromEnd(LotLedger lots, Quantity quantity, Currency currency,
+      boolean oldestFirst) {
+    Quantity remainingToSell = quantity;
+    Money costBasisSold = Money.zero(currency);
+    List<LotConsumption> consumed = new ArrayList<>();
+    LotLedger remainingLots = lots;
+
+    while (!remainingToSell.isZero() && !remainingLots.isEmpty()) {
+      TaxLot lot = oldestFirst ? remainingLots.getFirst() : remainingLots.getLast();
+
+      if (lot.quantity().compareTo(remainingToSell) <= 0) {
+        // Consume entire lot
+        consumed.add(lot.consume(lot.quantity()));
+        costBasisSold = costBasisSold.add(lot.costBasis());
+        remainingToSell = remainingToSell.subtract(lot.quantity());
+        remainingLots = oldestFirst ? remainingLots.dropFirst() : remainingLots.dropLast();
+      } else {
+        LotConsumption part = lot.consume(remainingToSell);
+        consumed.add(part);
+        costBasisSold = costBasisSold.add(part.costBasis());
+        TaxLot rest = lot.remainingAfter(remainingToSell);
+        remainingLots = oldestFirst ? remainingLots.replaceFirst(rest)
+            : remainingLots.replaceLast(rest);
+        remainingToSell = Quantity.ZERO;
+      }
+    }
+    return new LedgerSale(remainingLots, costBasisSold, consumed);
+  }
+
+  /**
+   * Return of capital across {@code lots} (in acquisition order).
+   * <p>
+   * Three cases: cost basis already zero, so the whole distribution is a capital gain and the lots
+   * are unchanged; distribution at or above cost basis, so every lot goes to zero and the excess
+   * is a capital gain; otherwise each lot is reduced in proportion to its cost basis, the last lot
+   * absorbing rounding drift.
+   */
+  static Roc returnOfCapital(List<TaxLot> lots, Price price, Quantity heldQuantity,
+      Quantity totalQuantity, Money totalCostBasis, Currency currency) {
+    if (!heldQuantity.equals(totalQuantity)) {
+      throw new IllegalArgumentException(
+          "ROC heldQuantity " + heldQuantity + " does not match position quantity "
+              + totalQuantity);
+    }
+
+    Money totalReduction = price.calculateValue(heldQuantity);
+
+    // Case 1: Cost basis already zero; entire ROC is an excess capital gain
+    if (totalCostBasis.isZero()) {
+      return new Roc(null, totalReduction);
+    }
+
+    // Case 2: Full or excess wipeout; zero all lots
+    // and return excess as capital gain
+    if (totalReduction.isAtLeast(totalCostBasis)) {
+      Money excessGain = totalReduction.subtract(totalCostBasis);
+      List<TaxLot> zeroedLots = new ArrayList<>(lots.size());
+      for (TaxLot lot : lots) {
+        zeroedLots.add(lot.withCostBasis(Money.zero(currency)));
+      }
+      return new Roc(zeroedLots, excessGain);
+    }
+
+    // Case 3: Partial reduction; distribute proportionally across lots
+    Money remainingReduction = totalReduction;
+    List<TaxLot> newLots = new ArrayList<>(lots.size());
+
+    for (Iterator<TaxLot> it = lots.iterator(); it.hasNext(); ) {
+      TaxLot lot = it.next();
+      boolean isLastLot = !it.hasNext();
+
+      Money lotReduction;
+      if (isLastLot) {
+        lotReduction = remainingReduction; // absorbs accumulated rounding drift
+      } else {
+        BigDecimal ratio = lot.costBasis().amount()
+            .divide(totalCostBasis.amount(), Precision.DIVISION.getDecimalPlaces(),
+                Rounding.DIVISION.getMode());
+
+        lotReduction = totalReduction.multiply(ratio);
+        remainingReduction = remainingReduction.subtract(lotReduction);
+        // NOTE: lotReduction cannot exceed lot.costBasis() here.
+        // Proven by: totalReduction < totalCostBasis (Case 2 guard above)
+        // therefore: totalReduction * (lot.costBasis/totalCostBasis) < lot.costBasis
+      }
+
+      Money newCostBasis = applyLotReduction(lot.costBasis(), lotReduction, isLastLot, currency);
+      newLots.add(lot.withCostBasis(newCostBasis));
+    }
+    return new Roc(newLots, null);
+  }
+
+  static Money applyLotReduction(Money lotBasis, Money lotReduction, boolean isLastLot,
+      Currency currency) {
+    Money newCostBasis = lotBasis.subtract(lotReduction);
+
+    if (newCostBasis.isNegative()) {
+      if (isLastLot) {
+        return Money.zero(currency);
+      } else {
+        throw new IllegalStateException(
+            "Intermediate lot went negative -> lotBasis: " + lotBasis + ", lotReduction: "
+                + lotReduction);
+      }
+    }
+    return newCostBasis;
+  }
+
+  record LedgerSale(LotLedger remaining, Money costBasisSold, List<LotConsumption> consumed) {
+  }
+
+  /**
+   * @param lots       the adjusted lots, or null when they are unchanged
+   * @param excessGain capital gain beyond the cost basis, or null when there is none to report
+   */
+  record Roc(List<TaxLot> lots, Money excessGain) {
+  }
+}
@@ -0,0 +1,173 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.LotPosition.SequencedLot;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable set of open tax lots with two indexes: by sequence number, which is acquisition
+ * order, and by lot id. Backs {@link SpecificIdPosition}, whose sales close arbitrary lots, so
+ * every lookup, insert and removal is O(log n) against persistent trees instead of a scan of the
+ * lot list.
+ * <p>
+ * Like {@link LotLedger}, quantity and cost totals are running sums, and {@link #get} walks the
+ * tree; hot paths go through the seq and id operations. {@link #drop} is not called remove so a
+ * seq can never resolve to the mutating {@code List.remove(int)}.
+ */
+public final class LotIndex extends AbstractList<TaxLot> {
+  private static final LotIndex EMPTY = new LotIndex(PersistentTreeMap.empty(),
+      PersistentTreeMap.empty(), 0, BigDecimal.ZERO, BigDecimal.ZERO);
+
+  private final PersistentTreeMap<Long, TaxLot> bySeq;
+  private final PersistentTreeMap<UUID, Long> byId;
+  private final long nextSeq;
+  private final BigDecimal quantity;
+  private final BigDecimal costBasis;
+
+  private LotIndex(PersistentTreeMap<Long, TaxLot> bySeq, PersistentTreeMap<UUID, Long> byId,
+      long nextSeq, BigDecimal quantity, BigDecimal costBasis) {
+    this.bySeq = bySeq;
+    this.byId = byId;
+    this.nextSeq = nextSeq;
+    this.quantity = quantity;
+    this.costBasis = costBasis;
+  }
+
+  public static LotIndex empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Rebuilds an index from persisted lots; new lots are numbered after the highest seq.
+   */
+  public static LotIndex of(List<SequencedLot> lots) {
+    LotIndex index = EMPTY;
+    for (SequencedLot l : lots) {
+      index = index.put(l.seq(), l.lot());
+    }
+    return index;
+  }
+
+  static LotIndex from(List<TaxLot> lots) {
+    if (lots == null) {
+      return EMPTY;
+    }
+    if (lots instanceof LotIndex index) {
+      return index;
+    }
+    LotIndex index = EMPTY;
+    for (TaxLot lot : lots) {
+      index = index.append(lot);
+    }
+    return index;
+  }
+
+  public BigDecimal quantity() {
+    return quantity;
+  }
+
+  public BigDecimal costBasis() {
+    return costBasis;
+  }
+
+  public LotIndex append(TaxLot lot) {
+    return put(nextSeq, lot);
+  }
+
+  /**
+   * Sequence number of the open lot opened by {@code lotId}, or null if none is open.
+   */
+  public Long seqOf(TransactionId lotId) {
+    return byId.get(lotId.id());
+  }
+
+  public TaxLot lot(long seq) {
+    return bySeq.get(seq);
+  }
+
+  public long firstSeq() {
+    return bySeq.firstKey();
+  }
+
+  public LotIndex replace(long seq, TaxLot lot) {
+    notNull(lot, "lot");
+    return drop(seq).put(seq, lot);
+  }
+
+  public LotIndex drop(long seq) {
+    TaxLot lot = bySeq.get(seq);
+    if (lot == null) {
+      throw new IllegalArgumentException("No open lot with seq " + seq);
+    }
+    PersistentTreeMap<UUID, Long> ids = lot.lotId() == null ? byId : byId.remove(lot.lotId().id());
+    return new LotIndex(bySeq.remove(seq), ids, nextSeq,
+        quantity.subtract(lot.quantity().amount()), costBasis.subtract(lot.costBasis().amount()));
+  }
+
+  /**
+   * Applies {@code fn} to every lot, keeping sequence numbers. O(n log n); for splits and
+   * return-of-capital adjustments, which touch every lot anyway.
+   */
+  public LotIndex map(UnaryOperator<TaxLot> fn) {
+    List<SequencedLot> mapped = new ArrayList<>(size());
+    bySeq.forEach((seq, lot) -> mapped.add(new SequencedLot(seq, fn.apply(lot))));
+    return of(mapped).withNextSeq(nextSeq);
+  }
+
+  /**
+   * Replaces the lots, in order, keeping the sequence numbers of the lots they replace.
+   */
+  LotIndex withLots(List<TaxLot> lots) {
+    Iterator<TaxLot> it = lots.iterator();
+    return map(ignored -> it.next());
+  }
+
+  public List<SequencedLot> sequencedLots() {
+    List<SequencedLot> lots = new ArrayList<>(size());
+    bySeq.forEach((seq, lot) -> lots.add(new SequencedLot(seq, lot)));
+    return lots;
+  }
+
+  @Override
+  public TaxLot get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    Iterator<TaxLot> it = iterator();
+    for (int i = 0; i < index; i++) {
+      it.next();
+    }
+    return it.next();
+  }
+
+  @Override
+  public int size() {
+    return bySeq.size();
+  }
+
+  @Override
+  public Iterator<TaxLot> iterator() {
+    return bySeq.iterator();
+  }
+
+  private LotIndex put(long seq, TaxLot lot) {
+    notNull(lot, "lot");
+    PersistentTreeMap<UUID, Long> ids = lot.lotId() == null ? byId
+        : byId.put(lot.lotId().id(), seq);
+    return new LotIndex(bySeq.put(seq, lot), ids, Math.max(nextSeq, seq + 1),
+        quantity.add(lot.quantity().amount()), costBasis.add(lot.costBasis().amount()));
+  }
+
+  private LotIndex withNextSeq(long seq) {
+    return new LotIndex(bySeq, byId, Math.max(nextSeq, seq), quantity, costBasis);
+  }
+}
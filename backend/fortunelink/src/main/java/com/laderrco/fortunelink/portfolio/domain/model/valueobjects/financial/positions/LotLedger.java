@@ -0,0 +1,282 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Immutable, structurally shared deque of tax lots in acquisition order.
+ * <p>
+ * Two persistent cons lists (front in order, rear reversed) as in a banker's deque: adding or
+ * removing a lot at either end allocates one node and shares everything else with the previous
+ * version, and when one side runs dry the other is split in half, so a replay of n events costs
+ * O(n) overall instead of the O(n^2) of copying the lot list on every buy and sell.
+ * <p>
+ * Each lot has a sequence number, {@code firstSeq() + index}, that stays put while lots come and
+ * go at the ends. Persistence keys lot rows on it, so a sale only touches the rows it consumed.
+ * Quantity and cost totals are kept as running sums; both are fixed-scale, so the sums are exact.
+ * <p>
+ * Reads through the {@link List} view are fine for mapping and tests, but {@link #get} walks the
+ * lists; hot paths use the end operations or the iterator. Those are named {@code append} and
+ * {@code dropFirst}/{@code dropLast} because {@link List} already declares mutating
+ * {@code addLast}/{@code removeFirst}/{@code removeLast}, which this class leaves unsupported.
+ */
+public final class LotLedger extends AbstractList<TaxLot> {
+  private static final LotLedger EMPTY = new LotLedger(null, 0, null, 0, 0, BigDecimal.ZERO,
+      BigDecimal.ZERO);
+
+  private final Node front;
+  private final int frontSize;
+  private final Node rear;
+  private final int rearSize;
+  private final long firstSeq;
+  private final BigDecimal quantity;
+  private final BigDecimal costBasis;
+
+  private LotLedger(Node front, int frontSize, Node rear, int rearSize, long firstSeq,
+      BigDecimal quantity, BigDecimal costBasis) {
+    this.front = front;
+    this.frontSize = frontSize;
+    this.rear = rear;
+    this.rearSize = rearSize;
+    this.firstSeq = firstSeq;
+    this.quantity = quantity;
+    this.costBasis = costBasis;
+  }
+
+  public static LotLedger empty() {
+    return EMPTY;
+  }
+
+  /**
+   * @param firstSeq sequence number of the first lot, as persisted
+   */
+  public static LotLedger of(long firstSeq, List<TaxLot> lots) {
+    if (lots instanceof LotLedger ledger && ledger.firstSeq == firstSeq) {
+      return ledger;
+    }
+    LotLedger ledger = new LotLedger(null, 0, null, 0, firstSeq, BigDecimal.ZERO, BigDecimal.ZERO);
+    for (TaxLot lot : lots) {
+      ledger = ledger.append(lot);
+    }
+    return ledger;
+  }
+
+  static LotLedger from(List<TaxLot> lots) {
+    if (lots == null) {
+      return EMPTY;
+    }
+    return lots instanceof LotLedger ledger ? ledger : of(0, lots);
+  }
+
+  public long firstSeq() {
+    return firstSeq;
+  }
+
+  /**
+   * Sum of lot quantities at quantity scale.
+   */
+  public BigDecimal quantity() {
+    return quantity;
+  }
+
+  /**
+   * Sum of lot cost bases at money scale.
+   */
+  public BigDecimal costBasis() {
+    return costBasis;
+  }
+
+  public LotLedger append(TaxLot lot) {
+    notNull(lot, "lot");
+    return balanced(front, frontSize, new Node(lot, rear), rearSize + 1, firstSeq,
+        quantity.add(lot.quantity().amount()), costBasis.add(lot.costBasis().amount()));
+  }
+
+  public LotLedger dropFirst() {
+    TaxLot first = getFirst();
+    BigDecimal q = quantityAfter(first, null);
+    BigDecimal c = costBasisAfter(first, null);
+    return front != null
+        ? balanced(front.next, frontSize - 1, rear, rearSize, firstSeq + 1, q, c)
+        : new LotLedger(null, 0, null, 0, firstSeq + 1, q, c);
+  }
+
+  public LotLedger dropLast() {
+    TaxLot last = getLast();
+    BigDecimal q = quantityAfter(last, null);
+    BigDecimal c = costBasisAfter(last, null);
+    return rear != null
+        ? balanced(front, frontSize, rear.next, rearSize - 1, firstSeq, q, c)
+        : new LotLedger(null, 0, null, 0, firstSeq, q, c);
+  }
+
+  public LotLedger replaceFirst(TaxLot lot) {
+    notNull(lot, "lot");
+    TaxLot first = getFirst();
+    BigDecimal q = quantityAfter(first, lot);
+    BigDecimal c = costBasisAfter(first, lot);
+    return front != null
+        ? new LotLedger(new Node(lot, front.next), frontSize, rear, rearSize, firstSeq, q, c)
+        : new LotLedger(null, 0, new Node(lot, null), 1, firstSeq, q, c);
+  }
+
+  public LotLedger replaceLast(TaxLot lot) {
+    notNull(lot, "lot");
+    TaxLot last = getLast();
+    BigDecimal q = quantityAfter(last, lot);
+    BigDecimal c = costBasisAfter(last, lot);
+    return rear != null
+        ? new LotLedger(front, frontSize, new Node(lot, rear.next), rearSize, firstSeq, q, c)
+        : new LotLedger(new Node(lot, null), 1, null, 0, firstSeq, q, c);
+  }
+
+  /**
+   * Applies {@code fn} to every lot, keeping order and sequence numbers. O(n); for splits and
+   * return-of-capital adjustments, which touch every lot anyway.
+   */
+  public LotLedger map(UnaryOperator<TaxLot> fn) {
+    List<TaxLot> mapped = new ArrayList<>(size());
+    for (TaxLot lot : this) {
+      mapped.add(fn.apply(lot));
+    }
+    return of(firstSeq, mapped);
+  }
+
+  public List<LotPosition.SequencedLot> sequencedLots() {
+    List<LotPosition.SequencedLot> lots = new ArrayList<>(size());
+    long seq = firstSeq;
+    for (TaxLot lot : this) {
+      lots.add(new LotPosition.SequencedLot(seq++, lot));
+    }
+    return lots;
+  }
+
+  @Override
+  public TaxLot getFirst() {
+    if (front != null) {
+      return front.lot;
+    }
+    if (rear != null) {
+      return rear.lot; // at most one lot when the front is empty
+    }
+    throw new NoSuchElementException("No lots");
+  }
+
+  @Override
+  public TaxLot getLast() {
+    if (rear != null) {
+      return rear.lot;
+    }
+    if (front != null) {
+      return front.lot; // at most one lot when the rear is empty
+    }
+    throw new NoSuchElementException("No lots");
+  }
+
+  @Override
+  public TaxLot get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    if (index < frontSize) {
+      return walk(front, index);
+    }
+    return walk(rear, size() - 1 - index);
+  }
+
+  @Override
+  public int size() {
+    return frontSize + rearSize;
+  }
+
+  @Override
+  public Iterator<TaxLot> iterator() {
+    TaxLot[] tail = new TaxLot[rearSize];
+    int i = rearSize;
+    for (Node n = rear; n != null; n = n.next) {
+      tail[--i] = n.lot;
+    }
+
+    return new Iterator<>() {
+      private Node node = front;
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return node != null || index < tail.length;
+      }
+
+      @Override
+      public TaxLot next() {
+        if (node != null) {
+          TaxLot lot = node.lot;
+          node = node.next;
+          return lot;
+        }
+        if (index < tail.length) {
+          return tail[index++];
+        }
+        throw new NoSuchElementException();
+      }
+    };
+  }
+
+  private BigDecimal quantityAfter(TaxLot removed, TaxLot added) {
+    BigDecimal q = quantity.subtract(removed.quantity().amount());
+    return added == null ? q : q.add(added.quantity().amount());
+  }
+
+  private BigDecimal costBasisAfter(TaxLot removed, TaxLot added) {
+    BigDecimal c = costBasis.subtract(removed.costBasis().amount());
+    return added == null ? c : c.add(added.costBasis().amount());
+  }
+
+  /**
+   * Keeps both ends reachable in O(1): when one side is empty and the other holds two or more
+   * lots, the other side is split in half.
+   */
+  private static LotLedger balanced(Node front, int frontSize, Node rear, int rearSize,
+      long firstSeq, BigDecimal quantity, BigDecimal costBasis) {
+    if ((frontSize == 0 && rearSize >= 2) || (rearSize == 0 && frontSize >= 2)) {
+      TaxLot[] ordered = new TaxLot[frontSize + rearSize];
+      int i = 0;
+      for (Node n = front; n != null; n = n.next) {
+        ordered[i++] = n.lot;
+      }
+      for (Node n = rear; n != null; n = n.next) {
+        ordered[ordered.length - 1 - (i++ - frontSize)] = n.lot;
+      }
+
+      int half = ordered.length / 2;
+      Node newFront = null;
+      for (int j = half - 1; j >= 0; j--) {
+        newFront = new Node(ordered[j], newFront);
+      }
+      Node newRear = null;
+      for (int j = half; j < ordered.length; j++) {
+        newRear = new Node(ordered[j], newRear);
+      }
+      return new LotLedger(newFront, half, newRear, ordered.length - half, firstSeq, quantity,
+          costBasis);
+    }
+    return new LotLedger(front, frontSize, rear, rearSize, firstSeq, quantity, costBasis);
+  }
+
+  private static TaxLot walk(Node node, int steps) {
+    for (int i = 0; i < steps; i++) {
+      node = node.next;
+    }
+    return node.lot;
+  }
+
+  private record Node(TaxLot lot, Node next) {
+  }
+}
@@ -0,0 +1,26 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
+import java.util.List;
+
+/**
+ * A position that tracks cost basis per tax lot. The strategies differ only in which lots a sale
+ * closes: the oldest (FIFO), the newest (LIFO) or the ones the sale names (SPECIFIC_ID).
+ */
+public sealed interface LotPosition extends Position permits FifoPosition, LifoPosition,
+    SpecificIdPosition {
+
+  /**
+   * Open lots in acquisition order.
+   */
+  List<TaxLot> lots();
+
+  /**
+   * Open lots in acquisition order with their sequence numbers. A lot keeps its number while it
+   * is open; persistence keys lot rows on it.
+   */
+  List<SequencedLot> sequencedLots();
+
+  record SequencedLot(long seq, TaxLot lot) {
+  }
+}
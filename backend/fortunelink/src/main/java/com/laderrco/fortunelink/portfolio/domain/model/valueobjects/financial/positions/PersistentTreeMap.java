@@ -0,0 +1,204 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable sorted map as a path-copying AVL tree: {@code get}, {@code put} and {@code remove} are
+ * O(log n) and share every untouched subtree with the previous version.
+ * <p>
+ * Just enough map for {@link LotIndex}; iteration yields values in key order.
+ */
+final class PersistentTreeMap<K extends Comparable<K>, V> implements Iterable<V> {
+  private static final PersistentTreeMap<?, ?> EMPTY = new PersistentTreeMap<>(null);
+
+  private final Node<K, V> root;
+
+  private PersistentTreeMap(Node<K, V> root) {
+    this.root = root;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <K extends Comparable<K>, V> PersistentTreeMap<K, V> empty() {
+    return (PersistentTreeMap<K, V>) EMPTY;
+  }
+
+  int size() {
+    return root == null ? 0 : root.size;
+  }
+
+  boolean isEmpty() {
+    return root == null;
+  }
+
+  V get(K key) {
+    Node<K, V> n = root;
+    while (n != null) {
+      int c = key.compareTo(n.key);
+      if (c == 0) {
+        return n.value;
+      }
+      n = c < 0 ? n.left : n.right;
+    }
+    return null;
+  }
+
+  K firstKey() {
+    if (root == null) {
+      throw new NoSuchElementException();
+    }
+    return min(root).key;
+  }
+
+  PersistentTreeMap<K, V> put(K key, V value) {
+    return new PersistentTreeMap<>(put(root, key, value));
+  }
+
+  /**
+   * @return this map when {@code key} is absent
+   */
+  PersistentTreeMap<K, V> remove(K key) {
+    return get(key) == null ? this : new PersistentTreeMap<>(remove(root, key));
+  }
+
+  void forEach(BiConsumer<? super K, ? super V> action) {
+    Deque<Node<K, V>> stack = new ArrayDeque<>();
+    Node<K, V> n = root;
+    while (n != null || !stack.isEmpty()) {
+      while (n != null) {
+        stack.push(n);
+        n = n.left;
+      }
+      n = stack.pop();
+      action.accept(n.key, n.value);
+      n = n.right;
+    }
+  }
+
+  @Override
+  public Iterator<V> iterator() {
+    return new Iterator<>() {
+      private final Deque<Node<K, V>> stack = new ArrayDeque<>();
+
+      {
+        pushLeft(root);
+      }
+
+      @Override
+      public boolean hasNext() {
+        return !stack.isEmpty();
+      }
+
+      @Override
+      public V next() {
+        if (stack.isEmpty()) {
+          throw new NoSuchElementException();
+        }
+        Node<K, V> n = stack.pop();
+        pushLeft(n.right);
+        return n.value;
+      }
+
+      private void pushLeft(Node<K, V> n) {
+        for (; n != null; n = n.left) {
+          stack.push(n);
+        }
+      }
+    };
+  }
+
+  private static <K extends Comparable<K>, V> Node<K, V> put(Node<K, V> n, K key, V value) {
+    if (n == null) {
+      return new Node<>(key, value, null, null);
+    }
+    int c = key.compareTo(n.key);
+    if (c < 0) {
+      return balance(n.key, n.value, put(n.left, key, value), n.right);
+    }
+    if (c > 0) {
+      return balance(n.key, n.value, n.left, put(n.right, key, value));
+    }
+    return new Node<>(key, value, n.left, n.right);
+  }
+
+  private static <K extends Comparable<K>, V> Node<K, V> remove(Node<K, V> n, K key) {
+    int c = key.compareTo(n.key);
+    if (c < 0) {
+      return balance(n.key, n.value, remove(n.left, key), n.right);
+    }
+    if (c > 0) {
+      return balance(n.key, n.value, n.left, remove(n.right, key));
+    }
+    if (n.left == null) {
+      return n.right;
+    }
+    if (n.right == null) {
+      return n.left;
+    }
+    Node<K, V> successor = min(n.right);
+    return balance(successor.key, successor.value, n.left, removeMin(n.right));
+  }
+
+  private static <K extends Comparable<K>, V> Node<K, V> removeMin(Node<K, V> n) {
+    if (n.left == null) {
+      return n.right;
+    }
+    return balance(n.key, n.value, removeMin(n.left), n.right);
+  }
+
+  private static <K, V> Node<K, V> min(Node<K, V> n) {
+    while (n.left != null) {
+      n = n.left;
+    }
+    return n;
+  }
+
+  private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+    int hl = height(left);
+    int hr = height(right);
+    if (hl > hr + 1) {
+      if (height(left.left) >= height(left.right)) {
+        return new Node<>(left.key, left.value, left.left,
+            new Node<>(key, value, left.right, right));
+      }
+      Node<K, V> lr = left.right;
+      return new Node<>(lr.key, lr.value, new Node<>(left.key, left.value, left.left, lr.left),
+          new Node<>(key, value, lr.right, right));
+    }
+    if (hr > hl + 1) {
+      if (height(right.right) >= height(right.left)) {
+        return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left),
+            right.right);
+      }
+      Node<K, V> rl = right.left;
+      return new Node<>(rl.key, rl.value, new Node<>(key, value, left, rl.left),
+          new Node<>(right.key, right.value, rl.right, right.right));
+    }
+    return new Node<>(key, value, left, right);
+  }
+
+  private static int height(Node<?, ?> n) {
+    return n == null ? 0 : n.height;
+  }
+
+  private static final class Node<K, V> {
+    private final K key;
+    private final V value;
+    private final Node<K, V> left;
+    private final Node<K, V> right;
+    private final int height;
+    private final int size;
+
+    private Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+      this.key = key;
+      this.value = value;
+      this.left = left;
+      this.right = right;
+      this.height = 1 + Math.max(height(left), height(right));
+      this.size = 1 + (left == null ? 0 : left.size) + (right == null ? 0 : right.size);
+    }
+  }
+}
@@ -3,11 +3,13 @@ package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.p
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotSelection;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Ratio;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
 import com.laderrco.fortunelink.portfolio.domain.services.projectors.TransactionApplier;
 import java.time.Instant;
 import java.util.List;
@@ -21,11 +23,33 @@ import java.util.List;
  * Direct calls to buy(), sell(), split(), applyReturnOfCapital() outside of
  * {@link TransactionApplier} are a domain violation. Enforce this in code review.
  */
-public sealed interface Position permits AcbPosition, FifoPosition {
+public sealed interface Position permits AcbPosition, LotPosition {
   ApplyResult<? extends Position> buy(Quantity quantity, Money totalCost, Instant at);
 
   ApplyResult<? extends Position> sell(Quantity quantity, Money proceeds, Instant at);
 
+  /**
+   * Buy that opens a lot identified by {@code lotId}, the opening transaction. Positions that
+   * don't track lots ignore the id.
+   */
+  default ApplyResult<? extends Position> buy(Quantity quantity, Money totalCost, Instant at,
+      TransactionId lotId) {
+    return buy(quantity, totalCost, at);
+  }
+
+  /**
+   * Sale that closes the named lots. Only {@link SpecificIdPosition} honours selections; every
+   * other position rejects a non-empty list rather than silently ignoring it.
+   */
+  default ApplyResult<? extends Position> sell(Quantity quantity, Money proceeds, Instant at,
+      List<LotSelection> selections) {
+    if (selections != null && !selections.isEmpty()) {
+      throw new IllegalArgumentException(
+          getClass().getSimpleName() + " does not take lot selections");
+    }
+    return sell(quantity, proceeds, at);
+  }
+
   ApplyResult<? extends Position> split(Ratio ratio);
 
   ApplyResult<? extends Position> applyReturnOfCapital(Price distributionPerUnit,
@@ -52,8 +76,14 @@ public sealed interface Position permits AcbPosition, FifoPosition {
       case AcbPosition acb ->
           new AcbPosition(acb.symbol(), acb.type(), acb.accountCurrency(), acb.totalQuantity(),
               acb.totalCostBasis(), acb.firstAcquiredAt(), acb.lastModifiedAt());
+      // Lot ledgers and indexes are immutable and shared, not copied.
       case FifoPosition fifo -> new FifoPosition(fifo.symbol(), fifo.type(), fifo.accountCurrency(),
-          List.copyOf(fifo.lots()), fifo.lastModifiedAt());
+          fifo.lots(), fifo.lastModifiedAt());
+      case LifoPosition lifo -> new LifoPosition(lifo.symbol(), lifo.type(), lifo.accountCurrency(),
+          lifo.lots(), lifo.lastModifiedAt());
+      case SpecificIdPosition spec ->
+          new SpecificIdPosition(spec.symbol(), spec.type(), spec.accountCurrency(), spec.lots(),
+              spec.lastModifiedAt());
     };
   }
 
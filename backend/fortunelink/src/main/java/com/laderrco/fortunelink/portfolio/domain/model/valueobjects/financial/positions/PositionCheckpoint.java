@@ -0,0 +1,32 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import java.time.Instant;
+
+/**
+ * Position state for one (account, symbol) after every active transaction up to and including
+ * {@code asOf}.
+ * <p>
+ * Checkpoints are only taken on an {@code occurredAt} boundary, never between two transactions
+ * sharing the same instant, so "everything after {@code asOf}" is exactly what a recalculation
+ * has to replay and {@code asOf} doubles as the realized-gain watermark.
+ * <p>
+ * {@code position} is null when the symbol was flat at {@code asOf}.
+ */
+public record PositionCheckpoint(
+    AccountId accountId,
+    AssetSymbol symbol,
+    Instant asOf,
+    TransactionId lastTransactionId,
+    Position position) {
+  public PositionCheckpoint {
+    notNull(accountId, "accountId");
+    notNull(symbol, "symbol");
+    notNull(asOf, "asOf");
+    notNull(lastTransactionId, "lastTransactionId");
+  }
+}
@@ -0,0 +1,209 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
+
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotConsumption;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotSelection;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Ratio;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Position whose sales close the tax lots they name.
+ * <p>
+ * {@code lots} is always a {@link LotIndex}, so finding, trimming or closing a named lot is
+ * O(log n) however many lots are open. A sale without selections closes the oldest lots first, the
+ * same as {@link FifoPosition}.
+ */
+public record SpecificIdPosition(
+    AssetSymbol symbol,
+    AssetType type,
+    Currency accountCurrency,
+    List<TaxLot> lots,
+    Instant lastModifiedAt) implements LotPosition {
+  public SpecificIdPosition {
+    notNull(symbol, "AssetSymbol");
+    notNull(type, "type");
+    notNull(accountCurrency, "accountCurrency");
+    lots = LotIndex.from(lots);
+  }
+
+  public static SpecificIdPosition empty(AssetSymbol symbol, AssetType type,
+      Currency accountCurrency) {
+    return new SpecificIdPosition(symbol, type, accountCurrency, List.of(), null);
+  }
+
+  /**
+   * Rebuilds a persisted position, keeping each lot's sequence number.
+   */
+  public static SpecificIdPosition reconstitute(AssetSymbol symbol, AssetType type,
+      Currency accountCurrency, List<SequencedLot> lots, Instant lastModifiedAt) {
+    return new SpecificIdPosition(symbol, type, accountCurrency, LotIndex.of(lots),
+        lastModifiedAt);
+  }
+
+  @Override
+  public ApplyResult.Purchase<SpecificIdPosition> buy(Quantity quantity, Money totalCost,
+      Instant at) {
+    return buy(quantity, totalCost, at, null);
+  }
+
+  @Override
+  public ApplyResult.Purchase<SpecificIdPosition> buy(Quantity quantity, Money totalCost,
+      Instant at, TransactionId lotId) {
+    if (lotId != null && index().seqOf(lotId) != null) {
+      throw new IllegalArgumentException("Lot " + lotId + " is already open in " + symbol);
+    }
+    TaxLot newLot = new TaxLot(quantity, totalCost, at, lotId);
+
+    return new ApplyResult.Purchase<>(
+        new SpecificIdPosition(symbol, type, accountCurrency, index().append(newLot), at));
+  }
+
+  @Override
+  public ApplyResult.Sale<SpecificIdPosition> sell(Quantity quantity, Money proceeds, Instant at) {
+    Quantity remainingToSell = quantity;
+    Money costBasisSold = Money.zero(accountCurrency);
+    List<LotConsumption> consumed = new ArrayList<>();
+    LotIndex remainingLots = index();
+
+    while (!remainingToSell.isZero() && !remainingLots.isEmpty()) {
+      long seq = remainingLots.firstSeq();
+      TaxLot lot = remainingLots.lot(seq);
+      Quantity closed = lot.quantity().compareTo(remainingToSell) <= 0 ? lot.quantity()
+          : remainingToSell;
+
+      LotConsumption part = lot.consume(closed);
+      consumed.add(part);
+      costBasisSold = costBasisSold.add(part.costBasis());
+      remainingLots = close(remainingLots, seq, lot, closed);
+      remainingToSell = remainingToSell.subtract(closed);
+    }
+    return sale(remainingLots, costBasisSold, proceeds, consumed, at);
+  }
+
+  /**
+   * Closes exactly the named lots. The selections must add up to {@code quantity}, name each lot
+   * at most once, and not ask for more of a lot than is open.
+   */
+  @Override
+  public ApplyResult.Sale<SpecificIdPosition> sell(Quantity quantity, Money proceeds, Instant at,
+      List<LotSelection> selections) {
+    if (selections == null || selections.isEmpty()) {
+      return sell(quantity, proceeds, at);
+    }
+
+    Quantity selected = Quantity.ZERO;
+    Set<TransactionId> seen = new HashSet<>();
+    for (LotSelection s : selections) {
+      if (!seen.add(s.lotId())) {
+        throw new IllegalArgumentException("Lot " + s.lotId() + " is selected more than once");
+      }
+      selected = selected.add(s.quantity());
+    }
+    if (!selected.equals(quantity)) {
+      throw new IllegalArgumentException(
+          "Lot selections total " + selected + " but the sale is for " + quantity);
+    }
+
+    Money costBasisSold = Money.zero(accountCurrency);
+    List<LotConsumption> consumed = new ArrayList<>(selections.size());
+    LotIndex remainingLots = index();
+
+    for (LotSelection s : selections) {
+      Long seq = remainingLots.seqOf(s.lotId());
+      if (seq == null) {
+        throw new IllegalArgumentException("No open lot " + s.lotId() + " in " + symbol);
+      }
+      TaxLot lot = remainingLots.lot(seq);
+      if (s.quantity().compareTo(lot.quantity()) > 0) {
+        throw new IllegalArgumentException(
+            "Lot " + s.lotId() + " holds " + lot.quantity() + ", cannot sell " + s.quantity());
+      }
+
+      LotConsumption part = lot.consume(s.quantity());
+      consumed.add(part);
+      costBasisSold = costBasisSold.add(part.costBasis());
+      remainingLots = close(remainingLots, seq, lot, s.quantity());
+    }
+    return sale(remainingLots, costBasisSold, proceeds, consumed, at);
+  }
+
+  @Override
+  public ApplyResult.Adjustment<SpecificIdPosition> split(Ratio ratio) {
+    LotIndex splitLots = index().map(lot -> lot.split(ratio));
+
+    return new ApplyResult.Adjustment<>(
+        new SpecificIdPosition(symbol, type, accountCurrency, splitLots, Instant.now()));
+  }
+
+  @Override
+  public ApplyResult<SpecificIdPosition> applyReturnOfCapital(Price price,
+      Quantity heldQuantity) {
+    LotAdjustments.Roc roc = LotAdjustments.returnOfCapital(lots, price, heldQuantity,
+        totalQuantity(), totalCostBasis(), accountCurrency);
+    if (roc.lots() == null) {
+      return new ApplyResult.RocAdjustment<>(this, roc.excessGain());
+    }
+
+    SpecificIdPosition updated = new SpecificIdPosition(symbol, type, accountCurrency,
+        index().withLots(roc.lots()), Instant.now());
+    return roc.excessGain() != null ? new ApplyResult.RocAdjustment<>(updated, roc.excessGain())
+        : new ApplyResult.Adjustment<>(updated);
+  }
+
+  /**
+   * The lots as a {@link LotIndex}, for lookups by lot id or sequence number.
+   */
+  public LotIndex index() {
+    return (LotIndex) lots;
+  }
+
+  @Override
+  public List<SequencedLot> sequencedLots() {
+    return index().sequencedLots();
+  }
+
+  @Override
+  public Quantity totalQuantity() {
+    return new Quantity(index().quantity());
+  }
+
+  @Override
+  public Money totalCostBasis() {
+    return new Money(index().costBasis(), accountCurrency);
+  }
+
+  @Override
+  public Money costPerUnit() {
+    return isEmpty() ? Money.zero(accountCurrency) : totalCostBasis().divide(totalQuantity());
+  }
+
+  @Override
+  public Money currentValue(Price currentPrice) {
+    return currentPrice.calculateValue(totalQuantity());
+  }
+
+  private static LotIndex close(LotIndex lots, long seq, TaxLot lot, Quantity closed) {
+    return closed.equals(lot.quantity()) ? lots.drop(seq)
+        : lots.replace(seq, lot.remainingAfter(closed));
+  }
+
+  private ApplyResult.Sale<SpecificIdPosition> sale(LotIndex remainingLots, Money costBasisSold,
+      Money proceeds, List<LotConsumption> consumed, Instant at) {
+    return new ApplyResult.Sale<>(
+        new SpecificIdPosition(symbol, type, accountCurrency, remainingLots, at), costBasisSold,
+        proceeds.subtract(costBasisSold), consumed);
+  }
+}
@@ -2,6 +2,10 @@ package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers
 
 import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
 // BEFORE WE HAD A @Embeddable, don't use that here, instead we have a JPA converter in the infra layer, looks something like this:
 /*
 Converter(autoApply = true)
@@ -17,16 +21,39 @@ public class AssetSymbolConverter implements AttributeConverter<AssetSymbol, Str
     }
 }
 */
+
+/**
+ * Ticker symbol, trimmed and upper-cased.
+ * <p>
+ * Use {@link #of} when mapping stored or provider data: it hands out one shared instance per
+ * symbol, so the same ticker on 50k rows is one object and one validation. The cache stops taking
+ * new symbols at {@link #MAX_INTERNED} rather than evicting, which bounds it against arbitrary
+ * input; past that {@code of} just constructs.
+ */
 public record AssetSymbol(String symbol) {
+  private static final Pattern VALID = Pattern.compile("^[A-Z0-9.-]+$");
+  private static final int MAX_INTERNED = 8_192;
+  private static final Map<String, AssetSymbol> INTERNED = new ConcurrentHashMap<>();
+
   public AssetSymbol {
     notNull(symbol, "Symbol");
     symbol = normalizeAndValidate(symbol);
   }
 
+  public static AssetSymbol of(String symbol) {
+    notNull(symbol, "Symbol");
+    AssetSymbol interned = INTERNED.get(symbol);
+    if (interned != null) {
+      return interned;
+    }
+    return INTERNED.size() < MAX_INTERNED ? INTERNED.computeIfAbsent(symbol, AssetSymbol::new)
+        : new AssetSymbol(symbol);
+  }
+
   private static String normalizeAndValidate(String raw) {
     String trimmed = raw.trim().toUpperCase();
 
-    if (!trimmed.matches("^[A-Z0-9.-]+$")) {
+    if (!VALID.matcher(trimmed).matches()) {
       throw new IllegalArgumentException(
           "Symbol must contain only letters, numbers, dots, and hyphens: " + raw);
     }
@@ -1,11 +1,14 @@
 package com.laderrco.fortunelink.portfolio.domain.repositories;
 
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface PortfolioRepository {
   /**
@@ -53,6 +56,35 @@ public interface PortfolioRepository {
    */
   Optional<Portfolio> findWithAccountsByIdAndUserId(PortfolioId id, UserId userId);
 
+  /**
+   * Loads a single account as an "account slice" for commands that mutate exactly one account.
+   * Ownership is validated in the same query that loads the account row; sibling accounts are never
+   * loaded. Only positions whose symbol is in {@code symbols} are hydrated and realized gain history
+   * is not loaded at all.
+   *
+   * @param portfolioId The owning portfolio.
+   * @param userId      The owner of the portfolio.
+   * @param accountId   The account to load.
+   * @param symbols     The positions the command will read or write. Empty for cash-only commands.
+   * @return The account, or empty if it does not exist, is not owned by the user, or the portfolio
+   * is soft-deleted.
+   * @implNote The returned Account is partial. It must be written back with
+   * {@link #saveAccountSlice} inside the same transaction, never with {@link #save}.
+   */
+  Optional<Account> findAccountSlice(PortfolioId portfolioId, UserId userId, AccountId accountId,
+      Set<AssetSymbol> symbols);
+
+  /**
+   * Persists an account loaded through {@link #findAccountSlice}. Writes the account row, upserts or
+   * removes the positions in {@code symbols}, and inserts realized gains recorded since the load.
+   * The account version is checked and incremented, so a concurrent writer on the same account
+   * fails with an optimistic lock exception.
+   *
+   * @param account The slice-loaded account.
+   * @param symbols The same symbol scope passed to {@link #findAccountSlice}.
+   */
+  void saveAccountSlice(Account account, Set<AssetSymbol> symbols);
+
   void markAccountStale(AccountId accountId);
 
   /**
@@ -0,0 +1,27 @@
+package com.laderrco.fortunelink.portfolio.domain.repositories;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.PositionCheckpoint;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Domain port for position checkpoints.
+ * <p>
+ * Every checkpoint that survives is valid: writing or excluding a transaction deletes the
+ * checkpoints at or after its {@code occurredAt} in the same DB transaction. The latest checkpoint
+ * is therefore always the nearest one before any pending edit.
+ */
+public interface PositionCheckpointRepository {
+
+  Optional<PositionCheckpoint> findLatest(AccountId accountId, AssetSymbol symbol);
+
+  void saveAll(List<PositionCheckpoint> checkpoints);
+
+  /**
+   * Deletes the checkpoints at or after {@code from}, they no longer reflect the history.
+   */
+  void deleteFrom(AccountId accountId, AssetSymbol symbol, Instant from);
+}
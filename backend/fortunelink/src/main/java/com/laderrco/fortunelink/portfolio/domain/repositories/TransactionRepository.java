@@ -11,11 +11,13 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository responsible for persistence and lifecycle operations on {@link Transaction} entities.
@@ -26,22 +28,25 @@ import java.util.UUID;
  */
 public interface TransactionRepository {
   /**
-   * Persists a transaction. {@code portfolioId} is required for new transactions because it is
-   * stored as a denormalized column for efficient joins in the recalculation engine. For
-   * exclusion/restore updates to existing transactions, the portfolio ID is already on the managed
-   * JPA entity , it is still required here to satisfy the contract uniformly and to avoid a
-   * secondary lookup.
+   * Persists a new transaction. {@code portfolioId} is stored as a denormalized column for
+   * efficient joins in the recalculation engine.
    *
    * <p>
    * The caller always has the portfolioId available in the command or context object, so passing it
    * here costs nothing and eliminates an extra DB round-trip.
    *
    * @param transaction The transaction entity to save.
-   * @param portfolioId The owning portfolio , used for the denormalized column on inserts.
+   * @param portfolioId The owning portfolio , used for the denormalized column.
    * @return The persisted {@link Transaction} instance.
    */
   Transaction save(Transaction transaction, PortfolioId portfolioId, UUID idempotencyKey);
 
+  /**
+   * Writes the exclusion state of an existing transaction, loaded earlier in the same unit of work.
+   * Nothing else about a transaction changes after it is recorded.
+   */
+  Transaction saveExclusionState(Transaction transaction);
+
   /**
    * Removes excluded transactions for a specific account that occurred before the cutoff date.
    */
@@ -65,6 +70,33 @@ public interface TransactionRepository {
    */
   List<Transaction> findByAccountIdAndSymbol(AccountId accountId, AssetSymbol symbol);
 
+  /**
+   * Streams the account's non-excluded transactions in replay order: {@code occurredAt}, BUY before
+   * other types at the same instant, then transaction id. Ordering happens in the database and rows
+   * are read off a cursor, so memory stays flat however long the history is.
+   * <p>
+   * The stream holds an open cursor: consume it inside a transaction and close it, e.g. with
+   * try-with-resources.
+   */
+  Stream<Transaction> streamReplayHistory(AccountId accountId);
+
+  /**
+   * Same as {@link #streamReplayHistory(AccountId)}, restricted to {@code symbol} and, when
+   * {@code after} is not null, to transactions strictly after it.
+   */
+  Stream<Transaction> streamReplayHistory(AccountId accountId, AssetSymbol symbol, Instant after);
+
+  /**
+   * The user's active BUY, DRIP, SELL and SPLIT transactions of {@code symbols}, across all of
+   * their accounts, in replay order. Feeds the superficial-loss window index.
+   */
+  List<Transaction> findHoldingHistoryForUser(UserId userId, Collection<AssetSymbol> symbols);
+
+  /**
+   * Number of rows {@link #streamReplayHistory(AccountId)} would return.
+   */
+  long countReplayHistory(AccountId accountId);
+
   /**
    * Finds transactions from a specific account between two date ranges.
    */
@@ -99,14 +131,15 @@ public interface TransactionRepository {
       PortfolioId portfolioId);
 
   /**
-   * Returns the number of transactions in this account that: (a) have been excluded from position
-   * calculations, AND (b) are of a type that affects positions or income.
+   * Returns, per account, the number of transactions that: (a) have been excluded from position
+   * calculations, AND (b) are of a type that affects positions or income. One query for the whole
+   * set; accounts with nothing excluded are absent from the map.
    * <p>
    * Used to populate AccountView.hasCashImbalance. A non-zero count means the account's displayed
    * cash balance may not reconcile against its position history, because cash movements were NOT
    * reversed on exclusion.
    *
-   * @return count, never negative
+   * @return counts, never negative
    */
-  int countExcludedPositionAffecting(AccountId accountId);
+  Map<AccountId, Integer> countExcludedPositionAffecting(Set<AccountId> accountIds);
 }
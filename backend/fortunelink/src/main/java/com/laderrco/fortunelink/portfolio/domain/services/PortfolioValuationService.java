@@ -5,7 +5,9 @@ import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.MarketAssetQuote;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -44,4 +46,16 @@ public interface PortfolioValuationService {
    * @return total market value of holdings
    */
   Money calculatePositionsValue(Account account, Map<AssetSymbol, MarketAssetQuote> quoteCache);
+
+  /**
+   * Same valuation as {@link #calculatePositionsValue(Account, Map)} for positions read without
+   * their account, such as rows of the account read model.
+   *
+   * @param positions       the positions to value
+   * @param accountCurrency the currency the positions are held in
+   * @param quoteCache      pre-fetched quotes for all the positions' symbols
+   * @return total market value of the non-cash positions
+   */
+  Money calculatePositionsValue(Collection<? extends Position> positions, Currency accountCurrency,
+      Map<AssetSymbol, MarketAssetQuote> quoteCache);
 }
\ No newline at end of file
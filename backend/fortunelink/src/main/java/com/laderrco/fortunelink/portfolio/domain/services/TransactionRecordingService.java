@@ -5,13 +5,16 @@ import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.FeeType;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Fee;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotSelection;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Ratio;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.services.superficialloss.SuperficialLossEngine;
 import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Service responsible for recording financial transactions and updating the state of an
@@ -31,9 +34,12 @@ public interface TransactionRecordingService {
 
   /**
    * Records a sell order and updates the account's position and cash balance.
+   * <p>
+   * {@code lotSelections} names the lots a SPECIFIC_ID position closes; it must be empty for every
+   * other strategy.
    */
   Transaction recordSell(Account account, AssetSymbol symbol, Quantity quantity, Price price,
-      List<Fee> fees, String notes, Instant date);
+      List<Fee> fees, String notes, Instant date, List<LotSelection> lotSelections);
 
   /**
    * Records a cash deposit into the account.
@@ -112,7 +118,15 @@ public interface TransactionRecordingService {
    * @implNote The caller must invoke {@code account.clearPosition(symbol)} prior to this method to
    * ensure idempotency.
    */
-  void replayTransaction(Account account, Transaction tx);
+  default void replayTransaction(Account account, Transaction tx) {
+    replayTransaction(account, tx, SuperficialLossEngine.disabled());
+  }
+
+  /**
+   * {@link #replayTransaction(Account, Transaction)} with the superficial-loss rule applied. Pass
+   * the same engine to every transaction of one replay.
+   */
+  void replayTransaction(Account account, Transaction tx, SuperficialLossEngine superficialLosses);
 
   /**
    * Performs a full replay of an existing transaction, affecting both position and cash balances.
@@ -126,5 +140,32 @@ public interface TransactionRecordingService {
    * @implNote The caller MUST reset both positions and cash to zero before invoking; otherwise,
    * balances will be double-counted.
    */
-  void replayFullTransaction(Account account, List<Transaction> history);
+  default void replayFullTransaction(Account account, List<Transaction> history) {
+    replayFullTransaction(account, history, SuperficialLossEngine.disabled());
+  }
+
+  /**
+   * {@link #replayFullTransaction(Account, List)} with the superficial-loss rule applied.
+   */
+  void replayFullTransaction(Account account, List<Transaction> history,
+      SuperficialLossEngine superficialLosses);
+
+  /**
+   * Streaming form of {@link #replayFullTransaction(Account, List)} for histories too large to
+   * hold in memory. Transactions are applied one at a time in the order the stream yields them, so
+   * it must already be in replay order.
+   *
+   * @param account The account to update.
+   * @param ordered The transactions to apply, in replay order. Not closed by this method.
+   * @implNote Same reset requirement as {@link #replayFullTransaction(Account, List)}.
+   */
+  default void replayFullHistory(Account account, Stream<Transaction> ordered) {
+    replayFullHistory(account, ordered, SuperficialLossEngine.disabled());
+  }
+
+  /**
+   * {@link #replayFullHistory(Account, Stream)} with the superficial-loss rule applied.
+   */
+  void replayFullHistory(Account account, Stream<Transaction> ordered,
+      SuperficialLossEngine superficialLosses);
 }
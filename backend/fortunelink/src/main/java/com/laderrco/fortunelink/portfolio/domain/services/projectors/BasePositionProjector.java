@@ -7,8 +7,10 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Cu
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.ApplyResult;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.services.superficialloss.SuperficialLossEngine;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 public abstract class BasePositionProjector<P extends Position> implements
     Projector<P, Transaction> {
@@ -48,6 +50,52 @@ public abstract class BasePositionProjector<P extends Position> implements
     return current;
   }
 
+  /**
+   * Replays {@code ordered} as given, without the re-sort {@link #project} applies, following the
+   * same rules as the account's position book: BUY and DRIP open the position, every other
+   * transaction needs an open one, and a position that goes flat is closed. Every result is handed
+   * to {@code onApply} so the caller can pick up realized gains.
+   *
+   * @return the final position, or null if it ends flat
+   */
+  public P replay(List<Transaction> ordered,
+      BiConsumer<Transaction, ApplyResult<? extends Position>> onApply) {
+    return replay(ordered, SuperficialLossEngine.disabled(), onApply);
+  }
+
+  /**
+   * Same as {@link #replay(List, BiConsumer)}, with every result passed through
+   * {@code superficialLosses} before it is applied.
+   */
+  public P replay(List<Transaction> ordered, SuperficialLossEngine superficialLosses,
+      BiConsumer<Transaction, ApplyResult<? extends Position>> onApply) {
+    P current = null;
+
+    for (Transaction tx : ordered) {
+      if (current == null && opensPosition(tx)) {
+        current = getEmptyPosition(symbol, tx.metadata().assetType(), accountCurrency);
+      }
+      if (current == null) {
+        throw new IllegalStateException(
+            tx.transactionType() + " requires position for " + symbol.symbol());
+      }
+
+      ApplyResult<? extends Position> result = superficialLosses.adjust(tx,
+          TransactionApplier.apply(current, tx));
+      onApply.accept(tx, result);
+
+      Position next = result.newPosition();
+      checkInstance(next);
+      current = next.totalQuantity().isZero() ? null : positionClass.cast(next);
+    }
+    return current;
+  }
+
+  private static boolean opensPosition(Transaction tx) {
+    return tx.transactionType() == TransactionType.BUY
+        || tx.transactionType() == TransactionType.DIVIDEND_REINVEST;
+  }
+
   private void checkInstance(Position next) {
     if (!positionClass.isInstance(next)) {
       throw new IllegalStateException(
@@ -0,0 +1,17 @@
+package com.laderrco.fortunelink.portfolio.domain.services.projectors;
+
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.LifoPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+
+public final class LifoPositionProjector extends BasePositionProjector<LifoPosition> {
+  public LifoPositionProjector(AssetSymbol s, AssetType t, Currency c) {
+    super(s, t, c, LifoPosition.class);
+  }
+
+  @Override
+  protected LifoPosition getEmptyPosition(AssetSymbol s, AssetType t, Currency c) {
+    return LifoPosition.empty(s, t, c);
+  }
+}
@@ -0,0 +1,17 @@
+package com.laderrco.fortunelink.portfolio.domain.services.projectors;
+
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.SpecificIdPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+
+public final class SpecificIdPositionProjector extends BasePositionProjector<SpecificIdPosition> {
+  public SpecificIdPositionProjector(AssetSymbol s, AssetType t, Currency c) {
+    super(s, t, c, SpecificIdPosition.class);
+  }
+
+  @Override
+  protected SpecificIdPosition getEmptyPosition(AssetSymbol s, AssetType t, Currency c) {
+    return SpecificIdPosition.empty(s, t, c);
+  }
+}
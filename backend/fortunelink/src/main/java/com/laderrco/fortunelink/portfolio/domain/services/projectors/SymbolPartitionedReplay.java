@@ -0,0 +1,170 @@
+package com.laderrco.fortunelink.portfolio.domain.services.projectors;
+
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotConsumption;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.ApplyResult;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.services.superficialloss.SuperficialLossEngine;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Full-history replay that projects every symbol on its own ForkJoin task.
+ * <p>
+ * Position effects only depend on earlier transactions for the same symbol, so the holding
+ * transactions are partitioned by symbol (keeping history order inside each partition) and each
+ * partition runs through {@link BasePositionProjector#replay}. Cash is the only account-wide state;
+ * it is summed over {@code cashDelta} on the calling thread while the partitions run.
+ * <p>
+ * The result does not depend on scheduling: partitions are joined in first-appearance order and
+ * realized gains are merged back into history order by their index in {@code ordered}.
+ */
+public final class SymbolPartitionedReplay {
+  private SymbolPartitionedReplay() {
+    // Utility class
+  }
+
+  /**
+   * @param ordered non-excluded history, already in replay order
+   */
+  public static Result replay(List<Transaction> ordered, Currency accountCurrency,
+      PositionStrategy strategy, ForkJoinPool pool) {
+    return replay(ordered, accountCurrency, strategy, SuperficialLossEngine.disabled(), pool);
+  }
+
+  /**
+   * Same as {@link #replay(List, Currency, PositionStrategy, ForkJoinPool)}, applying
+   * {@code superficialLosses} inside each partition. Its indexes are loaded before the partitions
+   * fork.
+   *
+   * @param ordered non-excluded history, already in replay order
+   */
+  public static Result replay(List<Transaction> ordered, Currency accountCurrency,
+      PositionStrategy strategy, SuperficialLossEngine superficialLosses, ForkJoinPool pool) {
+    Map<AssetSymbol, List<Integer>> partitions = new LinkedHashMap<>();
+    for (int i = 0; i < ordered.size(); i++) {
+      Transaction tx = ordered.get(i);
+      if (tx.transactionType().affectsHoldings() && tx.execution() != null) {
+        partitions.computeIfAbsent(tx.execution().asset(), s -> new ArrayList<>()).add(i);
+      }
+    }
+
+    superficialLosses.preload(partitions.keySet());
+    Map<AssetSymbol, ForkJoinTask<Partition>> tasks = new LinkedHashMap<>();
+    partitions.forEach((symbol, indexes) -> tasks.put(symbol, pool.submit(
+        () -> project(symbol, indexes, ordered, accountCurrency, strategy, superficialLosses))));
+
+    Money cash = netCash(ordered, accountCurrency);
+
+    Map<AssetSymbol, Position> positions = new LinkedHashMap<>();
+    List<IndexedGain> gains = new ArrayList<>();
+    for (Map.Entry<AssetSymbol, ForkJoinTask<Partition>> entry : tasks.entrySet()) {
+      Partition partition = join(entry.getValue(), tasks.values());
+      if (partition.position() != null) {
+        positions.put(entry.getKey(), partition.position());
+      }
+      gains.addAll(partition.gains());
+    }
+    gains.sort(Comparator.comparingInt(IndexedGain::index));
+
+    return new Result(positions, gains.stream().map(IndexedGain::gain).toList(), cash);
+  }
+
+  private static Partition project(AssetSymbol symbol, List<Integer> indexes,
+      List<Transaction> ordered, Currency accountCurrency, PositionStrategy strategy,
+      SuperficialLossEngine superficialLosses) {
+    List<Transaction> history = new ArrayList<>(indexes.size());
+    indexes.forEach(i -> history.add(ordered.get(i)));
+
+    List<IndexedGain> gains = new ArrayList<>();
+    int[] cursor = {0};
+    Position position = projector(symbol, history.getFirst(), accountCurrency, strategy).replay(
+        history, superficialLosses, (tx, result) -> {
+          int index = indexes.get(cursor[0]++);
+          if (result instanceof ApplyResult.Sale<?> sale) {
+            gains.add(new IndexedGain(index,
+                new Gain(symbol, sale.realizedGainLoss(), sale.costBasisSold(), tx.occurredAt(),
+                    sale.consumedLots())));
+          } else if (result instanceof ApplyResult.RocAdjustment<?> roc) {
+            gains.add(new IndexedGain(index,
+                new Gain(symbol, roc.excessCapitalGain(), Money.zero(accountCurrency),
+                    tx.occurredAt(), List.of())));
+          }
+        });
+    return new Partition(position, gains);
+  }
+
+  private static BasePositionProjector<? extends Position> projector(AssetSymbol symbol,
+      Transaction first, Currency accountCurrency, PositionStrategy strategy) {
+    return switch (strategy) {
+      case ACB -> new AcbPositionProjector(symbol, first.metadata().assetType(), accountCurrency);
+      case FIFO -> new FifoPositionProjector(symbol, first.metadata().assetType(), accountCurrency);
+      case LIFO -> new LifoPositionProjector(symbol, first.metadata().assetType(), accountCurrency);
+      case SPECIFIC_ID ->
+          new SpecificIdPositionProjector(symbol, first.metadata().assetType(), accountCurrency);
+    };
+  }
+
+  private static Money netCash(List<Transaction> ordered, Currency accountCurrency) {
+    return ordered.stream().<Money>mapMulti((tx, sink) -> {
+      switch (tx.transactionType().cashImpact()) {
+        case IN -> sink.accept(tx.cashDelta());
+        case OUT -> sink.accept(tx.cashDelta().abs().negate());
+        case NONE -> {
+          /* No cash effect for DRIP/Split */
+        }
+      }
+    }).collect(Money.summing(accountCurrency));
+  }
+
+  private static Partition join(ForkJoinTask<Partition> task,
+      Iterable<ForkJoinTask<Partition>> all) {
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      all.forEach(t -> t.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted during partitioned replay", e);
+    } catch (ExecutionException e) {
+      all.forEach(t -> t.cancel(true));
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Final state of a replay. Positions that ended flat are absent; gains are in history order.
+   */
+  public record Result(Map<AssetSymbol, Position> positions, List<Gain> realizedGains,
+                       Money netCash) {
+  }
+
+  /**
+   * @param consumedLots lots the sale closed; empty for ACB positions and return-of-capital gains
+   */
+  public record Gain(AssetSymbol symbol, Money gainLoss, Money costBasisSold, Instant at,
+                     List<LotConsumption> consumedLots) {
+  }
+
+  private record Partition(Position position, List<IndexedGain> gains) {
+  }
+
+  private record IndexedGain(int index, Gain gain) {
+  }
+}
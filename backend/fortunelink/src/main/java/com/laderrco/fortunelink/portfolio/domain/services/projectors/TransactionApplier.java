@@ -24,16 +24,20 @@ public final class TransactionApplier {
     };
   }
 
+  // The opening transaction's id doubles as the lot id, so it is stable across replays.
   private static ApplyResult<? extends Position> applyBuy(Position p, Transaction tx) {
-    return p.buy(tx.execution().quantity(), tx.cashDelta().abs(), tx.occurredAt());
+    return p.buy(tx.execution().quantity(), tx.cashDelta().abs(), tx.occurredAt(),
+        tx.transactionId());
   }
   
   private static ApplyResult<? extends Position> applySell(Position p, Transaction tx) {
-    return p.sell(tx.execution().quantity(), tx.cashDelta(), tx.occurredAt());
+    return p.sell(tx.execution().quantity(), tx.cashDelta(), tx.occurredAt(),
+        tx.metadata().lotSelections());
   }
 
   private static ApplyResult<? extends Position> applyDrip(Position p, Transaction tx) {
-    return p.buy(tx.execution().quantity(), tx.execution().grossValue(), tx.occurredAt());
+    return p.buy(tx.execution().quantity(), tx.execution().grossValue(), tx.occurredAt(),
+        tx.transactionId());
   }
 
   private static ApplyResult<? extends Position> applyReturnOfCapital(Position p, Transaction tx) {
@@ -0,0 +1,114 @@
+package com.laderrco.fortunelink.portfolio.domain.services.superficialloss;
+
+import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
+
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Ratio;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * One user's acquisitions and holdings of a single symbol over time, across every account they
+ * own, registered or not.
+ * <p>
+ * Both series are kept as running totals keyed by instant, so the quantity acquired in any window
+ * is the difference of two floor lookups and the quantity held at an instant is one; neither
+ * depends on how many transactions the window spans. Splits rescale the holding of the account
+ * that recorded them; acquisitions are counted in the units they were bought in.
+ */
+public final class AcquisitionWindowIndex {
+  private static final AcquisitionWindowIndex EMPTY = new AcquisitionWindowIndex(new TreeMap<>(),
+      new TreeMap<>());
+
+  // Cumulative BUY/DRIP quantity up to and including each instant
+  private final NavigableMap<Instant, BigDecimal> acquired;
+  // Quantity held across all accounts after every transaction at each instant
+  private final NavigableMap<Instant, BigDecimal> held;
+
+  private AcquisitionWindowIndex(NavigableMap<Instant, BigDecimal> acquired,
+      NavigableMap<Instant, BigDecimal> held) {
+    this.acquired = acquired;
+    this.held = held;
+  }
+
+  public static AcquisitionWindowIndex empty() {
+    return EMPTY;
+  }
+
+  /**
+   * @param ordered the user's active BUY, DRIP, SELL and SPLIT transactions of one symbol, in
+   *                replay order
+   */
+  public static AcquisitionWindowIndex of(List<Transaction> ordered) {
+    notNull(ordered, "ordered");
+    NavigableMap<Instant, BigDecimal> acquired = new TreeMap<>();
+    NavigableMap<Instant, BigDecimal> held = new TreeMap<>();
+    Map<AccountId, BigDecimal> byAccount = new HashMap<>();
+    BigDecimal totalAcquired = BigDecimal.ZERO;
+    BigDecimal totalHeld = BigDecimal.ZERO;
+
+    for (Transaction tx : ordered) {
+      if (tx.execution() == null) {
+        continue;
+      }
+      BigDecimal before = byAccount.getOrDefault(tx.accountId(), BigDecimal.ZERO);
+      BigDecimal after = switch (tx.transactionType()) {
+        case BUY, DIVIDEND_REINVEST -> {
+          totalAcquired = totalAcquired.add(tx.execution().quantity().amount());
+          acquired.put(tx.occurredAt(), totalAcquired);
+          yield before.add(tx.execution().quantity().amount());
+        }
+        case SELL -> before.subtract(tx.execution().quantity().amount()).max(BigDecimal.ZERO);
+        case SPLIT -> scale(before, tx.split());
+        default -> before;
+      };
+      byAccount.put(tx.accountId(), after);
+      totalHeld = totalHeld.add(after.subtract(before));
+      held.put(tx.occurredAt(), totalHeld);
+    }
+    return new AcquisitionWindowIndex(acquired, held);
+  }
+
+  /**
+   * Quantity bought or reinvested between {@code from} and {@code to}, both inclusive.
+   */
+  public Quantity acquiredBetween(Instant from, Instant to) {
+    BigDecimal upTo = floor(acquired, to);
+    Map.Entry<Instant, BigDecimal> beforeFrom = acquired.lowerEntry(from);
+    BigDecimal before = beforeFrom == null ? BigDecimal.ZERO : beforeFrom.getValue();
+    return new Quantity(upTo.subtract(before).max(BigDecimal.ZERO));
+  }
+
+  /**
+   * Quantity held across all of the user's accounts once every transaction at or before {@code at}
+   * has settled.
+   */
+  public Quantity heldAt(Instant at) {
+    return new Quantity(floor(held, at).max(BigDecimal.ZERO));
+  }
+
+  public boolean isEmpty() {
+    return held.isEmpty();
+  }
+
+  private static BigDecimal floor(NavigableMap<Instant, BigDecimal> series, Instant at) {
+    Map.Entry<Instant, BigDecimal> entry = series.floorEntry(at);
+    return entry == null ? BigDecimal.ZERO : entry.getValue();
+  }
+
+  private static BigDecimal scale(BigDecimal quantity, Ratio ratio) {
+    if (ratio == null) {
+      return quantity;
+    }
+    return quantity.multiply(BigDecimal.valueOf(ratio.numerator()))
+        .divide(BigDecimal.valueOf(ratio.denominator()), Ratio.DECIMAL_PLACES,
+            Ratio.ROUNDING_MODE);
+  }
+}
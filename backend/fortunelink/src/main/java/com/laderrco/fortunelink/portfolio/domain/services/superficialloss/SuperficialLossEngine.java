@@ -0,0 +1,172 @@
+package com.laderrco.fortunelink.portfolio.domain.services.superficialloss;
+
+import static com.laderrco.fortunelink.portfolio.domain.utils.Guard.notNull;
+
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.ApplyResult;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.shared.enums.Precision;
+import com.laderrco.fortunelink.shared.enums.Rounding;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies the superficial-loss rule (ITA s.54) while one account's history is replayed.
+ * <p>
+ * A loss on a sale is superficial when the user, in any of their accounts, acquires the same
+ * symbol within {@link #WINDOW} before or after the sale and still holds it when the window ends.
+ * The denied share of the loss is {@code min(sold, acquired in window, held at window end) / sold};
+ * the sale records only the allowed remainder, and the denied amount is added to the cost basis of
+ * the shares the account holds after the sale. If the sale emptied the position the amount is
+ * carried to the account's next BUY or DRIP inside the window; when the replacement was bought
+ * elsewhere, e.g. in a TFSA, the carry lapses and the loss stays denied, as it would for tax.
+ * <p>
+ * The engine holds replay state, so it serves a single replay. Symbols are independent: one
+ * symbol's state is only touched by that symbol's transactions, which keeps the engine safe to
+ * share across {@code SymbolPartitionedReplay} partitions once {@link #preload} has run.
+ */
+public final class SuperficialLossEngine {
+  public static final Duration WINDOW = Duration.ofDays(30);
+  private static final SuperficialLossEngine DISABLED = new SuperficialLossEngine(null);
+
+  private final IndexLoader loader;
+  private final Map<AssetSymbol, AcquisitionWindowIndex> indexes = new ConcurrentHashMap<>();
+  private final Map<AssetSymbol, Carry> carried = new ConcurrentHashMap<>();
+
+  private SuperficialLossEngine(IndexLoader loader) {
+    this.loader = loader;
+  }
+
+  /**
+   * For registered accounts and lot-based strategies, which the rule does not apply to.
+   */
+  public static SuperficialLossEngine disabled() {
+    return DISABLED;
+  }
+
+  public static SuperficialLossEngine using(IndexLoader loader) {
+    return new SuperficialLossEngine(notNull(loader, "loader"));
+  }
+
+  /**
+   * Denied quantity of a sale of {@code sold} at {@code soldAt}; zero when the loss stands.
+   */
+  public static Quantity deniedQuantity(AcquisitionWindowIndex index, Instant soldAt,
+      Quantity sold) {
+    Quantity acquired = index.acquiredBetween(soldAt.minus(WINDOW), soldAt.plus(WINDOW));
+    Quantity heldAtEnd = index.heldAt(soldAt.plus(WINDOW));
+    return min(sold, min(acquired, heldAtEnd));
+  }
+
+  public boolean isEnabled() {
+    return loader != null;
+  }
+
+  /**
+   * Loads the indexes of {@code symbols} up front. Required before the engine is shared across
+   * threads; otherwise indexes are loaded on the first loss of each symbol.
+   */
+  public void preload(Collection<AssetSymbol> symbols) {
+    if (!isEnabled()) {
+      return;
+    }
+    List<AssetSymbol> missing = symbols.stream().filter(s -> !indexes.containsKey(s)).toList();
+    if (!missing.isEmpty()) {
+      Map<AssetSymbol, AcquisitionWindowIndex> loaded = loader.load(missing);
+      missing.forEach(s -> indexes.put(s, loaded.getOrDefault(s, AcquisitionWindowIndex.empty())));
+    }
+  }
+
+  /**
+   * True while a denied loss waits for replacement shares; a checkpoint taken now would drop it.
+   */
+  public boolean isCarrying(AssetSymbol symbol) {
+    return carried.containsKey(symbol);
+  }
+
+  /**
+   * Returns {@code result} with the rule applied to {@code tx}, which produced it.
+   */
+  public ApplyResult<? extends Position> adjust(Transaction tx,
+      ApplyResult<? extends Position> result) {
+    if (!isEnabled() || tx.execution() == null) {
+      return result;
+    }
+
+    AssetSymbol symbol = tx.execution().asset();
+    carried.computeIfPresent(symbol, (s, c) -> tx.occurredAt().isAfter(c.until()) ? null : c);
+
+    if (result instanceof ApplyResult.Sale<?> sale && sale.realizedGainLoss().isNegative()) {
+      return adjustSale(symbol, tx, sale);
+    }
+    if (result instanceof ApplyResult.Purchase<?> purchase && isCarrying(symbol)) {
+      Carry carry = carried.remove(symbol);
+      return new ApplyResult.Purchase<>(
+          increaseCostBasis(purchase.newPosition(), carry.amount(), tx.occurredAt()));
+    }
+    return result;
+  }
+
+  private ApplyResult<? extends Position> adjustSale(AssetSymbol symbol, Transaction tx,
+      ApplyResult.Sale<?> sale) {
+    Quantity sold = tx.execution().quantity();
+    Quantity denied = deniedQuantity(indexFor(symbol), tx.occurredAt(), sold);
+    if (denied.isZero()) {
+      return sale;
+    }
+
+    Money loss = sale.realizedGainLoss().abs();
+    Money deniedLoss = denied.equals(sold) ? loss : loss.multiply(
+        denied.amount().divide(sold.amount(), Precision.DIVISION.getDecimalPlaces(),
+            Rounding.DIVISION.getMode()));
+
+    Position next = sale.newPosition();
+    if (next.totalQuantity().isZero()) {
+      Instant until = tx.occurredAt().plus(WINDOW);
+      carried.merge(symbol, new Carry(deniedLoss, until),
+          (a, b) -> new Carry(a.amount().add(b.amount()), b.until()));
+    } else {
+      next = increaseCostBasis(next, deniedLoss, tx.occurredAt());
+    }
+    return new ApplyResult.Sale<>(next, sale.costBasisSold(),
+        sale.realizedGainLoss().add(deniedLoss), sale.consumedLots());
+  }
+
+  private AcquisitionWindowIndex indexFor(AssetSymbol symbol) {
+    return indexes.computeIfAbsent(symbol,
+        s -> loader.load(List.of(s)).getOrDefault(s, AcquisitionWindowIndex.empty()));
+  }
+
+  private static Position increaseCostBasis(Position position, Money amount, Instant at) {
+    if (!(position instanceof AcbPosition acb)) {
+      throw new IllegalStateException(
+          "Superficial losses apply to ACB positions only, got " + position.getClass()
+              .getSimpleName());
+    }
+    return acb.increaseCostBasis(amount, at).newPosition();
+  }
+
+  private static Quantity min(Quantity a, Quantity b) {
+    return a.compareTo(b) <= 0 ? a : b;
+  }
+
+  /**
+   * Supplies the user-wide window index of each requested symbol. Symbols the user never traded may
+   * be left out.
+   */
+  @FunctionalInterface
+  public interface IndexLoader {
+    Map<AssetSymbol, AcquisitionWindowIndex> load(Collection<AssetSymbol> symbols);
+  }
+
+  private record Carry(Money amount, Instant until) {
+  }
+}
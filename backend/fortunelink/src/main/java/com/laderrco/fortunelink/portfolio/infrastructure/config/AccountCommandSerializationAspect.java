@@ -0,0 +1,41 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config;
+
+import com.laderrco.fortunelink.portfolio.application.utils.AccountCommandSerializer;
+import com.laderrco.fortunelink.portfolio.application.utils.annotations.TransactionCommand;
+import java.lang.reflect.UndeclaredThrowableException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends every {@code TransactionService} command through the account's mailbox.
+ * <p>
+ * Ordered ahead of the retry and transaction advice so the mailbox turn covers all retry attempts
+ * and the commit. Holding it for less would let the next command for the account read the version
+ * this one is about to bump. {@link IdempotencyClaimAspect} runs first, so duplicates that only
+ * wait for another request's result never take a turn.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class AccountCommandSerializationAspect {
+  private final AccountCommandSerializer serializer;
+
+  @Around("execution(public * com.laderrco.fortunelink.portfolio.application.services.TransactionService.*(..)) && args(command)")
+  public Object serialize(ProceedingJoinPoint joinPoint, TransactionCommand command) {
+    return serializer.submit(command.accountId(), () -> {
+      try {
+        return joinPoint.proceed();
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new UndeclaredThrowableException(e);
+      }
+    });
+  }
+}
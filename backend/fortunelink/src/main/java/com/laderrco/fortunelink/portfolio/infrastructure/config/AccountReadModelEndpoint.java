@@ -0,0 +1,27 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config;
+
+import com.laderrco.fortunelink.portfolio.application.services.AccountReadModelRebuilder;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code POST /actuator/readmodel} rebuilds the account read model from the write tables.
+ * <p>
+ * For operators after a migration, a restore, or a manual data fix. Not in the default exposure
+ * list; add {@code readmodel} to {@code management.endpoints.web.exposure.include} where it is
+ * needed, behind the same access rules as the other actuator endpoints.
+ */
+@Component
+@Endpoint(id = "readmodel")
+@RequiredArgsConstructor
+public class AccountReadModelEndpoint {
+  private final AccountReadModelRebuilder rebuilder;
+
+  @WriteOperation
+  public Map<String, Integer> rebuild() {
+    return Map.of("accounts", rebuilder.rebuild());
+  }
+}
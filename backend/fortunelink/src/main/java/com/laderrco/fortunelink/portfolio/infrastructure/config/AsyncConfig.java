@@ -1,24 +1,49 @@
 package com.laderrco.fortunelink.portfolio.infrastructure.config;
 
+import java.util.concurrent.ForkJoinPool;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
+  /**
+   * Runs the after-commit recalculation listener, which only writes the request to Redis. Virtual
+   * threads make an idle wait on Redis cheap; past the concurrency limit the committing thread
+   * waits for a slot instead of the request being rejected and dropped.
+   */
   @Bean
   public TaskExecutor recalculationExecutor() {
-    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-    executor.setCorePoolSize(2);
-    executor.setMaxPoolSize(4);
-    executor.setQueueCapacity(50);
-    executor.setThreadNamePrefix("recalc-");
-    executor.setWaitForTasksToCompleteOnShutdown(true);
-    executor.setAwaitTerminationSeconds(30);
-    executor.initialize();
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("recalc-");
+    executor.setVirtualThreads(true);
+    executor.setConcurrencyLimit(64);
+    executor.setTaskTerminationTimeout(30_000);
     return executor;
   }
-}
\ No newline at end of file
+
+  /**
+   * Runs claimed recalculation queue entries, one virtual thread each. Concurrency is bounded by
+   * the DB-connection budget in PositionRecalculationService, which never claims more entries than
+   * it has permits for, so this executor needs no queue or limit of its own.
+   */
+  @Bean
+  public TaskExecutor recalculationWorkerExecutor() {
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("recalc-worker-");
+    executor.setVirtualThreads(true);
+    // Claimed entries are leased in Redis; an interrupted run is simply claimed again later.
+    executor.setTaskTerminationTimeout(30_000);
+    return executor;
+  }
+
+  /**
+   * Projects symbols in parallel during full-account replays. Kept off the common pool so a large
+   * replay can't starve parallel streams elsewhere in the app.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ForkJoinPool replayPool() {
+    return new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+  }
+}
@@ -0,0 +1,71 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config;
+
+import com.laderrco.fortunelink.portfolio.application.utils.annotations.TransactionCommand;
+import com.laderrco.fortunelink.portfolio.application.views.TransactionView;
+import com.laderrco.fortunelink.portfolio.infrastructure.config.cachedidempotency.IdempotencyCache;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Settles concurrent duplicates of a {@code TransactionService} command before anything else runs.
+ * <p>
+ * The first request for an idempotency key claims it; a duplicate (on any node) waits for that
+ * request's result instead of running the command again. Waiting here, outside the mailbox and the
+ * transaction advice, keeps the duplicate from holding a stripe or a pooled DB connection while it
+ * polls. If the owner gives up without a result, the duplicate runs and the service's DB check and
+ * unique constraint settle what is left.
+ * <p>
+ * The claim is dropped when the command returns or, for a caller with a transaction of its own
+ * (CSV import), when that transaction completes, after the service has published the result.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class IdempotencyClaimAspect {
+  // Kept short: the duplicate's request thread is parked while it polls.
+  static final Duration IN_FLIGHT_WAIT = Duration.ofSeconds(5);
+
+  private final IdempotencyCache idempotencyCache;
+
+  @Around("execution(public com.laderrco.fortunelink.portfolio.application.views.TransactionView com.laderrco.fortunelink.portfolio.application.services.TransactionService.*(..)) && args(command)")
+  public Object claim(ProceedingJoinPoint joinPoint, TransactionCommand command) throws Throwable {
+    if (command.idempotencyKey() == null) {
+      return joinPoint.proceed();
+    }
+
+    String key = IdempotencyCache.keyFor(command.portfolioId(), command.idempotencyKey());
+    if (!idempotencyCache.tryClaim(key)) {
+      TransactionView winner = idempotencyCache.awaitResult(key, IN_FLIGHT_WAIT);
+      // The owner gave up: run without a claim so a late owner's release is not ours to make.
+      return winner != null ? winner : joinPoint.proceed();
+    }
+
+    try {
+      return joinPoint.proceed();
+    } finally {
+      release(key);
+    }
+  }
+
+  private void release(String key) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      idempotencyCache.release(key);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        idempotencyCache.release(key);
+      }
+    });
+  }
+}
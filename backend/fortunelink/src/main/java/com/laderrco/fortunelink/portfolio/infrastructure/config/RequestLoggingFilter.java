@@ -18,12 +18,14 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class RequestLoggingFilter extends OncePerRequestFilter {
+  public static final String REQUEST_ID = "requestId";
+
   @Override
   protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res,
       FilterChain chain) throws IOException, ServletException {
     String requestId = Optional.ofNullable(req.getHeader("X-Request-ID"))
         .orElse(UUID.randomUUID().toString());
-    MDC.put("requestId", requestId);
+    MDC.put(REQUEST_ID, requestId);
     res.setHeader("X-Request-ID", requestId);
     try {
       chain.doFilter(req, res);
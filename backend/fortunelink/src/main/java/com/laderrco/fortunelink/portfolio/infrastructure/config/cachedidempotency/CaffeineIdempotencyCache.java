@@ -3,6 +3,9 @@ package com.laderrco.fortunelink.portfolio.infrastructure.config.cachedidempoten
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.laderrco.fortunelink.portfolio.application.views.TransactionView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import org.springframework.stereotype.Component;
 
@@ -13,9 +16,24 @@ public class CaffeineIdempotencyCache implements IdempotencyCache {
   private final Cache<String, TransactionView> cache = Caffeine.newBuilder()
       .expireAfterWrite(Duration.ofHours(24)).maximumSize(10_000).build();
 
+  private final Counter hits;
+  private final Counter misses;
+
+  public CaffeineIdempotencyCache(MeterRegistry meterRegistry) {
+    this.hits = Counter.builder("fortunelink.cache.requests").tag("cache", "idempotency")
+        .tag("tier", "caffeine").tag("result", "hit").register(meterRegistry);
+    this.misses = Counter.builder("fortunelink.cache.requests").tag("cache", "idempotency")
+        .tag("tier", "caffeine").tag("result", "miss").register(meterRegistry);
+    Gauge.builder("fortunelink.cache.size", cache, Cache::estimatedSize)
+        .description("Entries currently held by an in-process cache")
+        .tag("cache", "idempotency").tag("tier", "caffeine").register(meterRegistry);
+  }
+
   @Override
   public TransactionView get(String key) {
-    return cache.getIfPresent(key);
+    TransactionView cached = cache.getIfPresent(key);
+    (cached != null ? hits : misses).increment();
+    return cached;
   }
 
   @Override
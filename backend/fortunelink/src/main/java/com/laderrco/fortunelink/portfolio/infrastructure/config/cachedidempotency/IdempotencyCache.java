@@ -1,9 +1,45 @@
 package com.laderrco.fortunelink.portfolio.infrastructure.config.cachedidempotency;
 
 import com.laderrco.fortunelink.portfolio.application.views.TransactionView;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import java.time.Duration;
+import java.util.UUID;
 
 public interface IdempotencyCache {
+  /**
+   * Cache key for a client-supplied idempotency key. Scoped to the portfolio like the DB lookup,
+   * so two users who happen to send the same key never see each other's results or claims.
+   */
+  static String keyFor(PortfolioId portfolioId, UUID idempotencyKey) {
+    return portfolioId.id() + ":" + idempotencyKey;
+  }
+
   TransactionView get(String key);
 
   void put(String key, TransactionView value);
+
+  /**
+   * Marks {@code key} as in flight. Returns true when the caller now owns execution for the key,
+   * false when another request (possibly on another node) is already running it.
+   * <p>
+   * Single-node caches have no shared view of in-flight work, so the default always grants it.
+   */
+  default boolean tryClaim(String key) {
+    return true;
+  }
+
+  /**
+   * Drops a claim taken by {@link #tryClaim} without publishing a result, so waiting duplicates
+   * stop waiting and fall back to the DB check. No-op if this caller does not own the claim.
+   */
+  default void release(String key) {
+  }
+
+  /**
+   * Waits for the request that owns {@code key} to publish its result. Returns null if the owner
+   * released without a result or {@code timeout} elapsed.
+   */
+  default TransactionView awaitResult(String key, Duration timeout) {
+    return get(key);
+  }
 }
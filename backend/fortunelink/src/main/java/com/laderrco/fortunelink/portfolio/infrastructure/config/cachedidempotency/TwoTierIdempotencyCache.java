@@ -0,0 +1,173 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config.cachedidempotency;
+
+import com.laderrco.fortunelink.portfolio.application.views.TransactionView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Idempotency store shared across nodes.
+ * <p>
+ * L1 is the per-node Caffeine cache, L2 is Redis. A retry that lands on a different instance hits
+ * L2 instead of falling through to the DB. Executions are also claimed in Redis with SETNX, so a
+ * concurrent duplicate waits for the first request's result instead of racing it to the unique
+ * constraint.
+ * <p>
+ * Keys come from {@link IdempotencyCache#keyFor}, so results and claims are per portfolio in both
+ * tiers, matching the DB lookup.
+ * <p>
+ * Redis is an optimization here, not a source of truth: the DB lookup and unique constraint in
+ * {@code TransactionService} still guard correctness. Every Redis failure therefore degrades to
+ * L1-only behaviour instead of failing the request.
+ */
+@Primary
+@Component
+public class TwoTierIdempotencyCache implements IdempotencyCache {
+  private static final Logger log = LoggerFactory.getLogger(TwoTierIdempotencyCache.class);
+  private static final String RESULT_PREFIX = "idempotency:result:";
+  private static final String IN_FLIGHT_PREFIX = "idempotency:inflight:";
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+  // Compare-and-delete so a slow owner can never release a claim that expired and was re-taken.
+  private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+      if redis.call('get', KEYS[1]) == ARGV[1] then
+        return redis.call('del', KEYS[1])
+      end
+      return 0
+      """, Long.class);
+
+  private final CaffeineIdempotencyCache local;
+  private final StringRedisTemplate redisTemplate;
+  private final JsonMapper objectMapper;
+  private final Duration resultTtl;
+  private final Duration inFlightTtl;
+  private final Counter remoteHits;
+  private final Counter remoteMisses;
+
+  // key -> claim token for claims this node owns.
+  private final Map<String, String> ownedClaims = new ConcurrentHashMap<>();
+
+  public TwoTierIdempotencyCache(CaffeineIdempotencyCache local,
+      StringRedisTemplate redisTemplate,
+      @Qualifier("redisCacheObjectMapper") JsonMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${fortunelink.idempotency.ttl.result}") long resultTtlSeconds,
+      @Value("${fortunelink.idempotency.ttl.in-flight}") long inFlightTtlSeconds) {
+    this.local = local;
+    this.redisTemplate = redisTemplate;
+    this.objectMapper = objectMapper;
+    this.resultTtl = Duration.ofSeconds(resultTtlSeconds);
+    this.inFlightTtl = Duration.ofSeconds(inFlightTtlSeconds);
+    this.remoteHits = Counter.builder("fortunelink.cache.requests").tag("cache", "idempotency")
+        .tag("tier", "redis").tag("result", "hit").register(meterRegistry);
+    this.remoteMisses = Counter.builder("fortunelink.cache.requests").tag("cache", "idempotency")
+        .tag("tier", "redis").tag("result", "miss").register(meterRegistry);
+  }
+
+  @Override
+  public TransactionView get(String key) {
+    TransactionView cached = local.get(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    TransactionView remote = readRemote(key);
+    if (remote != null) {
+      local.put(key, remote);
+    }
+    return remote;
+  }
+
+  @Override
+  public void put(String key, TransactionView value) {
+    local.put(key, value);
+    try {
+      redisTemplate.opsForValue()
+          .set(RESULT_PREFIX + key, objectMapper.writeValueAsString(value), resultTtl);
+    } catch (RuntimeException e) {
+      log.warn("Idempotency L2 write failed for key {}, continuing with L1 only", key, e);
+    }
+    // Result is visible, waiters can stop polling the marker.
+    release(key);
+  }
+
+  @Override
+  public boolean tryClaim(String key) {
+    String token = UUID.randomUUID().toString();
+    try {
+      Boolean claimed = redisTemplate.opsForValue()
+          .setIfAbsent(IN_FLIGHT_PREFIX + key, token, inFlightTtl);
+      if (Boolean.TRUE.equals(claimed)) {
+        ownedClaims.put(key, token);
+        return true;
+      }
+      return false;
+    } catch (RuntimeException e) {
+      log.warn("Idempotency claim failed for key {}, proceeding unclaimed", key, e);
+      return true;
+    }
+  }
+
+  @Override
+  public void release(String key) {
+    String token = ownedClaims.remove(key);
+    if (token == null) {
+      return;
+    }
+    try {
+      redisTemplate.execute(RELEASE_SCRIPT, List.of(IN_FLIGHT_PREFIX + key), token);
+    } catch (RuntimeException e) {
+      // The marker TTL bounds how long waiters can be held up.
+      log.warn("Idempotency release failed for key {}", key, e);
+    }
+  }
+
+  @Override
+  public TransactionView awaitResult(String key, Duration timeout) {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    try {
+      while (System.nanoTime() < deadline) {
+        TransactionView result = get(key);
+        if (result != null) {
+          return result;
+        }
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(IN_FLIGHT_PREFIX + key))) {
+          // Owner finished without a result (rolled back or crashed). One last read covers the
+          // window between its result write and marker delete.
+          return get(key);
+        }
+        Thread.sleep(POLL_INTERVAL.toMillis());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      log.warn("Idempotency wait failed for key {}", key, e);
+    }
+    return null;
+  }
+
+  private TransactionView readRemote(String key) {
+    try {
+      String json = redisTemplate.opsForValue().get(RESULT_PREFIX + key);
+      (json != null ? remoteHits : remoteMisses).increment();
+      return json == null ? null : objectMapper.readValue(json, TransactionView.class);
+    } catch (RuntimeException e) {
+      log.warn("Idempotency L2 read failed for key {}", key, e);
+      return null;
+    }
+  }
+}
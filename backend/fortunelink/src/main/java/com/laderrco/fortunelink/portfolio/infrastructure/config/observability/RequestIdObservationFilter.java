@@ -0,0 +1,25 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config.observability;
+
+import com.laderrco.fortunelink.portfolio.infrastructure.config.RequestLoggingFilter;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationFilter;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tags every observation with the request id {@link RequestLoggingFilter} put in the MDC, so a
+ * span can be matched to the request's log lines and its {@code X-Request-ID} header. High
+ * cardinality, so it reaches spans but never metric tags.
+ */
+@Component
+public class RequestIdObservationFilter implements ObservationFilter {
+  @Override
+  public Observation.Context map(Observation.Context context) {
+    String requestId = MDC.get(RequestLoggingFilter.REQUEST_ID);
+    if (requestId != null) {
+      context.addHighCardinalityKeyValue(KeyValue.of("request.id", requestId));
+    }
+    return context;
+  }
+}
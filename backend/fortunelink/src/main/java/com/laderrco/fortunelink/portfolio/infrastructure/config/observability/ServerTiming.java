@@ -0,0 +1,60 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config.observability;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Phase durations collected for one request, rendered as a {@code Server-Timing} header.
+ * <p>
+ * Bound to the request thread by {@link ServerTimingFilter}, so only work done on that thread is
+ * attributed. Phases nest: {@code portfolio.build-view} includes any {@code exchange.rate} lookups
+ * made while valuing, which are also listed on their own. A phase observed more than once is
+ * summed and its count reported in {@code desc}.
+ */
+final class ServerTiming {
+  static final String HEADER = "Server-Timing";
+  private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+  private final long startedAt = System.nanoTime();
+  // phase -> {total nanos, count}
+  private final Map<String, long[]> phases = new LinkedHashMap<>();
+
+  private ServerTiming() {
+  }
+
+  static ServerTiming begin() {
+    ServerTiming timing = new ServerTiming();
+    CURRENT.set(timing);
+    return timing;
+  }
+
+  static ServerTiming current() {
+    return CURRENT.get();
+  }
+
+  static void end() {
+    CURRENT.remove();
+  }
+
+  void record(String phase, long nanos) {
+    long[] totals = phases.computeIfAbsent(phase, p -> new long[2]);
+    totals[0] += nanos;
+    totals[1]++;
+  }
+
+  String header() {
+    StringJoiner header = new StringJoiner(", ");
+    phases.forEach((phase, totals) -> {
+      String entry = phase + ";dur=" + millis(totals[0]);
+      header.add(totals[1] > 1 ? entry + ";desc=\"" + totals[1] + " calls\"" : entry);
+    });
+    header.add("total;dur=" + millis(System.nanoTime() - startedAt));
+    return header.toString();
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+  }
+}
@@ -0,0 +1,41 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Collects phase timings for each request and reports them in a {@code Server-Timing} header, so
+ * clients and load tests can attribute latency without a tracing backend.
+ * <p>
+ * Off by default because the header exposes internal timings; profiles opt in with
+ * {@code fortunelink.observability.server-timing.enabled}. Responses with a body get the header
+ * from {@link ServerTimingResponseAdvice} just before the body is written; anything still
+ * uncommitted when the chain returns (204s, bodiless errors) gets it here.
+ */
+@Component
+@ConditionalOnProperty(name = "fortunelink.observability.server-timing.enabled",
+    havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+  @Override
+  protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res,
+      FilterChain chain) throws IOException, ServletException {
+    ServerTiming timing = ServerTiming.begin();
+    try {
+      chain.doFilter(req, res);
+    } finally {
+      if (!res.isCommitted() && !res.containsHeader(ServerTiming.HEADER)) {
+        res.setHeader(ServerTiming.HEADER, timing.header());
+      }
+      ServerTiming.end();
+    }
+  }
+}
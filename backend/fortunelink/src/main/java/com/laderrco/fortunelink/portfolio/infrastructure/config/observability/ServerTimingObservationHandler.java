@@ -0,0 +1,42 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds each {@code fortunelink.*} observation that finishes on a request thread to that request's
+ * {@link ServerTiming}, named without the {@code fortunelink.} prefix.
+ */
+@Component
+@ConditionalOnProperty(name = "fortunelink.observability.server-timing.enabled",
+    havingValue = "true")
+public class ServerTimingObservationHandler implements ObservationHandler<Observation.Context> {
+  private static final String PREFIX = "fortunelink.";
+
+  @Override
+  public void onStart(Observation.Context context) {
+    if (ServerTiming.current() != null) {
+      context.put(StartedAt.class, new StartedAt(System.nanoTime()));
+    }
+  }
+
+  @Override
+  public void onStop(Observation.Context context) {
+    ServerTiming timing = ServerTiming.current();
+    StartedAt startedAt = context.get(StartedAt.class);
+    if (timing != null && startedAt != null) {
+      timing.record(context.getName().substring(PREFIX.length()),
+          System.nanoTime() - startedAt.nanos());
+    }
+  }
+
+  @Override
+  public boolean supportsContext(Observation.Context context) {
+    return context.getName() != null && context.getName().startsWith(PREFIX);
+  }
+
+  private record StartedAt(long nanos) {
+  }
+}
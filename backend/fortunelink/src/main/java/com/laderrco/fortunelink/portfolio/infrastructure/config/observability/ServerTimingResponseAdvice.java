@@ -0,0 +1,36 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config.observability;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Writes the {@code Server-Timing} header once the handler has finished but before the body
+ * commits the response, which is the last point a header can still be added.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "fortunelink.observability.server-timing.enabled",
+    havingValue = "true")
+public class ServerTimingResponseAdvice implements ResponseBodyAdvice<Object> {
+  @Override
+  public boolean supports(MethodParameter returnType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType,
+      MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request, ServerHttpResponse response) {
+    ServerTiming timing = ServerTiming.current();
+    if (timing != null) {
+      response.getHeaders().set(ServerTiming.HEADER, timing.header());
+    }
+    return body;
+  }
+}
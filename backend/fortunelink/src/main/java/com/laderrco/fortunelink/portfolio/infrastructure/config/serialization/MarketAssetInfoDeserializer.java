@@ -16,7 +16,7 @@ public class MarketAssetInfoDeserializer extends ValueDeserializer<MarketAssetIn
       throws JacksonException {
     JsonNode node = p.objectReadContext().readTree(p);
 
-    return new MarketAssetInfo(new AssetSymbol(node.get("symbol").asString()),
+    return new MarketAssetInfo(AssetSymbol.of(node.get("symbol").asString()),
         node.get("name").asString(), AssetType.valueOf(node.get("assetType").asString()),
         node.get("exchange").asString(), Currency.of(node.get("currency").asString()),
         node.get("sector").asString(), node.get("description").asString());
@@ -5,6 +5,8 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Ex
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.domain.services.ExchangeRateService;
 import com.laderrco.fortunelink.portfolio.infrastructure.exchange.boc.exceptions.ExchangeRateUnavailableException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import java.time.Instant;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,7 @@ import org.springframework.stereotype.Service;
 public class ExchangeRateServiceImpl implements ExchangeRateService {
   private static final Logger log = LoggerFactory.getLogger(ExchangeRateServiceImpl.class);
   private final ExchangeRateProvider provider;
+  private final ObservationRegistry observationRegistry;
 
   @Override
   public Optional<ExchangeRate> getRate(Currency from, Currency to) {
@@ -27,7 +30,7 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
   public Optional<ExchangeRate> getRate(Currency from, Currency to, Instant date) {
     try {
       // If the API is up, we get the real rate
-      return Optional.of(provider.getExchangeRate(from, to, date));
+      return Optional.of(fetch(from, to, date));
     } catch (Exception ex) {
       // If the API (BOC) is down, we log and return Empty
       log.warn("Exchange rate provider failed for {}/{}. Cause: {}", from.getCode(), to.getCode(),
@@ -52,7 +55,13 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
       return amount;
     }
 
-    ExchangeRate rate = provider.getExchangeRate(amount.currency(), targetCurrency, asOfDate);
+    ExchangeRate rate = fetch(amount.currency(), targetCurrency, asOfDate);
     return rate.convert(amount);
   }
+
+  private ExchangeRate fetch(Currency from, Currency to, Instant date) {
+    return Observation.createNotStarted("fortunelink.exchange.rate", observationRegistry)
+        .lowCardinalityKeyValue("pair", from.getCode() + "/" + to.getCode())
+        .observe(() -> provider.getExchangeRate(from, to, date));
+  }
 }
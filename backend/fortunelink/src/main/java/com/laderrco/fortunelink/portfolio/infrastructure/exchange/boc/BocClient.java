@@ -6,6 +6,8 @@ import com.laderrco.fortunelink.portfolio.infrastructure.exchange.boc.exceptions
 import com.laderrco.fortunelink.portfolio.infrastructure.exchange.boc.exceptions.ExchangeRateUnavailableException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -27,13 +29,15 @@ public class BocClient {
   private final BankOfCanadaClientConfig config;
   private final ObjectMapper objectMapper;
   private final HttpClient httpClient;
+  private final MeterRegistry meterRegistry;
 
   public BocClient(BankOfCanadaClientConfig config,
       @Qualifier("defaultObjectMapper") ObjectMapper objectMapper,
-      @Qualifier("bocHttpClient") HttpClient httpClient) {
+      @Qualifier("bocHttpClient") HttpClient httpClient, MeterRegistry meterRegistry) {
     this.config = config;
     this.objectMapper = objectMapper;
     this.httpClient = httpClient;
+    this.meterRegistry = meterRegistry;
 
     log.info("Bank of Canada API Client initialized with base URL: {}", config.getBaseUrl());
     config.validate();
@@ -48,7 +52,7 @@ public class BocClient {
         .format("json").recent(1).build();
 
     try {
-      String jsonResponse = executeGetRequest(url);
+      String jsonResponse = executeGetRequest(url, "latest");
       if (config.isDebugLogging()) {
         log.debug("BOC Latest Rate Response: {}", jsonResponse);
       }
@@ -69,7 +73,7 @@ public class BocClient {
         .format("json").startDate(startDate).endDate(endDate).build();
 
     try {
-      String jsonResponse = executeGetRequest(url);
+      String jsonResponse = executeGetRequest(url, "historical");
       return objectMapper.readValue(jsonResponse, BocExchangeResponse.class);
     } catch (JacksonException e) {
       log.error("Failed to fetch/parse historical BOC data for series {}", series, e);
@@ -77,7 +81,13 @@ public class BocClient {
     }
   }
 
-  private String executeGetRequest(String url) {
+  /**
+   * Every attempt is timed on its own, so retries show up as extra samples rather than one slow
+   * call. {@code outcome} is {@code error} for transport failures and non-2xx responses alike.
+   */
+  private String executeGetRequest(String url, String operation) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "error";
     try {
       HttpRequest request = HttpRequest.newBuilder().uri(URI.create(url))
           .timeout(Duration.ofSeconds(config.getTimeoutSeconds()))
@@ -87,13 +97,19 @@ public class BocClient {
       HttpResponse<String> response = httpClient.send(request,
           HttpResponse.BodyHandlers.ofString());
 
-      return handleResponse(response, url);
+      String body = handleResponse(response, url);
+      outcome = "success";
+      return body;
 
     } catch (IOException e) {
       throw new BocApiException("Connection failed while calling BOC API: " + url, e);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new BocApiException("BOC API request was interrupted", e);
+    } finally {
+      sample.stop(Timer.builder("fortunelink.exchange.boc.requests")
+          .description("Bank of Canada Valet API round trips")
+          .tag("operation", operation).tag("outcome", outcome).register(meterRegistry));
     }
   }
 
@@ -9,6 +9,9 @@ import com.laderrco.fortunelink.portfolio.domain.repositories.MarketAssetInfoRep
 import com.laderrco.fortunelink.portfolio.domain.services.MarketDataService;
 import com.laderrco.fortunelink.portfolio.infrastructure.config.redis.CacheKeyFactory;
 import com.laderrco.fortunelink.portfolio.infrastructure.exceptions.UnknownSymbolException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -44,6 +47,10 @@ User opens portfolio page
     → Redis hit? return cached quote
     → Redis miss? look up currency from market_asset_info, then fetch from FMP
     → Currency is always from stored profile data, never guessed
+
+Every tier lookup counts into fortunelink.cache.requests{cache, tier, result}, one increment per
+symbol, so hit ratios can be read per tier without knowing the batch sizes. Batch quote reads run
+in a fortunelink.market.quotes observation, one phase of a request's Server-Timing breakdown.
 */
 
 @Service
@@ -55,6 +62,8 @@ public class MarketDataServiceImpl implements MarketDataService {
   private final RedisTemplate<String, MarketAssetQuote> quoteRedis;
   private final RedisTemplate<String, MarketAssetInfo> infoRedis;
   private final CacheKeyFactory keyFactory;
+  private final MeterRegistry meterRegistry;
+  private final ObservationRegistry observationRegistry;
 
   @Value("${fortunelink.cache.ttl.current-prices}")
   private long quoteTtl;
@@ -74,6 +83,12 @@ public class MarketDataServiceImpl implements MarketDataService {
       return Map.of();
     }
 
+    return Observation.createNotStarted("fortunelink.market.quotes", observationRegistry)
+        .highCardinalityKeyValue("symbols", String.valueOf(symbols.size()))
+        .observe(() -> loadQuotes(symbols));
+  }
+
+  private Map<AssetSymbol, MarketAssetQuote> loadQuotes(Set<AssetSymbol> symbols) {
     List<AssetSymbol> symbolList = new ArrayList<>(symbols);
     List<String> keys = symbolList.stream().map(s -> keyFactory.price(s.symbol())).toList();
 
@@ -90,6 +105,7 @@ public class MarketDataServiceImpl implements MarketDataService {
         misses.add(symbolList.get(i));
       }
     }
+    recordLookups("quote", "redis", result.size(), misses.size());
 
     if (!misses.isEmpty()) {
       Map<AssetSymbol, Currency> currencies = infoRepository.findBySymbols(misses).entrySet()
@@ -131,10 +147,12 @@ public class MarketDataServiceImpl implements MarketDataService {
         misses.add(symbolList.get(i));
       }
     }
+    recordLookups("asset-info", "redis", result.size(), misses.size());
 
     // DB fallback
     if (!misses.isEmpty()) {
       Map<AssetSymbol, MarketAssetInfo> dbResults = infoRepository.findBySymbols(misses);
+      recordLookups("asset-info", "database", dbResults.size(), misses.size() - dbResults.size());
 
       result.putAll(dbResults);
       misses.removeAll(dbResults.keySet());
@@ -176,6 +194,7 @@ public class MarketDataServiceImpl implements MarketDataService {
     String key = keyFactory.historical(symbol.symbol(), date);
 
     MarketAssetQuote cached = quoteRedis.opsForValue().get(key);
+    recordLookups("historical-quote", "redis", cached != null ? 1 : 0, cached != null ? 0 : 1);
     if (cached != null) {
       return Optional.of(cached);
     }
@@ -214,6 +233,17 @@ public class MarketDataServiceImpl implements MarketDataService {
     return getAssetInfo(symbol).orElseThrow(() -> new UnknownSymbolException(symbol.symbol()));
   }
 
+  private void recordLookups(String cache, String tier, int hits, int misses) {
+    if (hits > 0) {
+      meterRegistry.counter("fortunelink.cache.requests", "cache", cache, "tier", tier, "result",
+          "hit").increment(hits);
+    }
+    if (misses > 0) {
+      meterRegistry.counter("fortunelink.cache.requests", "cache", cache, "tier", tier, "result",
+          "miss").increment(misses);
+    }
+  }
+
   private void writeAssetInfoToCache(Map<String, MarketAssetInfo> data) {
     if (data.isEmpty()) {
       return;
@@ -8,6 +8,9 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.infrastructure.market.MarketDataProvider;
 import com.laderrco.fortunelink.portfolio.infrastructure.market.fmp.dtos.FmpProfileResponse;
 import com.laderrco.fortunelink.portfolio.infrastructure.market.fmp.dtos.FmpQuoteResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -19,8 +22,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
@@ -30,15 +33,32 @@ import org.springframework.stereotype.Service;
 @Slf4j
 @Service
 @Primary
-@RequiredArgsConstructor
 public class FmpProvider implements MarketDataProvider {
   private final FmpClient fmpClient;
   private final FmpResponseMapper responseMapper;
   private final StringRedisTemplate redisTemplate;
+  // Today's usage as last returned by Redis on this node; the shared counter is authoritative.
+  private final AtomicLong quotaUsed = new AtomicLong();
+  private final Counter quotaRejections;
 
   @Value("${fortunelink.rate-limit.fmp-quota.daily-limit:250}")
   private int fmpDailyLimit;
 
+  public FmpProvider(FmpClient fmpClient, FmpResponseMapper responseMapper,
+      StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+    this.fmpClient = fmpClient;
+    this.responseMapper = responseMapper;
+    this.redisTemplate = redisTemplate;
+
+    Gauge.builder("fortunelink.market.fmp.quota.remaining", this,
+            p -> Math.max(0, p.fmpDailyLimit - p.quotaUsed.get()))
+        .description("FMP credits left today, as of this node's last reservation")
+        .register(meterRegistry);
+    this.quotaRejections = Counter.builder("fortunelink.market.fmp.quota.rejections")
+        .description("FMP calls skipped because the daily quota was spent")
+        .register(meterRegistry);
+  }
+
   @Override
   public Map<AssetSymbol, MarketAssetQuote> fetchBatchQuotes(Set<AssetSymbol> symbols,
       Map<AssetSymbol, Currency> knownCurrencies) {
@@ -169,8 +189,10 @@ public class FmpProvider implements MarketDataProvider {
       redisTemplate.expire(key, Duration.ofHours(25));
     }
 
+    quotaUsed.set(current);
     if (current > fmpDailyLimit) {
       log.warn("FMP daily quota reached. Current: {}, Limit: {}", current, fmpDailyLimit);
+      quotaRejections.increment();
       undoReserve(count); // Immediately refund the overage attempt
       return true;
     }
@@ -183,7 +205,10 @@ public class FmpProvider implements MarketDataProvider {
   private void undoReserve(int count) {
     try {
       String key = "quota:fmp:" + LocalDate.now(ZoneOffset.UTC);
-      redisTemplate.opsForValue().decrement(key, count);
+      Long current = redisTemplate.opsForValue().decrement(key, count);
+      if (current != null) {
+        quotaUsed.set(current);
+      }
     } catch (Exception e) {
       log.error("Failed to refund FMP quota to Redis", e);
     }
@@ -38,7 +38,7 @@ public class FmpResponseMapper {
     Instant timestamp =
         fmp.getTimestamp() != null ? Instant.ofEpochSecond(fmp.getTimestamp()) : Instant.now();
 
-    return new MarketAssetQuote(new AssetSymbol(fmp.getSymbol()),
+    return new MarketAssetQuote(AssetSymbol.of(fmp.getSymbol()),
         priceOrZero(fmp.getPrice(), tradingCurrency), priceOrZero(fmp.getOpen(), tradingCurrency),
         priceOrZero(fmp.getDayHigh(), tradingCurrency),
         priceOrZero(fmp.getDayLow(), tradingCurrency),
@@ -53,7 +53,7 @@ public class FmpResponseMapper {
       return null;
     }
 
-    return new MarketAssetInfo(new AssetSymbol(fmp.getSymbol()), fmp.getCompanyName(),
+    return new MarketAssetInfo(AssetSymbol.of(fmp.getSymbol()), fmp.getCompanyName(),
         AssetType.valueOf(mapToAssetType(fmp)), fmp.getExchange(), Currency.of(fmp.getCurrency()),
         fmp.getSector(), fmp.getDescription());
   }
@@ -63,7 +63,7 @@ public class FmpResponseMapper {
       return null;
     }
 
-    return new SymbolSearchResult(new AssetSymbol(fmp.getSymbol()), fmp.getName(),
+    return new SymbolSearchResult(AssetSymbol.of(fmp.getSymbol()), fmp.getName(),
         fmp.getExchangeFullName(), Currency.of(fmp.getCurrency().toUpperCase()));
   }
 
@@ -0,0 +1,43 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.converters;
+
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PositionCheckpointJpaEntity.Lot;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.util.List;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Converts the lots of a FIFO position checkpoint to/from a JSON array for the JSONB
+ * {@code position_checkpoints.lots} column. Null stays null: ACB and flat checkpoints have no lots.
+ */
+@Converter
+public class CheckpointLotsConverter implements AttributeConverter<List<Lot>, String> {
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Override
+  public String convertToDatabaseColumn(List<Lot> attribute) {
+    if (attribute == null) {
+      return null;
+    }
+    try {
+      return mapper.writeValueAsString(attribute);
+    } catch (JacksonException e) {
+      throw new RuntimeException("JSON encoding error", e);
+    }
+  }
+
+  @Override
+  public List<Lot> convertToEntityAttribute(String dbData) {
+    if (dbData == null || dbData.isEmpty()) {
+      return null;
+    }
+    try {
+      return mapper.readValue(dbData, new TypeReference<>() {
+      });
+    } catch (JacksonException e) {
+      throw new RuntimeException("JSON decoding error", e);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.converters;
+
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainJpaEntity.ConsumedLot;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.util.List;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Converts the lots a realized gain closed to/from a JSON array for the JSONB
+ * {@code realized_gains.consumed_lots} column. Null stays null: gains that closed no lots.
+ */
+@Converter
+public class ConsumedLotsConverter implements AttributeConverter<List<ConsumedLot>, String> {
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  @Override
+  public String convertToDatabaseColumn(List<ConsumedLot> attribute) {
+    if (attribute == null) {
+      return null;
+    }
+    try {
+      return mapper.writeValueAsString(attribute);
+    } catch (JacksonException e) {
+      throw new RuntimeException("JSON encoding error", e);
+    }
+  }
+
+  @Override
+  public List<ConsumedLot> convertToEntityAttribute(String dbData) {
+    if (dbData == null || dbData.isEmpty()) {
+      return null;
+    }
+    try {
+      return mapper.readValue(dbData, new TypeReference<>() {
+      });
+    } catch (JacksonException e) {
+      throw new RuntimeException("JSON decoding error", e);
+    }
+  }
+}
@@ -18,7 +18,6 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -41,7 +40,9 @@ public class AccountJpaEntity implements Persistable<UUID> {
   @OneToMany(mappedBy = "account", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
   private final Set<PositionJpaEntity> positions = new LinkedHashSet<>();
   // if a single portfolio loads 3 years of active trading, that's 100+
-  // records, each time they open the portfolio page, each one is 'loaded', LAZY to solve this
+  // records, each time they open the portfolio page, each one is 'loaded', LAZY to solve this.
+  // Write path never touches this collection either: gains are inserted and deleted directly
+  // through JpaRealizedGainRepository.
   @OneToMany(mappedBy = "account", cascade = {CascadeType.PERSIST,
       CascadeType.MERGE}, orphanRemoval = false, fetch = FetchType.LAZY)
   private final Set<RealizedGainJpaEntity> realizedGains = new LinkedHashSet<>();
@@ -114,6 +115,18 @@ public class AccountJpaEntity implements Persistable<UUID> {
   // -------------------------------------------------------------------------
 
   public void applyFrom(AccountJpaEntity source) {
+    applyScalarsFrom(source);
+    replacePositions(source.positions);
+    // NOTE: realized gains are NOT replaced here. They are append-only rows written
+    // by the repository. Calling replacePositions is safe because positions are
+    // fully rebuilt by PositionRecalculationService.
+  }
+
+  /**
+   * Copies the account row columns only. Neither collection is touched, so calling this on an
+   * account loaded through the slice query never initializes the lazy positions or realized gains.
+   */
+  public void applyScalarsFrom(AccountJpaEntity source) {
     this.name = source.name;
     this.accountType = source.accountType;
     this.positionStrategy = source.positionStrategy;
@@ -123,11 +136,6 @@ public class AccountJpaEntity implements Persistable<UUID> {
     this.cashBalanceCurrency = source.cashBalanceCurrency;
     this.closedDate = source.closedDate;
     this.lastUpdatedOn = source.lastUpdatedOn;
-    replacePositions(source.positions);
-    // NOTE: realized gains are NOT replaced here, use addNewRealizedGains instead.
-    // Calling replacePositions is safe because positions are fully rebuilt by
-    // PositionRecalculationService. Gains are append-only and must never be
-    // cleared.
   }
 
   public void replacePositions(Set<PositionJpaEntity> incoming) {
@@ -151,22 +159,6 @@ public class AccountJpaEntity implements Persistable<UUID> {
     }
   }
 
-  /**
-   * Appends only NEW realized gain rows, those whose UUID does not already exist in the persisted
-   * collection. This is the correct operation for append-only domain data. Never call clear() on
-   * realizedGains.
-   *
-   * <p>
-   * The mapper is responsible for diffing domain IDs vs persisted IDs and passing only the delta
-   * here.
-   */
-  public void addNewRealizedGains(List<RealizedGainJpaEntity> newGains) {
-    for (RealizedGainJpaEntity g : newGains) {
-      g.setAccount(this);
-      this.realizedGains.add(g);
-    }
-  }
-
   // -------------------------------------------------------------------------
   // Getters
   // -------------------------------------------------------------------------
@@ -66,7 +66,7 @@ public class MarketAssetInfoJpaEntity {
   }
 
   public MarketAssetInfo toDomain() {
-    return new MarketAssetInfo(new AssetSymbol(symbol), name, AssetType.valueOf(assetType),
+    return new MarketAssetInfo(AssetSymbol.of(symbol), name, AssetType.valueOf(assetType),
         exchange, Currency.of(tradingCurrency), sector, description);
   }
 }
\ No newline at end of file
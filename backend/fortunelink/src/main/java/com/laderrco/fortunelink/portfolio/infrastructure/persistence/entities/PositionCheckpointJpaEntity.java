@@ -0,0 +1,131 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities;
+
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.converters.CheckpointLotsConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Maps the {@code position_checkpoints} table. Position columns mirror {@code positions} and are
+ * all null when the symbol was flat at {@code as_of}. A FIFO checkpoint also carries its open lots
+ * in the {@code lots} JSON column, which is null for ACB.
+ * <p>
+ * Rows are insert-only; a stale checkpoint is deleted, never updated. The account is referenced by
+ * ID only so writing a checkpoint never touches the account row.
+ */
+@Entity
+@Getter
+@Table(name = "position_checkpoints")
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED) // for JPA
+public class PositionCheckpointJpaEntity implements Persistable<UUID> {
+
+  @Id
+  @Column(name = "id", columnDefinition = "uuid", updatable = false, nullable = false)
+  private UUID id;
+
+  @Column(name = "account_id", columnDefinition = "uuid", nullable = false)
+  private UUID accountId;
+
+  @Column(name = "symbol", nullable = false, length = 20)
+  private String symbol;
+
+  @Column(name = "as_of", nullable = false)
+  private Instant asOf;
+
+  @Column(name = "last_transaction_id", columnDefinition = "uuid", nullable = false)
+  private UUID lastTransactionId;
+
+  @Column(name = "asset_type", length = 50)
+  private String assetType;
+
+  @Column(name = "quantity", precision = 20, scale = 8)
+  private BigDecimal quantity;
+
+  @Column(name = "cost_basis_amount", precision = 20, scale = 10)
+  private BigDecimal costBasisAmount;
+
+  @Column(name = "cost_basis_currency", length = 3)
+  private String costBasisCurrency;
+
+  @Column(name = "first_acquired_at")
+  private Instant acquiredDate;
+
+  @Column(name = "last_modified_at")
+  private Instant lastModifiedAt;
+
+  @Convert(converter = CheckpointLotsConverter.class)
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "lots", columnDefinition = "jsonb")
+  private List<Lot> lots;
+
+  // FIFO, LIFO or SPECIFIC_ID; null with lots is a FIFO checkpoint written before V12
+  @Column(name = "lot_strategy", length = 20)
+  private String lotStrategy;
+
+  // Insert-only with domain-assigned IDs: skip the merge() SELECT.
+  @Transient
+  private boolean isNew = true;
+
+  public static PositionCheckpointJpaEntity create(UUID id, UUID accountId, String symbol,
+      Instant asOf, UUID lastTransactionId, String assetType, BigDecimal quantity,
+      BigDecimal costBasisAmount, String costBasisCurrency, Instant acquiredDate,
+      Instant lastModifiedAt, List<Lot> lots, String lotStrategy) {
+
+    PositionCheckpointJpaEntity e = new PositionCheckpointJpaEntity();
+    e.id = id;
+    e.accountId = accountId;
+    e.symbol = symbol;
+    e.asOf = asOf;
+    e.lastTransactionId = lastTransactionId;
+    e.assetType = assetType;
+    e.quantity = quantity;
+    e.costBasisAmount = costBasisAmount;
+    e.costBasisCurrency = costBasisCurrency;
+    e.acquiredDate = acquiredDate;
+    e.lastModifiedAt = lastModifiedAt;
+    e.lots = lots;
+    e.lotStrategy = lotStrategy;
+    return e;
+  }
+
+  public boolean isFlat() {
+    return quantity == null;
+  }
+
+  public boolean hasLots() {
+    return lots != null;
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
+  }
+
+  /**
+   * One open lot of a lot-based checkpoint; its currency is {@code cost_basis_currency}.
+   * {@code lotId} is absent from checkpoints written before lots carried an id.
+   */
+  public record Lot(long seq, BigDecimal quantity, BigDecimal costBasisAmount, Instant acquiredAt,
+                    UUID lotId) {
+  }
+}
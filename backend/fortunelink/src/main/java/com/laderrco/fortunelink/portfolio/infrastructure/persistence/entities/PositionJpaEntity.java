@@ -1,29 +1,36 @@
 package com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 /**
- * Maps the {@code assets} table to domain {@code AcbPosition} (MVP) or {@code FifoPosition}
- * (future) via the mapper.
+ * Maps the {@code positions} table to a domain {@code AcbPosition} or {@code LotPosition} via the
+ * mapper.
  * <p>
- * For the ACB MVP, each row represents the aggregate state of one symbol inside one account: total
- * quantity, total cost basis, and acquisition date.
- * <p>
- * FIFO with tax lots would require a separate {@code tax_lots} table. The {@code identifier_type}
- * discriminator column is kept to stay compatible with the V1 schema and support future
- * polymorphism.
+ * Each row represents the aggregate state of one symbol inside one account: total quantity, total
+ * cost basis, and acquisition date. A lot position also owns its open lots in {@code tax_lots};
+ * an ACB position has none. The {@code identifier_type} discriminator column is kept to stay
+ * compatible with the V1 schema.
  */
 @Entity
 @Getter
@@ -73,6 +80,14 @@ public class PositionJpaEntity {
   @Column(name = "version", nullable = false)
   private Long version;
 
+  // Batch-fetched so loading an account's positions costs one lot query per 64 positions,
+  // not one per position.
+  @OneToMany(mappedBy = "position", cascade = CascadeType.ALL, orphanRemoval = true,
+      fetch = FetchType.LAZY)
+  @OrderBy("lotSeq")
+  @BatchSize(size = 64)
+  private final List<TaxLotJpaEntity> lots = new ArrayList<>();
+
   // -------------------------------------------------------------------------
   // Factory
   // -------------------------------------------------------------------------
@@ -103,6 +118,38 @@ public class PositionJpaEntity {
     this.costBasisCurrency = source.costBasisCurrency;
     this.acquiredDate = source.acquiredDate;
     this.lastModifiedAt = source.lastModifiedAt;
+    replaceLots(source.lots);
+  }
+
+  /**
+   * Reconciles the lot rows with {@code incoming} by lot sequence number: matching rows are updated
+   * in place, new lots are inserted and lots no longer present are deleted by orphan removal.
+   * Combined with JDBC batching this makes a save after a sale a handful of batched statements,
+   * however many lots the position holds.
+   */
+  public void replaceLots(List<TaxLotJpaEntity> incoming) {
+    Map<Long, TaxLotJpaEntity> existing = new HashMap<>();
+    for (TaxLotJpaEntity lot : this.lots) {
+      existing.put(lot.getLotSeq(), lot);
+    }
+
+    this.lots.clear();
+    for (TaxLotJpaEntity lot : incoming) {
+      TaxLotJpaEntity cur = existing.get(lot.getLotSeq());
+      if (cur != null && cur != lot) {
+        cur.applyFrom(lot);
+        this.lots.add(cur);
+      } else if (cur == lot) {
+        this.lots.add(cur); // already the managed instance
+      } else {
+        lot.setPosition(this);
+        this.lots.add(lot);
+      }
+    }
+  }
+
+  public List<TaxLotJpaEntity> getLots() {
+    return Collections.unmodifiableList(lots);
   }
 
   void setAccount(AccountJpaEntity account) {
@@ -1,23 +1,32 @@
 package com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities;
 
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.converters.ConsumedLotsConverter;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Getter
 @Table(name = "realized_gains")
 @NoArgsConstructor(access = lombok.AccessLevel.PROTECTED) // for JPA
-public class RealizedGainJpaEntity {
+public class RealizedGainJpaEntity implements Persistable<UUID> {
 
   @Id
   @Column(columnDefinition = "uuid", updatable = false, nullable = false)
@@ -45,9 +54,20 @@ public class RealizedGainJpaEntity {
   @Column(name = "occurred_at", nullable = false)
   private Instant occurredAt;
 
+  // Null for gains that closed no lots (ACB sales, ROC excess)
+  @Convert(converter = ConsumedLotsConverter.class)
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "consumed_lots", columnDefinition = "jsonb")
+  private List<ConsumedLot> consumedLots;
+
+  // IDs are assigned by the domain, so without this Spring Data would merge() (SELECT + INSERT)
+  // every new gain instead of persisting it directly.
+  @Transient
+  private boolean isNew = true;
+
   public static RealizedGainJpaEntity create(UUID id, AccountJpaEntity account, String symbol,
       BigDecimal gainLossAmount, String gainLossCurrency, BigDecimal costBasisSoldAmount,
-      String costBasisSoldCurrency, Instant occurredAt) {
+      String costBasisSoldCurrency, Instant occurredAt, List<ConsumedLot> consumedLots) {
 
     RealizedGainJpaEntity e = new RealizedGainJpaEntity();
     e.id = id;
@@ -58,10 +78,29 @@ public class RealizedGainJpaEntity {
     e.costBasisSoldAmount = costBasisSoldAmount;
     e.costBasisSoldCurrency = costBasisSoldCurrency;
     e.occurredAt = occurredAt;
+    e.consumedLots = consumedLots == null || consumedLots.isEmpty() ? null : consumedLots;
     return e;
   }
 
   void setAccount(AccountJpaEntity account) {
     this.account = account;
   }
-}
\ No newline at end of file
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
+  }
+
+  /**
+   * One lot closed by the sale; its cost basis is in {@code cost_basis_sold_currency}.
+   */
+  public record ConsumedLot(UUID lotId, Instant acquiredAt, BigDecimal quantity,
+                            BigDecimal costBasisAmount) {
+  }
+}
@@ -0,0 +1,63 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Maps the {@code realized_gain_totals} table: running sums of an account's realized gains and
+ * losses, one row per (account, symbol, tax year, currency).
+ * <p>
+ * Rollup rows use {@link #ALL_SYMBOLS} and {@link #ALL_YEARS} in place of a real symbol or year, so
+ * every totals query, filtered or not, reads the rows for a single key. Rows are written only by
+ * the native upserts in {@code JpaRealizedGainTotalRepository}, in the same transaction as the
+ * {@code realized_gains} rows they summarize; this entity is the read side.
+ */
+@Entity
+@Getter
+@Table(name = "realized_gain_totals")
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED) // for JPA
+public class RealizedGainTotalJpaEntity {
+  public static final String ALL_SYMBOLS = "";
+  public static final int ALL_YEARS = 0;
+
+  @EmbeddedId
+  private Key id;
+
+  // Sum of the positive gains
+  @Column(name = "sum_gains", nullable = false, precision = 20, scale = 10)
+  private BigDecimal sumGains;
+
+  // Sum of the losses, stored positive
+  @Column(name = "sum_losses", nullable = false, precision = 20, scale = 10)
+  private BigDecimal sumLosses;
+
+  @Column(name = "gain_count", nullable = false)
+  private int gainCount;
+
+  @Embeddable
+  @Getter
+  @EqualsAndHashCode
+  @NoArgsConstructor(access = lombok.AccessLevel.PROTECTED) // for JPA
+  public static class Key implements Serializable {
+    @Column(name = "account_id", columnDefinition = "uuid", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "symbol", nullable = false, length = 20)
+    private String symbol;
+
+    @Column(name = "tax_year", nullable = false)
+    private int taxYear;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+  }
+}
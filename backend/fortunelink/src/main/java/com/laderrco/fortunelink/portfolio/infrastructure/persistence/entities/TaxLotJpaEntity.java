@@ -0,0 +1,86 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Maps the {@code tax_lots} table: one open lot of a FIFO, LIFO or SPECIFIC_ID position.
+ * <p>
+ * Rows are keyed within their position by {@code lotSeq}, the lot's sequence number in the domain
+ * {@code LotLedger}. {@link PositionJpaEntity#replaceLots} reconciles on it, so saving a position
+ * after a sale updates or deletes only the lots the sale touched. {@code lotId} is the
+ * transaction that opened the lot, null for rows written before lots carried one.
+ */
+@Entity
+@Getter
+@Table(name = "tax_lots")
+@NoArgsConstructor(access = lombok.AccessLevel.PROTECTED) // for JPA
+public class TaxLotJpaEntity {
+
+  @Id
+  @Column(name = "id", columnDefinition = "uuid", updatable = false, nullable = false)
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "position_id", nullable = false)
+  private PositionJpaEntity position;
+
+  @Column(name = "lot_seq", nullable = false, updatable = false)
+  private long lotSeq;
+
+  @Column(name = "lot_id", columnDefinition = "uuid")
+  private UUID lotId;
+
+  @Column(name = "quantity", nullable = false, precision = 20, scale = 8)
+  private BigDecimal quantity;
+
+  @Column(name = "cost_basis_amount", nullable = false, precision = 20, scale = 10)
+  private BigDecimal costBasisAmount;
+
+  @Column(name = "cost_basis_currency", nullable = false, length = 3)
+  private String costBasisCurrency;
+
+  @Column(name = "acquired_at", nullable = false)
+  private Instant acquiredAt;
+
+  @Version
+  @Column(name = "version", nullable = false)
+  private Long version;
+
+  public static TaxLotJpaEntity create(UUID id, long lotSeq, UUID lotId, BigDecimal quantity,
+      BigDecimal costBasisAmount, String costBasisCurrency, Instant acquiredAt) {
+
+    TaxLotJpaEntity e = new TaxLotJpaEntity();
+    e.id = id;
+    e.lotSeq = lotSeq;
+    e.lotId = lotId;
+    e.quantity = quantity;
+    e.costBasisAmount = costBasisAmount;
+    e.costBasisCurrency = costBasisCurrency;
+    e.acquiredAt = acquiredAt;
+    return e;
+  }
+
+  void applyFrom(TaxLotJpaEntity source) {
+    this.lotId = source.lotId;
+    this.quantity = source.quantity;
+    this.costBasisAmount = source.costBasisAmount;
+    this.costBasisCurrency = source.costBasisCurrency;
+    this.acquiredAt = source.acquiredAt;
+  }
+
+  void setPosition(PositionJpaEntity position) {
+    this.position = position;
+  }
+}
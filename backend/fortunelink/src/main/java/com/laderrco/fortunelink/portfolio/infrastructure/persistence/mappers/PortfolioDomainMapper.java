@@ -8,21 +8,33 @@ import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.HealthStatus;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotConsumption;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.RealizedGainRecord;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.FifoPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.LifoPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.LotPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.LotPosition.SequencedLot;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.PositionCheckpoint;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.SpecificIdPosition;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.AccountJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PortfolioJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PositionCheckpointJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PositionJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.TaxLotJpaEntity;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -30,7 +42,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
 /**
@@ -137,30 +148,40 @@ public class PortfolioDomainMapper {
   // Position helpers
   // =========================================================================
 
+  /**
+   * Realized gains are never hydrated. They are an append-only stream written by the repository
+   * from {@code Account.getNewRealizedGains()}, so {@code ae.getRealizedGains()} is never touched.
+   */
   public Account accountToDomain(AccountJpaEntity ae) {
+    return reconstituteAccount(ae, ae.getPositions());
+  }
+
+  /**
+   * Account-slice variant of {@link #accountToDomain}. Only the supplied position rows are mapped,
+   * so {@code ae}'s lazy collections are never initialized. The resulting Account only knows about
+   * the loaded symbols and must be written back through {@code PortfolioRepository.saveAccountSlice}.
+   */
+  public Account accountSliceToDomain(AccountJpaEntity ae,
+      Collection<PositionJpaEntity> positions) {
+    return reconstituteAccount(ae, positions);
+  }
+
+  private Account reconstituteAccount(AccountJpaEntity ae, Collection<PositionJpaEntity> positions) {
+    PositionStrategy strategy = PositionStrategy.valueOf(ae.getPositionStrategy());
     Map<AssetSymbol, Position> positionMap = new LinkedHashMap<>();
-    for (PositionJpaEntity pe : ae.getPositions()) {
-      AcbPosition pos = positionToDomain(pe, ae.getBaseCurrencyCode());
+    for (PositionJpaEntity pe : positions) {
+      Position pos = positionToDomain(pe, ae.getBaseCurrencyCode(), strategy);
       positionMap.put(pos.symbol(), pos);
     }
 
-    // Use reconstitute() so the stable DB UUID flows into the domain record.
-    // This is what allows the mapper to diff on save and skip re-inserting existing
-    // gains.
-    List<RealizedGainRecord> gains = new ArrayList<>();
-    for (RealizedGainJpaEntity ge : ae.getRealizedGains()) {
-      gains.add(realizedGainToDomain(ge));
-    }
-
     Currency currency = Currency.of(ae.getBaseCurrencyCode());
     Money cashBalance = new Money(ae.getCashBalanceAmount(), currency);
 
     return Account.reconstitute(AccountId.fromString(ae.getId().toString()), ae.getName(),
-        AccountType.valueOf(ae.getAccountType()), currency,
-        PositionStrategy.valueOf(ae.getPositionStrategy()),
+        AccountType.valueOf(ae.getAccountType()), currency, strategy,
         HealthStatus.valueOf(ae.getHealthStatus()),
         AccountLifecycleState.valueOf(ae.getLifecycleState()), ae.getClosedDate(),
-        ae.getCreatedDate(), ae.getLastUpdatedOn(), cashBalance, positionMap, gains);
+        ae.getCreatedDate(), ae.getLastUpdatedOn(), cashBalance, positionMap);
   }
 
   AccountJpaEntity accountToEntity(Account domain, PortfolioJpaEntity portfolioEntity,
@@ -168,20 +189,10 @@ public class PortfolioDomainMapper {
 
     AccountJpaEntity entity;
     if (existing == null) {
-      entity = AccountJpaEntity.create(UUID.fromString(domain.getAccountId().toString()),
-          portfolioEntity, domain.getName(), domain.getAccountType().name(),
-          domain.getAccountCurrency().getCode(), domain.getPositionStrategy().name(),
-          domain.getHealthStatus().name(), domain.getState().name(),
-          domain.getCashBalance().amount(), domain.getCashBalance().currency().getCode(),
-          domain.getCloseDate(), domain.getCreationDate(), domain.getLastUpdatedOn());
+      entity = accountRow(UUID.fromString(domain.getAccountId().toString()), portfolioEntity,
+          domain);
     } else {
-      AccountJpaEntity updated = AccountJpaEntity.create(existing.getId(), portfolioEntity,
-          domain.getName(), domain.getAccountType().name(), domain.getAccountCurrency().getCode(),
-          domain.getPositionStrategy().name(), domain.getHealthStatus().name(),
-          domain.getState().name(), domain.getCashBalance().amount(),
-          domain.getCashBalance().currency().getCode(), domain.getCloseDate(),
-          domain.getCreationDate(), domain.getLastUpdatedOn());
-      existing.applyFrom(updated);
+      existing.applyFrom(accountRow(existing.getId(), portfolioEntity, domain));
       entity = existing;
     }
 
@@ -197,83 +208,206 @@ public class PortfolioDomainMapper {
     }
     entity.replacePositions(positionEntities);
 
-    // Realized gains , append-only. NEVER clear and re-insert.
-    //
-    // 1. Collect the UUIDs that are already persisted in the DB.
-    // 2. Filter domain gains to only those not yet persisted.
-    // 3. Append only the delta.
-    //
-    // This works because RealizedGainRecord carries a stable UUID generated at
-    // the moment Account.recordRealizedGain() is called, and reconstituted from
-    // the DB row UUID when the account is loaded. The IDs are stable across saves.
-    Set<UUID> persistedGainIds = existing == null ? Collections.emptySet()
-        : existing.getRealizedGains().stream().map(RealizedGainJpaEntity::getId)
-            .collect(Collectors.toSet());
-
-    List<RealizedGainJpaEntity> newGainEntities = new ArrayList<>();
-    for (RealizedGainRecord rg : domain.getRealizedGains()) {
-      if (!persistedGainIds.contains(rg.id())) {
-        // Use rg.id() , NOT UUID.randomUUID() , so the ID is stable across saves.
-        newGainEntities.add(realizedGainToEntity(rg.id(), entity, rg));
-      }
-    }
-    entity.addNewRealizedGains(newGainEntities);
-
+    // Realized gains are deliberately absent here. They are append-only rows written
+    // by PortfolioRepositoryImpl straight from Account.getNewRealizedGains(), so the
+    // gain collection on the entity is never loaded or diffed.
     return entity;
   }
 
+  /**
+   * Copies the account row columns of a slice-loaded Account onto its managed entity. Positions and
+   * realized gains are written separately by the repository so the lazy collections stay cold.
+   */
+  public void applyAccountSlice(Account domain, AccountJpaEntity existing) {
+    Objects.requireNonNull(existing, "AccountJpaEntity cannot be null");
+    existing.applyScalarsFrom(accountRow(existing.getId(), existing.getPortfolio(), domain));
+  }
+
+  private AccountJpaEntity accountRow(UUID id, PortfolioJpaEntity portfolioEntity, Account domain) {
+    return AccountJpaEntity.create(id, portfolioEntity, domain.getName(),
+        domain.getAccountType().name(), domain.getAccountCurrency().getCode(),
+        domain.getPositionStrategy().name(), domain.getHealthStatus().name(),
+        domain.getState().name(), domain.getCashBalance().amount(),
+        domain.getCashBalance().currency().getCode(), domain.getCloseDate(),
+        domain.getCreationDate(), domain.getLastUpdatedOn());
+  }
+
   // =========================================================================
   // RealizedGain helpers
   // =========================================================================
 
-  private AcbPosition positionToDomain(PositionJpaEntity pe, String accountCurrencyCode) {
+  /**
+   * ACB accounts never touch the lot collection. A lot-strategy row without lots predates the
+   * {@code tax_lots} table and is read as its aggregate.
+   */
+  private Position positionToDomain(PositionJpaEntity pe, String accountCurrencyCode,
+      PositionStrategy strategy) {
     Currency currency = Currency.of(accountCurrencyCode);
-    return new AcbPosition(new AssetSymbol(pe.getSymbol()), AssetType.valueOf(pe.getAssetType()),
-        currency, new Quantity(pe.getQuantity()),
+    AssetSymbol symbol = AssetSymbol.of(pe.getSymbol());
+    AssetType type = AssetType.valueOf(pe.getAssetType());
+    if (strategy != PositionStrategy.ACB && !pe.getLots().isEmpty()) {
+      List<SequencedLot> lots = new ArrayList<>(pe.getLots().size());
+      for (TaxLotJpaEntity le : pe.getLots()) {
+        lots.add(new SequencedLot(le.getLotSeq(), new TaxLot(new Quantity(le.getQuantity()),
+            new Money(le.getCostBasisAmount(), Currency.of(le.getCostBasisCurrency())),
+            le.getAcquiredAt(), lotId(le.getLotId()))));
+      }
+      return lotPosition(strategy, symbol, type, currency, lots, pe.getLastModifiedAt());
+    }
+    return new AcbPosition(symbol, type, currency, new Quantity(pe.getQuantity()),
         new Money(pe.getCostBasisAmount(), Currency.of(pe.getCostBasisCurrency())),
         pe.getAcquiredDate(), pe.getLastModifiedAt());
   }
 
-  private PositionJpaEntity positionToEntity(UUID id, AccountJpaEntity accountEntity,
+  /**
+   * FIFO and LIFO lots are numbered contiguously from the first one; SPECIFIC_ID keeps each lot's
+   * own number since its sales leave gaps.
+   */
+  private static LotPosition lotPosition(PositionStrategy strategy, AssetSymbol symbol,
+      AssetType type, Currency currency, List<SequencedLot> lots, Instant lastModifiedAt) {
+    long firstSeq = lots.isEmpty() ? 0 : lots.getFirst().seq();
+    List<TaxLot> taxLots = lots.stream().map(SequencedLot::lot).toList();
+    return switch (strategy) {
+      case FIFO -> FifoPosition.reconstitute(symbol, type, currency, firstSeq, taxLots,
+          lastModifiedAt);
+      case LIFO -> LifoPosition.reconstitute(symbol, type, currency, firstSeq, taxLots,
+          lastModifiedAt);
+      case SPECIFIC_ID -> SpecificIdPosition.reconstitute(symbol, type, currency, lots,
+          lastModifiedAt);
+      case ACB -> throw new IllegalArgumentException("ACB positions have no lots");
+    };
+  }
+
+  public PositionJpaEntity positionToEntity(UUID id, AccountJpaEntity accountEntity,
       Position position) {
-    if (!(position instanceof AcbPosition acb)) {
-      throw new UnsupportedOperationException(
-          "Only AcbPosition supported at this time. Got: " + position.getClass().getSimpleName());
+    return switch (position) {
+      case AcbPosition acb ->
+          PositionJpaEntity.create(id, accountEntity, resolveIdentifierType(acb.type()),
+              acb.symbol().symbol(), acb.type().name(), acb.totalQuantity().amount(),
+              acb.totalCostBasis().amount(), acb.totalCostBasis().currency().getCode(),
+              acb.firstAcquiredAt(), acb.lastModifiedAt());
+      case LotPosition lp -> {
+        PositionJpaEntity entity = PositionJpaEntity.create(id, accountEntity,
+            resolveIdentifierType(lp.type()), lp.symbol().symbol(), lp.type().name(),
+            lp.totalQuantity().amount(), lp.totalCostBasis().amount(),
+            lp.accountCurrency().getCode(), firstAcquiredAt(lp), lp.lastModifiedAt());
+        entity.replaceLots(lotsToEntities(lp.sequencedLots()));
+        yield entity;
+      }
+    };
+  }
+
+  private static List<TaxLotJpaEntity> lotsToEntities(List<SequencedLot> lots) {
+    List<TaxLotJpaEntity> entities = new ArrayList<>(lots.size());
+    for (SequencedLot sl : lots) {
+      TaxLot lot = sl.lot();
+      entities.add(TaxLotJpaEntity.create(UUID.randomUUID(), sl.seq(), lotUuid(lot),
+          lot.quantity().amount(), lot.costBasis().amount(), lot.costBasis().currency().getCode(),
+          lot.acquiredDate()));
     }
+    return entities;
+  }
+
+  private static Instant firstAcquiredAt(LotPosition lp) {
+    return lp.lots().isEmpty() ? null : lp.lots().getFirst().acquiredDate();
+  }
 
-    return PositionJpaEntity.create(id, accountEntity, resolveIdentifierType(acb.type()),
-        acb.symbol().symbol(), acb.type().name(), acb.totalQuantity().amount(),
-        acb.totalCostBasis().amount(), acb.totalCostBasis().currency().getCode(),
-        acb.firstAcquiredAt(), acb.lastModifiedAt());
+  private static TransactionId lotId(UUID id) {
+    return id == null ? null : new TransactionId(id);
+  }
+
+  private static UUID lotUuid(TaxLot lot) {
+    return lot.lotId() == null ? null : lot.lotId().id();
+  }
+
+  private static PositionStrategy strategyOf(LotPosition lp) {
+    return switch (lp) {
+      case FifoPosition _ -> PositionStrategy.FIFO;
+      case LifoPosition _ -> PositionStrategy.LIFO;
+      case SpecificIdPosition _ -> PositionStrategy.SPECIFIC_ID;
+    };
   }
 
   // =========================================================================
-  // Private utilities
+  // PositionCheckpoint helpers
   // =========================================================================
 
-  /**
-   * Reconstitutes a domain record from a DB row, threading the stable UUID through. This must use
-   * RealizedGainRecord.reconstitute() , NOT of() , so the ID matches the persisted row and the
-   * mapper can skip re-inserting on the next save.
-   */
-  private RealizedGainRecord realizedGainToDomain(RealizedGainJpaEntity ge) {
-    return RealizedGainRecord.reconstitute(ge.getId(),
-        // stable DB row UUID , critical for the append-only diff in toEntity
-        new AssetSymbol(ge.getSymbol()),
-        new Money(ge.getGainLossAmount(), Currency.of(ge.getGainLossCurrency())),
-        new Money(ge.getCostBasisSoldAmount(), Currency.of(ge.getCostBasisSoldCurrency())),
-        ge.getOccurredAt());
+  public PositionCheckpointJpaEntity checkpointToEntity(UUID id, PositionCheckpoint checkpoint) {
+    UUID accountId = checkpoint.accountId().id();
+    String symbol = checkpoint.symbol().symbol();
+    UUID lastTxId = checkpoint.lastTransactionId().id();
+
+    return switch (checkpoint.position()) {
+      case null -> PositionCheckpointJpaEntity.create(id, accountId, symbol, checkpoint.asOf(),
+          lastTxId, null, null, null, null, null, null, null, null);
+      case AcbPosition acb ->
+          PositionCheckpointJpaEntity.create(id, accountId, symbol, checkpoint.asOf(), lastTxId,
+              acb.type().name(), acb.totalQuantity().amount(), acb.totalCostBasis().amount(),
+              acb.totalCostBasis().currency().getCode(), acb.firstAcquiredAt(),
+              acb.lastModifiedAt(), null, null);
+      case LotPosition lp -> {
+        List<PositionCheckpointJpaEntity.Lot> lots = new ArrayList<>(lp.lots().size());
+        for (SequencedLot sl : lp.sequencedLots()) {
+          TaxLot lot = sl.lot();
+          lots.add(new PositionCheckpointJpaEntity.Lot(sl.seq(), lot.quantity().amount(),
+              lot.costBasis().amount(), lot.acquiredDate(), lotUuid(lot)));
+        }
+        yield PositionCheckpointJpaEntity.create(id, accountId, symbol, checkpoint.asOf(),
+            lastTxId, lp.type().name(), lp.totalQuantity().amount(),
+            lp.totalCostBasis().amount(), lp.accountCurrency().getCode(), firstAcquiredAt(lp),
+            lp.lastModifiedAt(), lots, strategyOf(lp).name());
+      }
+    };
+  }
+
+  public PositionCheckpoint checkpointToDomain(PositionCheckpointJpaEntity ce) {
+    AssetSymbol symbol = AssetSymbol.of(ce.getSymbol());
+    Position position = null;
+    if (!ce.isFlat()) {
+      Currency currency = Currency.of(ce.getCostBasisCurrency());
+      AssetType type = AssetType.valueOf(ce.getAssetType());
+      if (ce.hasLots()) {
+        List<SequencedLot> lots = new ArrayList<>(ce.getLots().size());
+        for (PositionCheckpointJpaEntity.Lot lot : ce.getLots()) {
+          lots.add(new SequencedLot(lot.seq(), new TaxLot(new Quantity(lot.quantity()),
+              new Money(lot.costBasisAmount(), currency), lot.acquiredAt(), lotId(lot.lotId()))));
+        }
+        // Checkpoints written before V12 carry no strategy and are always FIFO
+        PositionStrategy strategy = ce.getLotStrategy() == null ? PositionStrategy.FIFO
+            : PositionStrategy.valueOf(ce.getLotStrategy());
+        position = lotPosition(strategy, symbol, type, currency, lots, ce.getLastModifiedAt());
+      } else {
+        position = new AcbPosition(symbol, type, currency, new Quantity(ce.getQuantity()),
+            new Money(ce.getCostBasisAmount(), currency), ce.getAcquiredDate(),
+            ce.getLastModifiedAt());
+      }
+    }
+
+    return new PositionCheckpoint(AccountId.fromString(ce.getAccountId().toString()), symbol,
+        ce.getAsOf(), new TransactionId(ce.getLastTransactionId()), position);
   }
 
+  // =========================================================================
+  // Private utilities
+  // =========================================================================
+
   /**
    * Converts a domain realized gain to a JPA entity for persistence. The id parameter MUST be
    * rg.id() , it is passed explicitly to make it impossible to accidentally pass UUID.randomUUID()
    * here again.
    */
-  private RealizedGainJpaEntity realizedGainToEntity(UUID id, AccountJpaEntity accountEntity,
+  public RealizedGainJpaEntity realizedGainToEntity(UUID id, AccountJpaEntity accountEntity,
       RealizedGainRecord rg) {
     return RealizedGainJpaEntity.create(id, accountEntity, rg.symbol().symbol(),
         rg.realizedGainLoss().amount(), rg.realizedGainLoss().currency().getCode(),
-        rg.costBasisSold().amount(), rg.costBasisSold().currency().getCode(), rg.occurredAt());
+        rg.costBasisSold().amount(), rg.costBasisSold().currency().getCode(), rg.occurredAt(),
+        consumedLotsToEntity(rg.consumedLots()));
+  }
+
+  private static List<RealizedGainJpaEntity.ConsumedLot> consumedLotsToEntity(
+      List<LotConsumption> consumed) {
+    return consumed.stream().map(c -> new RealizedGainJpaEntity.ConsumedLot(
+        c.lotId() == null ? null : c.lotId().id(), c.acquiredDate(), c.quantity().amount(),
+        c.costBasis().amount())).toList();
   }
 }
\ No newline at end of file
@@ -44,7 +44,7 @@ public class TransactionDomainMapper {
     TradeExecution execution = null;
     if (entity.getExecutionSymbol() != null) {
       Currency priceCurrency = Currency.of(entity.getExecutionPriceCurrency());
-      execution = new TradeExecution(new AssetSymbol(entity.getExecutionSymbol()),
+      execution = new TradeExecution(AssetSymbol.of(entity.getExecutionSymbol()),
           new Quantity(entity.getExecutionQuantity()),
           new Price(new Money(entity.getExecutionPriceAmount(), priceCurrency)));
     }
@@ -56,7 +56,7 @@ public class AccountQueryRepositoryImpl implements AccountQueryRepository {
     for (AccountSymbolProjection row : rows) {
       AccountId accountId = new AccountId(row.getAccountId());
       result.computeIfAbsent(accountId, k -> new LinkedHashSet<>())
-          .add(new AssetSymbol(row.getSymbol()));
+          .add(AssetSymbol.of(row.getSymbol()));
     }
 
     return Collections.unmodifiableMap(result);
@@ -84,7 +84,7 @@ public class AccountQueryRepositoryImpl implements AccountQueryRepository {
     Map<AccountId, Map<AssetSymbol, Quantity>> result = new LinkedHashMap<>();
     for (AssetBalanceProjection row : rows) {
       AccountId accountId = new AccountId(row.getAccountId());
-      AssetSymbol symbol = new AssetSymbol(row.getSymbol());
+      AssetSymbol symbol = AssetSymbol.of(row.getSymbol());
       Quantity qty = new Quantity(row.getQuantity());
       result.computeIfAbsent(accountId, k -> new LinkedHashMap<>()).put(symbol, qty);
     }
@@ -0,0 +1,60 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
+
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the account read model in step with the write repositories.
+ * <p>
+ * Writers report the accounts they touched; the read rows of all of them are refreshed once, just
+ * before the transaction commits, so a command that saves an account slice and then a transaction
+ * row refreshes after both. A rollback discards the refresh with everything else. Outside a
+ * transaction the refresh runs immediately.
+ */
+@Component
+@RequiredArgsConstructor
+class AccountReadModelProjector {
+  private final AccountReadModelRepository accountReadModelRepository;
+
+  void accountsChanged(Collection<AccountId> accountIds) {
+    if (accountIds.isEmpty()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      accountReadModelRepository.refresh(accountIds);
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    Set<AccountId> pending = (Set<AccountId>) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      Set<AccountId> changed = new LinkedHashSet<>();
+      TransactionSynchronizationManager.bindResource(this, changed);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void beforeCommit(boolean readOnly) {
+          accountReadModelRepository.refresh(Set.copyOf(changed));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(
+              AccountReadModelProjector.this);
+        }
+      });
+      pending = changed;
+    }
+    pending.addAll(accountIds);
+  }
+
+  void accountChanged(AccountId accountId) {
+    accountsChanged(Set.of(accountId));
+  }
+}
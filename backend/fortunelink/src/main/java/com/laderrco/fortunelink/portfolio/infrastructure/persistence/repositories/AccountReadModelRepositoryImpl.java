@@ -0,0 +1,258 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
+
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountLifecycleState;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Native SQL: neither view table has an entity, and the refresh is a few set-based statements over
+ * the write tables rather than anything Hibernate could express.
+ * <p>
+ * A refresh first locks its accounts rows in id order, so two refreshes sharing an account (a
+ * command and the rebuilder, say) take turns instead of racing on the delete-then-insert of
+ * position rows, and cannot deadlock on each other whatever the order of their id lists.
+ * <p>
+ * Both reads return one row per (account, position), accounts without positions once with null
+ * position columns; {@link #toAccounts} folds them back into accounts in query order.
+ */
+@Repository
+public class AccountReadModelRepositoryImpl implements AccountReadModelRepository {
+  private static final String ACCOUNT_COLUMNS = """
+      s.account_id, s.name, s.account_type, s.base_currency_code, s.position_strategy,
+      s.lifecycle_state, s.cash_balance_amount, s.excluded_transaction_count, s.created_date,
+      v.symbol, v.asset_type, v.quantity, v.cost_basis_amount, v.fees_amount,
+      v.first_acquired_at, v.last_modified_at
+      """;
+
+  // COUNT(*) OVER () is taken before LIMIT, so the page carries its own total.
+  private static final String SELECT_PAGE = "SELECT " + ACCOUNT_COLUMNS + ", s.total " + """
+      FROM (
+          SELECT s.*, COUNT(*) OVER () AS total
+          FROM account_summary_view s
+          JOIN portfolios p ON p.id = s.portfolio_id
+          WHERE s.portfolio_id = :portfolioId
+            AND p.user_id = :userId
+            AND p.deleted = FALSE
+            AND s.lifecycle_state <> 'CLOSED'
+          ORDER BY s.created_date, s.account_id
+          LIMIT :limit OFFSET :offset
+      ) s
+      LEFT JOIN position_view v ON v.account_id = s.account_id
+      ORDER BY s.created_date, s.account_id, v.symbol
+      """;
+
+  private static final String COUNT_PAGE = """
+      SELECT COUNT(*)
+      FROM account_summary_view s
+      JOIN portfolios p ON p.id = s.portfolio_id
+      WHERE s.portfolio_id = :portfolioId
+        AND p.user_id = :userId
+        AND p.deleted = FALSE
+        AND s.lifecycle_state <> 'CLOSED'
+      """;
+
+  private static final String SELECT_ONE = "SELECT " + ACCOUNT_COLUMNS + """
+      FROM account_summary_view s
+      JOIN portfolios p ON p.id = s.portfolio_id
+      LEFT JOIN position_view v ON v.account_id = s.account_id
+      WHERE s.account_id = :accountId
+        AND s.portfolio_id = :portfolioId
+        AND p.user_id = :userId
+        AND p.deleted = FALSE
+      ORDER BY v.symbol
+      """;
+
+  private static final String LOCK_ACCOUNTS = """
+      SELECT a.id FROM accounts a WHERE a.id IN (:accountIds) ORDER BY a.id FOR UPDATE
+      """;
+
+  private static final String DELETE_POSITIONS = """
+      DELETE FROM position_view WHERE account_id IN (:accountIds)
+      """;
+
+  // Fees match AccountViewBuilder's old lookup: non-excluded BUYs, in the account's currency.
+  private static final String INSERT_POSITIONS = """
+      INSERT INTO position_view
+          (account_id, symbol, asset_type, quantity, cost_basis_amount, fees_amount,
+           first_acquired_at, last_modified_at)
+      SELECT p.account_id, p.symbol, p.asset_type, p.quantity, p.cost_basis_amount,
+             COALESCE(f.fees, 0), p.first_acquired_at, p.last_modified_at
+      FROM positions p
+      JOIN accounts a ON a.id = p.account_id
+      LEFT JOIN (
+          SELECT t.account_id, t.execution_symbol, t.cash_delta_currency,
+                 SUM(COALESCE(tf.account_amount, tf.native_amount)) AS fees
+          FROM transactions t
+          JOIN transaction_fees tf ON tf.transaction_id = t.id
+          WHERE t.account_id IN (:accountIds)
+            AND t.transaction_type = 'BUY'
+            AND t.excluded = FALSE
+            AND t.execution_symbol IS NOT NULL
+          GROUP BY t.account_id, t.execution_symbol, t.cash_delta_currency
+      ) f ON f.account_id = p.account_id
+         AND f.execution_symbol = p.symbol
+         AND f.cash_delta_currency = a.base_currency_code
+      WHERE p.account_id IN (:accountIds)
+      """;
+
+  private static final String UPSERT_ACCOUNTS = """
+      INSERT INTO account_summary_view
+          (account_id, portfolio_id, name, account_type, base_currency_code, position_strategy,
+           lifecycle_state, health_status, cash_balance_amount, excluded_transaction_count,
+           created_date, last_updated_on)
+      SELECT a.id, a.portfolio_id, a.name, a.account_type, a.base_currency_code,
+             a.position_strategy, a.lifecycle_state, a.health_status, a.cash_balance_amount,
+             (SELECT COUNT(*) FROM transactions t
+              WHERE t.account_id = a.id
+                AND t.excluded = TRUE
+                AND t.transaction_type IN ('BUY', 'SELL', 'DIVIDEND', 'DIVIDEND_REINVEST',
+                                           'INTEREST', 'RETURN_OF_CAPITAL', 'SPLIT')),
+             a.created_date, a.last_updated_on
+      FROM accounts a
+      WHERE a.id IN (:accountIds)
+      ON CONFLICT (account_id) DO UPDATE
+      SET name = EXCLUDED.name, account_type = EXCLUDED.account_type,
+          base_currency_code = EXCLUDED.base_currency_code,
+          position_strategy = EXCLUDED.position_strategy,
+          lifecycle_state = EXCLUDED.lifecycle_state, health_status = EXCLUDED.health_status,
+          cash_balance_amount = EXCLUDED.cash_balance_amount,
+          excluded_transaction_count = EXCLUDED.excluded_transaction_count,
+          last_updated_on = EXCLUDED.last_updated_on
+      """;
+
+  private static final String SELECT_IDS_AFTER = """
+      SELECT a.id FROM accounts a WHERE a.id > :after ORDER BY a.id LIMIT :limit
+      """;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  @SuppressWarnings("unchecked")
+  public Page<AccountRow> findByPortfolioId(PortfolioId portfolioId, UserId userId,
+      Pageable pageable) {
+    List<Object[]> rows = entityManager.createNativeQuery(SELECT_PAGE)
+        .setParameter("portfolioId", portfolioId.id()).setParameter("userId", userId.id())
+        .setParameter("limit", pageable.getPageSize())
+        .setParameter("offset", pageable.getOffset()).getResultList();
+
+    if (rows.isEmpty()) {
+      // Past the last page the window count is gone with the rows; only then count separately.
+      long total = pageable.getOffset() == 0 ? 0 : ((Number) entityManager.createNativeQuery(
+              COUNT_PAGE).setParameter("portfolioId", portfolioId.id())
+          .setParameter("userId", userId.id()).getSingleResult()).longValue();
+      return new PageImpl<>(List.of(), pageable, total);
+    }
+    long total = ((Number) rows.getFirst()[16]).longValue();
+    return new PageImpl<>(toAccounts(rows), pageable, total);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  @SuppressWarnings("unchecked")
+  public Optional<AccountRow> findById(PortfolioId portfolioId, UserId userId,
+      AccountId accountId) {
+    List<Object[]> rows = entityManager.createNativeQuery(SELECT_ONE)
+        .setParameter("accountId", accountId.id()).setParameter("portfolioId", portfolioId.id())
+        .setParameter("userId", userId.id()).getResultList();
+    return toAccounts(rows).stream().findFirst();
+  }
+
+  @Override
+  @Transactional
+  public void refresh(Collection<AccountId> accountIds) {
+    if (accountIds.isEmpty()) {
+      return;
+    }
+    List<UUID> ids = accountIds.stream().map(AccountId::id).distinct().toList();
+
+    entityManager.flush();
+    entityManager.createNativeQuery(LOCK_ACCOUNTS).setParameter("accountIds", ids)
+        .getResultList();
+    entityManager.createNativeQuery(DELETE_POSITIONS).setParameter("accountIds", ids)
+        .executeUpdate();
+    entityManager.createNativeQuery(INSERT_POSITIONS).setParameter("accountIds", ids)
+        .executeUpdate();
+    entityManager.createNativeQuery(UPSERT_ACCOUNTS).setParameter("accountIds", ids)
+        .executeUpdate();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  @SuppressWarnings("unchecked")
+  public List<AccountId> findAccountIdsAfter(UUID afterAccountId, int limit) {
+    List<UUID> ids = entityManager.createNativeQuery(SELECT_IDS_AFTER)
+        .setParameter("after", afterAccountId).setParameter("limit", limit).getResultList();
+    return ids.stream().map(AccountId::new).toList();
+  }
+
+  private static List<AccountRow> toAccounts(List<Object[]> rows) {
+    Map<UUID, Object[]> accounts = new LinkedHashMap<>();
+    Map<UUID, List<PositionRow>> positions = new LinkedHashMap<>();
+
+    for (Object[] row : rows) {
+      UUID id = (UUID) row[0];
+      accounts.putIfAbsent(id, row);
+      List<PositionRow> held = positions.computeIfAbsent(id, k -> new ArrayList<>());
+      if (row[9] != null) {
+        held.add(toPosition(row, Currency.of((String) row[3])));
+      }
+    }
+
+    return accounts.values().stream().map(row -> {
+      Currency currency = Currency.of((String) row[3]);
+      return new AccountRow(new AccountId((UUID) row[0]), (String) row[1],
+          AccountType.valueOf((String) row[2]), AccountLifecycleState.valueOf((String) row[5]),
+          PositionStrategy.valueOf((String) row[4]), currency,
+          new Money((BigDecimal) row[6], currency), ((Number) row[7]).intValue(),
+          toInstant(row[8]), List.copyOf(positions.get((UUID) row[0])));
+    }).toList();
+  }
+
+  private static PositionRow toPosition(Object[] row, Currency currency) {
+    AcbPosition totals = new AcbPosition(AssetSymbol.of((String) row[9]),
+        AssetType.valueOf((String) row[10]), currency, new Quantity((BigDecimal) row[11]),
+        new Money((BigDecimal) row[12], currency), toInstant(row[14]), toInstant(row[15]));
+    return new PositionRow(totals, new Money((BigDecimal) row[13], currency));
+  }
+
+  // The JDBC driver's timestamptz type depends on the Hibernate version; accept each of them.
+  private static Instant toInstant(Object value) {
+    return switch (value) {
+      case null -> null;
+      case Instant instant -> instant;
+      case OffsetDateTime offset -> offset.toInstant();
+      case Timestamp timestamp -> timestamp.toInstant();
+      default -> throw new IllegalStateException("Unexpected timestamp type " + value.getClass());
+    };
+  }
+}
@@ -0,0 +1,92 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
+
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountRepairRepository;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Native SQL: the keyset scan joins a table with no entity, and the outcome writes are upserts
+ * whose backoff is computed from the row they replace.
+ */
+@Repository
+public class AccountRepairRepositoryImpl implements AccountRepairRepository {
+  private static final String SELECT_REPAIRABLE = """
+      SELECT a.id, a.portfolio_id, p.user_id
+      FROM accounts a
+      JOIN portfolios p ON p.id = a.portfolio_id
+      LEFT JOIN account_repair_attempts r ON r.account_id = a.id
+      WHERE a.health_status = 'STALE'
+        AND a.lifecycle_state <> 'CLOSED'
+        AND p.deleted = FALSE
+        AND a.id > :after
+        AND (r.next_attempt_at IS NULL OR r.next_attempt_at <= :now)
+      ORDER BY a.id
+      LIMIT :limit
+      """;
+
+  private static final String UPSERT_HEALED = """
+      INSERT INTO account_repair_attempts
+          (account_id, attempts, last_outcome, last_error, last_attempt_at, next_attempt_at)
+      VALUES (:accountId, 0, 'HEALED', NULL, :at, :at)
+      ON CONFLICT (account_id) DO UPDATE
+      SET attempts = 0, last_outcome = 'HEALED', last_error = NULL,
+          last_attempt_at = :at, next_attempt_at = :at
+      """;
+
+  private static final String UPSERT_FAILED = """
+      INSERT INTO account_repair_attempts
+          (account_id, attempts, last_outcome, last_error, last_attempt_at, next_attempt_at)
+      VALUES (:accountId, 1, 'FAILED', :error, :at, :at + make_interval(secs => :baseSeconds))
+      ON CONFLICT (account_id) DO UPDATE
+      SET attempts = account_repair_attempts.attempts + 1, last_outcome = 'FAILED',
+          last_error = :error, last_attempt_at = :at,
+          next_attempt_at = :at + make_interval(secs => LEAST(
+              :baseSeconds * POWER(2, LEAST(account_repair_attempts.attempts, 30)), :maxSeconds))
+      """;
+
+  private static final int MAX_ERROR_LENGTH = 500;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  @SuppressWarnings("unchecked")
+  public List<StaleAccount> findRepairableAfter(UUID afterAccountId, Instant now, int limit) {
+    List<Object[]> rows = entityManager.createNativeQuery(SELECT_REPAIRABLE)
+        .setParameter("after", afterAccountId).setParameter("now", now)
+        .setParameter("limit", limit).getResultList();
+
+    return rows.stream().map(row -> new StaleAccount(new PortfolioId((UUID) row[1]),
+        new UserId((UUID) row[2]), new AccountId((UUID) row[0]))).toList();
+  }
+
+  @Override
+  @Transactional
+  public void recordHealed(AccountId accountId, Instant at) {
+    entityManager.createNativeQuery(UPSERT_HEALED).setParameter("accountId", accountId.id())
+        .setParameter("at", at).executeUpdate();
+  }
+
+  @Override
+  @Transactional
+  public void recordFailure(AccountId accountId, String error, Instant at, Duration baseBackoff,
+      Duration maxBackoff) {
+    String truncated = error != null && error.length() > MAX_ERROR_LENGTH
+        ? error.substring(0, MAX_ERROR_LENGTH)
+        : error;
+    entityManager.createNativeQuery(UPSERT_FAILED).setParameter("accountId", accountId.id())
+        .setParameter("error", truncated).setParameter("at", at)
+        .setParameter("baseSeconds", (double) baseBackoff.toSeconds())
+        .setParameter("maxSeconds", (double) maxBackoff.toSeconds()).executeUpdate();
+  }
+}
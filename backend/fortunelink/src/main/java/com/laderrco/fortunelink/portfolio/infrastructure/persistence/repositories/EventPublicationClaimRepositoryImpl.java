@@ -0,0 +1,75 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
+
+import com.laderrco.fortunelink.portfolio.application.repositories.EventPublicationClaimRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Native SQL because {@code event_publication} is owned by Spring Modulith and has no entity here.
+ */
+@Repository
+public class EventPublicationClaimRepositoryImpl implements EventPublicationClaimRepository {
+  private static final String SELECT_CLAIMABLE = """
+      SELECT id, listener_id, event_type, serialized_event FROM event_publication
+      WHERE completion_date IS NULL
+        AND publication_date < :publishedBefore
+        AND (last_resubmission_date IS NULL OR last_resubmission_date < :claimedBefore)
+      ORDER BY publication_date
+      LIMIT :batchSize
+      FOR UPDATE SKIP LOCKED
+      """;
+
+  private static final String STAMP_CLAIMED = """
+      UPDATE event_publication
+      SET last_resubmission_date = :now
+      WHERE id IN (:ids)
+      """;
+
+  private static final String RELEASE_CLAIMED = """
+      UPDATE event_publication
+      SET last_resubmission_date = NULL
+      WHERE id IN (:ids) AND completion_date IS NULL
+      """;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @Transactional
+  @SuppressWarnings("unchecked")
+  public List<ClaimedPublication> claimIncomplete(Instant publishedBefore, Instant claimedBefore,
+      int batchSize) {
+    List<Object[]> rows = entityManager.createNativeQuery(SELECT_CLAIMABLE)
+        .setParameter("publishedBefore", publishedBefore)
+        .setParameter("claimedBefore", claimedBefore).setParameter("batchSize", batchSize)
+        .getResultList();
+
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+
+    List<ClaimedPublication> claimed = rows.stream().map(
+        row -> new ClaimedPublication((UUID) row[0], (String) row[1], (String) row[2],
+            (String) row[3])).toList();
+    entityManager.createNativeQuery(STAMP_CLAIMED).setParameter("now", Instant.now())
+        .setParameter("ids", claimed.stream().map(ClaimedPublication::id).toList())
+        .executeUpdate();
+    return claimed;
+  }
+
+  @Override
+  @Transactional
+  public void releaseClaims(Collection<UUID> publicationIds) {
+    if (publicationIds.isEmpty()) {
+      return;
+    }
+    entityManager.createNativeQuery(RELEASE_CLAIMED).setParameter("ids", publicationIds)
+        .executeUpdate();
+  }
+}
@@ -4,6 +4,8 @@ import com.laderrco.fortunelink.portfolio.domain.services.projectors.AssetBalanc
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.AccountJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.projections.AccountSummaryProjection;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.projections.AccountSymbolProjection;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,6 +13,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -73,7 +77,7 @@ public interface JpaAccountRepository extends JpaRepository<AccountJpaEntity, UU
       """)
   List<AssetBalanceProjection> findBalancesForAccounts(@Param("accountIds") List<UUID> accountIds);
 
-  @EntityGraph(attributePaths = {"positions", "realizedGains"})
+  @EntityGraph(attributePaths = {"positions"})
   @Query("""
       SELECT a FROM AccountJpaEntity a
       WHERE a.id = :accountId
@@ -83,4 +87,32 @@ public interface JpaAccountRepository extends JpaRepository<AccountJpaEntity, UU
   Optional<AccountJpaEntity> findByIdWithOwnershipCheck(@Param("accountId") UUID accountId,
       @Param("portfolioId") UUID portfolioId, @Param("userId") UUID userId);
 
+  /**
+   * Account-slice load for single-account writes. Ownership (portfolio belongs to user, account
+   * belongs to portfolio, portfolio not soft-deleted) is checked in the same statement that loads
+   * the account row. Positions and realized gains stay LAZY and untouched; callers load only the
+   * positions they need through {@code JpaPositionRepository}.
+   * <p>
+   * OPTIMISTIC_FORCE_INCREMENT bumps the account version at commit even when only position rows
+   * changed, so two writers on the same account always collide on the version check.
+   */
+  @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+  @Query("""
+      SELECT a FROM AccountJpaEntity a
+      WHERE a.id = :accountId
+        AND a.portfolio.id = :portfolioId
+        AND a.portfolio.userId = :userId
+        AND a.portfolio.deleted = false
+      """)
+  Optional<AccountJpaEntity> findSliceByIdWithOwnershipCheck(@Param("accountId") UUID accountId,
+      @Param("portfolioId") UUID portfolioId, @Param("userId") UUID userId);
+
+  /**
+   * Moves the version of accounts whose transactions changed without the account row being written
+   * (exclusion, restore, purge), so view stamps built on the version see the change and a
+   * concurrent writer on the same account collides on it.
+   */
+  @Modifying
+  @Query("UPDATE AccountJpaEntity a SET a.version = a.version + 1 WHERE a.id IN :accountIds")
+  int incrementVersions(@Param("accountIds") Collection<UUID> accountIds);
 }
@@ -20,15 +20,22 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface JpaPortfolioRepository extends JpaRepository<PortfolioJpaEntity, UUID> {
 
+  /**
+   * Same graph as {@link #findWithAccountsByIdAndUserId}: the domain mapper walks every account and
+   * position, so loading them lazily would cost one query per account.
+   */
+  @EntityGraph(attributePaths = {"accounts", "accounts.positions"})
   Optional<PortfolioJpaEntity> findByIdAndUserId(@Param("id") UUID id,
       @Param("userId") UUID userId);
 
   /**
-   * Fetches the portfolio with its complete account graph (accounts → positions + realized gains).
-   * Used for both reads and writes so Hibernate tracks the managed instances for dirty-checking on
-   * save.
+   * Fetches the portfolio with its account graph (accounts → positions). Used for both reads and
+   * writes so Hibernate tracks the managed instances for dirty-checking on save.
+   * <p>
+   * Realized gains are intentionally not part of the graph. They are append-only and grow with
+   * trading history; the write path inserts new rows directly instead of hydrating them.
    */
-  @EntityGraph(attributePaths = {"accounts", "accounts.positions", "accounts.realizedGains"})
+  @EntityGraph(attributePaths = {"accounts", "accounts.positions"})
   Optional<PortfolioJpaEntity> findWithAccountsByIdAndUserId(@Param("id") UUID id,
       @Param("userId") UUID userId);
 
@@ -36,7 +43,7 @@ public interface JpaPortfolioRepository extends JpaRepository<PortfolioJpaEntity
    * Returns all non-deleted portfolios for a user. Soft-deleted rows ({@code deleted = true}) are
    * intentionally excluded.
    */
-  @EntityGraph(attributePaths = {"accounts", "accounts.positions", "accounts.realizedGains"})
+  @EntityGraph(attributePaths = {"accounts", "accounts.positions"})
   @Query("""
       SELECT p FROM PortfolioJpaEntity p
       WHERE p.userId = :userId
@@ -103,15 +110,6 @@ public interface JpaPortfolioRepository extends JpaRepository<PortfolioJpaEntity
       """)
   Long countActiveByUserId(@Param("userId") UUID userId);
 
-  /**
-   * Loads the full aggregate graph by portfolio ID only. Ownership is pre-validated by
-   * PortfolioLoader before save is called , repeating the userId check here is redundant and costs
-   * a round-trip.
-   */
-  @EntityGraph(attributePaths = {"accounts", "accounts.positions", "accounts.realizedGains"})
-  @Query("SELECT p FROM PortfolioJpaEntity p WHERE p.id = :id")
-  Optional<PortfolioJpaEntity> findWithAccountsById(@Param("id") UUID id);
-
   @Modifying
   @Query("UPDATE AccountJpaEntity a SET a.healthStatus = 'STALE' WHERE a.id = :accountId")
   void markAccountStale(@Param("accountId") UUID accountId);
@@ -0,0 +1,29 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
+
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PositionCheckpointJpaEntity;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JpaPositionCheckpointRepository extends
+    JpaRepository<PositionCheckpointJpaEntity, UUID> {
+
+  Optional<PositionCheckpointJpaEntity> findFirstByAccountIdAndSymbolOrderByAsOfDesc(
+      UUID accountId, String symbol);
+
+  @Modifying
+  @Query("""
+      DELETE FROM PositionCheckpointJpaEntity c
+      WHERE c.accountId = :accountId
+        AND c.symbol = :symbol
+        AND c.asOf >= :from
+      """)
+  int deleteFrom(@Param("accountId") UUID accountId, @Param("symbol") String symbol,
+      @Param("from") Instant from);
+}
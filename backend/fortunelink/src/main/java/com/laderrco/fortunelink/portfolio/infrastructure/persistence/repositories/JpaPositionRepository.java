@@ -0,0 +1,27 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
+
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PositionJpaEntity;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Direct access to position rows for the account-slice write path. The full aggregate path still
+ * goes through {@code AccountJpaEntity.positions}; this repository exists so a single-symbol
+ * command does not have to initialize that collection.
+ */
+@Repository
+public interface JpaPositionRepository extends JpaRepository<PositionJpaEntity, UUID> {
+
+  @Query("""
+      SELECT p FROM PositionJpaEntity p
+      WHERE p.account.id = :accountId
+        AND p.symbol IN :symbols
+      """)
+  List<PositionJpaEntity> findByAccountIdAndSymbolIn(@Param("accountId") UUID accountId,
+      @Param("symbols") Collection<String> symbols);
+}
@@ -1,12 +1,16 @@
 package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
 
-import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.GainsAggregation;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.valueobjects.LossSaleAggregationResult;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -54,16 +58,68 @@ public interface JpaRealizedGainRepository extends JpaRepository<RealizedGainJpa
   @Query("SELECT a.baseCurrencyCode FROM AccountJpaEntity a WHERE a.id = :accountId")
   Optional<String> findAccountCurrencyById(@Param("accountId") UUID accountId);
 
+  /**
+   * Returns which of the supplied gain IDs already have a row. Lets the write path insert new gains
+   * without hydrating the account's realized gain collection.
+   */
+  @Query("SELECT r.id FROM RealizedGainJpaEntity r WHERE r.id IN :ids")
+  List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Per account, the earliest sale of {@code symbol} between {@code from} and {@code to} that
+   * realized a loss, or a zero gain because its loss was denied. Only the user's live portfolios
+   * and the given ACB account types are searched; return-of-capital gains have no cost basis sold
+   * and are skipped.
+   */
   @Query("""
-      SELECT new com.laderrco.fortunelink.portfolio.application.utils.valueobjects.GainsAggregation(
-          SUM(CASE WHEN r.gainLossAmount > 0 THEN r.gainLossAmount ELSE 0 END),
-          SUM(CASE WHEN r.gainLossAmount < 0 THEN ABS(r.gainLossAmount) ELSE 0 END)
-      )
+      SELECT p.id AS portfolioId, a.id AS accountId, MIN(r.occurredAt) AS earliestSale
       FROM RealizedGainJpaEntity r
+      JOIN r.account a
+      JOIN a.portfolio p
+      WHERE p.userId = :userId
+        AND p.deleted = false
+        AND r.symbol = :symbol
+        AND r.gainLossAmount <= 0
+        AND r.costBasisSoldAmount > 0
+        AND r.occurredAt BETWEEN :from AND :to
+        AND a.accountType IN :accountTypes
+        AND a.positionStrategy = 'ACB'
+      GROUP BY p.id, a.id
+      """)
+  List<LossSaleAggregationResult> findLossSalesForUser(@Param("userId") UUID userId,
+      @Param("symbol") String symbol, @Param("from") Instant from, @Param("to") Instant to,
+      @Param("accountTypes") Collection<String> accountTypes);
+
+  /**
+   * Targeted invalidation for a per-symbol recalculation. Replaces the old clear-and-diff over the
+   * hydrated collection, so the cost is bounded by the rows for these symbols, not by history.
+   */
+  @Modifying
+  @Query("""
+      DELETE FROM RealizedGainJpaEntity r
       WHERE r.account.id = :accountId
-        AND (:symbol IS NULL OR r.symbol = :symbol)
-        AND (:taxYear IS NULL OR EXTRACT(YEAR FROM r.occurredAt) = :taxYear)
+        AND r.symbol IN :symbols
       """)
-  GainsAggregation calculateTotals(@Param("accountId") UUID accountId,
-      @Param("taxYear") Integer taxYear, @Param("symbol") String symbol);
-}
\ No newline at end of file
+  int deleteByAccountIdAndSymbolIn(@Param("accountId") UUID accountId,
+      @Param("symbols") Collection<String> symbols);
+
+  /**
+   * Trims one symbol's gains back to a position checkpoint; gains up to {@code after} are kept.
+   */
+  @Modifying
+  @Query("""
+      DELETE FROM RealizedGainJpaEntity r
+      WHERE r.account.id = :accountId
+        AND r.symbol = :symbol
+        AND r.occurredAt > :after
+      """)
+  int deleteByAccountIdAndSymbolAfter(@Param("accountId") UUID accountId,
+      @Param("symbol") String symbol, @Param("after") Instant after);
+
+  /**
+   * Full-replay invalidation: every gain for the account is regenerated from transaction history.
+   */
+  @Modifying
+  @Query("DELETE FROM RealizedGainJpaEntity r WHERE r.account.id = :accountId")
+  int deleteByAccountId(@Param("accountId") UUID accountId);
+}
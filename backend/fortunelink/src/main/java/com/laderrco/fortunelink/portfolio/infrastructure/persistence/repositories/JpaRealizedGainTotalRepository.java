@@ -0,0 +1,130 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
+
+import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.GainsAggregation;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainTotalJpaEntity;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Running realized-gain totals. Every change to {@code realized_gains} goes through
+ * {@code PortfolioRepositoryImpl.writeRealizedGains}, which calls the adjustments here in the same
+ * transaction: subtract the rows about to be deleted, then add the rows just inserted.
+ * <p>
+ * The adjustments aggregate the affected {@code realized_gains} rows with grouping sets, so one
+ * statement moves the detail row and its three rollups ({@code ''} symbol, year 0, or both) at
+ * once. The tax year is the UTC year of {@code occurred_at}.
+ */
+@Repository
+public interface JpaRealizedGainTotalRepository extends
+    JpaRepository<RealizedGainTotalJpaEntity, RealizedGainTotalJpaEntity.Key> {
+
+  String TAX_YEAR = "CAST(EXTRACT(YEAR FROM r.occurred_at AT TIME ZONE 'UTC') AS INTEGER)";
+
+  // Grouped sums of the realized_gains rows picked by a WHERE clause appended after this
+  String GROUPED_GAINS = "SELECT COALESCE(r.symbol, '') AS symbol, "
+      + "COALESCE(" + TAX_YEAR + ", 0) AS tax_year, "
+      + "r.gain_loss_currency AS currency, "
+      + "SUM(GREATEST(r.gain_loss_amount, 0)) AS sum_gains, "
+      + "SUM(GREATEST(-r.gain_loss_amount, 0)) AS sum_losses, "
+      + "COUNT(*) AS gain_count "
+      + "FROM realized_gains r ";
+
+  String GROUPING = "GROUP BY GROUPING SETS ("
+      + "(r.symbol, " + TAX_YEAR + ", r.gain_loss_currency), "
+      + "(r.symbol, r.gain_loss_currency), "
+      + "(" + TAX_YEAR + ", r.gain_loss_currency), "
+      + "(r.gain_loss_currency)) ";
+
+  String SUBTRACT = """
+      UPDATE realized_gain_totals t
+      SET sum_gains = t.sum_gains - d.sum_gains,
+          sum_losses = t.sum_losses - d.sum_losses,
+          gain_count = t.gain_count - d.gain_count
+      FROM (
+      """;
+
+  String SUBTRACT_MATCH = """
+      ) d
+      WHERE t.account_id = :accountId
+        AND t.symbol = d.symbol
+        AND t.tax_year = d.tax_year
+        AND t.currency = d.currency
+      """;
+
+  /**
+   * Totals for one key. Pass {@link RealizedGainTotalJpaEntity#ALL_SYMBOLS} or
+   * {@link RealizedGainTotalJpaEntity#ALL_YEARS} to total across symbols or years. Reads one row
+   * per currency the account has realized gains in, normally exactly one.
+   */
+  @Query("""
+      SELECT new com.laderrco.fortunelink.portfolio.application.utils.valueobjects.GainsAggregation(
+          SUM(t.sumGains), SUM(t.sumLosses))
+      FROM RealizedGainTotalJpaEntity t
+      WHERE t.id.accountId = :accountId
+        AND t.id.symbol = :symbol
+        AND t.id.taxYear = :taxYear
+      """)
+  GainsAggregation findTotals(@Param("accountId") UUID accountId, @Param("symbol") String symbol,
+      @Param("taxYear") int taxYear);
+
+  /**
+   * Adds freshly inserted gain rows. They must be flushed before this runs.
+   */
+  @Modifying
+  @Query(value = "INSERT INTO realized_gain_totals "
+      + "(symbol, tax_year, currency, sum_gains, sum_losses, gain_count, account_id) "
+      + "SELECT g.*, CAST(:accountId AS UUID) FROM (" + GROUPED_GAINS + """
+      WHERE r.account_id = :accountId
+        AND r.id IN (:ids)
+      """ + GROUPING + """
+      ) g
+      ON CONFLICT (account_id, symbol, tax_year, currency) DO UPDATE
+      SET sum_gains = realized_gain_totals.sum_gains + EXCLUDED.sum_gains,
+          sum_losses = realized_gain_totals.sum_losses + EXCLUDED.sum_losses,
+          gain_count = realized_gain_totals.gain_count + EXCLUDED.gain_count
+      """, nativeQuery = true)
+  int addGains(@Param("accountId") UUID accountId, @Param("ids") Collection<UUID> ids);
+
+  /**
+   * Subtracts every gain of the given symbols. Run before the gain rows are deleted.
+   */
+  @Modifying
+  @Query(value = SUBTRACT + GROUPED_GAINS + """
+      WHERE r.account_id = :accountId
+        AND r.symbol IN (:symbols)
+      """ + GROUPING + SUBTRACT_MATCH, nativeQuery = true)
+  int subtractSymbols(@Param("accountId") UUID accountId,
+      @Param("symbols") Collection<String> symbols);
+
+  /**
+   * Subtracts one symbol's gains after {@code after}, mirroring
+   * {@code JpaRealizedGainRepository.deleteByAccountIdAndSymbolAfter}.
+   */
+  @Modifying
+  @Query(value = SUBTRACT + GROUPED_GAINS + """
+      WHERE r.account_id = :accountId
+        AND r.symbol = :symbol
+        AND r.occurred_at > :after
+      """ + GROUPING + SUBTRACT_MATCH, nativeQuery = true)
+  int subtractSymbolAfter(@Param("accountId") UUID accountId, @Param("symbol") String symbol,
+      @Param("after") Instant after);
+
+  /**
+   * Drops rows a subtraction emptied, so a symbol that was replayed away leaves nothing behind.
+   */
+  @Modifying
+  @Query(value = "DELETE FROM realized_gain_totals WHERE account_id = :accountId "
+      + "AND gain_count = 0", nativeQuery = true)
+  int deleteEmpty(@Param("accountId") UUID accountId);
+
+  @Modifying
+  @Query(value = "DELETE FROM realized_gain_totals WHERE account_id = :accountId",
+      nativeQuery = true)
+  int deleteByAccountId(@Param("accountId") UUID accountId);
+}
@@ -2,21 +2,32 @@ package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositori
 
 import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.TransactionJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.valueobjects.ExcludedCountResult;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.valueobjects.FeeAggregationResult;
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface JpaTransactionRepository extends JpaRepository<TransactionJpaEntity, UUID> {
+  /**
+   * Rows per JDBC round-trip for the replay streams. Postgres only honours a fetch size inside a
+   * transaction; outside one the driver buffers the whole result set.
+   */
+  String REPLAY_FETCH_SIZE = "500";
 
   // --- Find Methods (List) ---
   List<TransactionJpaEntity> findByPortfolioIdAndAccountId(UUID portfolioId, UUID accountId);
@@ -50,6 +61,57 @@ public interface JpaTransactionRepository extends JpaRepository<TransactionJpaEn
       @Param("portfolioId") UUID portfolioId, @Param("userId") UUID userId,
       @Param("accountId") UUID accountId);
 
+  // --- Replay Streams ---
+  // Ordered like BasePositionProjector: occurredAt, BUY before anything else at the same instant,
+  // then id. The id tie-break also keeps each transaction's fee rows adjacent, which the fetch join
+  // relies on to assemble one entity at a time off the cursor.
+  @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = REPLAY_FETCH_SIZE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+  @Query("""
+      SELECT t FROM TransactionJpaEntity t
+      LEFT JOIN FETCH t.fees
+      WHERE t.accountId = :accountId
+        AND t.excluded = false
+      ORDER BY t.occurredAt, CASE WHEN t.transactionType = 'BUY' THEN 0 ELSE 1 END, t.id
+      """)
+  Stream<TransactionJpaEntity> streamActiveByAccountId(@Param("accountId") UUID accountId);
+
+  @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = REPLAY_FETCH_SIZE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+  @Query("""
+      SELECT t FROM TransactionJpaEntity t
+      LEFT JOIN FETCH t.fees
+      WHERE t.accountId = :accountId
+        AND t.executionSymbol = :symbol
+        AND t.excluded = false
+        AND (CAST(:after AS instant) IS NULL OR t.occurredAt > :after)
+      ORDER BY t.occurredAt, CASE WHEN t.transactionType = 'BUY' THEN 0 ELSE 1 END, t.id
+      """)
+  Stream<TransactionJpaEntity> streamActiveByAccountIdAndSymbol(@Param("accountId") UUID accountId,
+      @Param("symbol") String symbol, @Param("after") Instant after);
+
+  long countByAccountIdAndExcludedFalse(UUID accountId);
+
+  /**
+   * Holding-changing history of {@code symbols} across every account of a user, in replay order.
+   * Reads through the user's live portfolios onto idx_transactions_portfolio_symbol_holding.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+  @Query("""
+      SELECT t FROM TransactionJpaEntity t
+      LEFT JOIN FETCH t.fees
+      WHERE t.portfolioId IN (
+            SELECT p.id FROM PortfolioJpaEntity p
+            WHERE p.userId = :userId
+              AND p.deleted = false)
+        AND t.executionSymbol IN :symbols
+        AND t.excluded = false
+        AND t.transactionType IN ('BUY', 'DIVIDEND_REINVEST', 'SELL', 'SPLIT')
+      ORDER BY t.occurredAt, CASE WHEN t.transactionType = 'BUY' THEN 0 ELSE 1 END, t.id
+      """)
+  List<TransactionJpaEntity> findHoldingHistoryForUser(@Param("userId") UUID userId,
+      @Param("symbols") Collection<String> symbols);
+
   /**
    * Used in the 'save' logic to find the denormalized portfolioId when it's not provided. Assumes a
    * relationship exists between Account and Portfolio.
@@ -94,6 +156,12 @@ public interface JpaTransactionRepository extends JpaRepository<TransactionJpaEn
   int deleteExpiredTransactions(@Param("accountId") UUID accountId,
       @Param("cutoff") Instant cutoff);
 
+  @Query("""
+      SELECT DISTINCT t.accountId FROM TransactionJpaEntity t
+      WHERE t.excluded = true AND t.excludedAt < :cutoff
+      """)
+  List<UUID> findAccountIdsWithExpiredTransactions(@Param("cutoff") Instant cutoff);
+
   @Modifying
   @Query("DELETE FROM TransactionJpaEntity t WHERE t.excluded = true AND t.excludedAt < :cutoff")
   int deleteAllExpiredTransactions(@Param("cutoff") Instant cutoff);
@@ -114,14 +182,18 @@ public interface JpaTransactionRepository extends JpaRepository<TransactionJpaEn
   Optional<TransactionJpaEntity> findByIdempotencyKeyAndPortfolioId(String key,
       @Param("portfolioId") UUID portfolioId);
 
+  // Accounts without excluded transactions have no row.
   @Query("""
-      SELECT COUNT(t) FROM TransactionJpaEntity t
-      WHERE t.accountId = :accountId
+      SELECT t.accountId as accountId, COUNT(t) as excludedCount
+      FROM TransactionJpaEntity t
+      WHERE t.accountId IN :accountIds
         AND t.excluded = true
         AND t.transactionType IN (
             'BUY', 'SELL', 'DIVIDEND', 'DIVIDEND_REINVEST',
             'INTEREST', 'RETURN_OF_CAPITAL', 'SPLIT'
         )
+      GROUP BY t.accountId
       """)
-  long countExcludedPositionAffecting(@Param("accountId") UUID accountId);
+  List<ExcludedCountResult> countExcludedPositionAffecting(
+      @Param("accountIds") Collection<UUID> accountIds);
 }
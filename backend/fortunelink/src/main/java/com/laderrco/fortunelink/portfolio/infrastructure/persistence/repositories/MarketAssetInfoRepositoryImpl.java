@@ -32,7 +32,7 @@ public class MarketAssetInfoRepositoryImpl implements MarketAssetInfoRepository
     Set<String> rawSymbols = symbols.stream().map(AssetSymbol::symbol).collect(Collectors.toSet());
 
     return jpaRepo.findBySymbolIn(rawSymbols).stream().collect(
-        Collectors.toMap(e -> new AssetSymbol(e.getSymbol()), MarketAssetInfoJpaEntity::toDomain));
+        Collectors.toMap(e -> AssetSymbol.of(e.getSymbol()), MarketAssetInfoJpaEntity::toDomain));
   }
 
   @Override
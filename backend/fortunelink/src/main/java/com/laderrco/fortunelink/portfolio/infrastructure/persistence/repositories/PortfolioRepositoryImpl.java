@@ -1,16 +1,29 @@
 package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
 
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.RealizedGainRecord;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import com.laderrco.fortunelink.portfolio.domain.repositories.PortfolioRepository;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.AccountJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PortfolioJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PositionJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.mappers.PortfolioDomainMapper;
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
@@ -20,7 +33,7 @@ import org.springframework.stereotype.Repository;
  * This class knows about both layers by design , that is its entire purpose. All other classes in
  * the application layer see only the interface.
  * <p>
- * Save strategy: load the managed JPA entity first (if it exists), then pass it to the mapper for
+ * Save strategy: take the managed JPA entity (if it exists), then pass it to the mapper for
  * an in-place update so Hibernate's dirty-checking works correctly and doesn't issue a DELETE +
  * INSERT for every save.
  */
@@ -28,13 +41,17 @@ import org.springframework.stereotype.Repository;
 @RequiredArgsConstructor
 public class PortfolioRepositoryImpl implements PortfolioRepository {
   private final JpaPortfolioRepository jpaRepository;
+  private final JpaAccountRepository jpaAccountRepository;
+  private final JpaPositionRepository jpaPositionRepository;
+  private final JpaRealizedGainRepository jpaRealizedGainRepository;
+  private final JpaRealizedGainTotalRepository jpaRealizedGainTotalRepository;
   private final PortfolioDomainMapper mapper;
+  private final AccountReadModelProjector readModelProjector;
 
   /*
-   * Warning about the save strategy. It loads the managed JPA entity before every
-   * save so Hibernate's dirty-checking works correctly. That's one extra query
-   * per write. For an MVP with low write volume this is fine. If you're ever
-   * doing bulk imports you'll want a different path
+   * Every caller loaded the portfolio through this repository earlier in the same
+   * transaction, so findById is a persistence-context hit on the graph that load
+   * fetched, not a query. Only a new portfolio costs a primary-key miss.
    */
   @Override
   public Portfolio save(Portfolio domain) {
@@ -42,11 +59,16 @@ public class PortfolioRepositoryImpl implements PortfolioRepository {
 
     UUID id = UUID.fromString(domain.getPortfolioId().toString());
 
-    // Single SELECT with entity graph. Ownership was already validated by
-    // PortfolioLoader before this call, no need to re-check userId here.
-    Optional<PortfolioJpaEntity> existing = jpaRepository.findWithAccountsById(id);
+    // Ownership was already validated by PortfolioLoader, no userId check here.
+    Optional<PortfolioJpaEntity> existing = jpaRepository.findById(id);
     PortfolioJpaEntity entity = mapper.toEntity(domain, existing.orElse(null));
-    return mapper.toDomain(jpaRepository.save(entity));
+    PortfolioJpaEntity saved = jpaRepository.save(entity);
+
+    // After the account rows are saved so the gain FK always has a parent.
+    domain.getAccounts().forEach(this::writeRealizedGains);
+    readModelProjector.accountsChanged(
+        domain.getAccounts().stream().map(Account::getAccountId).toList());
+    return mapper.toDomain(saved);
   }
 
   @Override
@@ -73,6 +95,54 @@ public class PortfolioRepositoryImpl implements PortfolioRepository {
         UUID.fromString(userId.toString())).map(mapper::toDomain);
   }
 
+  @Override
+  public Optional<Account> findAccountSlice(PortfolioId portfolioId, UserId userId,
+      AccountId accountId, Set<AssetSymbol> symbols) {
+    Objects.requireNonNull(symbols, "symbols cannot be null");
+
+    return jpaAccountRepository.findSliceByIdWithOwnershipCheck(accountId.id(), portfolioId.id(),
+        userId.id()).map(entity -> mapper.accountSliceToDomain(entity,
+        loadPositions(entity.getId(), symbols).values()));
+  }
+
+  /*
+   * The account entity is already managed from findAccountSlice, so findById is a
+   * persistence-context hit, not a query. Positions are upserted row by row and
+   * gains are written directly; neither lazy collection on the account entity
+   * is initialized, which is the whole point of the slice.
+   */
+  @Override
+  public void saveAccountSlice(Account account, Set<AssetSymbol> symbols) {
+    Objects.requireNonNull(account, "Account cannot be null");
+    Objects.requireNonNull(symbols, "symbols cannot be null");
+
+    AccountJpaEntity entity = jpaAccountRepository.findById(account.getAccountId().id())
+        .orElseThrow(() -> new IllegalStateException(
+            "Account slice must be loaded before it is saved: " + account.getAccountId()));
+    mapper.applyAccountSlice(account, entity);
+
+    Map<String, PositionJpaEntity> persisted = loadPositions(entity.getId(), symbols);
+    for (AssetSymbol symbol : symbols) {
+      PositionJpaEntity current = persisted.get(symbol.symbol());
+      Optional<Position> position = account.getPosition(symbol);
+
+      if (position.isEmpty()) {
+        // Fully closed out by this command, PositionBook already dropped it.
+        if (current != null) {
+          jpaPositionRepository.delete(current);
+        }
+      } else if (current != null) {
+        current.applyFrom(mapper.positionToEntity(current.getId(), entity, position.get()));
+      } else {
+        jpaPositionRepository.save(
+            mapper.positionToEntity(UUID.randomUUID(), entity, position.get()));
+      }
+    }
+
+    writeRealizedGains(account);
+    readModelProjector.accountChanged(account.getAccountId());
+  }
+
   @Override
   public boolean existsActiveByUserId(UserId userId) {
     return jpaRepository.existsActiveByUserId(UUID.fromString(userId.toString()));
@@ -105,6 +175,7 @@ public class PortfolioRepositoryImpl implements PortfolioRepository {
   @Override
   public void markAccountStale(AccountId accountId) {
     jpaRepository.markAccountStale(accountId.id());
+    readModelProjector.accountChanged(accountId);
   }
 
   @Override
@@ -112,4 +183,75 @@ public class PortfolioRepositoryImpl implements PortfolioRepository {
     return jpaRepository.findAllActiveUserIds().stream().map(u -> UserId.fromString(u.toString()))
         .toList();
   }
-}
\ No newline at end of file
+
+  private Map<String, PositionJpaEntity> loadPositions(UUID accountId, Set<AssetSymbol> symbols) {
+    if (symbols.isEmpty()) {
+      return Map.of();
+    }
+    List<String> raw = symbols.stream().map(AssetSymbol::symbol).toList();
+    return jpaPositionRepository.findByAccountIdAndSymbolIn(accountId, raw).stream()
+        .collect(Collectors.toMap(PositionJpaEntity::getSymbol, Function.identity()));
+  }
+
+  /**
+   * Applies the account's realized-gain delta: a targeted DELETE for whatever a recalculation
+   * invalidated, then an INSERT of the gains recorded since load. Nothing here reads the existing
+   * gain history, so the cost tracks the change, not the account's age.
+   * <p>
+   * The running totals move with the rows: each delete is preceded by subtracting the rows it is
+   * about to remove, and the inserted rows are added once flushed. Everything runs in the caller's
+   * transaction, so totals and gains commit or roll back together.
+   * <p>
+   * The ID check only guards a repeated save of the same in-memory Account; gain IDs are generated
+   * when the gain is recorded, so a fresh load never re-inserts anything.
+   */
+  private void writeRealizedGains(Account account) {
+    UUID accountId = account.getAccountId().id();
+    boolean subtracted = false;
+
+    if (account.isRealizedGainHistoryReset()) {
+      jpaRealizedGainTotalRepository.deleteByAccountId(accountId);
+      jpaRealizedGainRepository.deleteByAccountId(accountId);
+    } else if (!account.getResetRealizedGainSymbols().isEmpty()) {
+      List<String> symbols = account.getResetRealizedGainSymbols().stream()
+          .map(AssetSymbol::symbol).toList();
+      jpaRealizedGainTotalRepository.subtractSymbols(accountId, symbols);
+      jpaRealizedGainRepository.deleteByAccountIdAndSymbolIn(accountId, symbols);
+      subtracted = true;
+    }
+    if (!account.isRealizedGainHistoryReset()) {
+      for (Map.Entry<AssetSymbol, Instant> mark : account.getRealizedGainResetWatermarks()
+          .entrySet()) {
+        String symbol = mark.getKey().symbol();
+        jpaRealizedGainTotalRepository.subtractSymbolAfter(accountId, symbol, mark.getValue());
+        jpaRealizedGainRepository.deleteByAccountIdAndSymbolAfter(accountId, symbol,
+            mark.getValue());
+        subtracted = true;
+      }
+    }
+    if (subtracted) {
+      jpaRealizedGainTotalRepository.deleteEmpty(accountId);
+    }
+
+    List<RealizedGainRecord> gains = account.getNewRealizedGains();
+    if (gains.isEmpty()) {
+      return;
+    }
+
+    Set<UUID> persisted = new HashSet<>(
+        jpaRealizedGainRepository.findExistingIds(gains.stream().map(RealizedGainRecord::id)
+            .toList()));
+
+    // A reference is enough for the FK; the account row is already managed.
+    AccountJpaEntity accountRef = jpaAccountRepository.getReferenceById(accountId);
+    List<RealizedGainJpaEntity> newRows = gains.stream().filter(g -> !persisted.contains(g.id()))
+        .map(g -> mapper.realizedGainToEntity(g.id(), accountRef, g)).toList();
+    if (newRows.isEmpty()) {
+      return;
+    }
+    // Flushed so the totals upsert, a native statement, sees the new rows
+    jpaRealizedGainRepository.saveAllAndFlush(newRows);
+    jpaRealizedGainTotalRepository.addGains(accountId,
+        newRows.stream().map(RealizedGainJpaEntity::getId).toList());
+  }
+}
@@ -0,0 +1,40 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.PositionCheckpoint;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.repositories.PositionCheckpointRepository;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.mappers.PortfolioDomainMapper;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class PositionCheckpointRepositoryImpl implements PositionCheckpointRepository {
+  private final JpaPositionCheckpointRepository jpaRepository;
+  private final PortfolioDomainMapper mapper;
+
+  @Override
+  public Optional<PositionCheckpoint> findLatest(AccountId accountId, AssetSymbol symbol) {
+    return jpaRepository.findFirstByAccountIdAndSymbolOrderByAsOfDesc(accountId.id(),
+        symbol.symbol()).map(mapper::checkpointToDomain);
+  }
+
+  @Override
+  public void saveAll(List<PositionCheckpoint> checkpoints) {
+    if (checkpoints.isEmpty()) {
+      return;
+    }
+    jpaRepository.saveAll(
+        checkpoints.stream().map(c -> mapper.checkpointToEntity(UUID.randomUUID(), c)).toList());
+  }
+
+  @Override
+  public void deleteFrom(AccountId accountId, AssetSymbol symbol, Instant from) {
+    jpaRepository.deleteFrom(accountId.id(), symbol.symbol(), from);
+  }
+}
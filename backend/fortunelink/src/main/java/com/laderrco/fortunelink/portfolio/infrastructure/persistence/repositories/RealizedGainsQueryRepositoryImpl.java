@@ -2,12 +2,23 @@ package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositori
 
 import com.laderrco.fortunelink.portfolio.application.repositories.RealizedGainsQueryRepository;
 import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.GainsAggregation;
+import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.LossSaleCandidate;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotConsumption;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.RealizedGainRecord;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainTotalJpaEntity;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +29,11 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class RealizedGainsQueryRepositoryImpl implements RealizedGainsQueryRepository {
+  private static final List<String> TAXABLE_TYPES = Arrays.stream(AccountType.values())
+      .filter(AccountType::requiresCapitalGainsTracking).map(AccountType::name).toList();
+
   private final JpaRealizedGainRepository jpaRepository;
+  private final JpaRealizedGainTotalRepository totalsRepository;
 
   @Override
   public Page<RealizedGainRecord> findByAccountId(AccountId accountId, Pageable pageable) {
@@ -46,13 +61,26 @@ public class RealizedGainsQueryRepositoryImpl implements RealizedGainsQueryRepos
         pageable).map(this::toDomain);
   }
 
+  /**
+   * Reads the running totals rather than summing gain rows. A missing filter selects the rollup row
+   * for "all symbols" or "all years", so the cost does not grow with the account's history.
+   */
   @Override
   public GainsAggregation calculateTotals(AccountId accountId, Integer taxYear,
       AssetSymbol symbol) {
-    // Implementation logic for calculating totals via jpaRepository
-    // This should call the @Query method defined in your JpaRealizedGainRepository
-    String symbolStr = (symbol != null) ? symbol.symbol() : null;
-    return jpaRepository.calculateTotals(uuid(accountId), taxYear, symbolStr);
+    String symbolKey = symbol != null ? symbol.symbol() : RealizedGainTotalJpaEntity.ALL_SYMBOLS;
+    int yearKey = taxYear != null ? taxYear : RealizedGainTotalJpaEntity.ALL_YEARS;
+    return totalsRepository.findTotals(uuid(accountId), symbolKey, yearKey);
+  }
+
+  @Override
+  public List<LossSaleCandidate> findLossSales(UserId userId, AssetSymbol symbol, Instant from,
+      Instant to) {
+    return jpaRepository.findLossSalesForUser(userId.id(), symbol.symbol(), from, to,
+            TAXABLE_TYPES).stream()
+        .map(r -> new LossSaleCandidate(new PortfolioId(r.getPortfolioId()),
+            new AccountId(r.getAccountId()), r.getEarliestSale()))
+        .toList();
   }
 
   @Override
@@ -62,10 +90,14 @@ public class RealizedGainsQueryRepositoryImpl implements RealizedGainsQueryRepos
 
   private RealizedGainRecord toDomain(RealizedGainJpaEntity e) {
     Currency currency = Currency.of(e.getGainLossCurrency());
-    return RealizedGainRecord.reconstitute(e.getId(), new AssetSymbol(e.getSymbol()),
+    Currency costCurrency = Currency.of(e.getCostBasisSoldCurrency());
+    List<LotConsumption> consumed = e.getConsumedLots() == null ? List.of()
+        : e.getConsumedLots().stream().map(l -> new LotConsumption(
+            l.lotId() == null ? null : new TransactionId(l.lotId()), l.acquiredAt(),
+            new Quantity(l.quantity()), new Money(l.costBasisAmount(), costCurrency))).toList();
+    return RealizedGainRecord.reconstitute(e.getId(), AssetSymbol.of(e.getSymbol()),
         new Money(e.getGainLossAmount(), currency),
-        new Money(e.getCostBasisSoldAmount(), Currency.of(e.getCostBasisSoldCurrency())),
-        e.getOccurredAt());
+        new Money(e.getCostBasisSoldAmount(), costCurrency), e.getOccurredAt(), consumed);
   }
 
   private UUID uuid(AccountId id) {
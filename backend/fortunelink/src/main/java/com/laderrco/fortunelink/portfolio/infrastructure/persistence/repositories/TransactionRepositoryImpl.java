@@ -14,7 +14,9 @@ import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionReposit
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.TransactionJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.mappers.TransactionDomainMapper;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.valueobjects.FeeAggregationResult;
+import jakarta.persistence.EntityManager;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -25,6 +27,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
@@ -38,57 +42,87 @@ import org.springframework.stereotype.Repository;
 public class TransactionRepositoryImpl implements TransactionRepository,
     TransactionQueryRepository {
   private final JpaTransactionRepository jpaRepository;
+  private final JpaAccountRepository accountRepository;
   private final TransactionDomainMapper mapper;
   private final CacheManager cacheManager;
+  private final JpaPositionCheckpointRepository checkpointRepository;
+  private final EntityManager entityManager;
+  private final AccountReadModelProjector readModelProjector;
 
   /**
-   * Saves a transaction.
+   * Inserts a new transaction.
    *
    * <p>
-   * <b>New transactions (insert path):</b> The portfolioId from the caller is
-   * used directly as the denormalized FK column. No secondary lookup is fired.
+   * The portfolioId from the caller is used directly as the denormalized FK column. No lookup is
+   * fired: the entity's version is still null, so Spring Data persists it instead of merging.
    *
    * <p>
-   * <b>Existing transactions (exclusion/restore path):</b> The managed JPA entity
-   * is fetched by primary key, then only the exclusion state columns are updated in-place. The
-   * portfolioId is already on the managed entity from the original insert.
-   *
-   * <p>
-   * <b>Why portfolioId is required even for updates:</b> The interface contract
-   * is uniform. The caller always has it available (from the command), so requiring it here
-   * prevents future callers from accidentally triggering the old lookup pattern.
+   * <b>Checkpoints:</b> a new transaction changes the history of the traded symbol from
+   * {@code occurredAt} onward, so position checkpoints at or after it are deleted here, in the
+   * same DB transaction as the write.
    */
   @Override
   public Transaction save(Transaction domain, PortfolioId portfolioId, UUID idempotencyKey) {
     Objects.requireNonNull(domain, "Transaction cannot be null");
     Objects.requireNonNull(portfolioId,
         "PortfolioId cannot be null, callers must always supply it");
-    Optional<TransactionJpaEntity> existing = jpaRepository.findById(domain.transactionId().id());
-    TransactionJpaEntity entity;
-
-    if (existing.isPresent()) {
-      // Exclusion / restore path: only mutation allowed post-creation.
-      // portfolioId is already persisted on the managed row , no update needed.
-      entity = existing.get();
-      mapper.applyExclusionState(domain, entity);
-    } else {
-      // New transaction insert. Use the caller-supplied portfolioId directly.
-      // Previously this fired: jpaRepository.findPortfolioIdByAccountId(accountId),
-      //  an unnecessary extra query on every single transaction record.
-      entity = mapper.toEntity(domain, portfolioId.id(), idempotencyKey.toString());
-    }
+    TransactionJpaEntity entity = mapper.toEntity(domain, portfolioId.id(),
+        idempotencyKey.toString());
     TransactionJpaEntity saved = jpaRepository.save(entity);
+    return afterWrite(domain, saved);
+  }
+
+  /**
+   * Exclusion / restore path, the only mutation allowed post-creation. The caller loaded the
+   * transaction earlier in the same DB transaction, so findById is a persistence-context hit and
+   * only the exclusion columns change on the managed row. Checkpoints are invalidated as for an
+   * insert, and the account version is bumped since the account row itself is not written.
+   */
+  @Override
+  public Transaction saveExclusionState(Transaction domain) {
+    Objects.requireNonNull(domain, "Transaction cannot be null");
+    TransactionJpaEntity entity = jpaRepository.findById(domain.transactionId().id())
+        .orElseThrow(() -> new IllegalStateException(
+            "Transaction must exist before its exclusion state is saved: "
+                + domain.transactionId()));
+    mapper.applyExclusionState(domain, entity);
+    accountRepository.incrementVersions(List.of(domain.accountId().id()));
+    return afterWrite(domain, entity);
+  }
+
+  private Transaction afterWrite(Transaction domain, TransactionJpaEntity saved) {
+    invalidateCheckpoints(domain);
+    // Fees and the excluded count in the read model are aggregated from transactions.
+    readModelProjector.accountChanged(domain.accountId());
     return mapper.toDomain(saved);
   }
 
   @Override
   public int deleteExpiredTransactions(AccountId accountId, Instant cutoff) {
-    return jpaRepository.deleteExpiredTransactions(UUID.fromString(accountId.toString()), cutoff);
+    int deleted = jpaRepository.deleteExpiredTransactions(UUID.fromString(accountId.toString()),
+        cutoff);
+    if (deleted > 0) {
+      accountRepository.incrementVersions(List.of(accountId.id()));
+      readModelProjector.accountChanged(accountId);
+    }
+    return deleted;
   }
 
+  /**
+   * Only excluded transactions expire, so the accounts they belonged to are looked up first: their
+   * excluded counts in the read model drop with the delete, and their versions move.
+   */
   @Override
   public int deleteAllExpiredTransactions(Instant cutoff) {
-    return jpaRepository.deleteAllExpiredTransactions(cutoff);
+    List<AccountId> affected = jpaRepository.findAccountIdsWithExpiredTransactions(cutoff).stream()
+        .map(AccountId::new).toList();
+    if (affected.isEmpty()) {
+      return 0;
+    }
+    int deleted = jpaRepository.deleteAllExpiredTransactions(cutoff);
+    accountRepository.incrementVersions(affected.stream().map(AccountId::id).toList());
+    readModelProjector.accountsChanged(affected);
+    return deleted;
   }
 
   // =========================================================================
@@ -108,6 +142,44 @@ public class TransactionRepositoryImpl implements TransactionRepository,
         .map(mapper::toDomain).toList();
   }
 
+  /**
+   * Each row is detached once mapped. The query is read-only, but the persistence context would
+   * still hold every entity (and its fees) until the transaction ends.
+   */
+  @Override
+  public Stream<Transaction> streamReplayHistory(AccountId accountId) {
+    return jpaRepository.streamActiveByAccountId(accountId.id()).map(this::toDetachedDomain);
+  }
+
+  @Override
+  public Stream<Transaction> streamReplayHistory(AccountId accountId, AssetSymbol symbol,
+      Instant after) {
+    return jpaRepository.streamActiveByAccountIdAndSymbol(accountId.id(), symbol.symbol(), after)
+        .map(this::toDetachedDomain);
+  }
+
+  @Override
+  public List<Transaction> findHoldingHistoryForUser(UserId userId,
+      Collection<AssetSymbol> symbols) {
+    if (symbols.isEmpty()) {
+      return List.of();
+    }
+    List<String> keys = symbols.stream().map(AssetSymbol::symbol).toList();
+    return jpaRepository.findHoldingHistoryForUser(userId.id(), keys).stream()
+        .map(mapper::toDomain).toList();
+  }
+
+  @Override
+  public long countReplayHistory(AccountId accountId) {
+    return jpaRepository.countByAccountIdAndExcludedFalse(accountId.id());
+  }
+
+  private Transaction toDetachedDomain(TransactionJpaEntity entity) {
+    Transaction domain = mapper.toDomain(entity);
+    entityManager.detach(entity);
+    return domain;
+  }
+
   @Override
   public List<Transaction> findByAccountIdAndDateRange(AccountId accountId, Instant start,
       Instant end) {
@@ -173,7 +245,7 @@ public class TransactionRepositoryImpl implements TransactionRepository,
       for (FeeAggregationResult row : dbResults) {
         AccountId accountId = new AccountId(row.getAccountId());
         fetchedFromDb.computeIfAbsent(accountId, k -> new LinkedHashMap<>())
-            .put(new AssetSymbol(row.getSymbol()),
+            .put(AssetSymbol.of(row.getSymbol()),
                 new Money(row.getTotalFees(), Currency.of(row.getCurrency())));
       }
 
@@ -222,8 +294,21 @@ public class TransactionRepositoryImpl implements TransactionRepository,
   }
 
   @Override
-  public int countExcludedPositionAffecting(AccountId accountId) {
-    return (int) jpaRepository.countExcludedPositionAffecting(
-        UUID.fromString(accountId.toString()));
+  public Map<AccountId, Integer> countExcludedPositionAffecting(Set<AccountId> accountIds) {
+    if (accountIds == null || accountIds.isEmpty()) {
+      return Map.of();
+    }
+    return jpaRepository.countExcludedPositionAffecting(
+            accountIds.stream().map(AccountId::id).toList()).stream()
+        .collect(Collectors.toUnmodifiableMap(row -> new AccountId(row.getAccountId()),
+            row -> (int) row.getExcludedCount()));
+  }
+
+  private void invalidateCheckpoints(Transaction tx) {
+    if (tx.execution() == null || !tx.transactionType().affectsHoldings()) {
+      return;
+    }
+    checkpointRepository.deleteFrom(tx.accountId().id(), tx.execution().asset().symbol(),
+        tx.occurredAt());
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
+
+import com.laderrco.fortunelink.portfolio.application.repositories.ViewVersionRepository;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Native SQL so a stamp is one aggregate over the portfolio's account rows, without loading any
+ * entity into the persistence context.
+ */
+@Repository
+public class ViewVersionRepositoryImpl implements ViewVersionRepository {
+  private static final String PORTFOLIO_VERSION = """
+      SELECT p.version, COUNT(a.id), COALESCE(SUM(a.version), 0),
+             COUNT(a.id) FILTER (WHERE a.health_status = 'STALE')
+      FROM portfolios p
+      LEFT JOIN accounts a ON a.portfolio_id = p.id
+      WHERE p.id = :portfolioId AND p.user_id = :userId AND p.deleted = FALSE
+      GROUP BY p.id, p.version
+      """;
+
+  private static final String ACCOUNT_VERSION = """
+      SELECT a.version, 1, a.version, CASE WHEN a.health_status = 'STALE' THEN 1 ELSE 0 END
+      FROM accounts a
+      JOIN portfolios p ON p.id = a.portfolio_id
+      WHERE a.id = :accountId AND p.id = :portfolioId AND p.user_id = :userId
+        AND p.deleted = FALSE
+      """;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  @SuppressWarnings("unchecked")
+  public Optional<ViewVersion> findPortfolioVersion(PortfolioId portfolioId, UserId userId) {
+    List<Object[]> rows = entityManager.createNativeQuery(PORTFOLIO_VERSION)
+        .setParameter("portfolioId", portfolioId.id()).setParameter("userId", userId.id())
+        .getResultList();
+    return rows.stream().findFirst().map(ViewVersionRepositoryImpl::toVersion);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  @SuppressWarnings("unchecked")
+  public Optional<ViewVersion> findAccountVersion(PortfolioId portfolioId, UserId userId,
+      AccountId accountId) {
+    List<Object[]> rows = entityManager.createNativeQuery(ACCOUNT_VERSION)
+        .setParameter("accountId", accountId.id()).setParameter("portfolioId", portfolioId.id())
+        .setParameter("userId", userId.id()).getResultList();
+    return rows.stream().findFirst().map(ViewVersionRepositoryImpl::toVersion);
+  }
+
+  // COUNT is bigint and SUM(bigint) is numeric, so read every column as a Number.
+  private static ViewVersion toVersion(Object[] row) {
+    return new ViewVersion(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+        ((Number) row[2]).longValue(), ((Number) row[3]).longValue());
+  }
+}
@@ -0,0 +1,9 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.valueobjects;
+
+import java.util.UUID;
+
+public interface ExcludedCountResult {
+  UUID getAccountId();
+
+  long getExcludedCount();
+}
@@ -0,0 +1,12 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.valueobjects;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface LossSaleAggregationResult {
+  UUID getPortfolioId();
+
+  UUID getAccountId();
+
+  Instant getEarliestSale();
+}
@@ -0,0 +1,24 @@
+-- ============================================================
+-- ACCOUNT REPAIR ATTEMPTS , outcome of the STALE-account sweeper
+-- One row per account it has tried to heal. next_attempt_at backs
+-- off exponentially on repeated failures so an account that can't
+-- be replayed doesn't soak up every sweep's budget.
+-- ============================================================
+CREATE TABLE account_repair_attempts (
+    account_id              UUID            PRIMARY KEY,
+    attempts                INT             NOT NULL DEFAULT 0,
+    last_outcome            VARCHAR(20)     NOT NULL,
+    last_error              VARCHAR(500),
+    last_attempt_at         TIMESTAMPTZ     NOT NULL,
+    next_attempt_at         TIMESTAMPTZ     NOT NULL,
+
+    CONSTRAINT fk_account_repair_account
+        FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE,
+
+    CONSTRAINT chk_account_repair_outcome CHECK (last_outcome IN ('HEALED', 'FAILED'))
+);
+
+-- Keyset scan of the sweeper: STALE accounts in id order
+CREATE INDEX idx_accounts_stale
+    ON accounts (id)
+    WHERE health_status = 'STALE';
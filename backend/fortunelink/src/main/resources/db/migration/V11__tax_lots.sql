@@ -0,0 +1,39 @@
+-- ============================================================
+-- TAX LOTS , open FIFO lots per position
+-- lot_seq is the lot's place in acquisition order and never
+-- changes while the lot is open: a sale deletes or updates the
+-- oldest rows, a buy inserts one row, everything else stays put.
+-- The parent positions row keeps the totals across all lots.
+-- ============================================================
+CREATE TABLE tax_lots (
+    id                      UUID            PRIMARY KEY,
+    position_id             UUID            NOT NULL,
+    lot_seq                 BIGINT          NOT NULL,
+    quantity                NUMERIC(20, 8)  NOT NULL CHECK (quantity > 0),
+    cost_basis_amount       NUMERIC(20, 10) NOT NULL,
+    cost_basis_currency     VARCHAR(3)      NOT NULL,
+    acquired_at             TIMESTAMPTZ     NOT NULL,
+    version                 BIGINT          NOT NULL DEFAULT 0,
+
+    CONSTRAINT fk_tax_lot_position
+        FOREIGN KEY (position_id) REFERENCES positions(id) ON DELETE CASCADE,
+
+    -- Also the index the position's lot collection is loaded through.
+    CONSTRAINT uq_tax_lot_position_seq
+        UNIQUE (position_id, lot_seq)
+);
+
+COMMENT ON TABLE tax_lots IS
+    'Open tax lots of FIFO positions, in lot_seq order. ACB positions have no rows here.';
+
+-- FIFO checkpoints carry their lots; null for ACB and flat checkpoints.
+ALTER TABLE position_checkpoints
+    ADD COLUMN lots JSONB;
+
+COMMENT ON TABLE positions IS
+    'Current open positions. One row per (account, symbol). '
+    'Rebuilt by PositionRecalculationService when transactions are added/excluded. '
+    'ACB positions are this row alone; FIFO positions also own their rows in tax_lots.';
+
+COMMENT ON COLUMN accounts.position_strategy IS
+    'ACB and FIFO are supported. LIFO and SPECIFIC_ID are reserved.';
@@ -0,0 +1,28 @@
+-- ============================================================
+-- LOT SELECTION , LIFO and SPECIFIC_ID positions
+-- A lot is identified by the BUY/DRIP transaction that opened
+-- it. Rows written before V12 have no lot_id and can still be
+-- sold FIFO/LIFO, just not named by a SPECIFIC_ID sale.
+-- ============================================================
+ALTER TABLE tax_lots
+    ADD COLUMN lot_id UUID;
+
+-- A SPECIFIC_ID sale resolves its lots through this index.
+CREATE UNIQUE INDEX uq_tax_lot_position_lot_id
+    ON tax_lots (position_id, lot_id)
+    WHERE lot_id IS NOT NULL;
+
+COMMENT ON TABLE tax_lots IS
+    'Open tax lots of FIFO, LIFO and SPECIFIC_ID positions, in lot_seq order. '
+    'ACB positions have no rows here.';
+
+-- Which lot strategy wrote a checkpoint's lots; null with lots means FIFO (pre-V12).
+ALTER TABLE position_checkpoints
+    ADD COLUMN lot_strategy VARCHAR(20);
+
+-- Lots a sale closed: [{lotId, acquiredAt, quantity, costBasisAmount}], null for ACB gains.
+ALTER TABLE realized_gains
+    ADD COLUMN consumed_lots JSONB;
+
+COMMENT ON COLUMN accounts.position_strategy IS
+    'ACB, FIFO, LIFO or SPECIFIC_ID.';
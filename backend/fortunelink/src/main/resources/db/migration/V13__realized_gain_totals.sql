@@ -0,0 +1,45 @@
+-- ============================================================
+-- REALIZED GAIN TOTALS , running sums per account
+-- One detail row per (account, symbol, tax year, currency) plus
+-- rollups: symbol '' totals across symbols, tax_year 0 across
+-- years. Adjusted in the same transaction as realized_gains, so
+-- totals read one row per currency instead of every gain.
+-- ============================================================
+CREATE TABLE realized_gain_totals (
+    account_id      UUID            NOT NULL,
+    symbol          VARCHAR(20)     NOT NULL,               -- '' = all symbols
+    tax_year        INTEGER         NOT NULL,               -- 0 = all years
+    currency        VARCHAR(3)      NOT NULL,
+    sum_gains       NUMERIC(20, 10) NOT NULL DEFAULT 0,
+    sum_losses      NUMERIC(20, 10) NOT NULL DEFAULT 0,     -- stored positive
+    gain_count      INTEGER         NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_realized_gain_totals
+        PRIMARY KEY (account_id, symbol, tax_year, currency),
+
+    CONSTRAINT fk_realized_gain_total_account
+        FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE realized_gain_totals IS
+    'Running realized gain/loss sums, maintained alongside realized_gains by '
+    'JpaRealizedGainTotalRepository. Never edit one table without the other.';
+
+-- Backfill from the gains already recorded.
+INSERT INTO realized_gain_totals
+    (account_id, symbol, tax_year, currency, sum_gains, sum_losses, gain_count)
+SELECT r.account_id,
+       COALESCE(r.symbol, ''),
+       COALESCE(CAST(EXTRACT(YEAR FROM r.occurred_at AT TIME ZONE 'UTC') AS INTEGER), 0),
+       r.gain_loss_currency,
+       SUM(GREATEST(r.gain_loss_amount, 0)),
+       SUM(GREATEST(-r.gain_loss_amount, 0)),
+       COUNT(*)
+FROM realized_gains r
+GROUP BY GROUPING SETS (
+    (r.account_id, r.symbol, CAST(EXTRACT(YEAR FROM r.occurred_at AT TIME ZONE 'UTC') AS INTEGER),
+        r.gain_loss_currency),
+    (r.account_id, r.symbol, r.gain_loss_currency),
+    (r.account_id, CAST(EXTRACT(YEAR FROM r.occurred_at AT TIME ZONE 'UTC') AS INTEGER),
+        r.gain_loss_currency),
+    (r.account_id, r.gain_loss_currency));
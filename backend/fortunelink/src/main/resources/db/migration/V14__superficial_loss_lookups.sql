@@ -0,0 +1,16 @@
+-- ============================================================
+-- SUPERFICIAL LOSSES , user-wide lookups by symbol
+-- The window index reads one symbol's holding transactions
+-- across every account of a user (via their portfolios), and a
+-- new trade looks up the loss sales within 30 days of it. Both
+-- used to be reachable only through per-account indexes.
+-- ============================================================
+CREATE INDEX idx_transactions_portfolio_symbol_holding
+    ON transactions (portfolio_id, execution_symbol, occurred_at, id)
+    WHERE excluded = FALSE
+      AND transaction_type IN ('BUY', 'DIVIDEND_REINVEST', 'SELL', 'SPLIT');
+
+-- Fully denied losses are stored as zero, so the predicate keeps them.
+CREATE INDEX idx_realized_gains_symbol_losses
+    ON realized_gains (symbol, occurred_at)
+    WHERE gain_loss_amount <= 0;
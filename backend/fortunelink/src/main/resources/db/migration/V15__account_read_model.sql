@@ -0,0 +1,92 @@
+-- ============================================================
+-- ACCOUNT READ MODEL , flat rows behind the account endpoints
+-- account_summary_view: one row per account, with the excluded
+-- transaction count already counted. position_view: one row per
+-- open position, with its BUY fees already summed. Rewritten
+-- from accounts, positions and transactions by
+-- AccountReadModelRepositoryImpl.refresh just before any write
+-- that touches an account commits, so both tables always match
+-- the write model.
+-- ============================================================
+CREATE TABLE account_summary_view (
+    account_id                  UUID            PRIMARY KEY,
+    portfolio_id                UUID            NOT NULL,
+    name                        VARCHAR(255)    NOT NULL,
+    account_type                VARCHAR(50)     NOT NULL,
+    base_currency_code          VARCHAR(3)      NOT NULL,
+    position_strategy           VARCHAR(30)     NOT NULL,
+    lifecycle_state             VARCHAR(20)     NOT NULL,
+    health_status               VARCHAR(20)     NOT NULL,
+    cash_balance_amount         NUMERIC(20, 10) NOT NULL,
+    excluded_transaction_count  INT             NOT NULL DEFAULT 0,
+    created_date                TIMESTAMPTZ     NOT NULL,
+    last_updated_on             TIMESTAMPTZ     NOT NULL,
+
+    CONSTRAINT fk_account_summary_view_account
+        FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE
+);
+
+CREATE TABLE position_view (
+    account_id                  UUID            NOT NULL,
+    symbol                      VARCHAR(20)     NOT NULL,
+    asset_type                  VARCHAR(50)     NOT NULL,
+    quantity                    NUMERIC(20, 8)  NOT NULL,
+    cost_basis_amount           NUMERIC(20, 10) NOT NULL,
+    fees_amount                 NUMERIC(20, 10) NOT NULL DEFAULT 0,   -- account currency
+    first_acquired_at           TIMESTAMPTZ,
+    last_modified_at            TIMESTAMPTZ,
+
+    CONSTRAINT pk_position_view
+        PRIMARY KEY (account_id, symbol),
+
+    CONSTRAINT fk_position_view_account
+        FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE account_summary_view IS
+    'Read model of accounts. Derived data only: never written outside '
+    'AccountReadModelRepositoryImpl, rebuildable at any time from the write tables.';
+
+COMMENT ON TABLE position_view IS
+    'Read model of open positions, with non-excluded BUY fees in account currency. '
+    'Derived data only, maintained with account_summary_view.';
+
+-- Account list: open accounts of a portfolio in creation order
+CREATE INDEX idx_account_summary_view_portfolio
+    ON account_summary_view (portfolio_id, created_date, account_id)
+    WHERE lifecycle_state <> 'CLOSED';
+
+-- Backfill from the current write model.
+INSERT INTO account_summary_view
+    (account_id, portfolio_id, name, account_type, base_currency_code, position_strategy,
+     lifecycle_state, health_status, cash_balance_amount, excluded_transaction_count,
+     created_date, last_updated_on)
+SELECT a.id, a.portfolio_id, a.name, a.account_type, a.base_currency_code, a.position_strategy,
+       a.lifecycle_state, a.health_status, a.cash_balance_amount,
+       (SELECT COUNT(*) FROM transactions t
+        WHERE t.account_id = a.id
+          AND t.excluded = TRUE
+          AND t.transaction_type IN ('BUY', 'SELL', 'DIVIDEND', 'DIVIDEND_REINVEST',
+                                     'INTEREST', 'RETURN_OF_CAPITAL', 'SPLIT')),
+       a.created_date, a.last_updated_on
+FROM accounts a;
+
+INSERT INTO position_view
+    (account_id, symbol, asset_type, quantity, cost_basis_amount, fees_amount,
+     first_acquired_at, last_modified_at)
+SELECT p.account_id, p.symbol, p.asset_type, p.quantity, p.cost_basis_amount,
+       COALESCE(f.fees, 0), p.first_acquired_at, p.last_modified_at
+FROM positions p
+JOIN accounts a ON a.id = p.account_id
+LEFT JOIN (
+    SELECT t.account_id, t.execution_symbol, t.cash_delta_currency,
+           SUM(COALESCE(tf.account_amount, tf.native_amount)) AS fees
+    FROM transactions t
+    JOIN transaction_fees tf ON tf.transaction_id = t.id
+    WHERE t.transaction_type = 'BUY'
+      AND t.excluded = FALSE
+      AND t.execution_symbol IS NOT NULL
+    GROUP BY t.account_id, t.execution_symbol, t.cash_delta_currency
+) f ON f.account_id = p.account_id
+   AND f.execution_symbol = p.symbol
+   AND f.cash_delta_currency = a.base_currency_code;
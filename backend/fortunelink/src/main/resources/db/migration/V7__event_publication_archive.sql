@@ -0,0 +1,22 @@
+-- Completed publications are moved here (spring.modulith.events.completion-mode=archive) so the
+-- live table only holds work that still has to run.
+CREATE TABLE IF NOT EXISTS event_publication_archive (
+    id                      UUID        NOT NULL,
+    listener_id             TEXT        NOT NULL,
+    event_type              TEXT        NOT NULL,
+    serialized_event        TEXT        NOT NULL,
+    publication_date        TIMESTAMPTZ NOT NULL,
+    completion_date         TIMESTAMPTZ,
+    completion_attempts     INT         NOT NULL,
+    last_resubmission_date  TIMESTAMPTZ,
+    status                  VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_event_publication_archive_completion_date
+    ON event_publication_archive (completion_date);
+
+-- Resubmission claims scan incomplete rows oldest first.
+CREATE INDEX IF NOT EXISTS idx_event_publication_incomplete
+    ON event_publication (publication_date)
+    WHERE completion_date IS NULL;
@@ -0,0 +1,30 @@
+-- ============================================================
+-- POSITION CHECKPOINTS , replay starting points per (account, symbol)
+-- A row holds the position after every active transaction up to
+-- as_of, so a recalculation only replays what comes after it.
+-- Position columns are null when the symbol was flat at as_of.
+-- ============================================================
+CREATE TABLE position_checkpoints (
+    id                      UUID            PRIMARY KEY,
+    account_id              UUID            NOT NULL,
+    symbol                  VARCHAR(20)     NOT NULL,
+    as_of                   TIMESTAMPTZ     NOT NULL,
+    last_transaction_id     UUID            NOT NULL,
+    asset_type              VARCHAR(50),
+    quantity                NUMERIC(20, 8),
+    cost_basis_amount       NUMERIC(20, 10),
+    cost_basis_currency     VARCHAR(3),
+    first_acquired_at       TIMESTAMPTZ,
+    last_modified_at        TIMESTAMPTZ,
+
+    CONSTRAINT fk_position_checkpoint_account
+        FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE CASCADE,
+
+    CONSTRAINT uq_position_checkpoint_account_symbol_as_of
+        UNIQUE (account_id, symbol, as_of)
+);
+
+COMMENT ON TABLE position_checkpoints IS
+    'Replay checkpoints written by PositionRecalculationExecutor. Rows at or after a '
+    'transaction''s occurred_at are deleted whenever that transaction is written or excluded.';
+
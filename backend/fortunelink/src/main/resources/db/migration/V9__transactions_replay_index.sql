@@ -0,0 +1,10 @@
+-- ============================================================
+-- Replay streams read active history in (occurred_at, type rank, id)
+-- order straight off a cursor. idx_transactions_active already
+-- covers the account-wide stream; this gives the per-symbol stream
+-- the same leading order so Postgres only incremental-sorts ties
+-- within an instant instead of sorting the whole symbol history.
+-- ============================================================
+CREATE INDEX idx_transactions_symbol_replay
+    ON transactions (account_id, execution_symbol, occurred_at, id)
+    WHERE excluded = FALSE;
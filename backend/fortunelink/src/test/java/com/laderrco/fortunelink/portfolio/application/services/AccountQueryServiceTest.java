@@ -3,26 +3,26 @@ package com.laderrco.fortunelink.portfolio.application.services;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
-import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.laderrco.fortunelink.portfolio.application.queries.GetAccountSummaryQuery;
 import com.laderrco.fortunelink.portfolio.application.queries.GetAllAccountsQuery;
-import com.laderrco.fortunelink.portfolio.application.repositories.AccountQueryRepository;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository.AccountRow;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository.PositionRow;
+import com.laderrco.fortunelink.portfolio.application.repositories.ViewVersionRepository;
 import com.laderrco.fortunelink.portfolio.application.utils.AccountViewBuilder;
 import com.laderrco.fortunelink.portfolio.application.utils.PortfolioLoader;
+import com.laderrco.fortunelink.portfolio.application.utils.VersionedViewCache;
 import com.laderrco.fortunelink.portfolio.application.views.AccountView;
 import com.laderrco.fortunelink.portfolio.domain.exceptions.AccountNotFoundException;
-import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountLifecycleState;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
@@ -36,20 +36,20 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
-import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
 import com.laderrco.fortunelink.portfolio.domain.services.MarketDataService;
-import com.laderrco.fortunelink.portfolio.infrastructure.persistence.projections.AccountSummaryProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -59,14 +59,13 @@ import org.springframework.data.domain.Pageable;
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Account Query Service Tests")
 class AccountQueryServiceTest {
-  @Mock
-  private MarketDataService marketDataService;
+  private static final AssetSymbol SHOP = new AssetSymbol("SHOP.TO");
 
   @Mock
-  private TransactionRepository transactionRepository;
+  private MarketDataService marketDataService;
 
   @Mock
-  private AccountQueryRepository accountQueryRepository;
+  private AccountReadModelRepository accountReadModelRepository;
 
   @Mock
   private PortfolioLoader portfolioLoader;
@@ -74,9 +73,26 @@ class AccountQueryServiceTest {
   @Mock
   private AccountViewBuilder accountViewBuilder;
 
+  // No version stamps, so every read builds its view as before.
+  @Spy
+  private VersionedViewCache viewCache = new VersionedViewCache(
+      mock(ViewVersionRepository.class), new SimpleMeterRegistry(), 300);
+
   @InjectMocks
   private AccountQueryService accountQueryService;
 
+  private static AccountRow row(AccountId accountId, AccountLifecycleState state,
+      PositionRow... positions) {
+    return new AccountRow(accountId, "Resp", AccountType.RESP, state, PositionStrategy.ACB,
+        Currency.CAD, Money.of(100, "CAD"), 0, Instant.now(), List.of(positions));
+  }
+
+  private static PositionRow shopPosition() {
+    AcbPosition totals = new AcbPosition(SHOP, AssetType.STOCK, Currency.CAD, Quantity.of(100),
+        Money.of(2010, "CAD"), Instant.now(), Instant.now());
+    return new PositionRow(totals, Money.of(10, "CAD"));
+  }
+
   @Nested
   @DisplayName("getAllAccounts")
   class GetAllAccountsTests {
@@ -87,7 +103,7 @@ class AccountQueryServiceTest {
       UserId userId = UserId.random();
       GetAllAccountsQuery query = new GetAllAccountsQuery(portfolioId, userId, 0, 10);
 
-      when(accountQueryRepository.findByPortfolioId(eq(portfolioId),
+      when(accountReadModelRepository.findByPortfolioId(eq(portfolioId), eq(userId),
           any(Pageable.class))).thenReturn(Page.empty());
 
       Page<AccountView> result = accountQueryService.getAllAccounts(query);
@@ -97,39 +113,32 @@ class AccountQueryServiceTest {
 
       verify(portfolioLoader).validateOwnership(portfolioId, userId);
       // Important: Ensure no batch calls are made if the page is empty
-      verifyNoInteractions(marketDataService, transactionRepository, accountViewBuilder);
+      verifyNoInteractions(marketDataService, accountViewBuilder);
     }
 
     @Test
-    @DisplayName("getAllAccounts: maps projections with batch data")
-    void getAllAccountsMapsProjectionsWithBatchData() {
+    @DisplayName("getAllAccounts: maps read rows with one batch quote lookup")
+    void getAllAccountsMapsRowsWithBatchQuotes() {
       PortfolioId portfolioId = PortfolioId.newId();
       UserId userId = UserId.random();
       GetAllAccountsQuery query = new GetAllAccountsQuery(portfolioId, userId, 0, 10);
 
-      UUID accountUuid = UUID.randomUUID();
-      AccountId accountId = AccountId.fromString(accountUuid.toString());
-      AccountSummaryProjection projection = mock(AccountSummaryProjection.class);
-      when(projection.getId()).thenReturn(accountUuid);
-      when(projection.getLifecycleState()).thenReturn("ACTIVE");
-
-      when(accountQueryRepository.findByPortfolioId(eq(portfolioId),
+      AccountRow row = row(AccountId.newId(), AccountLifecycleState.ACTIVE, shopPosition());
+      when(accountReadModelRepository.findByPortfolioId(eq(portfolioId), eq(userId),
           any(Pageable.class))).thenReturn(
-          new PageImpl<>(List.of(projection), PageRequest.of(0, 10), 1));
+          new PageImpl<>(List.of(row), PageRequest.of(0, 10), 1));
 
-      Map<AssetSymbol, Quantity> quantities = Map.of(new AssetSymbol("BTC"), Quantity.of(1));
-      when(accountQueryRepository.findQuantitiesForAccounts(anyList())).thenReturn(
-          Map.of(accountId, quantities));
-
-      when(marketDataService.getBatchQuotes(anySet())).thenReturn(Map.of());
+      Map<AssetSymbol, MarketAssetQuote> quotes = Map.of(SHOP, mock(MarketAssetQuote.class));
+      when(marketDataService.getBatchQuotes(Set.of(SHOP))).thenReturn(quotes);
 
       AccountView expectedView = mock(AccountView.class);
-      when(accountViewBuilder.buildFromProjection(eq(projection), eq(quantities), anyMap(),
-          eq(Map.of()))).thenReturn(expectedView);
+      when(accountViewBuilder.buildSummary(row, quotes)).thenReturn(expectedView);
 
       Page<AccountView> result = accountQueryService.getAllAccounts(query);
 
       assertThat(result.getContent()).containsExactly(expectedView);
+      // A non-empty page proves the portfolio is live and owned.
+      verifyNoInteractions(portfolioLoader);
     }
 
     @Test
@@ -139,7 +148,7 @@ class AccountQueryServiceTest {
       UserId userId = UserId.random();
       GetAllAccountsQuery query = new GetAllAccountsQuery(portfolioId, userId, 5, 10);
 
-      when(accountQueryRepository.findByPortfolioId(eq(portfolioId),
+      when(accountReadModelRepository.findByPortfolioId(eq(portfolioId), eq(userId),
           any(Pageable.class))).thenReturn(new PageImpl<>(List.of(), PageRequest.of(5, 10), 2));
 
       Page<AccountView> result = accountQueryService.getAllAccounts(query);
@@ -147,33 +156,21 @@ class AccountQueryServiceTest {
       assertThat(result.getContent()).isEmpty();
       assertThat(result.getTotalElements()).isEqualTo(2);
 
-      // Ensure early return optimization works
-      verify(accountQueryRepository, times(1)).findByPortfolioId(eq(portfolioId), any());
-      verifyNoInteractions(marketDataService, transactionRepository, accountViewBuilder);
+      verifyNoInteractions(marketDataService, accountViewBuilder);
     }
 
     @Test
     @DisplayName("getAllAccounts: skips market data call when accounts have no symbols")
     void getAllAccountsNoSymbolsSkipsMarketDataCall() {
-      PortfolioId portfolioId = PortfolioId.newId();
-      UserId userId = UserId.random();
-      GetAllAccountsQuery query = new GetAllAccountsQuery(portfolioId, userId, 0, 10);
+      AccountRow row = row(AccountId.newId(), AccountLifecycleState.ACTIVE);
+      when(accountReadModelRepository.findByPortfolioId(any(), any(), any())).thenReturn(
+          new PageImpl<>(List.of(row)));
 
-      UUID accountUuid = UUID.randomUUID();
-      AccountSummaryProjection projection = mock(AccountSummaryProjection.class);
-      when(projection.getId()).thenReturn(accountUuid);
+      when(accountViewBuilder.buildSummary(row, Map.of())).thenReturn(mock(AccountView.class));
 
-      when(accountQueryRepository.findByPortfolioId(eq(portfolioId),
-          any(Pageable.class))).thenReturn(
-          new PageImpl<>(List.of(projection), PageRequest.of(0, 10), 1));
-
-      AccountView expectedView = mock(AccountView.class);
-      when(accountViewBuilder.buildFromProjection(any(), anyMap(), anyMap(), anyMap())).thenReturn(
-          expectedView);
-
-      accountQueryService.getAllAccounts(query);
+      accountQueryService.getAllAccounts(
+          new GetAllAccountsQuery(PortfolioId.newId(), UserId.random(), 0, 10));
 
-      // Verify batching works but quote service is skipped due to no symbols
       verifyNoInteractions(marketDataService);
     }
 
@@ -184,55 +181,49 @@ class AccountQueryServiceTest {
       UserId userId = UserId.random();
       GetAllAccountsQuery query = new GetAllAccountsQuery(portfolioId, userId, 0, 10);
 
+      // A foreign portfolio reads as empty; the ownership check turns that into the error.
+      when(accountReadModelRepository.findByPortfolioId(eq(portfolioId), eq(userId),
+          any(Pageable.class))).thenReturn(Page.empty());
       doThrow(new RuntimeException("Unauthorized")).when(portfolioLoader)
           .validateOwnership(portfolioId, userId);
 
       assertThatThrownBy(() -> accountQueryService.getAllAccounts(query)).isInstanceOf(
           RuntimeException.class);
 
-      verifyNoInteractions(accountQueryRepository, transactionRepository, marketDataService);
+      verifyNoInteractions(marketDataService, accountViewBuilder);
     }
 
     @Test
-    @DisplayName("getAllAccounts: skips batch lookups when all accounts are inactive (CLOSED/REPLAYING)")
+    @DisplayName("getAllAccounts: skips quote lookups when no account is ACTIVE (REPLAYING)")
     void getAllAccountsShortCircuitsForInactiveAccounts() {
-      AccountSummaryProjection replayingAcc = mock(AccountSummaryProjection.class);
-      when(replayingAcc.getLifecycleState()).thenReturn(AccountLifecycleState.REPLAYING.name());
-
-      AccountSummaryProjection closedAcc = mock(AccountSummaryProjection.class);
-      when(closedAcc.getLifecycleState()).thenReturn(AccountLifecycleState.CLOSED.name());
+      AccountRow replaying = row(AccountId.newId(), AccountLifecycleState.REPLAYING,
+          shopPosition());
+      when(accountReadModelRepository.findByPortfolioId(any(), any(), any())).thenReturn(
+          new PageImpl<>(List.of(replaying)));
 
-      when(accountQueryRepository.findByPortfolioId(any(), any())).thenReturn(
-          new PageImpl<>(List.of(replayingAcc, closedAcc)));
-
-      when(accountViewBuilder.buildFromProjection(any(), anyMap(), anyMap(), anyMap())).thenReturn(
+      when(accountViewBuilder.buildSummary(any(AccountRow.class), anyMap())).thenReturn(
           mock(AccountView.class));
 
       accountQueryService.getAllAccounts(
           new GetAllAccountsQuery(PortfolioId.newId(), UserId.random(), 0, 10));
 
-      verify(accountQueryRepository, never()).findQuantitiesForAccounts(any());
+      verify(marketDataService, never()).getBatchQuotes(any());
     }
 
     @Test
-    @DisplayName("getAllAccounts: proceeds to batch lookup if at least one account is ACTIVE")
+    @DisplayName("getAllAccounts: prices every listed symbol if at least one account is ACTIVE")
     void getAllAccountsProceedsIfOneAccountIsActive() {
-      AccountSummaryProjection closedAcc = mock(AccountSummaryProjection.class);
-      when(closedAcc.getLifecycleState()).thenReturn(AccountLifecycleState.CLOSED.name());
-      when(closedAcc.getId()).thenReturn(UUID.randomUUID());
-
-      AccountSummaryProjection activeAcc = mock(AccountSummaryProjection.class);
-      when(activeAcc.getLifecycleState()).thenReturn(AccountLifecycleState.ACTIVE.name());
-      when(activeAcc.getId()).thenReturn(UUID.randomUUID());
-
-      when(accountQueryRepository.findByPortfolioId(any(), any())).thenReturn(
-          new PageImpl<>(List.of(closedAcc, activeAcc)));
-      when(accountQueryRepository.findQuantitiesForAccounts(any())).thenReturn(Map.of());
+      AccountRow replaying = row(AccountId.newId(), AccountLifecycleState.REPLAYING,
+          shopPosition());
+      AccountRow active = row(AccountId.newId(), AccountLifecycleState.ACTIVE);
+      when(accountReadModelRepository.findByPortfolioId(any(), any(), any())).thenReturn(
+          new PageImpl<>(List.of(replaying, active)));
+      when(marketDataService.getBatchQuotes(Set.of(SHOP))).thenReturn(Map.of());
 
       accountQueryService.getAllAccounts(
           new GetAllAccountsQuery(PortfolioId.newId(), UserId.random(), 0, 10));
 
-      verify(accountQueryRepository, times(1)).findQuantitiesForAccounts(any());
+      verify(marketDataService).getBatchQuotes(Set.of(SHOP));
     }
   }
 
@@ -247,23 +238,15 @@ class AccountQueryServiceTest {
     @Test
     @DisplayName("getAccountSummary: successfully retrieves summary for valid account")
     void getAccountSummaryValidIdReturnsMappedView() {
-      AssetSymbol shop = new AssetSymbol("SHOP.TO");
-
-      Account account = new Account(accountId, "Resp", AccountType.RESP, Currency.CAD,
-          PositionStrategy.ACB);
-      AcbPosition updated = new AcbPosition(shop, AssetType.STOCK, Currency.CAD, Quantity.of(100),
-          Money.of(2010, "CAD"), Instant.now(), Instant.now());
-      account.applyPositionResult(shop, updated);
+      AccountRow row = row(accountId, AccountLifecycleState.ACTIVE, shopPosition());
+      when(accountReadModelRepository.findById(portfolioId, userId, accountId)).thenReturn(
+          Optional.of(row));
 
-      when(accountQueryRepository.findByIdWithDetails(accountId, portfolioId, userId)).thenReturn(
-          Optional.of(account));
-
-      Map<AssetSymbol, MarketAssetQuote> quoteCache = Map.of(shop, mock(MarketAssetQuote.class));
-      when(marketDataService.getBatchQuotes(anySet())).thenReturn(quoteCache);
+      Map<AssetSymbol, MarketAssetQuote> quoteCache = Map.of(SHOP, mock(MarketAssetQuote.class));
+      when(marketDataService.getBatchQuotes(Set.of(SHOP))).thenReturn(quoteCache);
 
       AccountView expectedView = mock(AccountView.class);
-      when(accountViewBuilder.build(eq(account), eq(quoteCache), anyMap())).thenReturn(
-          expectedView);
+      when(accountViewBuilder.build(row, quoteCache)).thenReturn(expectedView);
 
       AccountView result = accountQueryService.getAccountSummary(
           new GetAccountSummaryQuery(portfolioId, userId, accountId));
@@ -274,7 +257,7 @@ class AccountQueryServiceTest {
     @Test
     @DisplayName("getAccountSummary: throws exception when account ID not found or ownership fails")
     void getAccountSummaryAccountNotFoundThrowsException() {
-      when(accountQueryRepository.findByIdWithDetails(accountId, portfolioId, userId)).thenReturn(
+      when(accountReadModelRepository.findById(portfolioId, userId, accountId)).thenReturn(
           Optional.empty());
 
       assertThatThrownBy(() -> accountQueryService.getAccountSummary(
@@ -285,39 +268,18 @@ class AccountQueryServiceTest {
     @Test
     @DisplayName("getAccountSummary: returns view with empty data for account with no positions")
     void getAccountSummaryAccountWithNoPositionsReturnsEmptyView() {
-      Account emptyAccount = mock(Account.class);
-      when(emptyAccount.getPositionCount()).thenReturn(0);
-
-      when(accountQueryRepository.findByIdWithDetails(accountId, portfolioId, userId)).thenReturn(
-          Optional.of(emptyAccount));
+      AccountRow row = row(accountId, AccountLifecycleState.ACTIVE);
+      when(accountReadModelRepository.findById(portfolioId, userId, accountId)).thenReturn(
+          Optional.of(row));
 
       AccountView expectedView = mock(AccountView.class);
-      when(accountViewBuilder.build(emptyAccount, Map.of(), Map.of())).thenReturn(expectedView);
+      when(accountViewBuilder.build(row, Map.of())).thenReturn(expectedView);
 
       AccountView result = accountQueryService.getAccountSummary(
           new GetAccountSummaryQuery(portfolioId, userId, accountId));
 
       assertThat(result).isEqualTo(expectedView);
-      verifyNoInteractions(marketDataService, transactionRepository);
-    }
-
-    @Test
-    @DisplayName("getAccountSummary: builds view with empty map when fee cache miss occurs")
-    void getAccountSummaryFeeCacheMissBuildsViewWithEmptyFees() {
-      Account account = mock(Account.class);
-      when(account.getAccountId()).thenReturn(accountId);
-      when(account.getPositionCount()).thenReturn(1);
-
-      when(accountQueryRepository.findByIdWithDetails(accountId, portfolioId, userId)).thenReturn(
-          Optional.of(account));
-
-      when(marketDataService.getBatchQuotes(anySet())).thenReturn(Map.of());
-      when(transactionRepository.sumBuyFeesBySymbolForAccount(accountId)).thenReturn(Map.of());
-
-      accountQueryService.getAccountSummary(
-          new GetAccountSummaryQuery(portfolioId, userId, accountId));
-
-      verify(accountViewBuilder).build(eq(account), anyMap(), eq(Map.of()));
+      verifyNoInteractions(marketDataService);
     }
 
     @Test
@@ -327,4 +289,4 @@ class AccountQueryServiceTest {
           NullPointerException.class).hasMessageContaining("GetAccountSummaryQuery cannot be null");
     }
   }
-}
\ No newline at end of file
+}
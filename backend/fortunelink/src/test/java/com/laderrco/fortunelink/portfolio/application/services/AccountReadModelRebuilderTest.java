@@ -0,0 +1,75 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountReadModelRebuilder Unit Tests")
+class AccountReadModelRebuilderTest {
+  private static final UUID FIRST_PAGE = new UUID(0, 0);
+
+  @Mock
+  private AccountReadModelRepository accountReadModelRepository;
+
+  private AccountReadModelRebuilder rebuilder;
+
+  @BeforeEach
+  void setUp() {
+    rebuilder = new AccountReadModelRebuilder(accountReadModelRepository, 2);
+  }
+
+  @Test
+  @DisplayName("rebuild: refreshes page by page, keyed on the last id of the previous page")
+  void rebuildWalksEveryPage() {
+    AccountId first = new AccountId(new UUID(0, 1));
+    AccountId second = new AccountId(new UUID(0, 2));
+    AccountId third = new AccountId(new UUID(0, 3));
+    when(accountReadModelRepository.findAccountIdsAfter(FIRST_PAGE, 2)).thenReturn(
+        List.of(first, second));
+    when(accountReadModelRepository.findAccountIdsAfter(second.id(), 2)).thenReturn(
+        List.of(third));
+
+    assertThat(rebuilder.rebuild()).isEqualTo(3);
+
+    verify(accountReadModelRepository).refresh(List.of(first, second));
+    verify(accountReadModelRepository).refresh(List.of(third));
+  }
+
+  @Test
+  @DisplayName("rebuild: a full last page costs one more empty lookup and no refresh")
+  void rebuildStopsOnEmptyPage() {
+    AccountId first = new AccountId(new UUID(0, 1));
+    AccountId second = new AccountId(new UUID(0, 2));
+    when(accountReadModelRepository.findAccountIdsAfter(FIRST_PAGE, 2)).thenReturn(
+        List.of(first, second));
+    when(accountReadModelRepository.findAccountIdsAfter(second.id(), 2)).thenReturn(List.of());
+
+    assertThat(rebuilder.rebuild()).isEqualTo(2);
+
+    verify(accountReadModelRepository).refresh(List.of(first, second));
+  }
+
+  @Test
+  @DisplayName("rebuild: does nothing without accounts")
+  void rebuildWithoutAccounts() {
+    when(accountReadModelRepository.findAccountIdsAfter(FIRST_PAGE, 2)).thenReturn(List.of());
+
+    assertThat(rebuilder.rebuild()).isZero();
+
+    verify(accountReadModelRepository, never()).refresh(any());
+  }
+}
@@ -0,0 +1,181 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.laderrco.fortunelink.portfolio.application.events.PositionRecalculationRequestedEvent;
+import com.laderrco.fortunelink.portfolio.application.repositories.EventPublicationClaimRepository;
+import com.laderrco.fortunelink.portfolio.application.repositories.EventPublicationClaimRepository.ClaimedPublication;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.modulith.events.CompletedEventPublications;
+import org.springframework.modulith.events.core.EventSerializer;
+import org.springframework.transaction.event.TransactionalApplicationListener;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Event Publication Resubmitter Unit Tests")
+class EventPublicationResubmitterTest {
+  private static final String LISTENER_ID = "recalculation-listener";
+  private static final String EVENT_TYPE = PositionRecalculationRequestedEvent.class.getName();
+
+  @Mock
+  private EventPublicationClaimRepository claimRepository;
+
+  @Mock
+  private AbstractApplicationContext applicationContext;
+
+  @Mock
+  private EventSerializer eventSerializer;
+
+  @Mock
+  private CompletedEventPublications completedPublications;
+
+  @Mock
+  private TransactionalApplicationListener<ApplicationEvent> listener;
+
+  private EventPublicationResubmitter resubmitter;
+
+  @BeforeEach
+  void setUp() {
+    resubmitter = new EventPublicationResubmitter(claimRepository, applicationContext,
+        eventSerializer, completedPublications, 50, 300, 7);
+  }
+
+  @Test
+  @DisplayName("resubmitIncomplete: hands each claimed publication straight to its listener")
+  void resubmitsClaimedPublicationsDirectly() {
+    PositionRecalculationRequestedEvent event = event();
+    when(claimRepository.claimIncomplete(any(), any(), eq(50))).thenReturn(
+        List.of(publication("{first}")));
+    stubListener();
+    when(eventSerializer.deserialize("{first}", PositionRecalculationRequestedEvent.class))
+        .thenReturn(event);
+
+    resubmitter.resubmitIncomplete();
+
+    ArgumentCaptor<ApplicationEvent> delivered = ArgumentCaptor.forClass(ApplicationEvent.class);
+    verify(listener).processEvent(delivered.capture());
+    assertThat(((PayloadApplicationEvent<?>) delivered.getValue()).getPayload()).isSameAs(event);
+    verify(claimRepository, never()).releaseClaims(any());
+  }
+
+  @Test
+  @DisplayName("resubmitIncomplete: releases the rejected claim and the rest of the batch")
+  void releasesClaimsWhenExecutorRejects() {
+    ClaimedPublication sent = publication("{sent}");
+    ClaimedPublication rejected = publication("{rejected}");
+    ClaimedPublication unsent = publication("{unsent}");
+    when(claimRepository.claimIncomplete(any(), any(), eq(50))).thenReturn(
+        List.of(sent, rejected, unsent));
+    stubListener();
+    PositionRecalculationRequestedEvent rejectedEvent = event();
+    when(eventSerializer.deserialize(any(), eq(PositionRecalculationRequestedEvent.class)))
+        .thenReturn(event(), rejectedEvent);
+    doAnswer(invocation -> {
+      if (invocation.<PayloadApplicationEvent<?>>getArgument(0).getPayload() == rejectedEvent) {
+        throw new TaskRejectedException("executor shut down");
+      }
+      return null;
+    }).when(listener).processEvent(any());
+
+    assertThatCode(() -> resubmitter.resubmitIncomplete()).doesNotThrowAnyException();
+
+    verify(claimRepository).releaseClaims(List.of(rejected.id(), unsent.id()));
+    verify(eventSerializer, never()).deserialize(eq("{unsent}"), any());
+  }
+
+  @Test
+  @DisplayName("resubmitIncomplete: leaves a publication without a listener to its lease")
+  void skipsPublicationWithoutListener() {
+    when(claimRepository.claimIncomplete(any(), any(), eq(50))).thenReturn(
+        List.of(publication("{orphan}")));
+    when(applicationContext.getApplicationListeners()).thenReturn(Set.of());
+
+    resubmitter.resubmitIncomplete();
+
+    verifyNoInteractions(eventSerializer);
+    verify(claimRepository, never()).releaseClaims(any());
+  }
+
+  @Test
+  @DisplayName("resubmitIncomplete: only claims publications older than the minimum age")
+  void claimsOnlyOldEnoughPublications() {
+    when(claimRepository.claimIncomplete(any(), any(), anyInt())).thenReturn(List.of());
+
+    resubmitter.resubmitIncomplete();
+
+    ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+    verify(claimRepository).claimIncomplete(cutoff.capture(), any(), eq(50));
+    assertThat(cutoff.getValue()).isBefore(Instant.now().minusSeconds(299));
+  }
+
+  @Test
+  @DisplayName("resubmitIncomplete: skips resubmission when nothing was claimed")
+  void skipsWhenNothingClaimed() {
+    when(claimRepository.claimIncomplete(any(), any(), anyInt())).thenReturn(List.of());
+
+    resubmitter.resubmitIncomplete();
+
+    verifyNoInteractions(applicationContext, eventSerializer);
+  }
+
+  @Test
+  @DisplayName("resubmitIncomplete: swallows failures so the scheduler keeps running")
+  void swallowsFailures() {
+    when(claimRepository.claimIncomplete(any(), any(), anyInt())).thenThrow(
+        new RuntimeException("DB down"));
+
+    assertThatCode(() -> resubmitter.resubmitIncomplete()).doesNotThrowAnyException();
+  }
+
+  @Test
+  @DisplayName("pruneArchive: deletes completed publications older than the retention")
+  void prunesArchive() {
+    resubmitter.pruneArchive();
+
+    verify(completedPublications).deletePublicationsOlderThan(Duration.ofDays(7));
+  }
+
+  private void stubListener() {
+    when(listener.getListenerId()).thenReturn(LISTENER_ID);
+    when(applicationContext.getClassLoader()).thenReturn(getClass().getClassLoader());
+    when(applicationContext.getApplicationListeners()).thenReturn(
+        Set.<ApplicationListener<?>>of(listener));
+  }
+
+  private static ClaimedPublication publication(String serializedEvent) {
+    return new ClaimedPublication(UUID.randomUUID(), LISTENER_ID, EVENT_TYPE, serializedEvent);
+  }
+
+  private static PositionRecalculationRequestedEvent event() {
+    return new PositionRecalculationRequestedEvent(PortfolioId.newId(), UserId.random(),
+        AccountId.newId(), new AssetSymbol("AAPL"));
+  }
+}
@@ -1,5 +1,6 @@
 package com.laderrco.fortunelink.portfolio.application.services;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -7,12 +8,13 @@ import static org.mockito.Mockito.when;
 
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import com.laderrco.fortunelink.portfolio.domain.repositories.PortfolioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -26,9 +28,15 @@ class NetWorthSnapshotServiceTest {
   @Mock
   private UserSnapshotWorker worker;
 
-  @InjectMocks
+  private SimpleMeterRegistry meterRegistry;
   private NetWorthSnapshotService snapshotService;
 
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    snapshotService = new NetWorthSnapshotService(portfolioRepository, worker, meterRegistry);
+  }
+
   @Nested
   @DisplayName("snapshotAllUsers Orchestration")
   class SnapshotOrchestration {
@@ -56,6 +64,11 @@ class NetWorthSnapshotServiceTest {
       verify(worker, times(1)).snapshotForUser(u3);
 
       verify(portfolioRepository, times(1)).findAllActiveUserIds();
+
+      for (String outcome : List.of("written", "skipped", "failed")) {
+        assertThat(meterRegistry.get("fortunelink.snapshot.user").tag("outcome", outcome).timer()
+            .count()).isEqualTo(1);
+      }
     }
 
     @Test
@@ -4,8 +4,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -16,8 +18,10 @@ import com.laderrco.fortunelink.portfolio.application.mappers.PortfolioViewMappe
 import com.laderrco.fortunelink.portfolio.application.queries.GetNetWorthQuery;
 import com.laderrco.fortunelink.portfolio.application.queries.GetPortfolioByIdQuery;
 import com.laderrco.fortunelink.portfolio.application.queries.GetPortfoliosByUserIdQuery;
+import com.laderrco.fortunelink.portfolio.application.repositories.ViewVersionRepository;
 import com.laderrco.fortunelink.portfolio.application.utils.AccountViewBuilder;
 import com.laderrco.fortunelink.portfolio.application.utils.PortfolioLoader;
+import com.laderrco.fortunelink.portfolio.application.utils.VersionedViewCache;
 import com.laderrco.fortunelink.portfolio.application.views.AccountView;
 import com.laderrco.fortunelink.portfolio.application.views.NetWorthView;
 import com.laderrco.fortunelink.portfolio.application.views.PortfolioSummaryView;
@@ -31,8 +35,6 @@ import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.MarketAssetQuote;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
-import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
-import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
@@ -40,9 +42,10 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
 import com.laderrco.fortunelink.portfolio.domain.services.MarketDataService;
 import com.laderrco.fortunelink.portfolio.domain.services.PortfolioValuationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +57,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -71,6 +75,12 @@ public class PortfolioQueryServiceTest {
   private AccountViewBuilder accountViewBuilder;
   @Mock
   private PortfolioLoader portfolioLoader;
+  @Spy
+  private ObservationRegistry observationRegistry = ObservationRegistry.create();
+  // No version stamps, so every read builds its view as before.
+  @Spy
+  private VersionedViewCache viewCache = new VersionedViewCache(
+      mock(ViewVersionRepository.class), new SimpleMeterRegistry(), 300);
   @InjectMocks
   private PortfolioQueryService portfolioQueryService;
 
@@ -103,20 +113,12 @@ public class PortfolioQueryServiceTest {
   }
 
   /**
-   * Builds a healthy account with mock positions. Uses a Mockito spy so we can control
-   * getPositionEntries() without subclassing.
+   * Builds a healthy account holding an empty position for each symbol.
    */
   private Account buildAccount(AccountId accountId, Set<AssetSymbol> symbols) {
     Account account = new Account(accountId, "Test Account", AccountType.TFSA, CAD,
         PositionStrategy.ACB);
-
-    if (!symbols.isEmpty()) {
-      Account spy = org.mockito.Mockito.spy(account);
-      Collection<Map.Entry<AssetSymbol, Position>> entries = symbols.stream()
-          .map(s -> buildPositionEntry(s, account)).toList();
-      when(spy.getPositionEntries()).thenReturn(entries);
-      return spy;
-    }
+    symbols.forEach(s -> account.ensurePosition(s, AssetType.STOCK));
     return account;
   }
 
@@ -126,11 +128,6 @@ public class PortfolioQueryServiceTest {
     return account;
   }
 
-  private Map.Entry<AssetSymbol, Position> buildPositionEntry(AssetSymbol symbol, Account account) {
-    AcbPosition pos = AcbPosition.empty(symbol, AssetType.STOCK, CAD);
-    return Map.entry(symbol, pos);
-  }
-
   private MarketAssetQuote buildQuote(AssetSymbol symbol) {
     return new MarketAssetQuote(symbol,
         com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price.of("100.00",
@@ -200,8 +197,8 @@ public class PortfolioQueryServiceTest {
 
       when(portfolioLoader.loadUserPortfolio(portfolioId, userId)).thenReturn(portfolio);
       when(marketDataService.getBatchQuotes(Set.of(aapl, googl))).thenReturn(quotes);
-      when(accountViewBuilder.build(eq(account1), eq(quotes), any())).thenReturn(view1);
-      when(accountViewBuilder.build(eq(account2), eq(quotes), any())).thenReturn(view2);
+      when(accountViewBuilder.build(eq(account1), eq(quotes), any(), anyInt())).thenReturn(view1);
+      when(accountViewBuilder.build(eq(account2), eq(quotes), any(), anyInt())).thenReturn(view2);
       when(portfolioValuationService.calculateTotalValue(any(), eq(CAD), eq(quotes))).thenReturn(
           totalValue);
 
@@ -224,7 +221,8 @@ public class PortfolioQueryServiceTest {
 
       when(portfolioLoader.loadUserPortfolio(portfolioId, userId)).thenReturn(portfolio);
       when(marketDataService.getBatchQuotes(Set.of(aapl))).thenReturn(quotes);
-      when(accountViewBuilder.build(eq(staleAccount), eq(quotes), any())).thenReturn(accountView);
+      when(accountViewBuilder.build(eq(staleAccount), eq(quotes), any(), anyInt())).thenReturn(
+          accountView);
       when(portfolioValuationService.calculateTotalValue(eq(portfolio), eq(CAD),
           eq(quotes))).thenReturn(totalValue);
       when(portfolioViewMapper.toPortfolioView(eq(portfolio), any(), eq(totalValue),
@@ -253,7 +251,8 @@ public class PortfolioQueryServiceTest {
       when(portfolioLoader.loadUserPortfolio(portfolioId, userId)).thenReturn(portfolio);
       when(marketDataService.getBatchQuotes(any())).thenReturn(quotes);
 
-      when(accountViewBuilder.build(eq(account), eq(quotes), eq(Map.of()))).thenReturn(accountView);
+      when(accountViewBuilder.build(eq(account), eq(quotes), eq(Map.of()), eq(0))).thenReturn(
+          accountView);
 
       when(portfolioValuationService.calculateTotalValue(any(), any(), any())).thenReturn(
           Money.zero(CAD));
@@ -262,7 +261,31 @@ public class PortfolioQueryServiceTest {
 
       portfolioQueryService.getPortfolioById(new GetPortfolioByIdQuery(portfolioId, userId));
 
-      verify(accountViewBuilder).build(eq(account), eq(quotes), eq(Map.of()));
+      verify(accountViewBuilder).build(eq(account), eq(quotes), eq(Map.of()), eq(0));
+    }
+
+    @Test
+    @DisplayName("passes each account its excluded count from one batch lookup")
+    void excludedCountsAreBatched() {
+      AssetSymbol aapl = new AssetSymbol("AAPL");
+      AccountId accountId = AccountId.newId();
+      Account account = buildAccount(accountId, Set.of(aapl));
+      Portfolio portfolio = buildPortfolio(userId, portfolioId, List.of(account));
+
+      when(portfolioLoader.loadUserPortfolio(portfolioId, userId)).thenReturn(portfolio);
+      when(marketDataService.getBatchQuotes(any())).thenReturn(Map.of());
+      when(transactionRepository.countExcludedPositionAffecting(Set.of(accountId))).thenReturn(
+          Map.of(accountId, 3));
+      when(accountViewBuilder.build(eq(account), any(), any(), eq(3))).thenReturn(
+          buildAccountView(accountId));
+      when(portfolioValuationService.calculateTotalValue(any(), any(), any())).thenReturn(
+          Money.zero(CAD));
+      when(portfolioViewMapper.toPortfolioView(any(), any(), any(), anyBoolean())).thenReturn(
+          buildPortfolioView(portfolioId, userId));
+
+      portfolioQueryService.getPortfolioById(new GetPortfolioByIdQuery(portfolioId, userId));
+
+      verify(transactionRepository, times(1)).countExcludedPositionAffecting(anySet());
     }
 
     @Test
@@ -276,7 +299,7 @@ public class PortfolioQueryServiceTest {
       when(portfolioLoader.loadUserPortfolio(portfolioId, userId)).thenReturn(portfolio);
       when(marketDataService.getBatchQuotes(any())).thenReturn(Map.of());
 
-      when(accountViewBuilder.build(eq(account), any(), eq(Map.of()))).thenReturn(
+      when(accountViewBuilder.build(eq(account), any(), eq(Map.of()), eq(0))).thenReturn(
           buildAccountView(accountId));
       when(portfolioValuationService.calculateTotalValue(any(), any(), any())).thenReturn(
           Money.zero(CAD));
@@ -285,7 +308,7 @@ public class PortfolioQueryServiceTest {
 
       portfolioQueryService.getPortfolioById(new GetPortfolioByIdQuery(portfolioId, userId));
 
-      verify(accountViewBuilder).build(eq(account), any(), eq(Map.of()));
+      verify(accountViewBuilder).build(eq(account), any(), eq(Map.of()), eq(0));
     }
   }
 
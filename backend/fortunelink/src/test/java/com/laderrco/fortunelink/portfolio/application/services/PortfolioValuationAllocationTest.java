@@ -0,0 +1,135 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.MarketAssetQuote;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.services.ExchangeRateService;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Allocation profile of valuing a large account. Uses the per-thread allocation counter, so the
+ * numbers are exact for this thread; the thresholds only separate "constant" from "per position".
+ */
+class PortfolioValuationAllocationTest {
+  private static final int POSITIONS = 500;
+  private static final int WARMUP = 300;
+  private static final int RUNS = 7;
+  // Anything allocated per position costs at least one 16-byte object header
+  private static final long PER_POSITION_FLOOR = POSITIONS * 16L;
+  private static final Currency USD = Currency.USD;
+
+  private final com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private Account account;
+  private Map<AssetSymbol, MarketAssetQuote> quotes;
+  private PortfolioValuationServiceImpl valuationService;
+
+  @BeforeEach
+  void setUp() {
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    account = new Account(AccountId.newId(), "Large", AccountType.TFSA, USD,
+        PositionStrategy.ACB);
+    quotes = new HashMap<>();
+    Instant at = Instant.parse("2024-01-01T00:00:00Z");
+    for (int i = 0; i < POSITIONS; i++) {
+      AssetSymbol symbol = new AssetSymbol("SYM" + i);
+      AcbPosition position = AcbPosition.empty(symbol, AssetType.STOCK, USD)
+          .buy(Quantity.of(10), Money.of(100 + i, USD), at).newPosition();
+      account.applyPositionResult(symbol, position);
+      quotes.put(symbol, new MarketAssetQuote(symbol, Price.of("15", USD), null, null, null, null,
+          null, null, null, null, "Allocation test", at));
+    }
+    valuationService = new PortfolioValuationServiceImpl(mock(ExchangeRateService.class));
+  }
+
+  @Test
+  @DisplayName("position views hand out the stored instances")
+  void positionViewsDoNotCopy() {
+    AssetSymbol symbol = new AssetSymbol("SYM0");
+    Position fromView = account.getPositions().stream().filter(p -> p.symbol().equals(symbol))
+        .findFirst().orElseThrow();
+
+    assertThat(account.getPosition(symbol)).containsSame(fromView);
+    assertThat(account.getPositionEntries()).anySatisfy(e -> assertThat(e.getValue()).isSameAs(
+        fromView));
+  }
+
+  @Test
+  @DisplayName("iterating the position view allocates nothing per position")
+  void iteratingPositionsIsAllocationFree() {
+    long bytes = minAllocated(() -> {
+      long total = 0;
+      for (Position position : account.getPositions()) {
+        total += position.symbol().symbol().length();
+      }
+      for (AssetSymbol symbol : account.getPositionSymbols()) {
+        total += symbol.symbol().length();
+      }
+      return total;
+    });
+
+    assertThat(bytes).isLessThan(PER_POSITION_FLOOR);
+  }
+
+  @Test
+  @DisplayName("valuing 500 positions allocates only the per-position valuation results")
+  void valuationAllocatesOnlyResults() {
+    // The baseline makes the same per-position calls. Inline mocks elsewhere in the suite
+    // instrument these value classes for the whole JVM, and then every accessor call can allocate.
+    List<Position> detached = List.copyOf(account.getPositions());
+    Supplier<Money> resultsOnly = () -> detached.stream()
+        .filter(p -> p.type() != AssetType.CASH)
+        .map(p -> valuationService.resolvePositionValue(p, quotes.get(p.symbol()), USD))
+        .collect(Money.summing(USD));
+    Supplier<Money> valuation = () -> valuationService.calculatePositionsValue(account, quotes);
+
+    assertThat(valuation.get()).isEqualTo(resultsOnly.get());
+
+    long baseline = minAllocated(resultsOnly);
+    long actual = minAllocated(valuation);
+
+    assertThat(actual - baseline).isLessThan(PER_POSITION_FLOOR);
+  }
+
+  // Minimum over several runs after warm-up, so JIT compilation and TLAB refills don't count
+  private long minAllocated(Supplier<?> work) {
+    Object sink = null;
+    for (int i = 0; i < WARMUP; i++) {
+      sink = work.get();
+    }
+    long min = Long.MAX_VALUE;
+    for (int i = 0; i < RUNS; i++) {
+      long before = threads.getCurrentThreadAllocatedBytes();
+      sink = work.get();
+      long after = threads.getCurrentThreadAllocatedBytes();
+      min = Math.min(min, after - before);
+    }
+    assertThat(sink).isNotNull();
+    return min;
+  }
+}
@@ -29,7 +29,6 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -57,7 +56,8 @@ class PortfolioValuationServiceTest {
     lenient().when(acc.isActive()).thenReturn(true);
     lenient().when(acc.getAccountCurrency()).thenReturn(currency);
     lenient().when(acc.getCashBalance()).thenReturn(cash);
-    lenient().when(acc.getPositionEntries()).thenReturn(positions.entrySet());
+    positions.forEach((symbol, pos) -> lenient().when(pos.symbol()).thenReturn(symbol));
+    lenient().when(acc.getPositions()).thenReturn(positions.values());
     return acc;
   }
 
@@ -128,7 +128,8 @@ class PortfolioValuationServiceTest {
       Currency currency) {
     Account account = mock(Account.class);
     when(account.getAccountCurrency()).thenReturn(currency);
-    when(account.getPositionEntries()).thenReturn(Set.of(Map.entry(AAPL, pos)));
+    lenient().when(pos.symbol()).thenReturn(AAPL);
+    when(account.getPositions()).thenReturn(List.of(pos));
 
     Map<AssetSymbol, MarketAssetQuote> quotes = new HashMap<>();
     quotes.put(AAPL, quote);
@@ -254,8 +255,8 @@ class PortfolioValuationServiceTest {
 
       Account account = mock(Account.class);
       when(account.getAccountCurrency()).thenReturn(USD);
-      when(account.getPositionEntries()).thenReturn(
-          Set.of(Map.entry(AAPL, stockPos), Map.entry(new AssetSymbol("CASH"), cashPos)));
+      when(stockPos.symbol()).thenReturn(AAPL);
+      when(account.getPositions()).thenReturn(List.of(stockPos, cashPos));
 
       Money result = valuationService.calculatePositionsValue(account, Map.of(AAPL, quote));
 
@@ -5,19 +5,24 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.laderrco.fortunelink.portfolio.application.events.PositionRecalculationRequestedEvent;
+import com.laderrco.fortunelink.portfolio.application.services.RecalculationDelayQueue.Claim;
+import com.laderrco.fortunelink.portfolio.application.services.RecalculationDelayQueue.Entry;
+import com.laderrco.fortunelink.portfolio.application.services.RecalculationDelayQueue.Priority;
 import com.laderrco.fortunelink.portfolio.application.services.redislock.DistributedLock;
 import com.laderrco.fortunelink.portfolio.application.services.redislock.DistributedLockProvider;
 import com.laderrco.fortunelink.portfolio.application.utils.PositionRecalculationExecutor;
@@ -25,7 +30,10 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import nl.altindag.log.LogCaptor;
 import org.junit.jupiter.api.AfterEach;
@@ -33,12 +41,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Position Recalculation Service Unit Tests")
@@ -47,12 +55,12 @@ class PositionRecalculationServiceTest {
   private final UserId USER_ID = UserId.random();
   private final AccountId ACCOUNT_ID = AccountId.newId();
   private final AssetSymbol SYMBOL = new AssetSymbol("AAPL");
+  private final Entry ENTRY = new Entry(PORTFOLIO_ID, USER_ID, ACCOUNT_ID);
+  private final Claim CLAIM = new Claim(ENTRY, Priority.USER, "1700000060000");
   private LogCaptor logCaptor;
 
   @Mock
-  private StringRedisTemplate redisTemplate;
-  @Mock
-  private ValueOperations<String, String> valueOperations;
+  private RecalculationDelayQueue queue;
   @Mock
   private DistributedLockProvider lockProvider;
   @Mock
@@ -61,13 +69,16 @@ class PositionRecalculationServiceTest {
   private PositionRecalculationExecutor executor;
   @Mock
   private AccountHealthService accountHealthService;
+  @Mock
+  private StaleAccountSweeper sweeper;
 
-  @InjectMocks
+  private SimpleMeterRegistry meterRegistry;
   private PositionRecalculationService recalculationService;
 
   @BeforeEach
   void setup() {
-    lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    meterRegistry = new SimpleMeterRegistry();
+    recalculationService = service(new SyncTaskExecutor(), 4);
     logCaptor = LogCaptor.forClass(PositionRecalculationService.class);
   }
 
@@ -78,230 +89,271 @@ class PositionRecalculationServiceTest {
   }
 
   @Test
-  @DisplayName("onRecalculationRequested: debounce logic sets key in Redis")
-  void debounceLogicSetsKey() {
-    PositionRecalculationRequestedEvent event = createEvent();
-
-    when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(
-        true);
-
-    recalculationService.onRecalculationRequested(event);
-
-    verify(valueOperations).setIfAbsent(startsWith("recalc:"), anyString(),
-        eq(Duration.ofSeconds(3)));
+  @DisplayName("onRecalculationRequested: queues the account in the user lane only")
+  void onRecalculationRequestedEnqueues() {
+    recalculationService.onRecalculationRequested(
+        new PositionRecalculationRequestedEvent(PORTFOLIO_ID, USER_ID, ACCOUNT_ID, SYMBOL));
 
+    verify(queue).enqueue(ENTRY, SYMBOL, Priority.USER);
+    verifyNoInteractions(executor, lockProvider);
   }
 
   @Test
-  @DisplayName("onRecalculationRequested: subsequent requests update token but don't schedule new task")
-  void subsequentRequestsUpdateToken() {
-    PositionRecalculationRequestedEvent event = createEvent();
-
-    when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(
-        false);
+  @DisplayName("onRecalculationRequested: lets Redis failures fail the publication")
+  void onRecalculationRequestedPropagatesRedisFailure() {
+    doThrow(new RuntimeException("Redis down")).when(queue).enqueue(any(), any(), any());
 
-    recalculationService.onRecalculationRequested(event);
-
-    verify(valueOperations).set(anyString(), anyString(), any(Duration.class));
+    assertThatThrownBy(() -> recalculationService.onRecalculationRequested(
+        new PositionRecalculationRequestedEvent(PORTFOLIO_ID, USER_ID, ACCOUNT_ID,
+            SYMBOL))).isInstanceOf(RuntimeException.class);
   }
 
   @Test
-  @DisplayName("acquireAndRun: handles Redis connection failure by marking account stale")
-  void handlesLockingRedisFailure() throws InterruptedException {
-    PositionRecalculationRequestedEvent event = createEvent();
+  @DisplayName("drainQueue: claims at most the free connection permits with the lease")
+  void drainQueueClaimsIdleWorkers() {
+    when(queue.claim(4, Duration.ofSeconds(60))).thenReturn(List.of());
 
-    when(lockProvider.getLock(anyString())).thenReturn(lock);
-    when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenThrow(
-        new RuntimeException("Redis down"));
-
-    ReflectionTestUtils.invokeMethod(recalculationService, "acquireAndRun", "test-lock", event);
+    recalculationService.drainQueue();
 
-    verify(accountHealthService).markStale(event.accountId());
+    verify(queue).claim(4, Duration.ofSeconds(60));
   }
 
   @Test
-  @DisplayName("runRecalculation: marks stale if executor throws exception")
-  void marksStaleOnExecutorError() {
-    PositionRecalculationRequestedEvent event = createEvent();
-    doThrow(new RuntimeException("Failed")).when(executor)
-        .scheduleRecalculation(any(), any(), any(), any());
+  @DisplayName("drainQueue: recalculates every pending symbol in one run and acknowledges the entry")
+  void drainQueueRunsPendingSymbols() throws InterruptedException {
+    AssetSymbol other = new AssetSymbol("MSFT");
+    when(queue.claim(anyInt(), any())).thenReturn(List.of(CLAIM));
+    when(queue.takePending(ACCOUNT_ID)).thenReturn(Set.of("AAPL", "MSFT"));
+    when(lockProvider.getLock(contains(ACCOUNT_ID.id().toString()))).thenReturn(lock);
+    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(true);
 
-    assertThatThrownBy(
-        () -> ReflectionTestUtils.invokeMethod(recalculationService, "runRecalculation",
-            event)).isInstanceOf(RuntimeException.class);
+    recalculationService.drainQueue();
 
-    verify(accountHealthService).markStale(event.accountId());
+    verify(executor).recalculateSymbols(PORTFOLIO_ID, USER_ID, ACCOUNT_ID, Set.of(SYMBOL, other));
+    verify(queue).completePending(ACCOUNT_ID);
+    verify(queue).ack(CLAIM);
+    verify(lock).unlock();
   }
 
   @Test
-  @DisplayName("onRecalculationRequested: schedules execution when it's the first event for a symbol")
-  void onRecalculationRequestedSchedulesFirst() {
-    PositionRecalculationRequestedEvent event = createEvent();
-
-    when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(
-        true);
+  @DisplayName("drainQueue: runs a queued full replay in place of the pending symbols")
+  void drainQueueRunsFullReplay() throws InterruptedException {
+    Claim background = new Claim(ENTRY, Priority.BACKGROUND, "1700000060000");
+    Set<String> pending = Set.of("AAPL", RecalculationDelayQueue.FULL_REPLAY);
+    when(queue.claim(anyInt(), any())).thenReturn(List.of(background));
+    when(queue.takePending(ACCOUNT_ID)).thenReturn(pending);
+    when(lockProvider.getLock(contains(ACCOUNT_ID.id().toString()))).thenReturn(lock);
+    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(true);
 
-    recalculationService.onRecalculationRequested(event);
+    recalculationService.drainQueue();
 
-    verify(valueOperations).setIfAbsent(contains(SYMBOL.symbol()), anyString(),
-        eq(Duration.ofSeconds(3)));
+    verify(sweeper).repair(ENTRY);
+    verifyNoInteractions(executor);
+    verify(queue).completePending(ACCOUNT_ID);
+    verify(queue).ack(background);
+    verify(lock).unlock();
   }
 
   @Test
-  @DisplayName("onRecalculationRequested: updates token but doesn't re-schedule on duplicate")
-  void onRecalculationRequestedUpdatesDuplicate() {
-    PositionRecalculationRequestedEvent event = createEvent();
+  @DisplayName("drainQueue: recalculates a symbol re-queued mid-run on the follow-up claim")
+  void drainQueueRecalculatesSymbolQueuedMidRun() throws InterruptedException {
+    Claim followUp = new Claim(ENTRY, Priority.USER, "1700000065000");
+    PositionRecalculationRequestedEvent write = new PositionRecalculationRequestedEvent(
+        PORTFOLIO_ID, USER_ID, ACCOUNT_ID, SYMBOL);
+    when(queue.claim(anyInt(), any())).thenReturn(List.of(CLAIM), List.of(followUp));
+    when(queue.takePending(ACCOUNT_ID)).thenReturn(Set.of("AAPL"), Set.of("AAPL"));
+    when(lockProvider.getLock(contains(ACCOUNT_ID.id().toString()))).thenReturn(lock);
+    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(true);
+    doAnswer(invocation -> {
+      recalculationService.onRecalculationRequested(write);
+      return null;
+    }).doNothing().when(executor).recalculateSymbols(any(), any(), any(), any());
+
+    recalculationService.drainQueue();
+    recalculationService.drainQueue();
+
+    // Taken before the write, so it never touches the symbol queued during the run.
+    InOrder order = inOrder(queue, executor);
+    order.verify(queue).takePending(ACCOUNT_ID);
+    order.verify(executor).recalculateSymbols(PORTFOLIO_ID, USER_ID, ACCOUNT_ID, Set.of(SYMBOL));
+    order.verify(queue).enqueue(ENTRY, SYMBOL, Priority.USER);
+    order.verify(queue).completePending(ACCOUNT_ID);
+    order.verify(queue).ack(CLAIM);
+    order.verify(queue).takePending(ACCOUNT_ID);
+    order.verify(executor).recalculateSymbols(PORTFOLIO_ID, USER_ID, ACCOUNT_ID, Set.of(SYMBOL));
+    order.verify(queue).completePending(ACCOUNT_ID);
+    order.verify(queue).ack(followUp);
+  }
 
-    when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(
-        false);
+  @Test
+  @DisplayName("drainQueue: swallows a failed poll so the next tick retries")
+  void drainQueueSurvivesPollFailure() {
+    when(queue.claim(anyInt(), any())).thenThrow(new RuntimeException("Redis down"));
 
-    recalculationService.onRecalculationRequested(event);
+    assertDoesNotThrow(() -> recalculationService.drainQueue());
 
-    verify(valueOperations).set(anyString(), anyString(), eq(Duration.ofSeconds(3)));
+    assertThat(logCaptor.getWarnLogs()).anyMatch(l -> l.contains("Could not poll"));
   }
 
   @Test
-  @DisplayName("runIfLatest: skips execution if token is no longer current")
-  void runIfLatestSkipsIfObsolete() {
-    PositionRecalculationRequestedEvent event = createEvent();
-    String key = "recalc:key";
-    String oldToken = "token-123";
-    String newToken = "token-456";
+  @DisplayName("drainQueue: spills a rejected claim back to the queue and frees its permit")
+  void drainQueueSpillsOnRejection() {
+    TaskExecutor rejecting = task -> {
+      throw new TaskRejectedException("full");
+    };
+    PositionRecalculationService service = service(rejecting, 1);
+    when(queue.claim(anyInt(), any())).thenReturn(List.of(CLAIM), List.of());
+
+    service.drainQueue();
+    service.drainQueue();
+
+    verify(queue, times(2)).claim(eq(1), any());
+    verify(queue).release(CLAIM);
+    verify(queue, never()).ack(any());
+    assertThat(meterRegistry.get("fortunelink.recalculation.rejections").counter().count())
+        .isEqualTo(1.0);
+  }
 
-    when(valueOperations.get(key)).thenReturn(newToken);
+  @Test
+  @DisplayName("drainQueue: keeps the lease as the fallback when the spill itself fails")
+  void drainQueueSurvivesSpillFailure() {
+    TaskExecutor rejecting = task -> {
+      throw new TaskRejectedException("full");
+    };
+    when(queue.claim(anyInt(), any())).thenReturn(List.of(CLAIM));
+    doThrow(new RuntimeException("Redis down")).when(queue).release(CLAIM);
 
-    ReflectionTestUtils.invokeMethod(recalculationService, "runIfLatest", event, key, oldToken);
+    assertDoesNotThrow(() -> service(rejecting, 1).drainQueue());
 
-    verify(redisTemplate, never()).delete(anyString());
-    verifyNoInteractions(lockProvider);
+    assertThat(logCaptor.getWarnLogs()).anyMatch(l -> l.contains("retrying after lease"));
   }
 
   @Test
-  @DisplayName("runIfLatest: proceeds and deletes key if token is current")
-  void runIfLatestProceedsIfCurrent() throws InterruptedException {
-    PositionRecalculationRequestedEvent event = createEvent();
-    String key = "recalc:key";
-    String token = "token-123";
-
-    when(valueOperations.get(key)).thenReturn(token);
+  @DisplayName("drainQueue: reports in-flight runs against the connection budget")
+  void drainQueueReportsInFlight() throws InterruptedException {
+    double[] seen = new double[1];
+    when(queue.claim(anyInt(), any())).thenReturn(List.of(CLAIM));
     when(lockProvider.getLock(anyString())).thenReturn(lock);
     when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(true);
+    when(queue.takePending(ACCOUNT_ID)).thenAnswer(invocation -> {
+      seen[0] = meterRegistry.get("fortunelink.recalculation.in-flight").gauge().value();
+      return Set.of();
+    });
 
-    ReflectionTestUtils.invokeMethod(recalculationService, "runIfLatest", event, key, token);
+    recalculationService.drainQueue();
 
-    verify(redisTemplate).delete(key);
-    verify(lockProvider).getLock(contains(ACCOUNT_ID.id().toString()));
+    assertThat(seen[0]).isEqualTo(1.0);
+    assertThat(meterRegistry.get("fortunelink.recalculation.in-flight").gauge().value())
+        .isZero();
   }
 
   @Test
-  @DisplayName("acquireAndRun: logs warning and skips when lock is held by another process")
-  void acquireAndRunHandlesLockBusy() throws InterruptedException {
-    PositionRecalculationRequestedEvent event = createEvent();
+  @DisplayName("drainQueue: a background replay holds a permit from the same connection budget")
+  void drainQueueBackgroundReplayHoldsPermit() throws InterruptedException {
+    double[] seen = new double[1];
+    Claim background = new Claim(ENTRY, Priority.BACKGROUND, "1700000060000");
+    when(queue.claim(anyInt(), any())).thenReturn(List.of(background));
+    when(queue.takePending(ACCOUNT_ID)).thenReturn(Set.of(RecalculationDelayQueue.FULL_REPLAY));
     when(lockProvider.getLock(anyString())).thenReturn(lock);
+    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(true);
+    doAnswer(invocation -> {
+      seen[0] = meterRegistry.get("fortunelink.recalculation.in-flight").gauge().value();
+      return null;
+    }).when(sweeper).repair(ENTRY);
 
-    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(false);
-
-    ReflectionTestUtils.invokeMethod(recalculationService, "acquireAndRun", "lock-key", event);
+    recalculationService.drainQueue();
 
-    verifyNoInteractions(executor);
-    verify(lock, never()).unlock();
+    assertThat(seen[0]).isEqualTo(1.0);
+    assertThat(meterRegistry.get("fortunelink.recalculation.in-flight").gauge().value())
+        .isZero();
   }
 
   @Test
-  @DisplayName("acquireAndRun: marks account stale if Redis fails during locking")
-  void acquireAndRunHandlesRedisFailure() throws InterruptedException {
-    PositionRecalculationRequestedEvent event = createEvent();
+  @DisplayName("process: acknowledges without recalculating when nothing is pending")
+  void processAcksWhenNothingPending() throws InterruptedException {
+    when(queue.takePending(ACCOUNT_ID)).thenReturn(Set.of());
     when(lockProvider.getLock(anyString())).thenReturn(lock);
+    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(true);
 
-    when(lock.tryLock(anyLong(), anyLong(), any())).thenThrow(
-        new RuntimeException("Redis connection lost"));
-
-    ReflectionTestUtils.invokeMethod(recalculationService, "acquireAndRun", "lock-key", event);
+    recalculationService.process(CLAIM);
 
-    verify(accountHealthService).markStale(event.accountId());
     verifyNoInteractions(executor);
+    verify(queue).ack(CLAIM);
   }
 
   @Test
-  @DisplayName("runRecalculation: marks stale and bubbles exception on executor failure")
-  void runRecalculationHandlesFailure() {
-    PositionRecalculationRequestedEvent event = createEvent();
-
-    doThrow(new RuntimeException("Math error")).when(executor)
-        .scheduleRecalculation(any(), any(), any(), any());
+  @DisplayName("process: leaves the entry leased when the lock is held by another process")
+  void processDefersWhenLockBusy() throws InterruptedException {
+    when(lockProvider.getLock(anyString())).thenReturn(lock);
+    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(false);
 
-    assertThatThrownBy(
-        () -> ReflectionTestUtils.invokeMethod(recalculationService, "runRecalculation",
-            event)).isInstanceOf(RuntimeException.class);
+    recalculationService.process(CLAIM);
 
-    verify(accountHealthService).markStale(event.accountId());
+    verifyNoInteractions(executor);
+    verify(queue, never()).ack(any());
+    verify(lock, never()).unlock();
+    assertThat(logCaptor.getWarnLogs()).anyMatch(l -> l.contains("Lock busy for accountId"));
   }
 
   @Test
-  @DisplayName("acquireAndRun: handles interruption during lock acquisition")
-  void acquireAndRunHandlesInterruption() throws InterruptedException {
-    PositionRecalculationRequestedEvent event = createEvent();
+  @DisplayName("process: marks account stale and leaves the entry leased if Redis fails during locking")
+  void processHandlesRedisFailure() throws InterruptedException {
     when(lockProvider.getLock(anyString())).thenReturn(lock);
-
     when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenThrow(
-        new InterruptedException("Simulation"));
+        new RuntimeException("Redis connection lost"));
 
-    assertThatThrownBy(
-        () -> ReflectionTestUtils.invokeMethod(recalculationService, "acquireAndRun", "lock-key",
-            event)).hasCauseInstanceOf(InterruptedException.class);
+    recalculationService.process(CLAIM);
 
-    assertTrue(Thread.interrupted(), "Interrupt flag should be restored");
+    verify(accountHealthService).markStale(ACCOUNT_ID);
+    verifyNoInteractions(executor);
+    verify(queue, never()).ack(any());
   }
 
   @Test
-  @DisplayName("runIfLatest: logs error when acquireAndRun throws InterruptedException")
-  void runIfLatestLogsInterrupted() throws InterruptedException {
-    PositionRecalculationRequestedEvent event = createEvent();
-    String key = "recalc:key";
-    String token = "token";
-
-    when(valueOperations.get(key)).thenReturn(token);
+  @DisplayName("process: restores the interrupt flag when interrupted during lock acquisition")
+  void processHandlesInterruption() throws InterruptedException {
     when(lockProvider.getLock(anyString())).thenReturn(lock);
+    when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenThrow(
+        new InterruptedException("Simulation"));
 
-    when(lock.tryLock(anyLong(), anyLong(), any())).thenThrow(new InterruptedException());
-
-    ReflectionTestUtils.invokeMethod(recalculationService, "runIfLatest", event, key, token);
+    recalculationService.process(CLAIM);
 
-    assertThat(logCaptor.getErrorLogs()).anyMatch(l -> l.contains("Interrupted"));
+    assertTrue(Thread.interrupted(), "Interrupt flag should be restored");
+    verify(queue, never()).ack(any());
   }
 
   @Test
-  @DisplayName("acquireAndRun: suppresses error when unlock fails")
-  void acquireAndRunSuppressesUnlockError() throws InterruptedException {
-    PositionRecalculationRequestedEvent event = createEvent();
+  @DisplayName("process: marks stale and keeps pending symbols when the executor fails")
+  void processKeepsPendingOnExecutorFailure() throws InterruptedException {
+    when(queue.takePending(ACCOUNT_ID)).thenReturn(Set.of("AAPL"));
     when(lockProvider.getLock(anyString())).thenReturn(lock);
     when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(true);
+    doThrow(new RuntimeException("Math error")).when(executor)
+        .recalculateSymbols(any(), any(), any(), any());
 
-    doThrow(new IllegalMonitorStateException("Lock already released")).when(lock).unlock();
-
-    assertDoesNotThrow(
-        () -> ReflectionTestUtils.invokeMethod(recalculationService, "acquireAndRun", "lock-key",
-            event));
+    recalculationService.process(CLAIM);
 
+    verify(accountHealthService).markStale(ACCOUNT_ID);
+    verify(queue, never()).completePending(any());
+    verify(queue, never()).ack(any());
     verify(lock).unlock();
-
   }
 
   @Test
-  @DisplayName("acquireAndRun: logs warning when lock is busy")
-  void acquireAndRunLogsWarnWhenBusy() throws InterruptedException {
-    PositionRecalculationRequestedEvent event = createEvent();
+  @DisplayName("process: suppresses error when unlock fails")
+  void processSuppressesUnlockError() throws InterruptedException {
+    when(queue.takePending(ACCOUNT_ID)).thenReturn(Set.of("AAPL"));
     when(lockProvider.getLock(anyString())).thenReturn(lock);
-    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(false);
-
-    ReflectionTestUtils.invokeMethod(recalculationService, "acquireAndRun", "lock-key", event);
+    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(true);
+    doThrow(new IllegalMonitorStateException("Lock already released")).when(lock).unlock();
 
-    assertThat(logCaptor.getWarnLogs()).anyMatch(l -> l.contains("Lock busy for accountId"));
+    assertDoesNotThrow(() -> recalculationService.process(CLAIM));
 
-    verifyNoInteractions(executor);
+    verify(queue).ack(CLAIM);
   }
 
-  private PositionRecalculationRequestedEvent createEvent() {
-    return new PositionRecalculationRequestedEvent(PORTFOLIO_ID, USER_ID, ACCOUNT_ID, SYMBOL);
+  private PositionRecalculationService service(TaskExecutor workerExecutor, int dbConnections) {
+    return new PositionRecalculationService(queue, executor, accountHealthService, sweeper,
+        lockProvider, workerExecutor, meterRegistry, dbConnections, 60_000);
   }
-}
\ No newline at end of file
+}
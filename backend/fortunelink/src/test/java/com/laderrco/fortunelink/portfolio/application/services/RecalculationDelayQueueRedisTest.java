@@ -0,0 +1,133 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.laderrco.fortunelink.portfolio.application.events.PositionRecalculationRequestedEvent;
+import com.laderrco.fortunelink.portfolio.application.services.RecalculationDelayQueue.Claim;
+import com.laderrco.fortunelink.portfolio.application.services.RecalculationDelayQueue.Entry;
+import com.laderrco.fortunelink.portfolio.application.services.RecalculationDelayQueue.Priority;
+import com.laderrco.fortunelink.portfolio.application.services.redislock.DistributedLock;
+import com.laderrco.fortunelink.portfolio.application.services.redislock.DistributedLockProvider;
+import com.laderrco.fortunelink.portfolio.application.utils.PositionRecalculationExecutor;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+@Testcontainers
+@DisplayName("Recalculation Delay Queue Redis Tests")
+class RecalculationDelayQueueRedisTest {
+  private static final Duration LEASE = Duration.ofSeconds(60);
+  private static final AssetSymbol AAPL = new AssetSymbol("AAPL");
+  private static final AssetSymbol MSFT = new AssetSymbol("MSFT");
+
+  @SuppressWarnings("resource")
+  @Container
+  private static final GenericContainer<?> REDIS = new GenericContainer<>(
+      DockerImageName.parse("redis:8.6.2-alpine")).withExposedPorts(6379);
+
+  private final Entry entry = new Entry(PortfolioId.newId(), UserId.random(), AccountId.newId());
+  private LettuceConnectionFactory connectionFactory;
+  private StringRedisTemplate redisTemplate;
+  private RecalculationDelayQueue queue;
+
+  @BeforeEach
+  void setup() {
+    connectionFactory = new LettuceConnectionFactory(
+        new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+    connectionFactory.afterPropertiesSet();
+    connectionFactory.start();
+    redisTemplate = new StringRedisTemplate(connectionFactory);
+    redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+    // No debounce, so an entry is due as soon as it is queued.
+    queue = new RecalculationDelayQueue(redisTemplate, new SimpleMeterRegistry(), 0, 0);
+  }
+
+  @AfterEach
+  void tearDown() {
+    connectionFactory.destroy();
+  }
+
+  @Test
+  @DisplayName("takePending: a symbol queued mid-run is left for the next run")
+  void symbolQueuedMidRunSurvivesCompletion() {
+    queue.enqueue(entry, AAPL, Priority.USER);
+    Claim claim = queue.claim(1, LEASE).getFirst();
+    assertThat(queue.takePending(entry.accountId())).containsExactly("AAPL");
+
+    queue.enqueue(entry, AAPL, Priority.USER);
+    queue.completePending(entry.accountId());
+    queue.ack(claim);
+
+    List<Claim> next = queue.claim(1, LEASE);
+    assertThat(next).extracting(Claim::entry).containsExactly(entry);
+    assertThat(queue.takePending(entry.accountId())).containsExactly("AAPL");
+  }
+
+  @Test
+  @DisplayName("takePending: merges a failed run's symbols with those queued since")
+  void failedRunSymbolsMergeWithNewOnes() {
+    queue.enqueue(entry, AAPL, Priority.USER);
+    queue.claim(1, LEASE);
+    assertThat(queue.takePending(entry.accountId())).containsExactly("AAPL");
+
+    // The run fails: no completePending, and a new write arrives before the retry.
+    queue.enqueue(entry, MSFT, Priority.USER);
+
+    assertThat(queue.takePending(entry.accountId())).containsExactlyInAnyOrder("AAPL", "MSFT");
+    queue.completePending(entry.accountId());
+    assertThat(queue.takePending(entry.accountId())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("drainQueue: a symbol re-queued mid-run is recalculated by the follow-up claim")
+  void serviceRecalculatesSymbolQueuedMidRun() throws InterruptedException {
+    PositionRecalculationExecutor executor = mock(PositionRecalculationExecutor.class);
+    DistributedLockProvider lockProvider = mock(DistributedLockProvider.class);
+    DistributedLock lock = mock(DistributedLock.class);
+    when(lockProvider.getLock(anyString())).thenReturn(lock);
+    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(true);
+    PositionRecalculationService service = new PositionRecalculationService(queue, executor,
+        mock(AccountHealthService.class), mock(StaleAccountSweeper.class), lockProvider,
+        new SyncTaskExecutor(), new SimpleMeterRegistry(), 4, LEASE.toMillis());
+    PositionRecalculationRequestedEvent write = new PositionRecalculationRequestedEvent(
+        entry.portfolioId(), entry.userId(), entry.accountId(), AAPL);
+    // The first run sees another write to the same symbol land while it recalculates.
+    doAnswer(invocation -> {
+      service.onRecalculationRequested(write);
+      return null;
+    }).doNothing().when(executor).recalculateSymbols(any(), any(), any(), any());
+
+    service.onRecalculationRequested(write);
+    service.drainQueue();
+    service.drainQueue();
+
+    verify(executor, times(2)).recalculateSymbols(entry.portfolioId(), entry.userId(),
+        entry.accountId(), Set.of(AAPL));
+    assertThat(queue.claim(1, LEASE)).isEmpty();
+  }
+}
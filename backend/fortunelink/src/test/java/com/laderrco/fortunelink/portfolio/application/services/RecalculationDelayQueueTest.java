@@ -0,0 +1,242 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.laderrco.fortunelink.portfolio.application.services.RecalculationDelayQueue.Claim;
+import com.laderrco.fortunelink.portfolio.application.services.RecalculationDelayQueue.Entry;
+import com.laderrco.fortunelink.portfolio.application.services.RecalculationDelayQueue.Priority;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Recalculation Delay Queue Unit Tests")
+class RecalculationDelayQueueTest {
+  private static final Entry ENTRY = new Entry(PortfolioId.newId(), UserId.random(),
+      AccountId.newId());
+
+  @Mock
+  private StringRedisTemplate redisTemplate;
+  @Mock
+  private SetOperations<String, String> setOperations;
+  @Mock
+  private ZSetOperations<String, String> zSetOperations;
+
+  private SimpleMeterRegistry meterRegistry;
+  private RecalculationDelayQueue queue;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+    lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    meterRegistry = new SimpleMeterRegistry();
+    queue = new RecalculationDelayQueue(redisTemplate, meterRegistry, 3000, 30000);
+  }
+
+  @Test
+  @DisplayName("enqueue: adds the symbol to the pending set before scheduling the account")
+  void enqueueAddsSymbolBeforeScheduling() {
+    queue.enqueue(ENTRY, new AssetSymbol("AAPL"), Priority.USER);
+
+    InOrder order = Mockito.inOrder(setOperations, redisTemplate);
+    order.verify(setOperations).add(contains(ENTRY.accountId().id().toString()), eq("AAPL"));
+    order.verify(redisTemplate).execute(any(RedisScript.class),
+        eq(List.of("{recalc}:queue", "{recalc}:queue:first-seen")), eq(ENTRY.encode()),
+        eq("3000"), eq("30000"));
+  }
+
+  @Test
+  @DisplayName("enqueue: schedules background work in its own lane")
+  void enqueueBackgroundUsesBackgroundLane() {
+    queue.enqueue(ENTRY, new AssetSymbol("AAPL"), Priority.BACKGROUND);
+
+    verify(redisTemplate).execute(any(RedisScript.class),
+        eq(List.of("{recalc}:queue:background", "{recalc}:queue:background:first-seen")),
+        eq(ENTRY.encode()), eq("3000"), eq("30000"));
+  }
+
+  @Test
+  @DisplayName("enqueueFullReplay: queues the full-replay marker in the requested lane")
+  void enqueueFullReplayQueuesMarker() {
+    queue.enqueueFullReplay(ENTRY, Priority.BACKGROUND);
+
+    verify(setOperations).add(contains(ENTRY.accountId().id().toString()),
+        eq(RecalculationDelayQueue.FULL_REPLAY));
+    verify(redisTemplate).execute(any(RedisScript.class),
+        eq(List.of("{recalc}:queue:background", "{recalc}:queue:background:first-seen")),
+        eq(ENTRY.encode()), eq("3000"), eq("30000"));
+  }
+
+  @Test
+  @DisplayName("claim: decodes claimed members and keeps the lease score for acknowledgement")
+  @SuppressWarnings("unchecked")
+  void claimDecodesMembers() {
+    when(redisTemplate.execute(any(RedisScript.class), eq(Priority.USER.keys()), eq("1"),
+        eq("60000"))).thenReturn(List.of("1700000060000", ENTRY.encode(), "250"));
+
+    List<Claim> claims = queue.claim(1, Duration.ofSeconds(60));
+
+    assertThat(claims).containsExactly(new Claim(ENTRY, Priority.USER, "1700000060000"));
+    assertThat(meterRegistry.get("fortunelink.recalculation.queue.wait").tag("priority", "user")
+        .timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("claim: fills from the background lane only after the user lane")
+  @SuppressWarnings("unchecked")
+  void claimPrefersUserLane() {
+    Entry background = new Entry(PortfolioId.newId(), UserId.random(), AccountId.newId());
+    when(redisTemplate.execute(any(RedisScript.class), eq(Priority.USER.keys()), eq("2"),
+        anyString())).thenReturn(List.of("1700000060000", ENTRY.encode(), "0"));
+    when(redisTemplate.execute(any(RedisScript.class), eq(Priority.BACKGROUND.keys()), eq("1"),
+        anyString())).thenReturn(List.of("1700000060000", background.encode(), "0"));
+
+    List<Claim> claims = queue.claim(2, Duration.ofSeconds(60));
+
+    assertThat(claims).extracting(Claim::priority)
+        .containsExactly(Priority.USER, Priority.BACKGROUND);
+  }
+
+  @Test
+  @DisplayName("claim: leaves the background lane alone when user work fills the poll")
+  @SuppressWarnings("unchecked")
+  void claimSkipsBackgroundWhenFull() {
+    when(redisTemplate.execute(any(RedisScript.class), eq(Priority.USER.keys()), eq("1"),
+        anyString())).thenReturn(List.of("1700000060000", ENTRY.encode(), "0"));
+
+    queue.claim(1, Duration.ofSeconds(60));
+
+    verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyString(),
+        anyString());
+  }
+
+  @Test
+  @DisplayName("claim: returns nothing when no entry is due")
+  @SuppressWarnings("unchecked")
+  void claimReturnsEmptyWhenNothingDue() {
+    when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+        .thenReturn(List.of("1700000060000"));
+
+    assertThat(queue.claim(10, Duration.ofSeconds(60))).isEmpty();
+    verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyString(),
+        anyString());
+  }
+
+  @Test
+  @DisplayName("claim: drops malformed members instead of leaving them at the head of the queue")
+  @SuppressWarnings("unchecked")
+  void claimDropsMalformedMembers() {
+    when(redisTemplate.execute(any(RedisScript.class), eq(Priority.USER.keys()), anyString(),
+        anyString())).thenReturn(List.of("1700000060000", "garbage", "0", ENTRY.encode(), "0"));
+
+    List<Claim> claims = queue.claim(2, Duration.ofSeconds(60));
+
+    assertThat(claims).extracting(Claim::entry).containsExactly(ENTRY);
+    verify(zSetOperations).remove("{recalc}:queue", "garbage");
+  }
+
+  @Test
+  @DisplayName("ack: compares against the lease score it was claimed with")
+  void ackPassesLeaseScore() {
+    queue.ack(new Claim(ENTRY, Priority.BACKGROUND, "1700000060000"));
+
+    verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("{recalc}:queue:background")),
+        eq(ENTRY.encode()), eq("1700000060000"));
+  }
+
+  @Test
+  @DisplayName("release: hands the entry back to its lane under the same lease check")
+  void releasePassesLeaseScore() {
+    queue.release(new Claim(ENTRY, Priority.USER, "1700000060000"));
+
+    verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("{recalc}:queue")),
+        eq(ENTRY.encode()), eq("1700000060000"));
+  }
+
+  @Test
+  @DisplayName("takePending: hands over the account's pending and running sets in one script")
+  @SuppressWarnings("unchecked")
+  void takePendingRunsHandoverScript() {
+    String pendingKey = "recalc:{" + ENTRY.accountId().id() + "}:symbols";
+    when(redisTemplate.execute(any(RedisScript.class),
+        eq(List.of(pendingKey, pendingKey + ":running")), eq("86400000"))).thenReturn(
+        List.of("AAPL", "MSFT"));
+
+    assertThat(queue.takePending(ENTRY.accountId())).containsExactlyInAnyOrder("AAPL", "MSFT");
+  }
+
+  @Test
+  @DisplayName("takePending: returns nothing when no symbol is pending")
+  @SuppressWarnings("unchecked")
+  void takePendingEmpty() {
+    when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString())).thenReturn(
+        List.of());
+
+    assertThat(queue.takePending(ENTRY.accountId())).isEmpty();
+  }
+
+  @Test
+  @DisplayName("completePending: drops only the run's own set")
+  void completePendingDeletesRunningSet() {
+    queue.completePending(ENTRY.accountId());
+
+    verify(redisTemplate).delete("recalc:{" + ENTRY.accountId().id() + "}:symbols:running");
+    verify(setOperations, never()).remove(anyString(), any(Object[].class));
+  }
+
+  @Test
+  @DisplayName("metrics: depth gauge reads the queue size and reports NaN when Redis is down")
+  void depthGauge() {
+    when(zSetOperations.zCard("{recalc}:queue")).thenReturn(7L).thenThrow(new RuntimeException());
+
+    double first = meterRegistry.get("fortunelink.recalculation.queue.depth")
+        .tag("priority", "user").gauge().value();
+    double second = meterRegistry.get("fortunelink.recalculation.queue.depth")
+        .tag("priority", "user").gauge().value();
+
+    assertThat(first).isEqualTo(7.0);
+    assertThat(second).isNaN();
+  }
+
+  @Test
+  @DisplayName("metrics: lag gauge reports the oldest due entry's wait in seconds")
+  @SuppressWarnings("unchecked")
+  void lagGauge() {
+    when(redisTemplate.execute(any(RedisScript.class), anyList())).thenReturn(1500L);
+
+    assertThat(meterRegistry.get("fortunelink.recalculation.queue.lag")
+        .tag("priority", "background").gauge().value()).isEqualTo(1.5);
+  }
+
+  @Test
+  @DisplayName("Entry: survives an encode/decode round trip")
+  void entryRoundTrip() {
+    assertThat(Entry.decode(ENTRY.encode())).isEqualTo(ENTRY);
+  }
+}
@@ -0,0 +1,184 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountRepairRepository;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountRepairRepository.StaleAccount;
+import com.laderrco.fortunelink.portfolio.application.services.RecalculationDelayQueue.Entry;
+import com.laderrco.fortunelink.portfolio.application.services.RecalculationDelayQueue.Priority;
+import com.laderrco.fortunelink.portfolio.application.services.redislock.DistributedLock;
+import com.laderrco.fortunelink.portfolio.application.services.redislock.DistributedLockProvider;
+import com.laderrco.fortunelink.portfolio.application.utils.PositionRecalculationExecutor;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Stale Account Sweeper Unit Tests")
+class StaleAccountSweeperTest {
+  private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+  private static final UUID FIRST_PAGE = new UUID(0, 0);
+
+  @Mock
+  private AccountRepairRepository repairRepository;
+  @Mock
+  private TransactionRepository transactionRepository;
+  @Mock
+  private PositionRecalculationExecutor executor;
+  @Mock
+  private DistributedLockProvider lockProvider;
+  @Mock
+  private DistributedLock lock;
+  @Mock
+  private RecalculationDelayQueue queue;
+
+  private SimpleMeterRegistry meterRegistry;
+  private StaleAccountSweeper sweeper;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    sweeper = new StaleAccountSweeper(repairRepository, transactionRepository, executor,
+        lockProvider, queue, meterRegistry, 2, 1_000, 5, 720);
+  }
+
+  @Test
+  @DisplayName("sweepOnce: pages by the last account id and queues every account in the background")
+  void sweepOncePagesWithKeyset() {
+    StaleAccount first = staleAccount();
+    StaleAccount second = staleAccount();
+    StaleAccount third = staleAccount();
+    when(repairRepository.findRepairableAfter(FIRST_PAGE, NOW, 2)).thenReturn(
+        List.of(first, second));
+    when(repairRepository.findRepairableAfter(second.accountId().id(), NOW, 2)).thenReturn(
+        List.of(third));
+    when(transactionRepository.countReplayHistory(any())).thenReturn(10L);
+
+    sweeper.sweepOnce(NOW);
+
+    for (StaleAccount account : List.of(first, second, third)) {
+      verify(queue).enqueueFullReplay(entry(account), Priority.BACKGROUND);
+    }
+    verifyNoInteractions(executor);
+  }
+
+  @Test
+  @DisplayName("sweepOnce: stops at the row budget once something is queued")
+  void sweepOnceStopsAtRowBudget() {
+    StaleAccount small = staleAccount();
+    StaleAccount large = staleAccount();
+    when(repairRepository.findRepairableAfter(FIRST_PAGE, NOW, 2)).thenReturn(
+        List.of(small, large));
+    when(transactionRepository.countReplayHistory(small.accountId())).thenReturn(600L);
+    when(transactionRepository.countReplayHistory(large.accountId())).thenReturn(600L);
+
+    sweeper.sweepOnce(NOW);
+
+    verify(queue).enqueueFullReplay(entry(small), Priority.BACKGROUND);
+    verify(queue, never()).enqueueFullReplay(entry(large), Priority.BACKGROUND);
+    verify(repairRepository, never()).findRepairableAfter(eq(small.accountId().id()), any(),
+        anyInt());
+  }
+
+  @Test
+  @DisplayName("sweepOnce: always queues the first account even when it alone exceeds the budget")
+  void sweepOnceQueuesOversizedFirstAccount() {
+    StaleAccount huge = staleAccount();
+    when(repairRepository.findRepairableAfter(FIRST_PAGE, NOW, 2)).thenReturn(List.of(huge));
+    when(transactionRepository.countReplayHistory(huge.accountId())).thenReturn(50_000L);
+
+    sweeper.sweepOnce(NOW);
+
+    verify(queue).enqueueFullReplay(entry(huge), Priority.BACKGROUND);
+  }
+
+  @Test
+  @DisplayName("repair: replays the account and records it healed")
+  void repairRecordsHealed() {
+    StaleAccount account = staleAccount();
+
+    sweeper.repair(entry(account));
+
+    verify(executor).replayFullAccount(account.portfolioId(), account.userId(),
+        account.accountId());
+    verify(repairRepository).recordHealed(eq(account.accountId()), any());
+    assertThat(outcomes("healed")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("repair: records a failure with the configured backoff without rethrowing")
+  void repairRecordsFailure() {
+    StaleAccount broken = staleAccount();
+    doThrow(new IllegalStateException("SELL requires position for AAPL")).when(executor)
+        .replayFullAccount(any(), any(), eq(broken.accountId()));
+
+    assertDoesNotThrow(() -> sweeper.repair(entry(broken)));
+
+    verify(repairRepository).recordFailure(eq(broken.accountId()),
+        contains("SELL requires position"), any(), eq(Duration.ofMinutes(5)),
+        eq(Duration.ofMinutes(720)));
+    verify(repairRepository, never()).recordHealed(any(), any());
+    assertThat(outcomes("failed")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("sweep: does nothing while another node holds the sweeper lock")
+  void sweepSkipsWhenAnotherNodeSweeps() throws InterruptedException {
+    when(lockProvider.getLock("lock:stale-account-sweeper")).thenReturn(lock);
+    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(false);
+
+    sweeper.sweep();
+
+    verifyNoInteractions(repairRepository, queue);
+    verify(lock, never()).unlock();
+  }
+
+  @Test
+  @DisplayName("sweep: swallows a failed page query and releases the sweeper lock")
+  void sweepSurvivesRepositoryFailure() throws InterruptedException {
+    when(lockProvider.getLock("lock:stale-account-sweeper")).thenReturn(lock);
+    when(lock.tryLock(anyLong(), anyLong(), any())).thenReturn(true);
+    when(repairRepository.findRepairableAfter(any(), any(), anyInt())).thenThrow(
+        new RuntimeException("DB down"));
+
+    assertDoesNotThrow(() -> sweeper.sweep());
+
+    verify(lock).unlock();
+  }
+
+  private double outcomes(String outcome) {
+    return meterRegistry.get("fortunelink.recalculation.sweeper.outcomes")
+        .tag("outcome", outcome).counter().count();
+  }
+
+  private static Entry entry(StaleAccount account) {
+    return new Entry(account.portfolioId(), account.userId(), account.accountId());
+  }
+
+  private static StaleAccount staleAccount() {
+    return new StaleAccount(PortfolioId.newId(), UserId.random(), AccountId.newId());
+  }
+}
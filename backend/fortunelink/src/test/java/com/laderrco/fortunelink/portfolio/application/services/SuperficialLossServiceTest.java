@@ -0,0 +1,128 @@
+package com.laderrco.fortunelink.portfolio.application.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.laderrco.fortunelink.portfolio.application.events.PositionRecalculationRequestedEvent;
+import com.laderrco.fortunelink.portfolio.application.repositories.RealizedGainsQueryRepository;
+import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.LossSaleCandidate;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
+import com.laderrco.fortunelink.portfolio.domain.model.factories.TransactionFactory;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import com.laderrco.fortunelink.portfolio.domain.repositories.PositionCheckpointRepository;
+import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
+import com.laderrco.fortunelink.portfolio.domain.services.superficialloss.SuperficialLossEngine;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SuperficialLossService Unit Tests")
+class SuperficialLossServiceTest {
+  private static final Currency CAD = Currency.CAD;
+  private static final AssetSymbol AAPL = new AssetSymbol("AAPL");
+  private static final UserId USER_ID = UserId.random();
+  private static final Instant NOW = Instant.parse("2024-06-01T15:00:00Z");
+
+  @Mock
+  private TransactionRepository transactionRepository;
+  @Mock
+  private RealizedGainsQueryRepository realizedGainsQueryRepository;
+  @Mock
+  private PositionCheckpointRepository checkpointRepository;
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private SuperficialLossService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new SuperficialLossService(transactionRepository, realizedGainsQueryRepository,
+        checkpointRepository, eventPublisher);
+  }
+
+  @Test
+  @DisplayName("requestRecalculations: reopens each loss sale in the 30-day window")
+  void requestRecalculationsReopensLossSales() {
+    Transaction buy = TransactionFactory.buyBuilder(Quantity.of(5), Price.of("90", CAD))
+        .occurredAt(NOW).build();
+    LossSaleCandidate first = new LossSaleCandidate(PortfolioId.newId(), AccountId.newId(),
+        NOW.minus(Duration.ofDays(3)));
+    LossSaleCandidate second = new LossSaleCandidate(PortfolioId.newId(), AccountId.newId(),
+        NOW.plus(Duration.ofDays(12)));
+    when(realizedGainsQueryRepository.findLossSales(USER_ID, AAPL,
+        NOW.minus(Duration.ofDays(30)), NOW.plus(Duration.ofDays(30))))
+        .thenReturn(List.of(first, second));
+
+    service.requestRecalculations(USER_ID, buy);
+
+    verify(checkpointRepository).deleteFrom(first.accountId(), AAPL, first.earliestSale());
+    verify(checkpointRepository).deleteFrom(second.accountId(), AAPL, second.earliestSale());
+    ArgumentCaptor<PositionRecalculationRequestedEvent> events = ArgumentCaptor.forClass(
+        PositionRecalculationRequestedEvent.class);
+    verify(eventPublisher, times(2)).publishEvent(events.capture());
+    assertThat(events.getAllValues()).extracting(PositionRecalculationRequestedEvent::accountId)
+        .containsExactly(first.accountId(), second.accountId());
+  }
+
+  @Test
+  @DisplayName("requestRecalculations: ignores transactions that cannot open a window")
+  void requestRecalculationsIgnoresCashTransactions() {
+    Transaction deposit = TransactionFactory.baseBuilder().transactionType(TransactionType.DEPOSIT)
+        .cashDelta(Money.of("100", CAD)).build();
+
+    service.requestRecalculations(USER_ID, deposit);
+
+    verifyNoInteractions(realizedGainsQueryRepository, checkpointRepository, eventPublisher);
+  }
+
+  @Test
+  @DisplayName("engineFor: enabled only for taxable accounts on ACB")
+  void engineForAppliesToTaxableAcbAccounts() {
+    Account taxable = account(AccountType.TAXABLE_INVESTMENT, PositionStrategy.ACB);
+    Account tfsa = account(AccountType.TFSA, PositionStrategy.ACB);
+    Account fifo = account(AccountType.TAXABLE_INVESTMENT, PositionStrategy.FIFO);
+
+    assertThat(service.engineFor(USER_ID, taxable).isEnabled()).isTrue();
+    assertThat(service.engineFor(USER_ID, tfsa)).isSameAs(SuperficialLossEngine.disabled());
+    assertThat(service.engineFor(USER_ID, fifo)).isSameAs(SuperficialLossEngine.disabled());
+  }
+
+  @Test
+  @DisplayName("engineFor: loads the user-wide history of the preloaded symbols")
+  void engineForLoadsUserWideHistory() {
+    Account taxable = account(AccountType.TAXABLE_INVESTMENT, PositionStrategy.ACB);
+    when(transactionRepository.findHoldingHistoryForUser(any(), any())).thenReturn(List.of());
+
+    service.engineFor(USER_ID, taxable).preload(List.of(AAPL));
+
+    verify(transactionRepository).findHoldingHistoryForUser(USER_ID, List.of(AAPL));
+  }
+
+  private static Account account(AccountType type, PositionStrategy strategy) {
+    return new Account(AccountId.newId(), "Brokerage", type, CAD, strategy);
+  }
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.contains;
@@ -25,9 +26,11 @@ import com.laderrco.fortunelink.portfolio.domain.exceptions.InsufficientFundsExc
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction.TradeExecution;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.CashImpact;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.FeeType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Fee;
@@ -43,8 +46,12 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -247,17 +254,18 @@ class TransactionRecordingServiceImplTest {
       when(account.getPosition(AAPL)).thenReturn(Optional.of(existingPos));
       when(account.getAccountCurrency()).thenReturn(USD);
 
-      service.recordSell(account, AAPL, TEN, HUNDRED_USD_PRICE, fees, NOTES, NOW);
+      service.recordSell(account, AAPL, TEN, HUNDRED_USD_PRICE, fees, NOTES, NOW, List.of());
 
       BigDecimal expectedGain = expectedNetDeposit.subtract(initialCostBasis);
 
-      verify(account).recordRealizedGain(eq(AAPL), any(Money.class), any(Money.class), eq(NOW));
+      verify(account).recordRealizedGain(eq(AAPL), any(Money.class), any(Money.class), eq(NOW),
+          anyList());
       verify(account).deposit(argThat(m -> m.amount().compareTo(expectedNetDeposit) == 0),
           contains(AAPL.symbol()));
 
       verify(account).recordRealizedGain(eq(AAPL),
           argThat(m -> m.amount().compareTo(expectedGain) == 0),
-          argThat(m -> m.amount().compareTo(initialCostBasis) == 0), eq(NOW));
+          argThat(m -> m.amount().compareTo(initialCostBasis) == 0), eq(NOW), anyList());
     }
 
     @Test
@@ -267,7 +275,7 @@ class TransactionRecordingServiceImplTest {
 
       assertThatThrownBy(
           () -> service.recordSell(account, AAPL, TEN, HUNDRED_USD_PRICE, List.of(), NOTES,
-              NOW)).isInstanceOf(IllegalStateException.class)
+              NOW, List.of())).isInstanceOf(IllegalStateException.class)
           .hasMessageContaining("Cannot sell: no open position for AAPL");
 
       verify(account).getPosition(AAPL);
@@ -285,7 +293,7 @@ class TransactionRecordingServiceImplTest {
       when(account.getPosition(AAPL)).thenReturn(Optional.of(existingPos));
       when(account.getAccountCurrency()).thenReturn(USD);
 
-      service.recordSell(account, AAPL, TEN, HUNDRED_USD_PRICE, null, NOTES, NOW);
+      service.recordSell(account, AAPL, TEN, HUNDRED_USD_PRICE, null, NOTES, NOW, List.of());
 
       verify(account).applyPositionResult(eq(AAPL), argThat(pos -> pos.totalQuantity().isZero()
           && pos.totalCostBasis().amount().compareTo(BigDecimal.ZERO) == 0));
@@ -293,7 +301,7 @@ class TransactionRecordingServiceImplTest {
       BigDecimal expectedGain = new BigDecimal("1000.00").subtract(weirdBasis);
       verify(account).recordRealizedGain(eq(AAPL),
           argThat(m -> m.amount().compareTo(expectedGain) == 0),
-          argThat(m -> m.amount().compareTo(weirdBasis) == 0), eq(NOW));
+          argThat(m -> m.amount().compareTo(weirdBasis) == 0), eq(NOW), anyList());
     }
 
     @Test
@@ -305,7 +313,7 @@ class TransactionRecordingServiceImplTest {
 
       assertThatThrownBy(
           () -> service.recordSell(account, AAPL, TEN, HUNDRED_USD_PRICE, null, NOTES,
-              NOW)).isInstanceOf(InsufficientQuantityException.class);
+              NOW, List.of())).isInstanceOf(InsufficientQuantityException.class);
     }
   }
 
@@ -667,6 +675,26 @@ class TransactionRecordingServiceImplTest {
       verify(account, never()).withdraw(any(), any(), anyBoolean());
     }
 
+    @Test
+    @DisplayName("replayFullHistory: applies the stream in order inside one replay window")
+    void replayFullHistoryAppliesStreamInOrder() {
+      Transaction excludedTx = mock(Transaction.class);
+      when(excludedTx.isExcluded()).thenReturn(true);
+      Transaction tx = mock(Transaction.class);
+      TransactionType type = mock(TransactionType.class);
+      when(tx.transactionType()).thenReturn(type);
+      when(type.affectsHoldings()).thenReturn(false);
+      when(type.cashImpact()).thenReturn(CashImpact.IN);
+      when(tx.cashDelta()).thenReturn(ONE_THOUSAND_USD_MONEY);
+
+      service.replayFullHistory(account, Stream.of(excludedTx, tx));
+
+      InOrder inOrder = inOrder(account);
+      inOrder.verify(account).beginReplay();
+      inOrder.verify(account).deposit(eq(ONE_THOUSAND_USD_MONEY), anyString());
+      inOrder.verify(account).endReplay();
+    }
+
     @ParameterizedTest
     @NullSource
     @EmptySource
@@ -756,4 +784,56 @@ class TransactionRecordingServiceImplTest {
       assertThat(tx.notes()).isEqualTo(NOTES);
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  @DisplayName("Partitioned Replay")
+  class PartitionedReplayTests {
+    @Test
+    @DisplayName("replayFullTransaction: large histories end in the same state as stepping through them")
+    void replayFullTransactionPartitionedMatchesSequential() {
+      Currency cad = Currency.CAD;
+      List<AssetSymbol> symbols = List.of(AAPL, new AssetSymbol("MSFT"), new AssetSymbol("SHOP"));
+      List<Transaction> history = new ArrayList<>();
+      for (int i = 0; i < TransactionRecordingServiceImpl.PARALLEL_REPLAY_THRESHOLD + 100; i++) {
+        AssetSymbol symbol = symbols.get(i % symbols.size());
+        Price price = Price.of(Integer.toString(50 + i % 7), cad);
+        boolean sell = (i / symbols.size()) % 4 == 3;
+        Quantity quantity = Quantity.of(sell ? 5 : 10);
+        Money gross = price.calculateValue(quantity);
+        history.add(Transaction.builder().transactionId(TransactionId.newId())
+            .accountId(AccountId.newId())
+            .transactionType(sell ? TransactionType.SELL : TransactionType.BUY)
+            .execution(new TradeExecution(symbol, quantity, price))
+            .cashDelta(sell ? gross : gross.negate())
+            .fees(List.of()).notes(NOTES).metadata(TransactionMetadata.manual(AssetType.STOCK))
+            .occurredAt(NOW.plusSeconds(i)).build());
+      }
+
+      TransactionRecordingServiceImpl realService = new TransactionRecordingServiceImpl(
+          ForkJoinPool.commonPool());
+      Account sequential = new Account(AccountId.newId(), "Sequential", AccountType.TFSA, cad,
+          PositionStrategy.ACB);
+      Account partitioned = new Account(sequential.getAccountId(), "Partitioned",
+          AccountType.TFSA, cad, PositionStrategy.ACB);
+      Money expectedCash = Money.zero(cad);
+      for (Transaction tx : history) {
+        realService.replayTransaction(sequential, tx);
+        expectedCash = expectedCash.add(tx.cashDelta());
+      }
+
+      realService.replayFullTransaction(partitioned, history);
+
+      assertThat(positionsOf(partitioned)).isEqualTo(positionsOf(sequential));
+      assertThat(partitioned.getNewRealizedGains()).isEqualTo(sequential.getNewRealizedGains());
+      assertThat(partitioned.getCashBalance().amount()).isEqualByComparingTo(
+          expectedCash.amount());
+      assertThat(partitioned.isActive()).isTrue();
+    }
+
+    private Map<AssetSymbol, Position> positionsOf(Account account) {
+      Map<AssetSymbol, Position> positions = new HashMap<>();
+      account.getPositionEntries().forEach(e -> positions.put(e.getKey(), e.getValue()));
+      return positions;
+    }
+  }
+}
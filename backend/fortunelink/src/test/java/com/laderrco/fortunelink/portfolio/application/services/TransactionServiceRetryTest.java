@@ -3,6 +3,7 @@ package com.laderrco.fortunelink.portfolio.application.services;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -20,7 +21,6 @@ import com.laderrco.fortunelink.portfolio.application.utils.annotations.Transact
 import com.laderrco.fortunelink.portfolio.application.validators.TransactionCommandValidator;
 import com.laderrco.fortunelink.portfolio.application.validators.ValidationResult;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
-import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
@@ -125,12 +125,12 @@ class TransactionServiceRetryTest {
 
     doThrow(new ObjectOptimisticLockingFailureException("Transaction",
         command.transactionId().toString())).when(transactionRepository)
-        .save(any(Transaction.class), eq(command.portfolioId()), any(UUID.class));
+        .saveExclusionState(any(Transaction.class));
 
     assertThrows(ConcurrentModificationException.class,
         () -> transactionService.excludeTransaction(command));
 
-    verify(transactionRepository, times(3)).save(any(), any(), any());
+    verify(transactionRepository, times(3)).saveExclusionState(any());
     verify(accountHealthService).markStale(command.accountId());
     verify(accountHealthService, times(1)).markStale(command.accountId());
   }
@@ -144,9 +144,9 @@ class TransactionServiceRetryTest {
     when(validator.validate(any(RecordPurchaseCommand.class))).thenReturn(
         ValidationResult.success());
 
-    Portfolio portfolio = buildFakePortfolioForPurchase(command);
-    when(portfolioLoader.loadUserPortfolio(command.portfolioId(), command.userId())).thenReturn(
-        portfolio);
+    Account account = buildFakeAccountForPurchase(command);
+    when(portfolioLoader.loadAccountSlice(eq(command.portfolioId()), eq(command.userId()),
+        eq(command.accountId()), any())).thenReturn(account);
 
     when(infoRepository.findBySymbol(any())).thenReturn(Optional.empty());
 
@@ -170,21 +170,21 @@ class TransactionServiceRetryTest {
 
     RecordSaleCommand command = new RecordSaleCommand(UUID.randomUUID(), PortfolioId.newId(),
         UserId.random(), AccountId.newId(), "AAPL", Quantity.of(5),
-        Price.of("150.00", Currency.CAD), List.of(), Instant.now(), "Sale Test");
+        Price.of("150.00", Currency.CAD), List.of(), Instant.now(), "Sale Test", List.of());
 
     when(validator.validate(any(RecordSaleCommand.class))).thenReturn(ValidationResult.success());
 
-    Portfolio portfolio = buildFakePortfolioForSale(command);
-    when(portfolioLoader.loadUserPortfolio(any(), any())).thenReturn(portfolio);
+    Account account = buildFakeAccountForSale(command);
+    when(portfolioLoader.loadAccountSlice(any(), any(), any(), any())).thenReturn(account);
 
-    when(transactionRecordingService.recordSell(any(), any(), any(), any(), any(), any(),
+    when(transactionRecordingService.recordSell(any(), any(), any(), any(), any(), any(), any(),
         any())).thenThrow(new ObjectOptimisticLockingFailureException("Portfolio", "test-id"));
 
     assertThrows(ConcurrentModificationException.class,
         () -> transactionService.recordSale(command));
 
     verify(transactionRecordingService, times(3)).recordSell(any(), any(), any(), any(), any(),
-        any(), any());
+        any(), any(), any());
     verify(accountHealthService, times(1)).markStale(command.accountId());
   }
 
@@ -197,33 +197,26 @@ class TransactionServiceRetryTest {
         List.of(), Instant.now(), "Test Note", false);
   }
 
-  private Portfolio buildFakePortfolioForPurchase(RecordPurchaseCommand command) {
-    Portfolio mockPortfolio = mock(Portfolio.class);
+  private Account buildFakeAccountForPurchase(RecordPurchaseCommand command) {
     Account mockAccount = mock(Account.class);
 
-    when(mockPortfolio.getPortfolioId()).thenReturn(command.portfolioId());
-    when(mockPortfolio.getUserId()).thenReturn(command.userId());
-    when(mockPortfolio.getAccount(command.accountId())).thenReturn(mockAccount);
-
     when(mockAccount.getAccountId()).thenReturn(command.accountId());
     when(mockAccount.getAccountCurrency()).thenReturn(Currency.CAD);
     when(mockAccount.isActive()).thenReturn(true);
     when(mockAccount.hasSufficientCash(any())).thenReturn(true);
 
-    return mockPortfolio;
+    return mockAccount;
   }
 
-  private Portfolio buildFakePortfolioForSale(RecordSaleCommand command) {
-    Portfolio mockPortfolio = mock(Portfolio.class);
+  private Account buildFakeAccountForSale(RecordSaleCommand command) {
     Account mockAccount = mock(Account.class);
 
-    when(mockPortfolio.getAccount(command.accountId())).thenReturn(mockAccount);
     when(mockAccount.getAccountCurrency()).thenReturn(Currency.CAD);
     when(mockAccount.isActive()).thenReturn(true);
 
     when(mockAccount.hasPosition(any(AssetSymbol.class))).thenReturn(true);
 
-    return mockPortfolio;
+    return mockAccount;
   }
 
 
@@ -281,6 +274,11 @@ class TransactionServiceRetryTest {
       return mock(TransactionRecordingService.class);
     }
 
+    @Bean
+    public SuperficialLossService superficialLossService() {
+      return mock(SuperficialLossService.class);
+    }
+
     @Bean
     public CacheManager cacheManager() {
       return mock(CacheManager.class);
@@ -288,16 +286,18 @@ class TransactionServiceRetryTest {
 
     @Bean
     public IdempotencyCache ic() {
-      return mock(IdempotencyCache.class);
+      IdempotencyCache cache = mock(IdempotencyCache.class);
+      when(cache.tryClaim(anyString())).thenReturn(true);
+      return cache;
     }
 
     @Bean
     public TransactionService transactionService(PortfolioRepository pr, AccountHealthService ahs,
         TransactionRepository tr, MarketAssetInfoRepository ir, TransactionViewMapper tvm,
         TransactionCommandValidator v, ApplicationEventPublisher ep, PortfolioLoader pl,
-        ExchangeRateService ers, TransactionRecordingService trs, CacheManager cm,
-        IdempotencyCache ic) {
-      return new TransactionService(pr, ahs, tr, ir, tvm, v, ep, pl, ers, trs, cm, ic);
+        ExchangeRateService ers, TransactionRecordingService trs, SuperficialLossService sls,
+        CacheManager cm, IdempotencyCache ic) {
+      return new TransactionService(pr, ahs, tr, ir, tvm, v, ep, pl, ers, trs, sls, cm, ic);
     }
   }
 }
\ No newline at end of file
@@ -81,6 +81,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -138,6 +139,8 @@ class TransactionServiceTest {
   @Mock
   private TransactionRecordingService transactionRecordingService;
   @Mock
+  private SuperficialLossService superficialLossService;
+  @Mock
   private CacheManager cacheManager;
   @Mock
   private IdempotencyCache idempotencyCache;
@@ -161,8 +164,8 @@ class TransactionServiceTest {
   @BeforeEach
   void setUp() {
     lenient().when(portfolio.getPortfolioId()).thenReturn(PORTFOLIO_ID);
-    lenient().when(portfolioLoader.loadUserPortfolio(PORTFOLIO_ID, USER_ID)).thenReturn(portfolio);
-    lenient().when(portfolio.getAccount(ACCOUNT_ID)).thenReturn(account);
+    lenient().when(portfolioLoader.loadAccountSlice(eq(PORTFOLIO_ID), eq(USER_ID), eq(ACCOUNT_ID),
+        any())).thenReturn(account);
     lenient().when(account.getAccountCurrency()).thenReturn(USD);
 
     Logger logger = (Logger) LoggerFactory.getLogger(TransactionService.class);
@@ -227,7 +230,8 @@ class TransactionServiceTest {
       TransactionView result = service.recordPurchase(command);
 
       assertThat(result).isEqualTo(transactionView);
-      verify(portfolioRepository).save(portfolio);
+      verify(portfolioRepository).saveAccountSlice(account,
+          Set.of(new AssetSymbol(command.symbol())));
       verify(transactionRepository).save(transaction, portfolio.getPortfolioId(), IDEMPOTENCY_KEY);
     }
 
@@ -251,7 +255,8 @@ class TransactionServiceTest {
 
       assertThat(result).isEqualTo(transactionView);
       assertThat(command.totalFees(CAD)).isEqualTo(Money.zero(CAD));
-      verify(portfolioRepository).save(portfolio);
+      verify(portfolioRepository).saveAccountSlice(account,
+          Set.of(new AssetSymbol(command.symbol())));
       verify(transactionRepository).save(transaction, portfolio.getPortfolioId(), IDEMPOTENCY_KEY);
       verify(exchangeRateService).convert(AMOUNT, USD);
     }
@@ -309,26 +314,30 @@ class TransactionServiceTest {
     @DisplayName("recordSale: success when asset exists")
     void recordSaleSuccess() {
       RecordSaleCommand command = new RecordSaleCommand(IDEMPOTENCY_KEY, PORTFOLIO_ID, USER_ID,
-          ACCOUNT_ID, SYMBOL_STR, Quantity.of(0), new Price(AMOUNT), List.of(), NOW, NOTES);
+          ACCOUNT_ID, SYMBOL_STR, Quantity.of(0), new Price(AMOUNT), List.of(), NOW, NOTES,
+          List.of());
 
       when(account.hasPosition(any())).thenReturn(true);
       when(transactionRecordingService.recordSell(any(), any(), any(), any(), any(), any(),
-          any())).thenReturn(transaction);
+          any(), any())).thenReturn(transaction);
 
       when(transactionViewMapper.toTransactionView(transaction)).thenReturn(transactionView);
       TransactionView result = service.recordSale(command);
 
       assertThat(result).isEqualTo(transactionView);
       assertThat(command.totalFees(USD)).isEqualTo(Money.zero(USD));
-      verify(portfolioRepository).save(portfolio);
+      verify(portfolioRepository).saveAccountSlice(account,
+          Set.of(new AssetSymbol(command.symbol())));
       verify(transactionRepository).save(transaction, portfolio.getPortfolioId(), IDEMPOTENCY_KEY);
+      verify(superficialLossService).requestRecalculations(USER_ID, transaction);
     }
 
     @Test
     @DisplayName("recordSale: throw InsufficientQuantityException when no position exists")
     void recordSaleThrowsWhenNoPosition() {
       RecordSaleCommand command = new RecordSaleCommand(IDEMPOTENCY_KEY, PORTFOLIO_ID, USER_ID,
-          ACCOUNT_ID, SYMBOL_STR, Quantity.of(0), new Price(AMOUNT), List.of(), NOW, NOTES);
+          ACCOUNT_ID, SYMBOL_STR, Quantity.of(0), new Price(AMOUNT), List.of(), NOW, NOTES,
+          List.of());
       when(account.hasPosition(any())).thenReturn(false);
 
       assertThatThrownBy(() -> service.recordSale(command)).isInstanceOf(
@@ -398,6 +407,8 @@ class TransactionServiceTest {
       service.recordDeposit(cmd);
 
       verify(transactionRecordingService).recordDeposit(any(), any(), any(), any());
+      verify(portfolioLoader).loadAccountSlice(PORTFOLIO_ID, USER_ID, ACCOUNT_ID, Set.of());
+      verify(portfolioRepository).saveAccountSlice(account, Set.of());
       verify(transactionRepository).save(transaction, portfolio.getPortfolioId(), IDEMPOTENCY_KEY);
     }
 
@@ -647,7 +658,7 @@ class TransactionServiceTest {
 
       TransactionView result = service.restoreTransaction(command);
 
-      verify(transactionRepository).save(restored, PORTFOLIO_ID, IDEMPOTENCY_KEY);
+      verify(transactionRepository).saveExclusionState(restored);
       verify(eventPublisher).publishEvent(any(PositionRecalculationRequestedEvent.class));
       verify(transactionViewMapper).toTransactionView(restored);
       assertNotNull(result);
@@ -673,7 +684,7 @@ class TransactionServiceTest {
 
       TransactionView result = service.restoreTransaction(command);
 
-      verify(transactionRepository).save(restored, PORTFOLIO_ID, IDEMPOTENCY_KEY);
+      verify(transactionRepository).saveExclusionState(restored);
       verify(transactionViewMapper).toTransactionView(restored);
       assertNotNull(result);
     }
@@ -695,7 +706,7 @@ class TransactionServiceTest {
         service.restoreTransaction(command);
       });
 
-      verify(transactionRepository, never()).save(any(), any(), any());
+      verify(transactionRepository, never()).saveExclusionState(any());
       verify(eventPublisher, never()).publishEvent(any());
     }
 
@@ -788,6 +799,7 @@ class TransactionServiceTest {
       service.excludeTransaction(cmd);
 
       verify(eventPublisher).publishEvent(any(PositionRecalculationRequestedEvent.class));
+      verify(superficialLossService).requestRecalculations(USER_ID, transaction);
     }
   }
 
@@ -811,7 +823,7 @@ class TransactionServiceTest {
       assertThat(result).isEqualTo(transactionView);
       verify(transactionRecordingService, never()).recordBuy(any(), any(), any(), any(), any(),
           any(), any(), any(), anyBoolean());
-      verify(portfolioRepository, never()).save(any());
+      verify(portfolioRepository, never()).saveAccountSlice(any(), any());
     }
 
     @Test
@@ -837,7 +849,8 @@ class TransactionServiceTest {
       verify(transactionRepository).findByIdempotencyKeyAndPortfolioId(key, command.portfolioId());
       verify(transactionRecordingService).recordBuy(any(), any(), any(), any(), any(), any(), any(),
           any(), anyBoolean());
-      verify(portfolioRepository).save(portfolio);
+      verify(portfolioRepository).saveAccountSlice(account,
+          Set.of(new AssetSymbol(command.symbol())));
     }
 
     @Test
@@ -854,7 +867,7 @@ class TransactionServiceTest {
       service.recordPurchase(command);
 
       verify(transactionRepository, never()).findByIdempotencyKey(null);
-      verify(portfolioRepository).save(any());
+      verify(portfolioRepository).saveAccountSlice(any(), any());
     }
 
     @Test
@@ -867,7 +880,7 @@ class TransactionServiceTest {
           NOTES, false);
       TransactionView mockView = mock(TransactionView.class);
 
-      when(idempotencyCache.get(key.toString())).thenReturn(mockView);
+      when(idempotencyCache.get(IdempotencyCache.keyFor(PORTFOLIO_ID, key))).thenReturn(mockView);
 
       TransactionView result = service.recordPurchase(command);
 
@@ -887,7 +900,7 @@ class TransactionServiceTest {
       Transaction existingTx = mock(Transaction.class);
       TransactionView mappedView = mock(TransactionView.class);
 
-      when(idempotencyCache.get(key.toString())).thenReturn(null);
+      when(idempotencyCache.get(IdempotencyCache.keyFor(PORTFOLIO_ID, key))).thenReturn(null);
       when(transactionRepository.findByIdempotencyKeyAndPortfolioId(key, PORTFOLIO_ID)).thenReturn(
           Optional.of(existingTx));
       when(transactionViewMapper.toTransactionView(existingTx)).thenReturn(mappedView);
@@ -895,7 +908,26 @@ class TransactionServiceTest {
       TransactionView result = service.recordPurchase(command);
 
       assertThat(result).isEqualTo(mappedView);
-      verify(idempotencyCache).put(key.toString(), mappedView);
+      verify(idempotencyCache).put(IdempotencyCache.keyFor(PORTFOLIO_ID, key), mappedView);
+    }
+
+    @Test
+    @DisplayName("executeWithIdempotency: releases the claim when the business logic fails")
+    void shouldReleaseClaimOnFailure() {
+      UUID key = UUID.randomUUID();
+      RecordPurchaseCommand command = new RecordPurchaseCommand(key, PORTFOLIO_ID, USER_ID,
+          ACCOUNT_ID, SYMBOL_STR, ASSET_TYPE, Quantity.of(10), new Price(AMOUNT), List.of(), NOW,
+          NOTES, false);
+
+      when(transactionRepository.findByIdempotencyKeyAndPortfolioId(key, PORTFOLIO_ID)).thenReturn(
+          Optional.empty());
+      when(transactionRecordingService.recordBuy(any(), any(), any(), any(), any(), any(), any(),
+          any(), anyBoolean())).thenThrow(new InvalidTransactionException("boom"));
+
+      assertThrows(InvalidTransactionException.class, () -> service.recordPurchase(command));
+
+      verify(idempotencyCache).release(IdempotencyCache.keyFor(PORTFOLIO_ID, key));
+      verify(idempotencyCache, never()).put(eq(IdempotencyCache.keyFor(PORTFOLIO_ID, key)), any());
     }
 
     @Test
@@ -915,7 +947,7 @@ class TransactionServiceTest {
           PORTFOLIO_ID, USER_ID, ACCOUNT_ID)).thenReturn(Optional.of(existingTx));
 
       doThrow(new DataIntegrityViolationException("Duplicate key")).when(transactionRepository)
-          .save(any(), any(), eq(key));
+          .saveExclusionState(any());
 
       TransactionView winningView = mock(TransactionView.class);
       when(transactionViewMapper.toTransactionView(winningTx)).thenReturn(winningView);
@@ -976,7 +1008,7 @@ class TransactionServiceTest {
           PORTFOLIO_ID, USER_ID, ACCOUNT_ID)).thenReturn(Optional.of(mockTx));
 
       doThrow(new DataIntegrityViolationException("Conflict occurred")).when(transactionRepository)
-          .save(any(), any(), eq(key));
+          .saveExclusionState(any());
 
       assertThatThrownBy(() -> service.excludeTransaction(command)).isInstanceOf(
           DataIntegrityViolationException.class).hasMessageContaining("Conflict occurred");
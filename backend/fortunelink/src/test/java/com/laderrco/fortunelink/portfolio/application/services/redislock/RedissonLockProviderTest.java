@@ -0,0 +1,74 @@
+package com.laderrco.fortunelink.portfolio.application.services.redislock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedissonLockProvider Unit Tests")
+class RedissonLockProviderTest {
+  @Mock
+  private RedissonClient redisson;
+  @Mock
+  private RLock rLock;
+
+  private SimpleMeterRegistry meterRegistry;
+  private RedissonLockProvider provider;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    provider = new RedissonLockProvider(redisson, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("should time the wait and the hold under the lock family")
+  void shouldTimeWaitAndHold() throws InterruptedException {
+    when(redisson.getLock("lock:account:42")).thenReturn(rLock);
+    when(rLock.tryLock(1, 30, TimeUnit.SECONDS)).thenReturn(true);
+
+    DistributedLock lock = provider.getLock("lock:account:42");
+    assertThat(lock.tryLock(1, 30, TimeUnit.SECONDS)).isTrue();
+    lock.unlock();
+
+    verify(rLock).unlock();
+    assertThat(meterRegistry.get("fortunelink.lock.wait").tag("lock", "account")
+        .tag("acquired", "true").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("fortunelink.lock.held").tag("lock", "account").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should record a failed acquisition without a hold")
+  void shouldRecordFailedAcquisition() throws InterruptedException {
+    when(redisson.getLock("lock:stale-account-sweeper")).thenReturn(rLock);
+    when(rLock.tryLock(0, -1, TimeUnit.SECONDS)).thenReturn(false);
+
+    assertThat(provider.getLock("lock:stale-account-sweeper").tryLock(0, -1, TimeUnit.SECONDS))
+        .isFalse();
+
+    assertThat(meterRegistry.get("fortunelink.lock.wait").tag("lock", "stale-account-sweeper")
+        .tag("acquired", "false").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.find("fortunelink.lock.held").timer()).isNull();
+  }
+
+  @Test
+  @DisplayName("family: should drop the lock prefix and any per-entity suffix")
+  void familyShouldCollapseKeys() {
+    assertThat(RedissonLockProvider.family("lock:account:42")).isEqualTo("account");
+    assertThat(RedissonLockProvider.family("lock:stale-account-sweeper"))
+        .isEqualTo("stale-account-sweeper");
+    assertThat(RedissonLockProvider.family("recalc")).isEqualTo("recalc");
+  }
+}
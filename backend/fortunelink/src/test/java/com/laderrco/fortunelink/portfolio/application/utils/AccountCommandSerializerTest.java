@@ -0,0 +1,183 @@
+package com.laderrco.fortunelink.portfolio.application.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class AccountCommandSerializerTest {
+  private final AccountCommandSerializer serializer = new AccountCommandSerializer(8, 5);
+
+  @AfterEach
+  void tearDown() {
+    serializer.shutdown();
+  }
+
+  @Test
+  @DisplayName("submit: returns the command result on a virtual thread")
+  void submitReturnsResultOnVirtualThread() {
+    boolean virtual = serializer.submit(AccountId.newId(), () -> Thread.currentThread().isVirtual());
+
+    assertThat(virtual).isTrue();
+  }
+
+  @Test
+  @DisplayName("submit: rethrows the command's runtime exception unchanged")
+  void submitRethrowsCommandException() {
+    IllegalStateException failure = new IllegalStateException("boom");
+
+    IllegalStateException thrown = assertThrows(IllegalStateException.class,
+        () -> serializer.submit(AccountId.newId(), () -> {
+          throw failure;
+        }));
+
+    assertSame(failure, thrown);
+  }
+
+  @Test
+  @DisplayName("submit: commands for the same account never overlap")
+  void submitSerializesSameAccount() {
+    AccountId accountId = AccountId.newId();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    List<CompletableFuture<Integer>> calls = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      calls.add(CompletableFuture.supplyAsync(() -> serializer.submit(accountId, () -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        Thread.yield();
+        return running.decrementAndGet();
+      })));
+    }
+    calls.forEach(CompletableFuture::join);
+
+    assertEquals(1, maxRunning.get());
+  }
+
+  @Test
+  @DisplayName("submit: accounts on different stripes run in parallel")
+  void submitRunsDifferentStripesInParallel() throws Exception {
+    AccountId first = AccountId.newId();
+    AccountId second = AccountId.newId();
+    while (serializer.stripeOf(second) == serializer.stripeOf(first)) {
+      second = AccountId.newId();
+    }
+
+    CountDownLatch firstStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> blocked = CompletableFuture.runAsync(
+        () -> serializer.submit(first, () -> {
+          firstStarted.countDown();
+          await(release);
+          return null;
+        }));
+    assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    AccountId other = second;
+    String result = CompletableFuture.supplyAsync(() -> serializer.submit(other, () -> "done"))
+        .get(5, TimeUnit.SECONDS);
+
+    assertEquals("done", result);
+    release.countDown();
+    blocked.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("submit: nested submission runs inline instead of deadlocking")
+  void submitNestedRunsInline() {
+    AccountId accountId = AccountId.newId();
+
+    String result = serializer.submit(accountId,
+        () -> serializer.submit(accountId, () -> "nested"));
+
+    assertEquals("nested", result);
+  }
+
+  @Test
+  @DisplayName("submit: a caller with an open transaction never queues behind the stripe")
+  void submitInTransactionBypassesMailbox() throws Exception {
+    AccountId accountId = AccountId.newId();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    // Stands in for a manual command blocked on the row lock the import's transaction holds.
+    CompletableFuture<Void> blocked = CompletableFuture.runAsync(
+        () -> serializer.submit(accountId, () -> {
+          started.countDown();
+          await(release);
+          return null;
+        }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    Thread caller = Thread.currentThread();
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    try {
+      assertThat(serializer.submit(accountId, () -> Thread.currentThread() == caller)).isTrue();
+    } finally {
+      TransactionSynchronizationManager.setActualTransactionActive(false);
+      release.countDown();
+    }
+    blocked.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("submit: gives up after the wait timeout and drops the queued command")
+  void submitTimesOutAndDropsQueuedCommand() throws Exception {
+    AccountCommandSerializer impatient = new AccountCommandSerializer(1, 1);
+    AccountId accountId = AccountId.newId();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger ran = new AtomicInteger();
+    try {
+      CompletableFuture<Void> blocked = CompletableFuture.runAsync(
+          () -> impatient.submit(accountId, () -> {
+            started.countDown();
+            await(release);
+            return null;
+          }));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      assertThatThrownBy(() -> impatient.submit(accountId, ran::incrementAndGet)).isInstanceOf(
+          IllegalStateException.class).hasMessageContaining("busy");
+
+      // The first caller gave up waiting too, but its running command still completes.
+      assertThatThrownBy(() -> blocked.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(
+          IllegalStateException.class);
+      release.countDown();
+      assertThat(impatient.submit(accountId, () -> "next")).isEqualTo("next");
+      assertThat(ran).hasValue(0);
+    } finally {
+      release.countDown();
+      impatient.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("stripeOf: same account always maps to the same stripe")
+  void stripeOfIsStable() {
+    AccountId accountId = AccountId.newId();
+
+    assertEquals(serializer.stripeOf(accountId), serializer.stripeOf(accountId));
+    assertThat(serializer.stripeOf(accountId)).isBetween(0, 7);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -5,18 +5,24 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.laderrco.fortunelink.portfolio.application.mappers.PortfolioViewMapper;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository.AccountRow;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountReadModelRepository.PositionRow;
 import com.laderrco.fortunelink.portfolio.application.views.AccountView;
 import com.laderrco.fortunelink.portfolio.application.views.PositionView;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountLifecycleState;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.MarketAssetQuote;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
@@ -26,16 +32,14 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.po
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
-import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
 import com.laderrco.fortunelink.portfolio.domain.services.ExchangeRateService;
 import com.laderrco.fortunelink.portfolio.domain.services.PortfolioValuationService;
-import com.laderrco.fortunelink.portfolio.infrastructure.persistence.projections.AccountSummaryProjection;
 import com.laderrco.fortunelink.shared.enums.Precision;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -54,8 +58,6 @@ class AccountViewBuilderTest {
   @Mock
   private PortfolioViewMapper viewMapper;
   @Mock
-  private TransactionRepository transactionRepository;
-  @Mock
   private ExchangeRateService exchangeRateService;
 
   @InjectMocks
@@ -78,8 +80,6 @@ class AccountViewBuilderTest {
     lenient().when(account.getAccountCurrency()).thenReturn(USD);
     lenient().when(account.getCashBalance()).thenReturn(zeroMoney);
     lenient().when(account.getPositionEntries()).thenReturn(positions.entrySet());
-    lenient().when(transactionRepository.countExcludedPositionAffecting(any())).thenReturn(0);
-
   }
 
   @Test
@@ -97,7 +97,7 @@ class AccountViewBuilderTest {
     when(viewMapper.toAccountView(eq(account), any(), any(), any(), anyBoolean(),
         anyInt())).thenReturn(expectedView);
 
-    AccountView result = accountViewBuilder.build(account, quotes, fees);
+    AccountView result = accountViewBuilder.build(account, quotes, fees, 0);
 
     assertEquals(expectedView, result);
     verify(viewMapper).toPositionView(any(), eq(appleQuote), eq(fee));
@@ -108,12 +108,11 @@ class AccountViewBuilderTest {
   void buildshouldUseZeroFeesWhenSymbolMissingInFeeMap() {
     Map<AssetSymbol, MarketAssetQuote> quotes = Map.of(appleSymbol, appleQuote);
     Map<AssetSymbol, Money> emptyFees = Collections.emptyMap();
-    lenient().when(transactionRepository.countExcludedPositionAffecting(any())).thenReturn(2);
 
-    accountViewBuilder.build(account, quotes, emptyFees);
+    accountViewBuilder.build(account, quotes, emptyFees, 2);
 
     verify(viewMapper).toPositionView(any(), eq(appleQuote), eq(zeroMoney));
-    verify(transactionRepository).countExcludedPositionAffecting(any());
+    verify(viewMapper).toAccountView(eq(account), any(), any(), any(), eq(true), eq(2));
   }
 
   @Test
@@ -135,34 +134,36 @@ class AccountViewBuilderTest {
   }
 
   @Nested
-  @DisplayName("buildFromProjection")
-  class BuildFromProjectionTests {
-    private final UUID accountUuid = UUID.randomUUID();
+  @DisplayName("buildSummary from read model")
+  class BuildSummaryFromRowTests {
+    private final AccountId accountId = AccountId.newId();
     private final String accountName = "TFSA Trading";
-    private final String currencyCode = "USD";
     private final BigDecimal cashBalance = new BigDecimal("1500.50");
     private final Instant createdDate = Instant.now();
 
+    private AccountRow row(AccountType type, Currency currency, BigDecimal cash,
+        PositionRow... positions) {
+      return new AccountRow(accountId, accountName, type, AccountLifecycleState.ACTIVE,
+          PositionStrategy.ACB, currency, new Money(cash, currency), 0, createdDate,
+          List.of(positions));
+    }
+
+    private PositionRow position(AssetSymbol symbol, Currency currency, int quantity) {
+      return new PositionRow(new AcbPosition(symbol, AssetType.STOCK, currency,
+          Quantity.of(quantity), Money.zero(currency), createdDate, createdDate),
+          Money.zero(currency));
+    }
+
     @Test
-    @DisplayName("buildFromProjection: successfully creates AccountView with empty positions")
-    void buildsViewFromProjectionSuccessfully() {
-
-      AccountSummaryProjection projection = mock(AccountSummaryProjection.class);
-      when(projection.getId()).thenReturn(accountUuid);
-      when(projection.getName()).thenReturn(accountName);
-      when(projection.getAccountType()).thenReturn("CHEQUING");
-      when(projection.getBaseCurrencyCode()).thenReturn(currencyCode);
-      when(projection.getCashBalanceAmount()).thenReturn(cashBalance);
-      when(projection.getLifecycleState()).thenReturn(AccountLifecycleState.ACTIVE.name());
-      when(projection.getCreatedDate()).thenReturn(createdDate);
-
-      AccountView result = accountViewBuilder.buildFromProjection(projection, Map.of(), Map.of(),
-          Map.of());
+    @DisplayName("buildSummary: successfully creates AccountView with empty positions")
+    void buildsViewFromRowSuccessfully() {
+      AccountView result = accountViewBuilder.buildSummary(
+          row(AccountType.CHEQUING, USD, cashBalance), Map.of());
 
-      assertThat(result.accountId()).isEqualTo(AccountId.fromString(accountUuid.toString()));
+      assertThat(result.accountId()).isEqualTo(accountId);
       assertThat(result.name()).isEqualTo(accountName);
       assertThat(result.type()).isEqualTo(AccountType.CHEQUING);
-      assertThat(result.cashBalance().currency().getCode()).isEqualTo(currencyCode);
+      assertThat(result.cashBalance().currency()).isEqualTo(USD);
       assertThat(result.cashBalance().amount()).isEqualTo(
           cashBalance.setScale(Precision.MONEY.getDecimalPlaces()));
 
@@ -173,56 +174,30 @@ class AccountViewBuilderTest {
     }
 
     @Test
-    @DisplayName("buildFromProjection: correctly maps complex account types")
-    void mapsDifferentAccountTypesCorrectly() {
+    @DisplayName("buildSummary: lists no positions and no imbalance even when the row has both")
+    void omitsPositionsAndImbalanceOnListView() {
+      Currency cad = Currency.CAD;
+      AccountRow withDetail = new AccountRow(accountId, accountName, AccountType.RRSP,
+          AccountLifecycleState.ACTIVE, PositionStrategy.ACB, cad, Money.of(10, "CAD"), 3,
+          createdDate, List.of(position(appleSymbol, cad, 1)));
 
-      AccountSummaryProjection projection = mock(AccountSummaryProjection.class);
-      when(projection.getId()).thenReturn(accountUuid);
-      when(projection.getAccountType()).thenReturn("RRSP");
-      when(projection.getBaseCurrencyCode()).thenReturn("CAD");
-      when(projection.getLifecycleState()).thenReturn(AccountLifecycleState.ACTIVE.name());
-      when(projection.getCashBalanceAmount()).thenReturn(BigDecimal.ZERO);
-
-      AccountView result = accountViewBuilder.buildFromProjection(projection, Map.of(), Map.of(),
-          Map.of());
+      AccountView result = accountViewBuilder.buildSummary(withDetail, Map.of());
 
       assertThat(result.type()).isEqualTo(AccountType.RRSP);
-    }
-
-    @Test
-    @DisplayName("buildFromProjection: ignores quotes and fees as positions are currently empty")
-    void ignoresEnrichmentDataForProjection() {
-      AccountSummaryProjection projection = mock(AccountSummaryProjection.class);
-      when(projection.getId()).thenReturn(accountUuid);
-      when(projection.getAccountType()).thenReturn("CHEQUING");
-      when(projection.getBaseCurrencyCode()).thenReturn("CAD");
-      when(projection.getCashBalanceAmount()).thenReturn(BigDecimal.TEN);
-      when(projection.getLifecycleState()).thenReturn(AccountLifecycleState.ACTIVE.name());
-      AssetSymbol symbol = new AssetSymbol("AAPL");
-      Map<AssetSymbol, MarketAssetQuote> quotes = Map.of(symbol, mock(MarketAssetQuote.class));
-      Map<AssetSymbol, Money> fees = Map.of(symbol, Money.of(5, "CAD"));
-
-      AccountView result = accountViewBuilder.buildFromProjection(projection, Map.of(), quotes,
-          fees);
       assertThat(result.assets()).isEmpty();
+      assertThat(result.hasCashImbalance()).isFalse();
       assertThat(result.totalValue().amount()).isEqualTo(
           BigDecimal.TEN.setScale(Precision.MONEY.getDecimalPlaces()));
     }
 
     @Test
-    @DisplayName("buildFromProjection: calculates market value correctly across different quote scenarios")
-    void buildFromProjectionCalculatesMarketValue() {
+    @DisplayName("buildSummary: calculates market value correctly across different quote scenarios")
+    void buildSummaryCalculatesMarketValue() {
       Currency cad = Currency.of("CAD");
       AssetSymbol apple = new AssetSymbol("AAPL");
       AssetSymbol google = new AssetSymbol("GOOGL");
       AssetSymbol tesla = new AssetSymbol("TSLA");
 
-      AccountSummaryProjection projection = mock(AccountSummaryProjection.class);
-      when(projection.getBaseCurrencyCode()).thenReturn("CAD");
-      when(projection.getCashBalanceAmount()).thenReturn(new BigDecimal("100.00"));
-      when(projection.getAccountType()).thenReturn("FHSA");
-      when(projection.getLifecycleState()).thenReturn("ACTIVE");
-      when(projection.getId()).thenReturn(accountUuid);
       when(exchangeRateService.convert(any(Money.class), any(Currency.class))).thenAnswer(
           invocation -> {
             Money originalMoney = invocation.getArgument(0);
@@ -231,8 +206,8 @@ class AccountViewBuilderTest {
             return new Money(originalMoney.amount(), targetCurrency);
           });
 
-      Map<AssetSymbol, Quantity> quantities = Map.of(apple, Quantity.of(10), google, Quantity.of(5),
-          tesla, Quantity.of(2));
+      AccountRow row = row(AccountType.FHSA, cad, new BigDecimal("100.00"),
+          position(apple, cad, 10), position(google, cad, 5), position(tesla, cad, 2));
 
       MarketAssetQuote appleQuote = mock(MarketAssetQuote.class);
       Price applePrice = new Price(new Money(new BigDecimal("150.00"), cad));
@@ -244,8 +219,7 @@ class AccountViewBuilderTest {
 
       Map<AssetSymbol, MarketAssetQuote> allQuotes = Map.of(apple, appleQuote, tesla, teslaQuote);
 
-      AccountView result = accountViewBuilder.buildFromProjection(projection, quantities, allQuotes,
-          Map.of());
+      AccountView result = accountViewBuilder.buildSummary(row, allQuotes);
 
       BigDecimal expectedTotal = new BigDecimal("1600.00");
       assertEquals(0, expectedTotal.compareTo(result.totalValue().amount()),
@@ -254,4 +228,46 @@ class AccountViewBuilderTest {
       assertEquals(0, new BigDecimal("100.00").compareTo(result.cashBalance().amount()));
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  @DisplayName("build from read model")
+  class BuildFromRowTests {
+    private final AccountId accountId = AccountId.newId();
+
+    private AccountRow row(AccountLifecycleState state, int excludedCount) {
+      PositionRow position = new PositionRow(new AcbPosition(appleSymbol, AssetType.STOCK, USD,
+          Quantity.of(2), Money.of(300, USD), Instant.now(), Instant.now()), Money.of(10, USD));
+      return new AccountRow(accountId, "Margin", AccountType.MARGIN, state, PositionStrategy.ACB,
+          USD, Money.of(50, USD), excludedCount, Instant.now(), List.of(position));
+    }
+
+    @Test
+    @DisplayName("build: maps positions with stored fees and reports excluded transactions")
+    void buildMapsPositionsAndImbalanceFromRow() {
+      Map<AssetSymbol, MarketAssetQuote> quotes = Map.of(appleSymbol, appleQuote);
+      PositionView positionView = mock(PositionView.class);
+      when(viewMapper.toPositionView(any(), eq(appleQuote), eq(Money.of(10, USD)),
+          eq("ACB"))).thenReturn(positionView);
+      when(valuationService.calculatePositionsValue(anyList(), eq(USD), eq(quotes))).thenReturn(
+          Money.of(400, USD));
+
+      AccountView result = accountViewBuilder.build(row(AccountLifecycleState.ACTIVE, 2), quotes);
+
+      assertThat(result.assets()).containsExactly(positionView);
+      assertThat(result.totalValue()).isEqualTo(Money.of(450, USD));
+      assertThat(result.hasCashImbalance()).isTrue();
+      assertThat(result.excludedTransactionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("build: values a replaying account at zero without pricing it")
+    void buildValuesInactiveAccountAtZero() {
+      AccountView result = accountViewBuilder.build(row(AccountLifecycleState.REPLAYING, 0),
+          Map.of());
+
+      assertThat(result.totalValue()).isEqualTo(Money.zero(USD));
+      assertThat(result.hasCashImbalance()).isFalse();
+      verifyNoInteractions(valuationService);
+    }
+  }
+}
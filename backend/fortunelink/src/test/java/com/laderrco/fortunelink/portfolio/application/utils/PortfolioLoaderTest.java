@@ -9,13 +9,16 @@ import static org.mockito.Mockito.when;
 
 import com.laderrco.fortunelink.portfolio.application.exceptions.PortfolioNotFoundException;
 import com.laderrco.fortunelink.portfolio.domain.exceptions.AccountNotFoundException;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import com.laderrco.fortunelink.portfolio.domain.repositories.PortfolioRepository;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -80,6 +83,34 @@ class PortfolioLoaderTest {
     }
   }
 
+  @Nested
+  @DisplayName("loadAccountSlice: Single Account Loading")
+  class LoadAccountSliceTests {
+    private final Set<AssetSymbol> symbols = Set.of(new AssetSymbol("AAPL"));
+
+    @Test
+    @DisplayName("loadAccountSlice: should return account slice when ownership matches")
+    void loadAccountSliceShouldReturnAccount() {
+      Account account = mock(Account.class);
+      when(portfolioRepository.findAccountSlice(PID, UID, AID, symbols)).thenReturn(
+          Optional.of(account));
+
+      Account result = portfolioLoader.loadAccountSlice(PID, UID, AID, symbols);
+
+      assertEquals(account, result);
+    }
+
+    @Test
+    @DisplayName("loadAccountSlice: should throw PortfolioNotFoundException when slice is missing")
+    void loadAccountSliceShouldThrowWhenMissing() {
+      when(portfolioRepository.findAccountSlice(PID, UID, AID, symbols)).thenReturn(
+          Optional.empty());
+
+      assertThrows(PortfolioNotFoundException.class,
+          () -> portfolioLoader.loadAccountSlice(PID, UID, AID, symbols));
+    }
+  }
+
   @Nested
   @DisplayName("loadAllUserPortfolios: Bulk Loading")
   class LoadAllPortfoliosTests {
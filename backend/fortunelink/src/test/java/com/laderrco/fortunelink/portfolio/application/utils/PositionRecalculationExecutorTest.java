@@ -1,12 +1,12 @@
 package com.laderrco.fortunelink.portfolio.application.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -14,20 +14,27 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.laderrco.fortunelink.portfolio.application.services.AccountHealthService;
+import com.laderrco.fortunelink.portfolio.application.services.SuperficialLossService;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.PositionCheckpoint;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import com.laderrco.fortunelink.portfolio.domain.repositories.PortfolioRepository;
+import com.laderrco.fortunelink.portfolio.domain.repositories.PositionCheckpointRepository;
 import com.laderrco.fortunelink.portfolio.domain.repositories.TransactionRepository;
 import com.laderrco.fortunelink.portfolio.domain.services.TransactionRecordingService;
+import com.laderrco.fortunelink.portfolio.domain.services.superficialloss.SuperficialLossEngine;
 import java.time.Instant;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -43,6 +50,7 @@ class PositionRecalculationExecutorTest {
   private static final PortfolioId P_ID = PortfolioId.newId();
   private static final UserId U_ID = UserId.random();
   private static final AccountId A_ID = AccountId.newId();
+  private static final SuperficialLossEngine ENGINE = SuperficialLossEngine.disabled();
   private static final AssetSymbol SYMBOL = new AssetSymbol("AAPL");
 
   @Mock
@@ -55,6 +63,10 @@ class PositionRecalculationExecutorTest {
   private AccountHealthService accountHealthService;
   @Mock
   private PortfolioLoader portfolioLoader;
+  @Mock
+  private PositionCheckpointRepository checkpointRepository;
+  @Mock
+  private SuperficialLossService superficialLossService;
 
   @Mock
   private Portfolio portfolio;
@@ -72,6 +84,7 @@ class PositionRecalculationExecutorTest {
   void setUp() {
     when(portfolioLoader.loadUserPortfolio(P_ID, U_ID)).thenReturn(portfolio);
     when(portfolio.getAccount(A_ID)).thenReturn(account);
+    lenient().when(superficialLossService.engineFor(U_ID, account)).thenReturn(ENGINE);
   }
 
   @Nested
@@ -81,15 +94,14 @@ class PositionRecalculationExecutorTest {
     @DisplayName("scheduleRecalculation: should replay only non-excluded transactions that affect holdings")
     void scheduleRecalculation_shouldFilterAndReplayCorrectTransactions() {
 
-      when(transaction.isExcluded()).thenReturn(false);
       when(transaction.transactionType()).thenReturn(txType);
       when(txType.affectsHoldings()).thenReturn(true);
-      when(transactionRepository.findByAccountIdAndSymbol(A_ID, SYMBOL)).thenReturn(
-          List.of(transaction));
+      when(transactionRepository.streamReplayHistory(A_ID, SYMBOL, null)).thenReturn(
+          Stream.of(transaction));
 
       executor.scheduleRecalculation(P_ID, U_ID, A_ID, SYMBOL);
 
-      verify(transactionRecordingService).replayTransaction(account, transaction);
+      verify(transactionRecordingService).replayTransaction(account, transaction, ENGINE);
       verify(portfolio).reportRecalculationSuccess(A_ID);
       verify(portfolioRepository).save(portfolio);
     }
@@ -98,14 +110,13 @@ class PositionRecalculationExecutorTest {
     @DisplayName("scheduleRecalculation: should mark account stale and rethrow when replay fails")
     void scheduleRecalculation_shouldHandleErrors() {
 
-      when(transactionRepository.findByAccountIdAndSymbol(A_ID, SYMBOL)).thenReturn(
-          List.of(transaction));
-      when(transaction.isExcluded()).thenReturn(false);
+      when(transactionRepository.streamReplayHistory(A_ID, SYMBOL, null)).thenReturn(
+          Stream.of(transaction));
       when(transaction.transactionType()).thenReturn(txType);
       when(txType.affectsHoldings()).thenReturn(true);
 
       doThrow(new RuntimeException("Replay Failed")).when(transactionRecordingService)
-          .replayTransaction(any(), any());
+          .replayTransaction(any(), any(), any());
 
       assertThrows(RuntimeException.class,
           () -> executor.scheduleRecalculation(P_ID, U_ID, A_ID, SYMBOL));
@@ -115,6 +126,103 @@ class PositionRecalculationExecutorTest {
     }
   }
 
+  @Nested
+  @DisplayName("recalculateSymbols: Coalesced Symbol Update")
+  class RecalculateSymbolsTests {
+    @Test
+    @DisplayName("recalculateSymbols: replays every symbol against one load and one save")
+    void recalculateSymbols_shouldShareLoadAndSave() {
+      AssetSymbol other = new AssetSymbol("MSFT");
+      when(transaction.transactionType()).thenReturn(txType);
+      when(txType.affectsHoldings()).thenReturn(true);
+      when(transactionRepository.streamReplayHistory(A_ID, SYMBOL, null)).thenReturn(
+          Stream.of(transaction));
+      when(transactionRepository.streamReplayHistory(A_ID, other, null)).thenReturn(
+          Stream.of(transaction));
+
+      executor.recalculateSymbols(P_ID, U_ID, A_ID, List.of(SYMBOL, other, SYMBOL));
+
+      verify(portfolioLoader, times(1)).loadUserPortfolio(P_ID, U_ID);
+      verify(account).prepareForRecalculation(SYMBOL);
+      verify(account).prepareForRecalculation(other);
+      verify(transactionRecordingService, times(2)).replayTransaction(account, transaction,
+          ENGINE);
+      verify(portfolio, times(1)).reportRecalculationSuccess(A_ID);
+      verify(portfolioRepository, times(1)).save(portfolio);
+    }
+  }
+
+  @Nested
+  @DisplayName("scheduleRecalculation: Checkpoints")
+  class CheckpointTests {
+    @Test
+    @DisplayName("scheduleRecalculation: replays only the transactions after the latest checkpoint")
+    void scheduleRecalculation_shouldResumeFromCheckpoint() {
+      Instant asOf = Instant.parse("2024-01-01T00:00:00Z");
+      PositionCheckpoint checkpoint = new PositionCheckpoint(A_ID, SYMBOL, asOf,
+          TransactionId.newId(), null);
+      when(checkpointRepository.findLatest(A_ID, SYMBOL)).thenReturn(Optional.of(checkpoint));
+
+      when(transaction.transactionType()).thenReturn(txType);
+      when(txType.affectsHoldings()).thenReturn(true);
+      when(transactionRepository.streamReplayHistory(A_ID, SYMBOL, asOf)).thenReturn(
+          Stream.of(transaction));
+
+      executor.scheduleRecalculation(P_ID, U_ID, A_ID, SYMBOL);
+
+      verify(account).rewindToCheckpoint(SYMBOL, null, asOf);
+      verify(account, never()).prepareForRecalculation(any());
+      verify(transactionRepository, never()).streamReplayHistory(A_ID, SYMBOL, null);
+      verify(transactionRecordingService).replayTransaction(account, transaction, ENGINE);
+    }
+
+    @Test
+    @DisplayName("scheduleRecalculation: leaves a checkpoint every interval on an occurredAt boundary")
+    @SuppressWarnings("unchecked")
+    void scheduleRecalculation_shouldTakeCheckpoints() {
+      Instant start = Instant.parse("2024-01-01T00:00:00Z");
+      List<Transaction> history = new ArrayList<>();
+      for (int i = 0; i <= PositionRecalculationExecutor.CHECKPOINT_INTERVAL; i++) {
+        history.add(activeTransaction(start.plusSeconds(i)));
+      }
+      when(transactionRepository.streamReplayHistory(A_ID, SYMBOL, null)).thenReturn(
+          history.stream());
+      when(account.getAccountId()).thenReturn(A_ID);
+
+      executor.scheduleRecalculation(P_ID, U_ID, A_ID, SYMBOL);
+
+      ArgumentCaptor<List<PositionCheckpoint>> captor = ArgumentCaptor.forClass(List.class);
+      verify(checkpointRepository).saveAll(captor.capture());
+      assertEquals(1, captor.getValue().size());
+      assertEquals(start.plusSeconds(PositionRecalculationExecutor.CHECKPOINT_INTERVAL - 1),
+          captor.getValue().getFirst().asOf());
+    }
+
+    @Test
+    @DisplayName("scheduleRecalculation: never checkpoints between transactions sharing an instant")
+    void scheduleRecalculation_shouldNotSplitSameInstant() {
+      Instant same = Instant.parse("2024-01-01T00:00:00Z");
+      List<Transaction> history = new ArrayList<>();
+      for (int i = 0; i <= PositionRecalculationExecutor.CHECKPOINT_INTERVAL; i++) {
+        history.add(activeTransaction(same));
+      }
+      when(transactionRepository.streamReplayHistory(A_ID, SYMBOL, null)).thenReturn(
+          history.stream());
+
+      executor.scheduleRecalculation(P_ID, U_ID, A_ID, SYMBOL);
+
+      verify(checkpointRepository).saveAll(List.of());
+    }
+
+    private Transaction activeTransaction(Instant occurredAt) {
+      Transaction tx = mock(Transaction.class);
+      lenient().when(tx.transactionType()).thenReturn(TransactionType.BUY);
+      lenient().when(tx.occurredAt()).thenReturn(occurredAt);
+      lenient().when(tx.transactionId()).thenReturn(TransactionId.newId());
+      return tx;
+    }
+  }
+
   @Nested
   @DisplayName("replayFullAccount: Total Account Reconstruction")
   class ReplayFullAccountTests {
@@ -122,28 +230,40 @@ class PositionRecalculationExecutorTest {
     @Test
     @DisplayName("replayFullAccount: should pass all active transactions to the recording service")
     void replayFullAccount_shouldSucceed() {
-
-      List<Transaction> transactions = List.of(transaction);
-      when(transaction.isExcluded()).thenReturn(false);
-      when(transactionRepository.findByPortfolioIdAndUserIdAndAccountId(P_ID, U_ID,
-          A_ID)).thenReturn(transactions);
+      when(transactionRepository.countReplayHistory(A_ID)).thenReturn(1L);
+      when(transactionRepository.streamReplayHistory(A_ID)).thenReturn(Stream.of(transaction));
 
       executor.replayFullAccount(P_ID, U_ID, A_ID);
 
-      verify(transactionRecordingService).replayFullTransaction(eq(account), anyList());
+      verify(transactionRecordingService).replayFullTransaction(account, List.of(transaction),
+          ENGINE);
       verify(portfolio).reportRecalculationSuccess(A_ID);
       verify(portfolioRepository).save(portfolio);
     }
 
+    @Test
+    @DisplayName("replayFullAccount: should replay off the cursor past the in-memory limit")
+    void replayFullAccount_shouldStreamLargeHistories() {
+      Stream<Transaction> history = Stream.of(transaction);
+      when(transactionRepository.countReplayHistory(A_ID)).thenReturn(
+          PositionRecalculationExecutor.IN_MEMORY_REPLAY_LIMIT + 1L);
+      when(transactionRepository.streamReplayHistory(A_ID)).thenReturn(history);
+
+      executor.replayFullAccount(P_ID, U_ID, A_ID);
+
+      verify(transactionRecordingService).replayFullHistory(account, history, ENGINE);
+      verify(transactionRecordingService, never()).replayFullTransaction(any(), anyList(),
+          any());
+      verify(portfolioRepository).save(portfolio);
+    }
+
     @Test
     @DisplayName("replayFullAccount: should mark account stale when full replay fails")
     void replayFullAccount_shouldHandleErrors() {
-
-      when(transactionRepository.findByPortfolioIdAndUserIdAndAccountId(any(), any(),
-          any())).thenReturn(Collections.emptyList());
+      when(transactionRepository.streamReplayHistory(A_ID)).thenReturn(Stream.empty());
 
       doThrow(new RuntimeException("Critical Failure")).when(transactionRecordingService)
-          .replayFullTransaction(any(), any());
+          .replayFullTransaction(any(), any(), any());
 
       assertThrows(RuntimeException.class, () -> executor.replayFullAccount(P_ID, U_ID, A_ID));
 
@@ -157,58 +277,43 @@ class PositionRecalculationExecutorTest {
   class FilteringTests {
 
     @Test
-    @DisplayName("scheduleRecalculation: should filter out excluded transactions and non-holding types")
+    @DisplayName("scheduleRecalculation: should filter out non-holding types")
     void scheduleRecalculation_shouldOnlyReplayValidHoldingTransactions() {
       Transaction validTx = mock(Transaction.class);
-      when(validTx.isExcluded()).thenReturn(false);
       TransactionType holdingType = mock(TransactionType.class);
       when(holdingType.affectsHoldings()).thenReturn(true);
       when(validTx.transactionType()).thenReturn(holdingType);
 
-      Transaction excludedTx = mock(Transaction.class);
-      when(excludedTx.isExcluded()).thenReturn(true);
-
       Transaction nonHoldingTx = mock(Transaction.class);
-      when(nonHoldingTx.isExcluded()).thenReturn(false);
       TransactionType cashType = mock(TransactionType.class);
       when(cashType.affectsHoldings()).thenReturn(false);
       when(nonHoldingTx.transactionType()).thenReturn(cashType);
 
-      when(transactionRepository.findByAccountIdAndSymbol(A_ID, SYMBOL)).thenReturn(
-          List.of(validTx, excludedTx, nonHoldingTx));
+      when(transactionRepository.streamReplayHistory(A_ID, SYMBOL, null)).thenReturn(
+          Stream.of(validTx, nonHoldingTx));
 
       executor.scheduleRecalculation(P_ID, U_ID, A_ID, SYMBOL);
 
-      verify(transactionRecordingService, times(1)).replayTransaction(any(), eq(validTx));
-      verify(transactionRecordingService, never()).replayTransaction(any(), eq(excludedTx));
-      verify(transactionRecordingService, never()).replayTransaction(any(), eq(nonHoldingTx));
+      verify(transactionRecordingService, times(1)).replayTransaction(any(), eq(validTx), any());
+      verify(transactionRecordingService, never()).replayTransaction(any(), eq(nonHoldingTx),
+          any());
     }
 
     @Test
-    @DisplayName("replayFullAccount: should filter out excluded transactions but include all types")
-    void replayFullAccount_shouldFilterExcludedButIncludeCashEvents() {
+    @DisplayName("replayFullAccount: should keep cash events and the database order")
+    @SuppressWarnings("unchecked")
+    void replayFullAccount_shouldKeepCashEventsInStreamOrder() {
       Transaction cashTx = mock(Transaction.class);
-      when(cashTx.isExcluded()).thenReturn(false);
-      when(cashTx.occurredAt()).thenReturn(Instant.now().minusSeconds(10));
-
       Transaction holdingTx = mock(Transaction.class);
-      when(holdingTx.isExcluded()).thenReturn(false);
-      when(holdingTx.occurredAt()).thenReturn(Instant.now());
-
-      Transaction excludedTx = mock(Transaction.class);
-      when(excludedTx.isExcluded()).thenReturn(true);
-
-      when(transactionRepository.findByPortfolioIdAndUserIdAndAccountId(P_ID, U_ID,
-          A_ID)).thenReturn(List.of(cashTx, holdingTx, excludedTx));
+      when(transactionRepository.streamReplayHistory(A_ID)).thenReturn(
+          Stream.of(cashTx, holdingTx));
 
       executor.replayFullAccount(P_ID, U_ID, A_ID);
 
       ArgumentCaptor<List<Transaction>> listCaptor = ArgumentCaptor.forClass(List.class);
-      verify(transactionRecordingService).replayFullTransaction(eq(account), listCaptor.capture());
-
-      List<Transaction> capturedList = listCaptor.getValue();
-      assertEquals(2, capturedList.size(), "Should include both cash and holding transactions");
-      assertFalse(capturedList.contains(excludedTx), "Should not contain excluded transaction");
+      verify(transactionRecordingService).replayFullTransaction(eq(account), listCaptor.capture(),
+          eq(ENGINE));
+      assertEquals(List.of(cashTx, holdingTx), listCaptor.getValue());
     }
   }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.laderrco.fortunelink.portfolio.application.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.laderrco.fortunelink.portfolio.application.repositories.ViewVersionRepository;
+import com.laderrco.fortunelink.portfolio.application.repositories.ViewVersionRepository.ViewVersion;
+import com.laderrco.fortunelink.portfolio.application.views.AccountView;
+import com.laderrco.fortunelink.portfolio.application.views.PortfolioView;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VersionedViewCache Unit Tests")
+class VersionedViewCacheTest {
+  private static final PortfolioId PID = PortfolioId.newId();
+  private static final UserId UID = UserId.random();
+  private static final AccountId AID = AccountId.newId();
+  private static final ViewVersion V1 = new ViewVersion(1, 2, 5, 0);
+
+  @Mock
+  private ViewVersionRepository viewVersionRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+  private AtomicLong now;
+  private AtomicInteger builds;
+  private VersionedViewCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    now = new AtomicLong(1_000_000L);
+    builds = new AtomicInteger();
+    cache = new VersionedViewCache(viewVersionRepository, meterRegistry, 300, now::get);
+  }
+
+  @Test
+  @DisplayName("should serve the second read from cache while the version is unchanged")
+  void shouldHitOnSameVersion() {
+    when(viewVersionRepository.findPortfolioVersion(PID, UID)).thenReturn(Optional.of(V1));
+
+    PortfolioView first = cache.portfolio(PID, UID, portfolioBuild());
+    PortfolioView second = cache.portfolio(PID, UID, portfolioBuild());
+
+    assertThat(second).isSameAs(first);
+    assertThat(builds).hasValue(1);
+    assertThat(count("portfolio-view", "miss")).isEqualTo(1);
+    assertThat(count("portfolio-view", "hit")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("should rebuild once any part of the stamp moves")
+  void shouldMissOnNewVersion() {
+    when(viewVersionRepository.findPortfolioVersion(PID, UID)).thenReturn(Optional.of(V1),
+        Optional.of(new ViewVersion(1, 2, 6, 0)), Optional.of(new ViewVersion(1, 2, 6, 1)));
+
+    cache.portfolio(PID, UID, portfolioBuild());
+    cache.portfolio(PID, UID, portfolioBuild());
+    cache.portfolio(PID, UID, portfolioBuild());
+
+    assertThat(builds).hasValue(3);
+  }
+
+  @Test
+  @DisplayName("should rebuild when prices move into a new cache window")
+  void shouldMissOnNewQuoteEpoch() {
+    when(viewVersionRepository.findAccountVersion(PID, UID, AID)).thenReturn(Optional.of(V1));
+
+    cache.account(PID, UID, AID, accountBuild());
+    now.addAndGet(300_000L);
+    cache.account(PID, UID, AID, accountBuild());
+
+    assertThat(builds).hasValue(2);
+    assertThat(count("account-view", "miss")).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should build uncached when there is no stamp")
+  void shouldBypassWithoutVersion() {
+    when(viewVersionRepository.findPortfolioVersion(PID, UID)).thenReturn(Optional.empty());
+
+    cache.portfolio(PID, UID, portfolioBuild());
+    cache.portfolio(PID, UID, portfolioBuild());
+
+    assertThat(builds).hasValue(2);
+    assertThat(meterRegistry.find("fortunelink.cache.requests").counter()).isNull();
+  }
+
+  private Supplier<PortfolioView> portfolioBuild() {
+    return () -> {
+      builds.incrementAndGet();
+      return mock(PortfolioView.class);
+    };
+  }
+
+  private Supplier<AccountView> accountBuild() {
+    return () -> {
+      builds.incrementAndGet();
+      return mock(AccountView.class);
+    };
+  }
+
+  private double count(String cacheName, String result) {
+    return meterRegistry.get("fortunelink.cache.requests").tag("cache", cacheName)
+        .tag("result", result).counter().count();
+  }
+}
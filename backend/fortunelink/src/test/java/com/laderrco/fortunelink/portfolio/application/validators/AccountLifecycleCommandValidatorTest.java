@@ -19,6 +19,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -84,16 +85,16 @@ class AccountLifecycleCommandValidatorTest {
           "Base currency is required");
     }
 
-    @Test
-    @DisplayName("validate: failure when strategy is FIFO and not ACB")
-    void validateFailureOnFifoStrategy() {
-      var command = new CreateAccountCommand(PORTFOLIO_ID, USER_ID, VALID_NAME, null,
-          PositionStrategy.FIFO, null);
+    @ParameterizedTest
+    @EnumSource(PositionStrategy.class)
+    @DisplayName("validate: every strategy is accepted")
+    void validateAcceptsEveryStrategy(PositionStrategy strategy) {
+      var command = new CreateAccountCommand(PORTFOLIO_ID, USER_ID, VALID_NAME, null, strategy,
+          null);
 
       ValidationResult result = validator.validate(command);
 
-      assertThat(result.errors()).contains(
-          "Strategy FIFO is not yet supported. Current tax regulations only support ACB.");
+      assertThat(result.errors()).noneMatch(e -> e.startsWith("Strategy"));
     }
 
     @Test
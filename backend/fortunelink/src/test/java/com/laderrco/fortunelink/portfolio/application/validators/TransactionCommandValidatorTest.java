@@ -23,6 +23,7 @@ import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.FeeType;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Fee;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotSelection;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
@@ -115,10 +116,25 @@ class TransactionCommandValidatorTest {
     @DisplayName("shouldPassWithValidCommand")
     void shouldPassWithValidCommand() {
       RecordSaleCommand command = new RecordSaleCommand(IDEMPOTENCY_KEY, PORTFOLIO_ID, USER_ID,
-          ACCOUNT_ID, "AAPL", Quantity.of(1), new Price(validMoney()), validFees(), NOW, null);
+          ACCOUNT_ID, "AAPL", Quantity.of(1), new Price(validMoney()), validFees(), NOW, null,
+          List.of());
 
       assertSuccess(validator.validate(command));
     }
+
+    @Test
+    @DisplayName("shouldFailWhenLotSelectionsDontMatchQuantity")
+    void shouldFailWhenLotSelectionsDontMatchQuantity() {
+      TransactionId lot = TransactionId.newId();
+      RecordSaleCommand command = new RecordSaleCommand(IDEMPOTENCY_KEY, PORTFOLIO_ID, USER_ID,
+          ACCOUNT_ID, "AAPL", Quantity.of(3), new Price(validMoney()), validFees(), NOW, null,
+          List.of(new LotSelection(lot, Quantity.of(1)), new LotSelection(lot, Quantity.of(1))));
+
+      ValidationResult result = validator.validate(command);
+
+      assertFailure(result, "Lot selections must add up to the quantity sold");
+      assertFailure(result, "Lot " + lot + " is selected more than once");
+    }
   }
 
 
@@ -0,0 +1,98 @@
+package com.laderrco.fortunelink.portfolio.benchmarks;
+
+import com.laderrco.fortunelink.portfolio.application.services.TransactionRecordingServiceImpl;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Full-account replay of a synthetic 100k-transaction account: the old one-transaction-at-a-time
+ * loop against the symbol-partitioned replay at a few pool sizes.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks -Djmh.include=FullAccountReplay test-compile exec:exec}, or
+ * from the IDE through {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FullAccountReplayBenchmark {
+  @Param({"100000"})
+  private int transactions;
+
+  @Param({"50", "500"})
+  private int symbols;
+
+  @Param({"1", "4", "8"})
+  private int parallelism;
+
+  private List<Transaction> history;
+  private ForkJoinPool pool;
+  private TransactionRecordingServiceImpl service;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    pool = new ForkJoinPool(parallelism);
+    service = new TransactionRecordingServiceImpl(pool);
+    history = SyntheticData.history(transactions, symbols, SyntheticData.SEED);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public Account sequential() {
+    Account account = newAccount();
+    for (Transaction tx : history) {
+      if (tx.transactionType().affectsHoldings()) {
+        service.replayTransaction(account, tx);
+      }
+      switch (tx.transactionType().cashImpact()) {
+        case IN -> account.deposit(tx.cashDelta(), "REPLAY");
+        case OUT -> account.withdraw(tx.cashDelta().abs(), "REPLAY", true);
+        case NONE -> {
+        }
+      }
+    }
+    return account;
+  }
+
+  @Benchmark
+  public Account partitioned() {
+    Account account = newAccount();
+    service.replayFullTransaction(account, history);
+    return account;
+  }
+
+  private static Account newAccount() {
+    return SyntheticData.account(PositionStrategy.ACB);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(FullAccountReplayBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,70 @@
+package com.laderrco.fortunelink.portfolio.benchmarks;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The {@link Money} operations every position update goes through: the rescale on construction
+ * dominates, so each case builds exactly one new instance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+  private final Money cost = Money.of("1234.5678", SyntheticData.CAD);
+  private final Money proceeds = Money.of("987.65", SyntheticData.CAD);
+  private final Quantity quantity = Quantity.of(37.125);
+  private final BigDecimal ratio = new BigDecimal("0.3333333333");
+
+  @Benchmark
+  public Money add() {
+    return cost.add(proceeds);
+  }
+
+  @Benchmark
+  public Money subtract() {
+    return proceeds.subtract(cost);
+  }
+
+  @Benchmark
+  public Money multiplyByQuantity() {
+    return cost.multiply(quantity);
+  }
+
+  @Benchmark
+  public Money multiplyByRatio() {
+    return cost.multiply(ratio);
+  }
+
+  @Benchmark
+  public Money divideByQuantity() {
+    return cost.divide(quantity);
+  }
+
+  @Benchmark
+  public int compare() {
+    return cost.compareTo(proceeds);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(MoneyArithmeticBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,96 @@
+package com.laderrco.fortunelink.portfolio.benchmarks;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Chained {@code Money::add} / {@code Quantity::add} reductions against the scaled-long
+ * {@link Money#summing} and {@link Quantity#summing} collectors, over lot-sized and
+ * valuation-sized inputs.
+ * <p>
+ * Setup refuses to run if the two paths disagree on a single digit, so every reported number is for
+ * identical results. {@link #main} adds the GC profiler; compare {@code gc.alloc.rate.norm} (bytes
+ * per op) between the pairs. Run it like {@link FullAccountReplayBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneySummingBenchmark {
+  private static final Currency CAD = Currency.CAD;
+
+  @Param({"16", "1000", "100000"})
+  private int size;
+
+  private List<Money> amounts;
+  private List<Quantity> quantities;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    amounts = new ArrayList<>(size);
+    quantities = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      // Sub-cent digits and both signs, so rounding would show up if the paths differed.
+      amounts.add(new Money(BigDecimal.valueOf(random.nextLong(-10_000_000_000L,
+          10_000_000_000L), 7), CAD));
+      quantities.add(new Quantity(BigDecimal.valueOf(random.nextLong(1, 100_000_000_000L), 8)));
+    }
+
+    if (!chainedMoney().equals(summedMoney())) {
+      throw new IllegalStateException(chainedMoney() + " != " + summedMoney());
+    }
+    if (!chainedQuantity().equals(summedQuantity())) {
+      throw new IllegalStateException(chainedQuantity() + " != " + summedQuantity());
+    }
+  }
+
+  @Benchmark
+  public Money chainedMoney() {
+    return amounts.stream().reduce(Money.zero(CAD), Money::add);
+  }
+
+  @Benchmark
+  public Money summedMoney() {
+    return amounts.stream().collect(Money.summing(CAD));
+  }
+
+  @Benchmark
+  public Quantity chainedQuantity() {
+    return quantities.stream().reduce(Quantity.ZERO, Quantity::add);
+  }
+
+  @Benchmark
+  public Quantity summedQuantity() {
+    return quantities.stream().collect(Quantity.summing());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(MoneySummingBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class).build()).run();
+  }
+}
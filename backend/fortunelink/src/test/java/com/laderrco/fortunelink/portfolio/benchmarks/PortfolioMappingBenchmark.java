@@ -0,0 +1,81 @@
+package com.laderrco.fortunelink.portfolio.benchmarks;
+
+import com.laderrco.fortunelink.portfolio.application.services.TransactionRecordingServiceImpl;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PortfolioJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.mappers.PortfolioDomainMapper;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link PortfolioDomainMapper} in both directions for a one-account portfolio whose positions
+ * come from replaying {@code transactions} trades over 50 symbols. Under FIFO every open lot is
+ * mapped, so the cost follows the history size; under ACB it follows the symbol count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortfolioMappingBenchmark {
+  private static final int SYMBOLS = 50;
+
+  @Param({"10", "1000", "100000"})
+  private int transactions;
+
+  @Param({"ACB", "FIFO"})
+  private PositionStrategy strategy;
+
+  private final PortfolioDomainMapper mapper = new PortfolioDomainMapper();
+  private Portfolio portfolio;
+  private PortfolioJpaEntity entity;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Account account = SyntheticData.account(strategy);
+    new TransactionRecordingServiceImpl(ForkJoinPool.commonPool()).replayFullTransaction(account,
+        SyntheticData.history(transactions, SYMBOLS, SyntheticData.SEED));
+
+    Instant now = Instant.now();
+    portfolio = Portfolio.reconstitute(PortfolioId.newId(), UserId.random(), "Benchmark", "",
+        Map.of(account.getAccountId(), account), SyntheticData.CAD, false, null, null, now, now);
+    entity = mapper.toEntity(portfolio, null);
+  }
+
+  @Benchmark
+  public PortfolioJpaEntity toEntity() {
+    return mapper.toEntity(portfolio, null);
+  }
+
+  @Benchmark
+  public Portfolio toDomain() {
+    return mapper.toDomain(entity);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PortfolioMappingBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,92 @@
+package com.laderrco.fortunelink.portfolio.benchmarks;
+
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.ApplyResult;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.FifoPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Single buy and sell against a position that already holds {@code lots} purchases. ACB cost is
+ * flat in {@code lots}; FIFO sells consume {@code consumed} lots from the front of the ledger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionUpdateBenchmark {
+  private static final AssetSymbol SYMBOL = new AssetSymbol("SYM0");
+  private static final Instant AT = Instant.parse("2030-01-01T00:00:00Z");
+
+  @Param({"10", "1000", "100000"})
+  private int lots;
+
+  @Param({"1", "10"})
+  private int consumed;
+
+  private final Money lotCost = Money.of("1000", SyntheticData.CAD);
+  private final Money proceeds = Money.of("1100", SyntheticData.CAD);
+  private final Quantity lotSize = Quantity.of(10);
+  private AcbPosition acb;
+  private FifoPosition fifo;
+  private Quantity sellQuantity;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    acb = AcbPosition.empty(SYMBOL, AssetType.STOCK, SyntheticData.CAD);
+    fifo = FifoPosition.empty(SYMBOL, AssetType.STOCK, SyntheticData.CAD);
+    Instant at = Instant.parse("2015-01-01T00:00:00Z");
+    for (int i = 0; i < lots; i++) {
+      acb = acb.buy(lotSize, lotCost, at).newPosition();
+      fifo = fifo.buy(lotSize, lotCost, at).newPosition();
+      at = at.plusSeconds(60);
+    }
+    sellQuantity = Quantity.of(10.0 * Math.min(consumed, lots));
+  }
+
+  @Benchmark
+  public ApplyResult.Purchase<AcbPosition> acbBuy() {
+    return acb.buy(lotSize, lotCost, AT);
+  }
+
+  @Benchmark
+  public ApplyResult.Sale<AcbPosition> acbSell() {
+    return acb.sell(sellQuantity, proceeds, AT);
+  }
+
+  @Benchmark
+  public ApplyResult.Purchase<FifoPosition> fifoBuy() {
+    return fifo.buy(lotSize, lotCost, AT);
+  }
+
+  @Benchmark
+  public ApplyResult.Sale<FifoPosition> fifoSell() {
+    return fifo.sell(sellQuantity, proceeds, AT);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PositionUpdateBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
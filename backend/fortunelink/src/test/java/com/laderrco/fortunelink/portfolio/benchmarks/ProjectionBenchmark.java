@@ -0,0 +1,76 @@
+package com.laderrco.fortunelink.portfolio.benchmarks;
+
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.FifoPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.services.projectors.AcbPositionProjector;
+import com.laderrco.fortunelink.portfolio.domain.services.projectors.FifoPositionProjector;
+import com.laderrco.fortunelink.portfolio.domain.services.projectors.TransactionApplier;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * One symbol's history projected from scratch. {@code applierLoop} is the bare
+ * {@link TransactionApplier} loop; the projector cases add the sort {@code project} performs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+  private static final AssetSymbol SYMBOL = new AssetSymbol("SYM0");
+
+  @Param({"10", "1000", "100000"})
+  private int transactions;
+
+  private List<Transaction> history;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    history = SyntheticData.history(transactions, 1, SyntheticData.SEED);
+  }
+
+  @Benchmark
+  public Position applierLoop() {
+    Position current = AcbPosition.empty(SYMBOL, AssetType.STOCK, SyntheticData.CAD);
+    for (Transaction tx : history) {
+      current = TransactionApplier.apply(current, tx).newPosition();
+    }
+    return current;
+  }
+
+  @Benchmark
+  public AcbPosition projectAcb() {
+    return new AcbPositionProjector(SYMBOL, AssetType.STOCK, SyntheticData.CAD).project(history);
+  }
+
+  @Benchmark
+  public FifoPosition projectFifo() {
+    return new FifoPositionProjector(SYMBOL, AssetType.STOCK, SyntheticData.CAD).project(history);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ProjectionBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,74 @@
+package com.laderrco.fortunelink.portfolio.benchmarks;
+
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction.TradeExecution;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TransactionMetadata;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded transaction histories shared by the benchmarks, so every run and every commit measures
+ * the same data. Histories are BUY/SELL only, one minute apart, and never sell more than is held.
+ */
+public final class SyntheticData {
+  public static final Currency CAD = Currency.CAD;
+  public static final long SEED = 42;
+
+  private static final Instant START = Instant.parse("2015-01-01T00:00:00Z");
+
+  private SyntheticData() {
+  }
+
+  /**
+   * {@code size} trades spread over {@code symbolCount} symbols named {@code SYM0..SYMn}.
+   */
+  public static List<Transaction> history(int size, int symbolCount, long seed) {
+    Random random = new Random(seed);
+    List<AssetSymbol> universe = new ArrayList<>(symbolCount);
+    for (int i = 0; i < symbolCount; i++) {
+      universe.add(new AssetSymbol("SYM" + i));
+    }
+
+    int[] held = new int[symbolCount];
+    List<Transaction> history = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      int s = random.nextInt(symbolCount);
+      boolean sell = held[s] >= 10 && random.nextInt(3) == 0;
+      int quantity = sell ? 1 + random.nextInt(held[s]) : 1 + random.nextInt(20);
+      held[s] += sell ? -quantity : quantity;
+
+      Price price = Price.of(Integer.toString(20 + random.nextInt(200)), CAD);
+      history.add(trade(universe.get(s), sell, Quantity.of(quantity), price,
+          START.plusSeconds(i * 60L)));
+    }
+    return history;
+  }
+
+  public static Account account(PositionStrategy strategy) {
+    return new Account(AccountId.newId(), "Benchmark", AccountType.TFSA, CAD, strategy);
+  }
+
+  private static Transaction trade(AssetSymbol symbol, boolean sell, Quantity quantity, Price price,
+      Instant at) {
+    Money gross = price.calculateValue(quantity);
+    return Transaction.builder().transactionId(TransactionId.newId()).accountId(AccountId.newId())
+        .transactionType(sell ? TransactionType.SELL : TransactionType.BUY)
+        .execution(new TradeExecution(symbol, quantity, price))
+        .cashDelta(sell ? gross : gross.negate()).fees(List.of()).notes("")
+        .metadata(TransactionMetadata.manual(AssetType.STOCK)).occurredAt(at).build();
+  }
+}
@@ -0,0 +1,122 @@
+package com.laderrco.fortunelink.portfolio.benchmarks;
+
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction.TradeExecution;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TransactionMetadata;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.TransactionJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.mappers.TransactionDomainMapper;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Maps 50k {@link TransactionJpaEntity} rows to the domain, plus the per-row symbol and currency
+ * lookups on their own: a fresh {@code AssetSymbol} per row against the interned
+ * {@link AssetSymbol#of}, and {@link Currency#of} per row.
+ * <p>
+ * {@link #main} adds the GC profiler. For the end-to-end gain of interning, run {@code mapRows} on
+ * this commit and its parent and compare time and {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionMappingBenchmark {
+  private static final Instant START = Instant.parse("2015-01-01T00:00:00Z");
+  private static final List<Currency> CURRENCIES = List.of(Currency.CAD, Currency.USD);
+
+  @Param({"50000"})
+  private int rows;
+
+  @Param({"200"})
+  private int symbols;
+
+  private final TransactionDomainMapper mapper = new TransactionDomainMapper();
+  private List<TransactionJpaEntity> entities;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(42);
+    UUID portfolioId = UUID.randomUUID();
+    AccountId accountId = AccountId.newId();
+    entities = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      Currency currency = CURRENCIES.get(random.nextInt(CURRENCIES.size()));
+      Price price = Price.of(Integer.toString(20 + random.nextInt(200)), currency);
+      Quantity quantity = Quantity.of(1 + random.nextInt(20));
+      Transaction tx = Transaction.builder().transactionId(TransactionId.newId())
+          .accountId(accountId).transactionType(TransactionType.BUY)
+          .execution(new TradeExecution(new AssetSymbol("SYM" + random.nextInt(symbols)),
+              quantity, price))
+          .cashDelta(price.calculateValue(quantity).negate()).fees(List.of()).notes("")
+          .metadata(TransactionMetadata.manual(AssetType.STOCK))
+          .occurredAt(START.plusSeconds(i * 60L)).build();
+      entities.add(mapper.toEntity(tx, portfolioId, "bench-" + i));
+    }
+  }
+
+  @Benchmark
+  public List<Transaction> mapRows() {
+    List<Transaction> mapped = new ArrayList<>(entities.size());
+    for (TransactionJpaEntity entity : entities) {
+      mapped.add(mapper.toDomain(entity));
+    }
+    return mapped;
+  }
+
+  @Benchmark
+  public void constructedSymbols(Blackhole blackhole) {
+    for (TransactionJpaEntity entity : entities) {
+      blackhole.consume(new AssetSymbol(entity.getExecutionSymbol()));
+    }
+  }
+
+  @Benchmark
+  public void internedSymbols(Blackhole blackhole) {
+    for (TransactionJpaEntity entity : entities) {
+      blackhole.consume(AssetSymbol.of(entity.getExecutionSymbol()));
+    }
+  }
+
+  @Benchmark
+  public void internedCurrencies(Blackhole blackhole) {
+    for (TransactionJpaEntity entity : entities) {
+      blackhole.consume(Currency.of(entity.getCashDeltaCurrency()));
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(TransactionMappingBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class).build()).run();
+  }
+}
@@ -31,8 +31,8 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -124,20 +124,19 @@ class AccountTest {
 
       AssetSymbol apple = new AssetSymbol("AAPL");
       Map<AssetSymbol, Position> positions = Map.of(apple, mock(AcbPosition.class));
-      List<RealizedGainRecord> gains = List.of(
-          RealizedGainRecord.of(accountId, apple, Money.of(50, currency), Money.of(200, currency),
-              now));
 
       Account account = Account.reconstitute(accountId, name, type, currency, strategy, health,
-          state, null, now, now, balance, positions, gains);
+          state, null, now, now, balance, positions);
 
       assertThat(account).isNotNull();
       assertThat(account.getAccountId()).isEqualTo(accountId);
       assertThat(account.getAccountCurrency()).isEqualTo(currency);
       assertThat(account.getCashBalance()).isEqualTo(balance);
 
-      assertThat(account.getRealizedGainsFor(apple)).usingRecursiveFieldByFieldElementComparator()
-          .containsExactlyElementsOf(gains);
+      // Gain history is never hydrated, a reconstituted account starts with an empty delta
+      assertThat(account.getNewRealizedGains()).isEmpty();
+      assertThat(account.getResetRealizedGainSymbols()).isEmpty();
+      assertThat(account.isRealizedGainHistoryReset()).isFalse();
     }
   }
 
@@ -223,13 +222,13 @@ class AccountTest {
     private final AssetSymbol google = new AssetSymbol("GOOGL");
 
     @Test
-    @DisplayName("recordRealizedGain: records gain and calculates total correctly")
-    void recordsAndAggregatesGains() {
+    @DisplayName("recordRealizedGain: buffers each new gain in recording order")
+    void recordsNewGains() {
       account.recordRealizedGain(AAPL, Money.of(100, USD), Money.of(500, USD), Instant.now());
       account.recordRealizedGain(AAPL, Money.of(-20, USD), Money.of(100, USD), Instant.now());
 
-      assertEquals(Money.of(80, USD), account.getTotalRealizedGainLoss());
-      assertEquals(2, account.getRealizedGains().size());
+      assertEquals(2, account.getNewRealizedGains().size());
+      assertEquals(Money.of(-20, USD), account.getNewRealizedGains().get(1).realizedGainLoss());
     }
 
     @Test
@@ -241,8 +240,10 @@ class AccountTest {
 
       account.prepareForRecalculation(AAPL);
 
-      assertAll(() -> assertEquals(1, account.getRealizedGains().size()),
-          () -> assertEquals(TSLA, account.getRealizedGains().getFirst().symbol()));
+      assertAll(() -> assertEquals(1, account.getNewRealizedGains().size()),
+          () -> assertEquals(TSLA, account.getNewRealizedGains().getFirst().symbol()),
+          () -> assertEquals(Set.of(AAPL), account.getResetRealizedGainSymbols()),
+          () -> assertFalse(account.isRealizedGainHistoryReset()));
     }
 
     @Test
@@ -268,7 +269,7 @@ class AccountTest {
       account.recordRealizedGain(apple, Money.of(100, USD), Money.of(500, USD), now);
       account.recordRealizedGain(google, Money.of(200, USD), Money.of(1000, USD), now);
 
-      var results = account.getRealizedGainsFor(apple);
+      var results = account.getNewRealizedGainsFor(apple);
 
       assertThat(results).as("Should only contain gains for the requested symbol").hasSize(1)
           .usingRecursiveFieldByFieldElementComparatorIgnoringFields("id")
@@ -292,7 +293,7 @@ class AccountTest {
       assertAll(() -> assertTrue(account.hasPosition(apple)),
           () -> assertEquals(1, account.getPositionCount()),
           () -> assertEquals(pos, account.getPosition(apple).orElseThrow()),
-          () -> assertEquals(0, account.getRealizedGainsFor(apple).size()),
+          () -> assertEquals(0, account.getNewRealizedGainsFor(apple).size()),
           () -> assertEquals(1, account.getPositionEntries().size()));
     }
 
@@ -306,6 +307,47 @@ class AccountTest {
       account.prepareForRecalculation(apple);
       assertTrue(account.getPosition(apple).isEmpty());
     }
+
+    @Test
+    @DisplayName("rewindToCheckpoint: restores the checkpointed position and records a gain watermark")
+    void rewindRestoresCheckpoint() {
+      Instant asOf = Instant.parse("2024-01-01T00:00:00Z");
+      Position current = AcbPosition.empty(apple, AssetType.STOCK, USD)
+          .buy(Quantity.of(10), Money.of(150, "USD"), Instant.now()).getUpdatedPosition();
+      Position checkpointed = AcbPosition.empty(apple, AssetType.STOCK, USD)
+          .buy(Quantity.of(4), Money.of(60, "USD"), asOf).getUpdatedPosition();
+      account.applyPositionResult(apple, current);
+      account.recordRealizedGain(apple, Money.of(5, USD), Money.of(10, USD), Instant.now());
+
+      account.rewindToCheckpoint(apple, checkpointed, asOf);
+
+      assertAll(() -> assertEquals(checkpointed, account.getPosition(apple).orElseThrow()),
+          () -> assertTrue(account.getNewRealizedGainsFor(apple).isEmpty()),
+          () -> assertEquals(Map.of(apple, asOf), account.getRealizedGainResetWatermarks()),
+          () -> assertTrue(account.getResetRealizedGainSymbols().isEmpty()));
+    }
+
+    @Test
+    @DisplayName("rewindToCheckpoint: a flat checkpoint leaves no position")
+    void rewindToFlatCheckpoint() {
+      Position current = AcbPosition.empty(apple, AssetType.STOCK, USD)
+          .buy(Quantity.of(10), Money.of(150, "USD"), Instant.now()).getUpdatedPosition();
+      account.applyPositionResult(apple, current);
+
+      account.rewindToCheckpoint(apple, null, Instant.now());
+
+      assertFalse(account.hasPosition(apple));
+    }
+
+    @Test
+    @DisplayName("rewindToCheckpoint: a full symbol reset wins over a watermark")
+    void fullSymbolResetOverridesWatermark() {
+      account.rewindToCheckpoint(apple, null, Instant.now());
+      account.prepareForRecalculation(apple);
+
+      assertAll(() -> assertTrue(account.getRealizedGainResetWatermarks().isEmpty()),
+          () -> assertEquals(Set.of(apple), account.getResetRealizedGainSymbols()));
+    }
   }
 
   @Nested
@@ -322,7 +364,8 @@ class AccountTest {
 
       assertAll(() -> assertTrue(account.isInReplayMode()),
           () -> assertTrue(account.getCashBalance().isZero()),
-          () -> assertTrue(account.getRealizedGains().isEmpty()),
+          () -> assertTrue(account.getNewRealizedGains().isEmpty()),
+          () -> assertTrue(account.isRealizedGainHistoryReset()),
           () -> assertEquals(0, account.getPositionCount()));
     }
 
@@ -138,11 +138,12 @@ class PortfolioTest {
     }
 
     @Test
-    @DisplayName("createAccount: rejects invalid strategy")
-    void createAccountFailsWhenStrategyInvalid() {
-      assertThatThrownBy(
-          () -> portfolio.createAccount("Test", AccountType.TAXABLE_INVESTMENT, Currency.USD,
-              PositionStrategy.FIFO)).isInstanceOf(IllegalArgumentException.class);
+    @DisplayName("createAccount: accepts lot-based strategies")
+    void createAccountAcceptsLotStrategies() {
+      Account account = portfolio.createAccount("Test", AccountType.TAXABLE_INVESTMENT,
+          Currency.USD, PositionStrategy.SPECIFIC_ID);
+
+      assertThat(account.getPositionStrategy()).isEqualTo(PositionStrategy.SPECIFIC_ID);
     }
 
     @Test
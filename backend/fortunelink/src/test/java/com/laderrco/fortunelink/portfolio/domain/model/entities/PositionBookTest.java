@@ -9,6 +9,8 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Cu
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.LifoPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.SpecificIdPosition;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import java.time.Instant;
 import org.junit.jupiter.api.DisplayName;
@@ -32,16 +34,16 @@ public class PositionBookTest {
 
   @ParameterizedTest
   @EnumSource(value = PositionStrategy.class, names = {"LIFO", "SPECIFIC_ID"})
-  void ensurePositionThrowExceptionWhenStrategyIsNotSupported(
-      PositionStrategy unsupportedStrategy) {
+  void ensurePositionCreatesLotPositionForLotStrategies(PositionStrategy strategy) {
     AssetSymbol symbol = new AssetSymbol("AAPL");
     AssetType type = AssetType.STOCK;
 
-    PositionBook posBook = new PositionBook(USD, unsupportedStrategy);
+    PositionBook posBook = new PositionBook(USD, strategy);
+    posBook.ensurePosition(symbol, type);
 
-    assertThatThrownBy(() -> posBook.ensurePosition(symbol, type)).isInstanceOf(
-            IllegalArgumentException.class)
-        .hasMessageContaining(unsupportedStrategy.name() + " not supported");
+    assertThat(posBook.get(symbol)).get()
+        .isInstanceOf(strategy == PositionStrategy.LIFO ? LifoPosition.class
+            : SpecificIdPosition.class);
   }
 
   @Test
@@ -88,4 +90,25 @@ public class PositionBookTest {
     assertThat(book.has(symbol)).isTrue();
     assertThat(book.get(symbol).get().totalQuantity().amount()).isEqualByComparingTo("5");
   }
+
+  @Test
+  @DisplayName("views: read-only, live and backed by the stored positions")
+  void viewsAreUnmodifiableAndLive() {
+    AssetSymbol symbol = new AssetSymbol("AAPL");
+    PositionBook book = new PositionBook(USD, PositionStrategy.ACB);
+    var symbols = book.symbols();
+    var positions = book.positions();
+
+    AcbPosition pos = AcbPosition.empty(symbol, AssetType.STOCK, USD)
+        .buy(Quantity.of(10), Money.of("1500", USD), Instant.now()).newPosition();
+    book.applyResult(symbol, pos);
+
+    assertThat(symbols).containsExactly(symbol);
+    assertThat(positions).singleElement().isSameAs(pos);
+    assertThat(book.get(symbol)).containsSame(pos);
+    assertThatThrownBy(() -> positions.remove(pos)).isInstanceOf(
+        UnsupportedOperationException.class);
+    assertThatThrownBy(() -> book.entries().iterator().next().setValue(pos)).isInstanceOf(
+        UnsupportedOperationException.class);
+  }
 }
@@ -0,0 +1,32 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Currency Value Object Unit Tests")
+class CurrencyTest {
+  @Test
+  @DisplayName("of: returns the shared instance for a code")
+  void ofReturnsInternedInstance() {
+    assertThat(Currency.of("CAD")).isSameAs(Currency.CAD);
+    assertThat(Currency.of("CHF")).isSameAs(Currency.of("CHF"));
+  }
+
+  @Test
+  @DisplayName("of: exposes the ISO details of the code")
+  void ofExposesIsoDetails() {
+    Currency jpy = Currency.of("JPY");
+
+    assertThat(jpy.getCode()).isEqualTo("JPY");
+    assertThat(jpy.getDefaultFractionDigits()).isZero();
+  }
+
+  @Test
+  @DisplayName("of: fail on an unknown code")
+  void ofRejectsUnknownCode() {
+    assertThatThrownBy(() -> Currency.of("XYZ1")).isInstanceOf(IllegalArgumentException.class);
+  }
+}
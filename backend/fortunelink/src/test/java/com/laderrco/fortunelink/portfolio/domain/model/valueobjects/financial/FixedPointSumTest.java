@@ -0,0 +1,57 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("FixedPointSum Unit Tests")
+class FixedPointSumTest {
+  @Test
+  @DisplayName("add: stays on the long path within range")
+  void addStaysOnLongPath() {
+    FixedPointSum sum = new FixedPointSum(2);
+    sum.add(new BigDecimal("1.25"));
+    sum.add(new BigDecimal("-0.50"));
+
+    assertThat(sum.spilled()).isFalse();
+    assertThat(sum.toBigDecimal()).isEqualTo(new BigDecimal("0.75"));
+  }
+
+  @Test
+  @DisplayName("add: spills on overflow without losing digits")
+  void addSpillsOnOverflow() {
+    FixedPointSum sum = new FixedPointSum(0);
+    sum.add(BigDecimal.valueOf(Long.MAX_VALUE));
+    sum.add(BigDecimal.ONE);
+
+    assertThat(sum.spilled()).isTrue();
+    assertThat(sum.toBigDecimal()).isEqualTo(
+        BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE));
+  }
+
+  @Test
+  @DisplayName("add: spills on a value at another scale")
+  void addSpillsOnForeignScale() {
+    FixedPointSum sum = new FixedPointSum(2);
+    sum.add(new BigDecimal("1.00"));
+    sum.add(new BigDecimal("0.001"));
+
+    assertThat(sum.spilled()).isTrue();
+    assertThat(sum.toBigDecimal()).isEqualByComparingTo("1.001");
+  }
+
+  @Test
+  @DisplayName("combine: merges a spilled partial sum")
+  void combineMergesSpilledSum() {
+    FixedPointSum left = new FixedPointSum(0);
+    left.add(BigDecimal.TEN);
+    FixedPointSum right = new FixedPointSum(0);
+    right.add(BigDecimal.valueOf(Long.MAX_VALUE));
+    right.add(BigDecimal.ONE);
+
+    assertThat(left.combine(right).toBigDecimal()).isEqualTo(
+        BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.valueOf(11)));
+  }
+}
@@ -7,6 +7,7 @@ import com.laderrco.fortunelink.portfolio.domain.exceptions.CurrencyMismatchExce
 import com.laderrco.fortunelink.portfolio.domain.exceptions.DomainArgumentException;
 import com.laderrco.fortunelink.shared.enums.Precision;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -199,4 +200,47 @@ class MoneyTest {
       assertThat(result.amount().scale()).isEqualTo(Precision.getMoneyPrecision());
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  @DisplayName("Summing")
+  class SummingTests {
+
+    @Test
+    @DisplayName("summing: matches chained add to the last digit")
+    void summingMatchesChainedAdd() {
+      List<Money> values = List.of(Money.of("0.1", USD), Money.of("0.2", USD),
+          Money.of("1234.56789012345", USD), Money.of("-99.00000000005", USD));
+
+      Money chained = values.stream().reduce(Money.zero(USD), Money::add);
+
+      assertThat(values.stream().collect(Money.summing(USD))).isEqualTo(chained);
+      assertThat(values.parallelStream().collect(Money.summing(USD))).isEqualTo(chained);
+    }
+
+    @Test
+    @DisplayName("summing: falls back to BigDecimal past the long range")
+    void summingFallsBackOnOverflow() {
+      Money large = Money.of("500000000", USD);
+
+      Money total = Stream.of(large, large, large, large.negate()).collect(Money.summing(USD));
+
+      assertThat(total.amount()).isEqualByComparingTo("1000000000");
+      assertThat(total.amount().scale()).isEqualTo(Precision.getMoneyPrecision());
+    }
+
+    @Test
+    @DisplayName("summing: zero for no elements")
+    void summingEmptyIsZero() {
+      assertThat(Stream.<Money>empty().collect(Money.summing(USD))).isEqualTo(Money.zero(USD));
+    }
+
+    @Test
+    @DisplayName("summing: fail on currency mismatch")
+    void summingThrowsOnCurrencyMismatch() {
+      Stream<Money> mixed = Stream.of(Money.of(10, USD), Money.of(10, EUR));
+
+      assertThatThrownBy(() -> mixed.collect(Money.summing(USD))).isInstanceOf(
+          CurrencyMismatchException.class);
+    }
+  }
+}
@@ -6,6 +6,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.laderrco.fortunelink.portfolio.domain.exceptions.DomainArgumentException;
 import java.math.BigDecimal;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -138,4 +139,21 @@ class QuantityTest {
       assertThat(large).isGreaterThan(small);
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  @DisplayName("Summing")
+  class SummingTests {
+    @Test
+    @DisplayName("summing: matches chained add and keeps the quantity scale")
+    void summingMatchesChainedAdd() {
+      List<Quantity> values = List.of(new Quantity(new BigDecimal("0.00000001")),
+          new Quantity(new BigDecimal("12.5")), Quantity.of(3));
+
+      Quantity total = values.stream().collect(Quantity.summing());
+
+      assertThat(total).isEqualTo(values.stream().reduce(Quantity.ZERO, Quantity::add));
+      assertThat(total.amount()).isEqualByComparingTo("15.50000001");
+      assertThat(total.amount().scale()).isEqualTo(8);
+    }
+  }
+}
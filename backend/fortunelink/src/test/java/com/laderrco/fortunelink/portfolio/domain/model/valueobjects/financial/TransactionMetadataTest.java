@@ -5,13 +5,16 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TransactionMetadata.ExclusionRecord;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,6 +31,18 @@ class TransactionMetadataTest {
     assertTrue(meta.isEmpty());
   }
 
+  @Test
+  @DisplayName("Lot selections: round-trip through additional data and are empty by default")
+  void lotSelectionsRoundTrip() {
+    var selections = List.of(new LotSelection(TransactionId.newId(), Quantity.of(2.5)),
+        new LotSelection(TransactionId.newId(), Quantity.of(1)));
+    var meta = TransactionMetadata.manual(AssetType.STOCK);
+
+    assertTrue(meta.lotSelections().isEmpty());
+    assertSame(meta, meta.withLotSelections(List.of()));
+    assertEquals(selections, meta.withLotSelections(selections).lotSelections());
+  }
+
   @Test
   @DisplayName("Null Safety: maintains defaults even when an ExclusionRecord is present")
   void nullSafetyWithExclusionRecord() {
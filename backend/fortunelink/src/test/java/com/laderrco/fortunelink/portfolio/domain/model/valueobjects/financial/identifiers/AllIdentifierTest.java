@@ -1,6 +1,7 @@
 package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.identifiers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
@@ -69,5 +70,21 @@ public class AllIdentifierTest {
       String longSymbol = "A".repeat(50);
       assertThrows(IllegalArgumentException.class, () -> new AssetSymbol(longSymbol));
     }
+
+    @Test
+    @DisplayName("of: returns one shared instance per symbol")
+    void assetSymbolOfInternsInstances() {
+      AssetSymbol first = AssetSymbol.of("SHOP.TO");
+
+      assertSame(first, AssetSymbol.of("SHOP.TO"));
+      assertEquals(new AssetSymbol("shop.to"), first);
+    }
+
+    @Test
+    @DisplayName("of: validates like the constructor and caches nothing on failure")
+    void assetSymbolOfRejectsInvalid() {
+      assertThrows(IllegalArgumentException.class, () -> AssetSymbol.of("AAPL%$#("));
+      assertThrows(IllegalArgumentException.class, () -> AssetSymbol.of("AAPL%$#("));
+    }
   }
 }
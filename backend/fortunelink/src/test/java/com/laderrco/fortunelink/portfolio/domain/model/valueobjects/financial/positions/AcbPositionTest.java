@@ -176,6 +176,35 @@ class AcbPositionTest {
     }
   }
 
+  @Nested
+  @DisplayName("increaseCostBasis()")
+  class IncreaseCostBasisTests {
+    @Test
+    @DisplayName("increaseCostBasis: adds to the basis and keeps the quantity")
+    void increaseCostBasisAddsToBasis() {
+      AcbPosition position = createAcbPosition("10", "850");
+      Instant at = NOW.plusSeconds(60);
+
+      AcbPosition updated = position.increaseCostBasis(Money.of("200", USD), at).newPosition();
+
+      assertThat(updated.totalCostBasis()).isEqualTo(Money.of("1050", USD));
+      assertThat(updated.totalQuantity()).isEqualTo(Quantity.of(10));
+      assertThat(updated.lastModifiedAt()).isEqualTo(at);
+    }
+
+    @Test
+    @DisplayName("increaseCostBasis: rejects empty positions and negative amounts")
+    void increaseCostBasisRejectsInvalidInput() {
+      AcbPosition empty = AcbPosition.empty(SYMBOL, TYPE, USD);
+      AcbPosition position = createAcbPosition("10", "850");
+
+      assertThatThrownBy(() -> empty.increaseCostBasis(Money.of("1", USD), NOW))
+          .isInstanceOf(IllegalStateException.class);
+      assertThatThrownBy(() -> position.increaseCostBasis(Money.of("-1", USD), NOW))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
   @Nested
   @DisplayName("Aggregations")
   class CalculationTests {
@@ -107,6 +107,21 @@ class FifoPositionTest {
       assertThat(preservedLot.costBasis().amount()).isEqualByComparingTo("300");
     }
 
+    @Test
+    @DisplayName("sell: advances the first lot sequence past consumed lots only")
+    void sellAdvancesFirstLotSeqPastConsumedLots() {
+      FifoPosition pos = FifoPosition.reconstitute(SYMBOL, TYPE, USD, 10,
+          List.of(createLot("10", "100", T1), createLot("10", "200", T2),
+              createLot("10", "300", T3)), T3);
+
+      FifoPosition updated = pos.sell(new Quantity(BigDecimal.valueOf(15)), Money.of(500, "USD"),
+          Instant.now()).newPosition();
+
+      assertThat(updated.ledger().firstSeq()).isEqualTo(11);
+      assertThat(updated.totalQuantity().amount()).isEqualByComparingTo("15");
+      assertThat(updated.totalCostBasis().amount()).isEqualByComparingTo("400");
+    }
+
     @Test
     @DisplayName("split: adjusts quantity and basis across all lots")
     void splitValidRatioAdjustsAllLots() {
@@ -168,7 +183,7 @@ class FifoPositionTest {
     @Test
     @DisplayName("applyLotReduction: clamps last lot to zero when reduction exceeds basis")
     void applyLotReductionLastLotExcessClampsToZero() {
-      Money result = FifoPosition.applyLotReduction(Money.of("0.01", USD), Money.of("0.03", USD),
+      Money result = LotAdjustments.applyLotReduction(Money.of("0.01", USD), Money.of("0.03", USD),
           true, USD);
       assertThat(result).isEqualTo(Money.zero(USD));
     }
@@ -177,8 +192,8 @@ class FifoPositionTest {
     @DisplayName("applyLotReduction: throws if intermediate lot would go negative")
     void applyLotReductionIntermediateLotExcessThrowsIllegalState() {
       assertThatThrownBy(
-          () -> FifoPosition.applyLotReduction(Money.of("0.01", USD), Money.of("0.03", USD), false,
-              USD)).isInstanceOf(IllegalStateException.class);
+          () -> LotAdjustments.applyLotReduction(Money.of("0.01", USD), Money.of("0.03", USD),
+              false, USD)).isInstanceOf(IllegalStateException.class);
     }
   }
 
@@ -0,0 +1,123 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotConsumption;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotSelection;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LifoPosition Value Object Unit Tests")
+class LifoPositionTest {
+  private static final AssetSymbol SYMBOL = new AssetSymbol("MSFT");
+  private static final AssetType TYPE = AssetType.STOCK;
+  private static final Currency USD = Currency.USD;
+  private static final Instant T1 = Instant.parse("2023-01-01T10:00:00Z");
+  private static final Instant T2 = Instant.parse("2023-02-01T10:00:00Z");
+  private static final Instant T3 = Instant.parse("2023-03-01T10:00:00Z");
+
+  private static TaxLot createLot(String qty, String basis, Instant date) {
+    return new TaxLot(new Quantity(new BigDecimal(qty)), new Money(new BigDecimal(basis), USD),
+        date, TransactionId.newId());
+  }
+
+  private static LifoPosition createPosition(TaxLot... lots) {
+    return LifoPosition.reconstitute(SYMBOL, TYPE, USD, 0, List.of(lots), T3);
+  }
+
+  @Nested
+  @DisplayName("Trading Operations")
+  class TradingTests {
+
+    @Test
+    @DisplayName("buy: the new lot carries the opening transaction id")
+    void buyKeepsLotId() {
+      TransactionId buyId = TransactionId.newId();
+
+      LifoPosition pos = LifoPosition.empty(SYMBOL, TYPE, USD)
+          .buy(Quantity.of(10), Money.of(100, "USD"), T1, buyId).newPosition();
+
+      assertThat(pos.lots()).singleElement().extracting(TaxLot::lotId).isEqualTo(buyId);
+    }
+
+    @Test
+    @DisplayName("sell: consumes the newest lots first")
+    void sellConsumesNewestFirst() {
+      TaxLot oldest = createLot("10", "100", T1);
+      TaxLot middle = createLot("10", "200", T2);
+      TaxLot newest = createLot("10", "300", T3);
+      LifoPosition pos = createPosition(oldest, middle, newest);
+
+      var result = pos.sell(Quantity.of(15), Money.of(600, "USD"), Instant.now());
+
+      // all of the 300 lot plus half of the 200 lot
+      assertThat(result.costBasisSold().amount()).isEqualByComparingTo("400");
+      assertThat(result.realizedGainLoss().amount()).isEqualByComparingTo("200");
+      assertThat(result.newPosition().lots()).hasSize(2);
+      assertThat(result.newPosition().lots().getFirst()).isEqualTo(oldest);
+      assertThat(result.newPosition().lots().getLast().quantity().amount())
+          .isEqualByComparingTo("5");
+      assertThat(result.consumedLots()).extracting(LotConsumption::lotId)
+          .containsExactly(newest.lotId(), middle.lotId());
+    }
+
+    @Test
+    @DisplayName("sell: keeps the first lot sequence when only newer lots close")
+    void sellKeepsFirstSeq() {
+      LifoPosition pos = LifoPosition.reconstitute(SYMBOL, TYPE, USD, 4,
+          List.of(createLot("10", "100", T1), createLot("10", "200", T2)), T2);
+
+      LifoPosition updated = pos.sell(Quantity.of(10), Money.of(250, "USD"), Instant.now())
+          .newPosition();
+
+      assertThat(updated.ledger().firstSeq()).isEqualTo(4);
+      assertThat(updated.sequencedLots()).extracting(LotPosition.SequencedLot::seq)
+          .containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("sell: rejects lot selections")
+    void sellRejectsSelections() {
+      TaxLot lot = createLot("10", "100", T1);
+      LifoPosition pos = createPosition(lot);
+
+      assertThatThrownBy(() -> pos.sell(Quantity.of(1), Money.of(10, "USD"), T2,
+          List.of(new LotSelection(lot.lotId(), Quantity.of(1))))).isInstanceOf(
+          IllegalArgumentException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("Adjustments")
+  class AdjustmentTests {
+
+    @Test
+    @DisplayName("applyReturnOfCapital: reduces lots in proportion and keeps their ids")
+    void returnOfCapitalKeepsLotIds() {
+      TaxLot first = createLot("10", "100", T1);
+      TaxLot second = createLot("10", "300", T2);
+      LifoPosition pos = createPosition(first, second);
+
+      var result = pos.applyReturnOfCapital(Price.of("2", USD), Quantity.of(20));
+
+      assertThat(result).isInstanceOf(ApplyResult.Adjustment.class);
+      LifoPosition updated = result.newPosition();
+      assertThat(updated.totalCostBasis().amount()).isEqualByComparingTo("360");
+      assertThat(updated.lots()).extracting(TaxLot::lotId)
+          .containsExactly(first.lotId(), second.lotId());
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.LotPosition.SequencedLot;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LotIndex Unit Tests")
+class LotIndexTest {
+  private static final Instant T0 = Instant.parse("2023-01-01T00:00:00Z");
+
+  private static TaxLot lot(int n) {
+    return new TaxLot(Quantity.of(n), new Money(BigDecimal.valueOf(n * 10L), Currency.USD),
+        T0.plusSeconds(n), TransactionId.newId());
+  }
+
+  @Test
+  @DisplayName("append/drop: number lots in acquisition order and leave gaps on removal")
+  void dropLeavesGaps() {
+    TaxLot a = lot(1);
+    TaxLot b = lot(2);
+    TaxLot c = lot(3);
+    LotIndex index = LotIndex.empty().append(a).append(b).append(c);
+
+    LotIndex rest = index.drop(1);
+
+    assertThat(rest).containsExactly(a, c);
+    assertThat(rest.sequencedLots()).extracting(SequencedLot::seq).containsExactly(0L, 2L);
+    assertThat(rest.seqOf(b.lotId())).isNull();
+    assertThat(rest.seqOf(c.lotId())).isEqualTo(2L);
+    assertThat(index).containsExactly(a, b, c);
+  }
+
+  @Test
+  @DisplayName("of: numbers new lots after the highest persisted seq")
+  void ofContinuesAfterHighestSeq() {
+    LotIndex index = LotIndex.of(List.of(new SequencedLot(3, lot(1)), new SequencedLot(9, lot(2))));
+
+    LotIndex added = index.append(lot(3));
+
+    assertThat(added.sequencedLots()).extracting(SequencedLot::seq).containsExactly(3L, 9L, 10L);
+    assertThat(added.firstSeq()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("drop: throws for a seq that is not open")
+  void dropUnknownSeqThrows() {
+    assertThatThrownBy(() -> LotIndex.empty().append(lot(1)).drop(5)).isInstanceOf(
+        IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("random updates match a TreeMap model, ids and totals included")
+  void randomOperationsMatchModel() {
+    Random random = new Random(11);
+    TreeMap<Long, TaxLot> model = new TreeMap<>();
+    LotIndex index = LotIndex.empty();
+    long nextSeq = 0;
+
+    for (int i = 0; i < 1_000; i++) {
+      int op = model.isEmpty() ? 0 : random.nextInt(4);
+      if (op <= 1) {
+        TaxLot next = lot(1 + random.nextInt(50));
+        model.put(nextSeq++, next);
+        index = index.append(next);
+      } else {
+        List<Long> seqs = new ArrayList<>(model.keySet());
+        long seq = seqs.get(random.nextInt(seqs.size()));
+        if (op == 2) {
+          model.remove(seq);
+          index = index.drop(seq);
+        } else {
+          TaxLot current = model.get(seq);
+          TaxLot trimmed = current.quantity().compareTo(Quantity.of(1)) > 0
+              ? current.remainingAfter(Quantity.of(1)) : current;
+          model.put(seq, trimmed);
+          index = index.replace(seq, trimmed);
+        }
+      }
+
+      assertThat(index).containsExactlyElementsOf(model.values());
+      for (Map.Entry<Long, TaxLot> e : model.entrySet()) {
+        assertThat(index.seqOf(e.getValue().lotId())).isEqualTo(e.getKey());
+      }
+      assertThat(index.quantity()).isEqualByComparingTo(model.values().stream()
+          .map(l -> l.quantity().amount()).reduce(BigDecimal.ZERO, BigDecimal::add));
+      assertThat(index.costBasis()).isEqualByComparingTo(model.values().stream()
+          .map(l -> l.costBasis().amount()).reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+  }
+}
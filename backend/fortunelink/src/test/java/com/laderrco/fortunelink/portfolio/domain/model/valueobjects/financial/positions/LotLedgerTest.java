@@ -0,0 +1,159 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LotLedger Unit Tests")
+class LotLedgerTest {
+  private static final Instant T0 = Instant.parse("2023-01-01T00:00:00Z");
+
+  private static TaxLot lot(int n) {
+    return new TaxLot(Quantity.of(n), new Money(BigDecimal.valueOf(n * 10L), Currency.USD),
+        T0.plusSeconds(n));
+  }
+
+  @Nested
+  @DisplayName("Deque operations")
+  class DequeTests {
+
+    @Test
+    @DisplayName("append: keeps acquisition order and leaves the previous version untouched")
+    void appendSharesPreviousVersion() {
+      LotLedger one = LotLedger.empty().append(lot(1));
+      LotLedger two = one.append(lot(2));
+      LotLedger three = two.append(lot(3));
+
+      assertThat(one).containsExactly(lot(1));
+      assertThat(two).containsExactly(lot(1), lot(2));
+      assertThat(three).containsExactly(lot(1), lot(2), lot(3));
+      assertThat(three.getFirst()).isEqualTo(lot(1));
+      assertThat(three.getLast()).isEqualTo(lot(3));
+    }
+
+    @Test
+    @DisplayName("dropFirst: advances the sequence number of the first lot")
+    void dropFirstAdvancesFirstSeq() {
+      LotLedger ledger = LotLedger.of(7, List.of(lot(1), lot(2), lot(3)));
+
+      LotLedger rest = ledger.dropFirst();
+
+      assertThat(rest).containsExactly(lot(2), lot(3));
+      assertThat(rest.firstSeq()).isEqualTo(8);
+      assertThat(ledger.firstSeq()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("dropLast and replaceLast: work at the newest end")
+    void removeAndReplaceLast() {
+      LotLedger ledger = LotLedger.of(0, List.of(lot(1), lot(2), lot(3)));
+
+      assertThat(ledger.dropLast()).containsExactly(lot(1), lot(2));
+      assertThat(ledger.replaceLast(lot(9))).containsExactly(lot(1), lot(2), lot(9));
+      assertThat(ledger.dropLast().firstSeq()).isZero();
+    }
+
+    @Test
+    @DisplayName("replaceFirst: swaps the oldest lot and keeps its sequence number")
+    void replaceFirstKeepsSeq() {
+      LotLedger ledger = LotLedger.of(3, List.of(lot(1), lot(2)));
+
+      LotLedger replaced = ledger.replaceFirst(lot(5));
+
+      assertThat(replaced).containsExactly(lot(5), lot(2));
+      assertThat(replaced.firstSeq()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("getFirst/dropFirst: throw on an empty ledger")
+    void emptyLedgerThrows() {
+      assertThatThrownBy(() -> LotLedger.empty().getFirst()).isInstanceOf(
+          NoSuchElementException.class);
+      assertThatThrownBy(() -> LotLedger.empty().dropFirst()).isInstanceOf(
+          NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("map: transforms every lot in order and keeps the sequence numbers")
+    void mapKeepsOrderAndSeq() {
+      LotLedger ledger = LotLedger.of(4, List.of(lot(1), lot(2))).append(lot(3));
+
+      LotLedger mapped = ledger.map(l -> lot(l.quantity().amount().intValue() * 2));
+
+      assertThat(mapped).containsExactly(lot(2), lot(4), lot(6));
+      assertThat(mapped.firstSeq()).isEqualTo(4);
+    }
+  }
+
+  @Nested
+  @DisplayName("Running totals")
+  class TotalTests {
+
+    @Test
+    @DisplayName("quantity/costBasis: follow every update")
+    void totalsFollowUpdates() {
+      LotLedger ledger = LotLedger.of(0, List.of(lot(1), lot(2), lot(3)))
+          .dropFirst()
+          .replaceLast(lot(4));
+
+      assertThat(ledger.quantity()).isEqualByComparingTo("6");
+      assertThat(ledger.costBasis()).isEqualByComparingTo("60");
+    }
+
+    @Test
+    @DisplayName("random end operations match an ArrayDeque model")
+    void randomOperationsMatchModel() {
+      Random random = new Random(7);
+      Deque<TaxLot> model = new ArrayDeque<>();
+      LotLedger ledger = LotLedger.empty();
+      long firstSeq = 0;
+
+      for (int i = 1; i <= 2_000; i++) {
+        int op = model.isEmpty() ? 0 : random.nextInt(5);
+        TaxLot next = lot(1 + random.nextInt(50));
+        switch (op) {
+          case 0, 1 -> {
+            model.addLast(next);
+            ledger = ledger.append(next);
+          }
+          case 2 -> {
+            model.removeFirst();
+            ledger = ledger.dropFirst();
+            firstSeq++;
+          }
+          case 3 -> {
+            model.removeLast();
+            ledger = ledger.dropLast();
+          }
+          default -> {
+            model.removeFirst();
+            model.addFirst(next);
+            ledger = ledger.replaceFirst(next);
+          }
+        }
+
+        assertThat(ledger).containsExactlyElementsOf(new ArrayList<>(model));
+        assertThat(ledger.firstSeq()).isEqualTo(firstSeq);
+        assertThat(ledger.quantity()).isEqualByComparingTo(model.stream()
+            .map(l -> l.quantity().amount()).reduce(BigDecimal.ZERO, BigDecimal::add));
+        assertThat(ledger.costBasis()).isEqualByComparingTo(model.stream()
+            .map(l -> l.costBasis().amount()).reduce(BigDecimal.ZERO, BigDecimal::add));
+      }
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotConsumption;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotSelection;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Ratio;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.LotPosition.SequencedLot;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SpecificIdPosition Value Object Unit Tests")
+class SpecificIdPositionTest {
+  private static final AssetSymbol SYMBOL = new AssetSymbol("MSFT");
+  private static final AssetType TYPE = AssetType.STOCK;
+  private static final Currency USD = Currency.USD;
+  private static final Instant T1 = Instant.parse("2023-01-01T10:00:00Z");
+  private static final Instant T2 = Instant.parse("2023-02-01T10:00:00Z");
+  private static final Instant T3 = Instant.parse("2023-03-01T10:00:00Z");
+
+  private final TransactionId first = TransactionId.newId();
+  private final TransactionId second = TransactionId.newId();
+  private final TransactionId third = TransactionId.newId();
+  private SpecificIdPosition position;
+
+  @BeforeEach
+  void setUp() {
+    position = SpecificIdPosition.empty(SYMBOL, TYPE, USD)
+        .buy(Quantity.of(10), Money.of(100, "USD"), T1, first).newPosition()
+        .buy(Quantity.of(10), Money.of(200, "USD"), T2, second).newPosition()
+        .buy(Quantity.of(10), Money.of(300, "USD"), T3, third).newPosition();
+  }
+
+  private static LotSelection select(TransactionId lotId, int quantity) {
+    return new LotSelection(lotId, Quantity.of(quantity));
+  }
+
+  @Nested
+  @DisplayName("Selected sales")
+  class SelectedSaleTests {
+
+    @Test
+    @DisplayName("sell: closes exactly the selected lots and reports them")
+    void sellClosesSelectedLots() {
+      var result = position.sell(Quantity.of(14), Money.of(700, "USD"), Instant.now(),
+          List.of(select(third, 10), select(first, 4)));
+
+      // 300 for the whole third lot + 40 for 4/10 of the first
+      assertThat(result.costBasisSold().amount()).isEqualByComparingTo("340");
+      assertThat(result.consumedLots()).extracting(LotConsumption::lotId)
+          .containsExactly(third, first);
+      SpecificIdPosition updated = result.newPosition();
+      assertThat(updated.index().seqOf(third)).isNull();
+      assertThat(updated.lots()).extracting(TaxLot::lotId).containsExactly(first, second);
+      assertThat(updated.lots().getFirst().quantity().amount()).isEqualByComparingTo("6");
+      assertThat(updated.totalCostBasis().amount()).isEqualByComparingTo("260");
+    }
+
+    @Test
+    @DisplayName("sell: keeps the sequence numbers of lots that stay open")
+    void sellKeepsSeqs() {
+      SpecificIdPosition updated = position.sell(Quantity.of(10), Money.of(250, "USD"),
+          Instant.now(), List.of(select(second, 10))).newPosition();
+
+      assertThat(updated.sequencedLots()).extracting(SequencedLot::seq).containsExactly(0L, 2L);
+    }
+
+    @Test
+    @DisplayName("sell: without selections closes the oldest lots first")
+    void sellWithoutSelectionsIsFifo() {
+      var result = position.sell(Quantity.of(15), Money.of(600, "USD"), Instant.now());
+
+      assertThat(result.costBasisSold().amount()).isEqualByComparingTo("200");
+      assertThat(result.newPosition().lots()).extracting(TaxLot::lotId)
+          .containsExactly(second, third);
+    }
+
+    @Test
+    @DisplayName("sell: rejects selections that don't add up to the quantity sold")
+    void sellRejectsMismatchedTotal() {
+      assertThatThrownBy(() -> position.sell(Quantity.of(5), Money.of(100, "USD"), T3,
+          List.of(select(first, 4)))).isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("total");
+    }
+
+    @Test
+    @DisplayName("sell: rejects a lot that is not open")
+    void sellRejectsUnknownLot() {
+      assertThatThrownBy(() -> position.sell(Quantity.of(1), Money.of(10, "USD"), T3,
+          List.of(select(TransactionId.newId(), 1)))).isInstanceOf(
+          IllegalArgumentException.class).hasMessageContaining("No open lot");
+    }
+
+    @Test
+    @DisplayName("sell: rejects selling more of a lot than it holds")
+    void sellRejectsOversizedSelection() {
+      assertThatThrownBy(() -> position.sell(Quantity.of(11), Money.of(10, "USD"), T3,
+          List.of(select(first, 11)))).isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("holds");
+    }
+
+    @Test
+    @DisplayName("sell: rejects naming the same lot twice")
+    void sellRejectsDuplicateLot() {
+      assertThatThrownBy(() -> position.sell(Quantity.of(2), Money.of(10, "USD"), T3,
+          List.of(select(first, 1), select(first, 1)))).isInstanceOf(
+          IllegalArgumentException.class).hasMessageContaining("more than once");
+    }
+  }
+
+  @Nested
+  @DisplayName("Lot lifecycle")
+  class LifecycleTests {
+
+    @Test
+    @DisplayName("buy: rejects reopening a lot id that is still open")
+    void buyRejectsDuplicateLotId() {
+      assertThatThrownBy(
+          () -> position.buy(Quantity.of(1), Money.of(10, "USD"), T3, first)).isInstanceOf(
+          IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("split: lots stay selectable by id after a split")
+    void splitKeepsLotsSelectable() {
+      SpecificIdPosition split = position.split(new Ratio(2, 1)).newPosition();
+
+      var result = split.sell(Quantity.of(20), Money.of(500, "USD"), Instant.now(),
+          List.of(select(second, 20)));
+
+      assertThat(result.costBasisSold().amount()).isEqualByComparingTo("200");
+      assertThat(result.newPosition().totalQuantity().amount()).isEqualByComparingTo("40");
+    }
+
+    @Test
+    @DisplayName("reconstitute: rebuilds the id index from persisted lots")
+    void reconstituteRebuildsIndex() {
+      SpecificIdPosition restored = SpecificIdPosition.reconstitute(SYMBOL, TYPE, USD,
+          position.sequencedLots(), T3);
+
+      assertThat(restored.index().seqOf(second)).isEqualTo(1L);
+      assertThat(restored.totalQuantity().amount()).isEqualByComparingTo(BigDecimal.valueOf(30));
+      assertThat(restored).isEqualTo(position);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.laderrco.fortunelink.portfolio.domain.services.projectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction.TradeExecution;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
+import com.laderrco.fortunelink.portfolio.domain.model.factories.TransactionFactory;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SymbolPartitionedReplay: Parallel Per-Symbol Replay")
+class SymbolPartitionedReplayTest {
+  private static final Currency CAD = Currency.CAD;
+  private static final AssetSymbol AAPL = new AssetSymbol("AAPL");
+  private static final AssetSymbol MSFT = new AssetSymbol("MSFT");
+  private static final Instant T0 = Instant.parse("2024-01-01T10:00:00Z");
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("replay: projects each symbol, sums cash and keeps gains in history order")
+  void replayMergesPartitionsDeterministically() {
+    List<Transaction> history = List.of(
+        deposit("5000", T0),
+        buy(MSFT, 10, "100", T0.plusSeconds(1)),
+        buy(AAPL, 10, "50", T0.plusSeconds(2)),
+        sell(AAPL, 5, "60", T0.plusSeconds(3)),
+        sell(MSFT, 5, "90", T0.plusSeconds(4)));
+
+    SymbolPartitionedReplay.Result result = SymbolPartitionedReplay.replay(history, CAD,
+        PositionStrategy.ACB, pool);
+
+    assertThat(result.positions()).containsOnlyKeys(MSFT, AAPL);
+    assertThat(result.positions().get(AAPL).totalQuantity().amount()).isEqualByComparingTo("5");
+    assertThat(result.positions().get(MSFT).totalQuantity().amount()).isEqualByComparingTo("5");
+    assertThat(result.realizedGains()).extracting(SymbolPartitionedReplay.Gain::symbol)
+        .containsExactly(AAPL, MSFT);
+    assertThat(result.realizedGains().getFirst().gainLoss().amount()).isEqualByComparingTo("50");
+    // 5000 - 1000 - 500 + 300 + 450
+    assertThat(result.netCash().amount()).isEqualByComparingTo("4250");
+  }
+
+  @Test
+  @DisplayName("replay: drops positions that end flat")
+  void replayDropsFlatPositions() {
+    List<Transaction> history = List.of(
+        buy(AAPL, 10, "50", T0),
+        sell(AAPL, 10, "55", T0.plusSeconds(1)));
+
+    SymbolPartitionedReplay.Result result = SymbolPartitionedReplay.replay(history, CAD,
+        PositionStrategy.ACB, pool);
+
+    assertThat(result.positions()).isEmpty();
+    assertThat(result.realizedGains()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("replay: fails like the sequential replay when a symbol sells without a position")
+  void replayRejectsSellWithoutPosition() {
+    List<Transaction> history = List.of(
+        buy(AAPL, 10, "50", T0),
+        sell(MSFT, 1, "10", T0.plusSeconds(1)));
+
+    assertThatThrownBy(
+        () -> SymbolPartitionedReplay.replay(history, CAD, PositionStrategy.ACB, pool))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("SELL requires position for MSFT");
+  }
+
+  @Test
+  @DisplayName("replay: LIFO sales close the newest lot and report it on the gain")
+  void replayLifoReportsConsumedLots() {
+    Transaction older = buy(AAPL, 10, "50", T0);
+    Transaction newer = buy(AAPL, 10, "70", T0.plusSeconds(1));
+    List<Transaction> history = List.of(older, newer, sell(AAPL, 5, "60", T0.plusSeconds(2)));
+
+    SymbolPartitionedReplay.Result result = SymbolPartitionedReplay.replay(history, CAD,
+        PositionStrategy.LIFO, pool);
+
+    SymbolPartitionedReplay.Gain gain = result.realizedGains().getFirst();
+    // 300 proceeds - 350 cost from the 70 lot
+    assertThat(gain.gainLoss().amount()).isEqualByComparingTo("-50");
+    assertThat(gain.consumedLots()).singleElement()
+        .satisfies(l -> assertThat(l.lotId()).isEqualTo(newer.transactionId()));
+  }
+
+  private static Transaction buy(AssetSymbol symbol, int quantity, String price, Instant at) {
+    return TransactionFactory.buyBuilder(Quantity.of(quantity), Price.of(price, CAD))
+        .execution(new TradeExecution(symbol, Quantity.of(quantity), Price.of(price, CAD)))
+        .occurredAt(at).build();
+  }
+
+  private static Transaction sell(AssetSymbol symbol, int quantity, String price, Instant at) {
+    return TransactionFactory.sellBuilder(Quantity.of(quantity), Price.of(price, CAD))
+        .execution(new TradeExecution(symbol, Quantity.of(quantity), Price.of(price, CAD)))
+        .occurredAt(at).build();
+  }
+
+  private static Transaction deposit(String amount, Instant at) {
+    return TransactionFactory.baseBuilder().transactionType(TransactionType.DEPOSIT)
+        .cashDelta(Money.of(amount, CAD)).occurredAt(at).build();
+  }
+}
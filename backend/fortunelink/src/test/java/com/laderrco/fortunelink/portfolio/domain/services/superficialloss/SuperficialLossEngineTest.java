@@ -0,0 +1,201 @@
+package com.laderrco.fortunelink.portfolio.domain.services.superficialloss;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction.TradeExecution;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
+import com.laderrco.fortunelink.portfolio.domain.model.factories.TransactionFactory;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Ratio;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.ApplyResult;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
+import com.laderrco.fortunelink.portfolio.domain.services.projectors.AcbPositionProjector;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SuperficialLossEngine: 30-day Superficial Loss Rule")
+class SuperficialLossEngineTest {
+  private static final Currency CAD = Currency.CAD;
+  private static final AssetSymbol XEQT = new AssetSymbol("XEQT");
+  private static final AccountId TAXABLE = AccountId.newId();
+  private static final AccountId TFSA = AccountId.newId();
+  private static final Instant DAY_0 = Instant.parse("2024-01-01T15:00:00Z");
+
+  @Nested
+  @DisplayName("AcquisitionWindowIndex")
+  class IndexTests {
+    @Test
+    @DisplayName("acquiredBetween: sums BUY and DRIP quantities inside the window, inclusive")
+    void acquiredBetweenSumsWindow() {
+      AcquisitionWindowIndex index = AcquisitionWindowIndex.of(List.of(
+          buy(TAXABLE, 10, "100", day(0)),
+          drip(TAXABLE, 1, "100", day(10)),
+          buy(TFSA, 5, "100", day(20)),
+          sell(TAXABLE, 3, "90", day(25))));
+
+      assertThat(index.acquiredBetween(day(10), day(20)).amount()).isEqualByComparingTo("6");
+      assertThat(index.acquiredBetween(day(11), day(30)).amount()).isEqualByComparingTo("5");
+      assertThat(index.acquiredBetween(day(30), day(60)).isZero()).isTrue();
+    }
+
+    @Test
+    @DisplayName("heldAt: totals every account and rescales the account that split")
+    void heldAtFollowsSalesAndSplits() {
+      AcquisitionWindowIndex index = AcquisitionWindowIndex.of(List.of(
+          buy(TAXABLE, 10, "100", day(0)),
+          buy(TFSA, 5, "100", day(1)),
+          sell(TAXABLE, 4, "90", day(2)),
+          split(TAXABLE, new Ratio(2, 1), day(3))));
+
+      assertThat(index.heldAt(day(0).minusSeconds(1)).isZero()).isTrue();
+      assertThat(index.heldAt(day(2)).amount()).isEqualByComparingTo("11");
+      assertThat(index.heldAt(day(3)).amount()).isEqualByComparingTo("17");
+    }
+  }
+
+  @Nested
+  @DisplayName("adjust()")
+  class AdjustTests {
+    @Test
+    @DisplayName("adjust: denies the whole loss and carries it into the rebuy")
+    void rebuyInsideWindowDeniesWholeLoss() {
+      List<Transaction> history = List.of(
+          buy(TAXABLE, 10, "100", day(0)),
+          sell(TAXABLE, 10, "80", day(40)),
+          buy(TAXABLE, 10, "85", day(50)));
+
+      Replay replay = replay(history, history);
+
+      assertThat(replay.gains()).singleElement()
+          .satisfies(g -> assertThat(g.amount()).isEqualByComparingTo("0"));
+      // 850 paid plus the 200 denied loss
+      assertThat(replay.position().totalCostBasis().amount()).isEqualByComparingTo("1050");
+    }
+
+    @Test
+    @DisplayName("adjust: denies the share matching the replacement shares")
+    void partialReplacementDeniesProportionally() {
+      List<Transaction> history = List.of(
+          buy(TAXABLE, 10, "100", day(0)),
+          buy(TAXABLE, 4, "80", day(35)),
+          sell(TAXABLE, 10, "80", day(40)));
+
+      Replay replay = replay(history, history);
+
+      // Pool of 14 for 1320: 942.857 sold for 800, a 142.857 loss, 4/10 of it denied
+      assertThat(replay.gains().getFirst().amount().doubleValue()).isCloseTo(-85.7142857,
+          within(1e-6));
+      assertThat(replay.position().totalCostBasis().amount().doubleValue()).isCloseTo(434.2857143,
+          within(1e-6));
+    }
+
+    @Test
+    @DisplayName("adjust: counts a rebuy in another account, the carry then lapses")
+    void rebuyInRegisteredAccountDeniesLoss() {
+      List<Transaction> taxable = List.of(
+          buy(TAXABLE, 10, "100", day(0)),
+          sell(TAXABLE, 10, "80", day(40)),
+          buy(TAXABLE, 10, "85", day(90)));
+      List<Transaction> everyAccount = Stream.concat(taxable.stream(),
+          Stream.of(buy(TFSA, 10, "82", day(45))))
+          .sorted(Comparator.comparing(Transaction::occurredAt)).toList();
+
+      Replay replay = replay(taxable, everyAccount);
+
+      assertThat(replay.gains().getFirst().amount()).isEqualByComparingTo("0");
+      // The day-90 buy is outside the window, so it keeps its own cost
+      assertThat(replay.position().totalCostBasis().amount()).isEqualByComparingTo("850");
+    }
+
+    @Test
+    @DisplayName("adjust: lets the loss stand when nothing is held at the end of the window")
+    void replacementSoldBeforeWindowEndsKeepsLoss() {
+      List<Transaction> history = List.of(
+          buy(TAXABLE, 10, "100", day(0)),
+          sell(TAXABLE, 10, "80", day(40)),
+          buy(TAXABLE, 10, "85", day(50)),
+          sell(TAXABLE, 10, "86", day(60)));
+
+      Replay replay = replay(history, history);
+
+      assertThat(replay.gains().getFirst().amount()).isEqualByComparingTo("-200");
+    }
+
+    @Test
+    @DisplayName("adjust: the disabled engine returns every result unchanged")
+    void disabledEngineIsIdentity() {
+      Transaction sale = sell(TAXABLE, 10, "80", day(40));
+      AcbPosition held = AcbPosition.empty(XEQT, AssetType.ETF, CAD)
+          .buy(Quantity.of(10), Money.of("1000", CAD), day(0)).newPosition();
+      ApplyResult.Sale<AcbPosition> result = held.sell(Quantity.of(10), Money.of("800", CAD),
+          day(40));
+
+      assertThat(SuperficialLossEngine.disabled().adjust(sale, result)).isSameAs(result);
+    }
+  }
+
+  private static Replay replay(List<Transaction> account, List<Transaction> everyAccount) {
+    AcquisitionWindowIndex index = AcquisitionWindowIndex.of(everyAccount);
+    SuperficialLossEngine engine = SuperficialLossEngine.using(symbols -> Map.of(XEQT, index));
+    List<Money> gains = new ArrayList<>();
+
+    AcbPosition position = new AcbPositionProjector(XEQT, AssetType.ETF, CAD).replay(account,
+        engine, (tx, result) -> {
+          if (result instanceof ApplyResult.Sale<?> sale) {
+            gains.add(sale.realizedGainLoss());
+          }
+        });
+    return new Replay(position, gains);
+  }
+
+  private static Instant day(int n) {
+    return DAY_0.plus(Duration.ofDays(n));
+  }
+
+  private static Transaction buy(AccountId account, int quantity, String price, Instant at) {
+    return TransactionFactory.buyBuilder(Quantity.of(quantity), Price.of(price, CAD))
+        .accountId(account)
+        .execution(new TradeExecution(XEQT, Quantity.of(quantity), Price.of(price, CAD)))
+        .occurredAt(at).build();
+  }
+
+  private static Transaction drip(AccountId account, int quantity, String price, Instant at) {
+    return TransactionFactory.baseBuilder().accountId(account)
+        .transactionType(TransactionType.DIVIDEND_REINVEST)
+        .execution(new TradeExecution(XEQT, Quantity.of(quantity), Price.of(price, CAD)))
+        .occurredAt(at).build();
+  }
+
+  private static Transaction sell(AccountId account, int quantity, String price, Instant at) {
+    return TransactionFactory.sellBuilder(Quantity.of(quantity), Price.of(price, CAD))
+        .accountId(account)
+        .execution(new TradeExecution(XEQT, Quantity.of(quantity), Price.of(price, CAD)))
+        .occurredAt(at).build();
+  }
+
+  private static Transaction split(AccountId account, Ratio ratio, Instant at) {
+    return TransactionFactory.baseBuilder().accountId(account)
+        .transactionType(TransactionType.SPLIT)
+        .execution(new TradeExecution(XEQT, Quantity.of(ratio.numerator()), Price.zero(CAD)))
+        .split(ratio).occurredAt(at).build();
+  }
+
+  private record Replay(AcbPosition position, List<Money> gains) {
+  }
+}
@@ -6,7 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationContext;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 @SpringBootTest(classes = AsyncConfig.class)
 class AsyncConfigTest {
@@ -17,13 +17,21 @@ class AsyncConfigTest {
   @Test
   void shouldConfigureRecalculationExecutorCorrectly() {
 
-    ThreadPoolTaskExecutor executor = context.getBean("recalculationExecutor",
-        ThreadPoolTaskExecutor.class);
+    SimpleAsyncTaskExecutor executor = context.getBean("recalculationExecutor",
+        SimpleAsyncTaskExecutor.class);
 
-    assertThat(executor.getCorePoolSize()).isEqualTo(2);
-    assertThat(executor.getMaxPoolSize()).isEqualTo(4);
+    assertThat(executor.getConcurrencyLimit()).isEqualTo(64);
+    assertThat(executor.isThrottleActive()).isTrue();
     assertThat(executor.getThreadNamePrefix()).isEqualTo("recalc-");
+  }
+
+  @Test
+  void shouldConfigureRecalculationWorkerExecutorCorrectly() {
+
+    SimpleAsyncTaskExecutor executor = context.getBean("recalculationWorkerExecutor",
+        SimpleAsyncTaskExecutor.class);
 
-    assertThat(executor.getThreadPoolExecutor()).isNotNull();
+    assertThat(executor.isThrottleActive()).isFalse();
+    assertThat(executor.getThreadNamePrefix()).isEqualTo("recalc-worker-");
   }
-}
\ No newline at end of file
+}
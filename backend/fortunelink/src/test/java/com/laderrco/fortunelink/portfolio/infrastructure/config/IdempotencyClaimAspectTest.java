@@ -0,0 +1,149 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.laderrco.fortunelink.portfolio.application.utils.annotations.TransactionCommand;
+import com.laderrco.fortunelink.portfolio.application.views.TransactionView;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.infrastructure.config.cachedidempotency.IdempotencyCache;
+import java.util.List;
+import java.util.UUID;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyClaimAspect Unit Tests")
+class IdempotencyClaimAspectTest {
+  private static final PortfolioId PORTFOLIO_ID = PortfolioId.newId();
+  private static final UUID KEY = UUID.randomUUID();
+  private static final String CACHE_KEY = IdempotencyCache.keyFor(PORTFOLIO_ID, KEY);
+
+  @Mock
+  private IdempotencyCache idempotencyCache;
+  @Mock
+  private ProceedingJoinPoint joinPoint;
+  @Mock
+  private TransactionCommand command;
+  @Mock
+  private TransactionView view;
+
+  private IdempotencyClaimAspect aspect;
+
+  @BeforeEach
+  void setUp() {
+    aspect = new IdempotencyClaimAspect(idempotencyCache);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("claim: a command without a key runs without touching the cache")
+  void claimWithoutKeyProceeds() throws Throwable {
+    when(command.idempotencyKey()).thenReturn(null);
+    when(joinPoint.proceed()).thenReturn(view);
+
+    assertThat(aspect.claim(joinPoint, command)).isSameAs(view);
+
+    verify(idempotencyCache, never()).tryClaim(anyString());
+  }
+
+  @Test
+  @DisplayName("claim: keys are scoped to the command's portfolio")
+  void keysAreScopedByPortfolio() {
+    assertThat(IdempotencyCache.keyFor(PortfolioId.newId(), KEY)).isNotEqualTo(CACHE_KEY);
+  }
+
+  @Test
+  @DisplayName("claim: the owner runs the command and drops the claim afterwards")
+  void ownerProceedsAndReleases() throws Throwable {
+    stubKey();
+    when(idempotencyCache.tryClaim(CACHE_KEY)).thenReturn(true);
+    when(joinPoint.proceed()).thenReturn(view);
+
+    assertThat(aspect.claim(joinPoint, command)).isSameAs(view);
+
+    verify(idempotencyCache).release(CACHE_KEY);
+  }
+
+  @Test
+  @DisplayName("claim: the owner drops the claim when the command fails")
+  void ownerReleasesOnFailure() throws Throwable {
+    stubKey();
+    when(idempotencyCache.tryClaim(CACHE_KEY)).thenReturn(true);
+    when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+    assertThatThrownBy(() -> aspect.claim(joinPoint, command))
+        .isInstanceOf(IllegalStateException.class);
+
+    verify(idempotencyCache).release(CACHE_KEY);
+  }
+
+  @Test
+  @DisplayName("claim: inside a caller's transaction the claim is dropped on completion")
+  void ownerInTransactionReleasesAfterCompletion() throws Throwable {
+    TransactionSynchronizationManager.initSynchronization();
+    stubKey();
+    when(idempotencyCache.tryClaim(CACHE_KEY)).thenReturn(true);
+    when(joinPoint.proceed()).thenReturn(view);
+
+    aspect.claim(joinPoint, command);
+
+    verify(idempotencyCache, never()).release(anyString());
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    assertThat(synchronizations).hasSize(1);
+    synchronizations.getFirst().afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+    verify(idempotencyCache).release(CACHE_KEY);
+  }
+
+  @Test
+  @DisplayName("claim: a duplicate returns the in-flight owner's result without running")
+  void duplicateReturnsOwnersResult() throws Throwable {
+    stubKey();
+    when(idempotencyCache.tryClaim(CACHE_KEY)).thenReturn(false);
+    when(idempotencyCache.awaitResult(CACHE_KEY, IdempotencyClaimAspect.IN_FLIGHT_WAIT))
+        .thenReturn(view);
+
+    assertThat(aspect.claim(joinPoint, command)).isSameAs(view);
+
+    verify(joinPoint, never()).proceed();
+    verify(idempotencyCache, never()).release(anyString());
+  }
+
+  @Test
+  @DisplayName("claim: a duplicate runs itself when the owner gives up, leaving the claim alone")
+  void duplicateProceedsWhenOwnerGivesUp() throws Throwable {
+    stubKey();
+    when(idempotencyCache.tryClaim(CACHE_KEY)).thenReturn(false);
+    when(idempotencyCache.awaitResult(CACHE_KEY, IdempotencyClaimAspect.IN_FLIGHT_WAIT))
+        .thenReturn(null);
+    when(joinPoint.proceed()).thenReturn(view);
+
+    assertThat(aspect.claim(joinPoint, command)).isSameAs(view);
+
+    verify(idempotencyCache, never()).release(anyString());
+  }
+
+  private void stubKey() {
+    when(command.idempotencyKey()).thenReturn(KEY);
+    when(command.portfolioId()).thenReturn(PORTFOLIO_ID);
+  }
+}
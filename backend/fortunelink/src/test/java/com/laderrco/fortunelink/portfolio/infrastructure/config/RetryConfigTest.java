@@ -9,6 +9,7 @@ import static org.mockito.Mockito.verify;
 import com.laderrco.fortunelink.portfolio.application.commands.records.RecordPurchaseCommand;
 import com.laderrco.fortunelink.portfolio.application.mappers.TransactionViewMapper;
 import com.laderrco.fortunelink.portfolio.application.services.AccountHealthService;
+import com.laderrco.fortunelink.portfolio.application.services.SuperficialLossService;
 import com.laderrco.fortunelink.portfolio.application.services.TransactionService;
 import com.laderrco.fortunelink.portfolio.application.utils.PortfolioLoader;
 import com.laderrco.fortunelink.portfolio.application.validators.TransactionCommandValidator;
@@ -79,6 +80,8 @@ class TransactionServiceRetryTest {
   @MockitoBean
   private TransactionRecordingService transactionRecordingService;
   @MockitoBean
+  private SuperficialLossService superficialLossService;
+  @MockitoBean
   private CacheManager cacheManager;
   @MockitoBean
   private IdempotencyCache idempotencyCache;
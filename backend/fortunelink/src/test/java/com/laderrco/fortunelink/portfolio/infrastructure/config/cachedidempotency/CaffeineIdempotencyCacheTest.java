@@ -9,6 +9,7 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Mo
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -18,11 +19,13 @@ import org.junit.jupiter.api.Test;
 
 class CaffeineIdempotencyCacheTest {
 
+  private SimpleMeterRegistry meterRegistry;
   private CaffeineIdempotencyCache idempotencyCache;
 
   @BeforeEach
   void setUp() {
-    idempotencyCache = new CaffeineIdempotencyCache();
+    meterRegistry = new SimpleMeterRegistry();
+    idempotencyCache = new CaffeineIdempotencyCache(meterRegistry);
   }
 
   @Test
@@ -64,4 +67,23 @@ class CaffeineIdempotencyCacheTest {
     assertThat(retrieved).isEqualTo(secondView);
     assertThat(retrieved).isNotEqualTo(firstView);
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldRecordHitsMissesAndSize() {
+    TransactionView view = new TransactionView(TransactionId.newId(), TransactionType.BUY, "AAPL",
+        Quantity.of(10), Price.of("100", Currency.CAD), List.of(), Money.of(1000, Currency.CAD),
+        Map.of(), Instant.now(), "notes");
+
+    idempotencyCache.get("absent");
+    idempotencyCache.put("present", view);
+    idempotencyCache.get("present");
+    idempotencyCache.get("present");
+
+    assertThat(meterRegistry.get("fortunelink.cache.requests").tag("cache", "idempotency")
+        .tag("result", "hit").counter().count()).isEqualTo(2.0);
+    assertThat(meterRegistry.get("fortunelink.cache.requests").tag("cache", "idempotency")
+        .tag("result", "miss").counter().count()).isEqualTo(1.0);
+    assertThat(meterRegistry.get("fortunelink.cache.size").tag("cache", "idempotency").gauge()
+        .value()).isEqualTo(1.0);
+  }
+}
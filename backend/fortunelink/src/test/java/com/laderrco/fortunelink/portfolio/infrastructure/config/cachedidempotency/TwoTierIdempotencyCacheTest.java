@@ -0,0 +1,186 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config.cachedidempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.laderrco.fortunelink.portfolio.application.views.TransactionView;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoTierIdempotencyCache Unit Tests")
+class TwoTierIdempotencyCacheTest {
+  private static final String KEY = "9f1c2a6e-1111-4222-8333-444455556666";
+
+  @Mock
+  private StringRedisTemplate redisTemplate;
+  @Mock
+  private ValueOperations<String, String> valueOps;
+  @Mock
+  private JsonMapper objectMapper;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CaffeineIdempotencyCache local;
+  private TwoTierIdempotencyCache cache;
+  private TransactionView view;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    local = new CaffeineIdempotencyCache(meterRegistry);
+    cache = new TwoTierIdempotencyCache(local, redisTemplate, objectMapper, meterRegistry, 86_400,
+        30);
+    view = new TransactionView(TransactionId.newId(), TransactionType.BUY, "AAPL", Quantity.of(10),
+        Price.of("100", Currency.CAD), List.of(), Money.of(1000, Currency.CAD), Map.of(),
+        Instant.now(), "notes");
+  }
+
+  @Nested
+  @DisplayName("Read path")
+  class ReadPath {
+
+    @Test
+    @DisplayName("get: should serve L1 hits without touching Redis")
+    void getShouldServeLocalHit() {
+      local.put(KEY, view);
+
+      assertThat(cache.get(KEY)).isEqualTo(view);
+      verify(redisTemplate, never()).opsForValue();
+    }
+
+    @Test
+    @DisplayName("get: should fall back to L2 and backfill L1")
+    void getShouldBackfillFromRedis() {
+      when(redisTemplate.opsForValue()).thenReturn(valueOps);
+      when(valueOps.get("idempotency:result:" + KEY)).thenReturn("{json}");
+      when(objectMapper.readValue("{json}", TransactionView.class)).thenReturn(view);
+
+      assertThat(cache.get(KEY)).isEqualTo(view);
+      assertThat(local.get(KEY)).isEqualTo(view);
+      assertThat(requests("caffeine", "miss")).isEqualTo(1.0);
+      assertThat(requests("redis", "hit")).isEqualTo(1.0);
+      assertThat(requests("caffeine", "hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("get: should count a miss on both tiers when Redis has no result")
+    void getShouldCountMissOnBothTiers() {
+      when(redisTemplate.opsForValue()).thenReturn(valueOps);
+
+      assertThat(cache.get(KEY)).isNull();
+      assertThat(requests("caffeine", "miss")).isEqualTo(1.0);
+      assertThat(requests("redis", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("get: should treat a Redis outage as a miss")
+    void getShouldDegradeOnRedisFailure() {
+      when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+
+      assertThat(cache.get(KEY)).isNull();
+    }
+  }
+
+  @Nested
+  @DisplayName("In-flight claims")
+  class InFlightClaims {
+
+    @Test
+    @DisplayName("tryClaim: should grant the first caller and refuse a duplicate")
+    void tryClaimShouldUseSetIfAbsent() {
+      when(redisTemplate.opsForValue()).thenReturn(valueOps);
+      when(valueOps.setIfAbsent(eq("idempotency:inflight:" + KEY), anyString(),
+          eq(Duration.ofSeconds(30)))).thenReturn(true, false);
+
+      assertThat(cache.tryClaim(KEY)).isTrue();
+      assertThat(cache.tryClaim(KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("tryClaim: should proceed unclaimed when Redis is unavailable")
+    void tryClaimShouldDegradeOnRedisFailure() {
+      when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+
+      assertThat(cache.tryClaim(KEY)).isTrue();
+    }
+
+    @Test
+    @DisplayName("put: should publish to both tiers and release an owned claim")
+    @SuppressWarnings("unchecked")
+    void putShouldPublishAndRelease() {
+      when(redisTemplate.opsForValue()).thenReturn(valueOps);
+      when(valueOps.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+      when(objectMapper.writeValueAsString(view)).thenReturn("{json}");
+
+      cache.tryClaim(KEY);
+      cache.put(KEY, view);
+
+      assertThat(local.get(KEY)).isEqualTo(view);
+      verify(valueOps).set("idempotency:result:" + KEY, "{json}", Duration.ofSeconds(86_400));
+      verify(redisTemplate).execute(any(RedisScript.class),
+          eq(List.of("idempotency:inflight:" + KEY)), anyString());
+    }
+
+    @Test
+    @DisplayName("release: should be a no-op for claims this node does not own")
+    @SuppressWarnings("unchecked")
+    void releaseShouldIgnoreForeignClaims() {
+      cache.release(KEY);
+
+      verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyString());
+    }
+
+    @Test
+    @DisplayName("awaitResult: should return the owner's result once it is published")
+    void awaitResultShouldReturnPublishedResult() {
+      when(redisTemplate.opsForValue()).thenReturn(valueOps);
+      when(valueOps.get("idempotency:result:" + KEY)).thenReturn(null, "{json}");
+      when(redisTemplate.hasKey("idempotency:inflight:" + KEY)).thenReturn(true);
+      when(objectMapper.readValue("{json}", TransactionView.class)).thenReturn(view);
+
+      assertThat(cache.awaitResult(KEY, Duration.ofSeconds(2))).isEqualTo(view);
+    }
+
+    @Test
+    @DisplayName("awaitResult: should stop waiting when the owner releases without a result")
+    void awaitResultShouldStopWhenOwnerReleases() {
+      when(redisTemplate.opsForValue()).thenReturn(valueOps);
+      when(valueOps.get("idempotency:result:" + KEY)).thenReturn(null);
+      when(redisTemplate.hasKey("idempotency:inflight:" + KEY)).thenReturn(false);
+
+      assertThat(cache.awaitResult(KEY, Duration.ofSeconds(2))).isNull();
+    }
+  }
+
+  private double requests(String tier, String result) {
+    return meterRegistry.get("fortunelink.cache.requests").tag("cache", "idempotency")
+        .tag("tier", tier).tag("result", result).counter().count();
+  }
+}
@@ -0,0 +1,115 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.config.observability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.laderrco.fortunelink.portfolio.infrastructure.config.RequestLoggingFilter;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@DisplayName("Server-Timing and observation correlation")
+class ServerTimingTest {
+  private ObservationRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = ObservationRegistry.create();
+    registry.observationConfig().observationHandler(new ServerTimingObservationHandler());
+  }
+
+  @AfterEach
+  void tearDown() {
+    ServerTiming.end();
+    MDC.clear();
+  }
+
+  @Nested
+  @DisplayName("ServerTimingObservationHandler")
+  class Handler {
+
+    @Test
+    @DisplayName("should record fortunelink phases without the prefix and sum repeats")
+    void shouldRecordPhases() {
+      ServerTiming timing = ServerTiming.begin();
+
+      observe("fortunelink.portfolio.load");
+      observe("fortunelink.exchange.rate");
+      observe("fortunelink.exchange.rate");
+
+      assertThat(timing.header()).matches("portfolio\\.load;dur=\\d+\\.\\d, "
+          + "exchange\\.rate;dur=\\d+\\.\\d;desc=\"2 calls\", total;dur=\\d+\\.\\d");
+    }
+
+    @Test
+    @DisplayName("should ignore observations outside the fortunelink namespace")
+    void shouldIgnoreForeignObservations() {
+      ServerTiming timing = ServerTiming.begin();
+
+      observe("http.server.requests");
+
+      assertThat(timing.header()).startsWith("total;dur=");
+    }
+
+    @Test
+    @DisplayName("should do nothing when no request is bound to the thread")
+    void shouldSkipWithoutRequest() {
+      observe("fortunelink.portfolio.load");
+
+      assertThat(ServerTiming.current()).isNull();
+    }
+  }
+
+  @Nested
+  @DisplayName("ServerTimingFilter")
+  class Filter {
+
+    @Test
+    @DisplayName("should add the header to an uncommitted response and unbind the request")
+    void shouldAddHeaderAndUnbind() throws Exception {
+      MockHttpServletResponse response = new MockHttpServletResponse();
+
+      new ServerTimingFilter().doFilter(new MockHttpServletRequest("DELETE", "/api/v1/x"),
+          response, (req, res) -> observe("fortunelink.portfolio.load"));
+
+      assertThat(response.getHeader(ServerTiming.HEADER)).startsWith("portfolio.load;dur=")
+          .contains("total;dur=");
+      assertThat(ServerTiming.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("should keep a header already written before the body")
+    void shouldKeepEarlierHeader() throws Exception {
+      MockHttpServletResponse response = new MockHttpServletResponse();
+
+      new ServerTimingFilter().doFilter(new MockHttpServletRequest("GET", "/api/v1/x"), response,
+          (req, res) -> ((MockHttpServletResponse) res).setHeader(ServerTiming.HEADER, "early"));
+
+      assertThat(response.getHeaders(ServerTiming.HEADER)).containsExactly("early");
+    }
+  }
+
+  @Test
+  @DisplayName("RequestIdObservationFilter: should tag the MDC request id as high cardinality")
+  void shouldTagRequestId() {
+    MDC.put(RequestLoggingFilter.REQUEST_ID, "req-123");
+
+    Observation.Context context = new RequestIdObservationFilter().map(new Observation.Context());
+
+    assertThat(context.getHighCardinalityKeyValues())
+        .contains(KeyValue.of("request.id", "req-123"));
+    assertThat(context.getLowCardinalityKeyValues()).isEmpty();
+  }
+
+  private void observe(String name) {
+    Observation.createNotStarted(name, registry).observe(() -> {
+    });
+  }
+}
@@ -13,6 +13,7 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Cu
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.ExchangeRate;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.infrastructure.exchange.boc.exceptions.ExchangeRateUnavailableException;
+import io.micrometer.observation.ObservationRegistry;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Optional;
@@ -34,7 +35,7 @@ class ExchangeRateServiceImplTest {
 
   @BeforeEach
   void setUp() {
-    exchangeRateService = new ExchangeRateServiceImpl(provider);
+    exchangeRateService = new ExchangeRateServiceImpl(provider, ObservationRegistry.NOOP);
   }
 
   @Test
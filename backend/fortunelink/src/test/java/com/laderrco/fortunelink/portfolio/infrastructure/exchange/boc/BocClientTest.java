@@ -15,6 +15,7 @@ import com.laderrco.fortunelink.portfolio.infrastructure.exchange.boc.dtos.BocEx
 import com.laderrco.fortunelink.portfolio.infrastructure.exchange.boc.exceptions.BocApiException;
 import com.laderrco.fortunelink.portfolio.infrastructure.exchange.boc.exceptions.BocParsingException;
 import com.laderrco.fortunelink.portfolio.infrastructure.exchange.boc.exceptions.ExchangeRateUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
@@ -42,6 +43,7 @@ class BocClientTest {
   @Mock
   private HttpResponse<Object> httpResponse;
 
+  private SimpleMeterRegistry meterRegistry;
   private BocClient bocClient;
 
   @BeforeEach
@@ -49,7 +51,8 @@ class BocClientTest {
     when(config.getBaseUrl()).thenReturn("https://test.api/valet");
     lenient().when(config.getTimeoutSeconds()).thenReturn(5);
 
-    bocClient = new BocClient(config, objectMapper, httpClient);
+    meterRegistry = new SimpleMeterRegistry();
+    bocClient = new BocClient(config, objectMapper, httpClient, meterRegistry);
   }
 
   @Nested
@@ -75,6 +78,8 @@ class BocClientTest {
       verify(httpClient).send(argThat(
           request -> request.uri().toString().contains("FXUSDCAD") && request.method()
               .equals("GET")), any());
+      assertThat(meterRegistry.get("fortunelink.exchange.boc.requests").tag("operation", "latest")
+          .tag("outcome", "success").timer().count()).isEqualTo(1);
     }
   }
 
@@ -99,6 +104,9 @@ class BocClientTest {
       when(httpResponse.statusCode()).thenReturn(418);
       assertThatThrownBy(() -> bocClient.getLatestExchangeRate("CAD", "USD")).isInstanceOf(
           BocApiException.class).hasMessageContaining("418");
+
+      assertThat(meterRegistry.get("fortunelink.exchange.boc.requests").tag("operation", "latest")
+          .tag("outcome", "error").timer().count()).isEqualTo(3);
     }
 
     @Test
@@ -108,6 +116,8 @@ class BocClientTest {
 
       assertThatThrownBy(() -> bocClient.getLatestExchangeRate("CAD", "USD")).isInstanceOf(
           BocApiException.class).hasMessageContaining("Connection failed");
+      assertThat(meterRegistry.get("fortunelink.exchange.boc.requests").tag("outcome", "error")
+          .timer().count()).isEqualTo(1);
     }
   }
 
@@ -24,8 +24,11 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.domain.repositories.MarketAssetInfoRepository;
 import com.laderrco.fortunelink.portfolio.infrastructure.config.redis.CacheKeyFactory;
 import com.laderrco.fortunelink.portfolio.infrastructure.exceptions.UnknownSymbolException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -62,12 +65,14 @@ class MarketDataServiceImplTest {
   private ValueOperations<String, MarketAssetQuote> quoteOps;
   @Mock
   private ValueOperations<String, MarketAssetInfo> infoOps;
+  private SimpleMeterRegistry meterRegistry;
   private MarketDataServiceImpl marketDataService;
 
   @BeforeEach
   void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
     marketDataService = new MarketDataServiceImpl(provider, infoRepository, quoteRedis, infoRedis,
-        keyFactory);
+        keyFactory, meterRegistry, ObservationRegistry.NOOP);
 
     ReflectionTestUtils.setField(marketDataService, "quoteTtl", 60L);
     ReflectionTestUtils.setField(marketDataService, "assetInfoTtl", 3600L);
@@ -389,4 +394,55 @@ class MarketDataServiceImplTest {
           UnknownSymbolException.class);
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  @DisplayName("Cache Metrics")
+  class CacheMetricsTests {
+
+    @Test
+    @DisplayName("should count quote hits and misses per symbol on the Redis tier")
+    void shouldCountQuoteLookups() {
+      AssetSymbol msft = new AssetSymbol("MSFT");
+      AssetSymbol shop = new AssetSymbol("SHOP");
+      when(keyFactory.price(anyString())).thenAnswer(inv -> "price:" + inv.getArgument(0));
+      when(quoteRedis.opsForValue()).thenReturn(quoteOps);
+      when(quoteOps.multiGet(anyList())).thenAnswer(inv -> {
+        List<String> keys = inv.getArgument(0);
+        return keys.stream()
+            .map(key -> key.contains("AAPL") ? mock(MarketAssetQuote.class) : null).toList();
+      });
+      when(infoRepository.findBySymbols(anySet())).thenReturn(Map.of());
+      when(provider.fetchBatchQuotes(anySet(), anyMap())).thenReturn(Map.of());
+
+      marketDataService.getBatchQuotes(Set.of(aapl, msft, shop));
+
+      assertThat(requests("quote", "redis", "hit")).isEqualTo(1.0);
+      assertThat(requests("quote", "redis", "miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("should count asset info lookups on both the Redis and database tiers")
+    void shouldCountAssetInfoLookups() {
+      AssetSymbol msft = new AssetSymbol("MSFT");
+      when(keyFactory.assetInfo(anyString())).thenAnswer(inv -> "info:" + inv.getArgument(0));
+      when(infoRedis.opsForValue()).thenReturn(infoOps);
+      when(infoOps.multiGet(anyList())).thenReturn(Arrays.asList(null, null));
+      when(infoRepository.findBySymbols(anySet()))
+          .thenReturn(Map.of(aapl, mock(MarketAssetInfo.class)));
+      when(provider.fetchBatchAssetInfo(anySet())).thenReturn(Map.of());
+
+      marketDataService.getBatchAssetInfo(Set.of(aapl, msft));
+
+      assertThat(requests("asset-info", "redis", "miss")).isEqualTo(2.0);
+      assertThat(requests("asset-info", "database", "hit")).isEqualTo(1.0);
+      assertThat(requests("asset-info", "database", "miss")).isEqualTo(1.0);
+      assertThat(meterRegistry.find("fortunelink.cache.requests").tag("result", "hit")
+          .tag("tier", "redis").counter()).isNull();
+    }
+
+    private double requests(String cache, String tier, String result) {
+      return meterRegistry.get("fortunelink.cache.requests").tag("cache", cache)
+          .tag("tier", tier).tag("result", result).counter().count();
+    }
+  }
+}
@@ -20,6 +20,7 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.infrastructure.market.fmp.dtos.FmpProfileResponse;
 import com.laderrco.fortunelink.portfolio.infrastructure.market.fmp.dtos.FmpQuoteResponse;
 import com.laderrco.fortunelink.portfolio.infrastructure.market.fmp.dtos.FmpSearchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
@@ -51,11 +52,13 @@ class FmpProviderTest {
   private StringRedisTemplate redisTemplate;
   @Mock
   private ValueOperations<String, String> valueOps;
+  private SimpleMeterRegistry meterRegistry;
   private FmpProvider fmpProvider;
 
   @BeforeEach
   void setUp() {
-    fmpProvider = new FmpProvider(fmpClient, responseMapper, redisTemplate);
+    meterRegistry = new SimpleMeterRegistry();
+    fmpProvider = new FmpProvider(fmpClient, responseMapper, redisTemplate, meterRegistry);
     ReflectionTestUtils.setField(fmpProvider, "fmpDailyLimit", 250);
     lenient().when(redisTemplate.opsForValue()).thenReturn(valueOps);
   }
@@ -91,6 +94,33 @@ class FmpProviderTest {
 
       assertThat(isBlocked).isTrue();
     }
+
+    @Test
+    @DisplayName("should publish remaining quota after each reservation")
+    void shouldPublishRemainingQuota() {
+      when(valueOps.increment(anyString(), anyLong())).thenReturn(40L);
+
+      ReflectionTestUtils.invokeMethod(fmpProvider, "tryReserve", 1);
+
+      assertThat(meterRegistry.get("fortunelink.market.fmp.quota.remaining").gauge().value())
+          .isEqualTo(210.0);
+      assertThat(meterRegistry.get("fortunelink.market.fmp.quota.rejections").counter().count())
+          .isZero();
+    }
+
+    @Test
+    @DisplayName("should count rejections and publish the refunded usage when over the limit")
+    void shouldCountRejections() {
+      when(valueOps.increment(anyString(), anyLong())).thenReturn(251L);
+      when(valueOps.decrement(anyString(), anyLong())).thenReturn(250L);
+
+      ReflectionTestUtils.invokeMethod(fmpProvider, "tryReserve", 1);
+
+      assertThat(meterRegistry.get("fortunelink.market.fmp.quota.remaining").gauge().value())
+          .isZero();
+      assertThat(meterRegistry.get("fortunelink.market.fmp.quota.rejections").counter().count())
+          .isEqualTo(1.0);
+    }
   }
 
   @Nested
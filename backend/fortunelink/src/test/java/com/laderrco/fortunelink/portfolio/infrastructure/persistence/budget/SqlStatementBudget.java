@@ -0,0 +1,65 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.budget;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Counts the SQL Hibernate prepares on the current thread while a budgeted block runs.
+ * <p>
+ * Registered through {@code hibernate.session_factory.statement_inspector}, so every JPQL, Criteria
+ * and native statement passes through {@link #inspect}; Hibernate creates the instance itself,
+ * which is why the recording lives in a static thread-local. Only the calling thread is counted:
+ * a MockMvc request or a directly invoked job is measured, while async listeners and pool workers
+ * it hands off to are not.
+ */
+public final class SqlStatementBudget implements StatementInspector {
+  private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+  /**
+   * Runs {@code action} and fails if it prepared more than {@code budget} statements. The failure
+   * lists every statement, so the new query is easy to spot.
+   */
+  public static void assertWithin(int budget, String label, Executable action) throws Throwable {
+    List<String> statements = record(action);
+    if (statements.size() > budget) {
+      StringBuilder message = new StringBuilder().append(label).append(" issued ")
+          .append(statements.size()).append(" SQL statements, budget is ").append(budget);
+      for (int i = 0; i < statements.size(); i++) {
+        message.append(System.lineSeparator()).append("  ").append(i + 1).append(": ")
+            .append(statements.get(i));
+      }
+      throw new AssertionError(message.toString());
+    }
+  }
+
+  /**
+   * Statements prepared on this thread while {@code action} ran, in order.
+   */
+  public static List<String> record(Executable action) throws Throwable {
+    List<String> statements = new ArrayList<>();
+    List<String> outer = RECORDING.get();
+    RECORDING.set(statements);
+    try {
+      action.execute();
+    } finally {
+      if (outer == null) {
+        RECORDING.remove();
+      } else {
+        outer.addAll(statements);
+        RECORDING.set(outer);
+      }
+    }
+    return statements;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    List<String> statements = RECORDING.get();
+    if (statements != null) {
+      statements.add(sql);
+    }
+    return sql;
+  }
+}
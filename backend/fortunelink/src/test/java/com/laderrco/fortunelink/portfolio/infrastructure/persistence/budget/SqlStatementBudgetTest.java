@@ -0,0 +1,427 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.budget;
+
+import static com.laderrco.fortunelink.portfolio.infrastructure.persistence.budget.SqlStatementBudget.assertWithin;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.laderrco.fortunelink.portfolio.application.commands.CreateAccountCommand;
+import com.laderrco.fortunelink.portfolio.application.commands.CreatePortfolioCommand;
+import com.laderrco.fortunelink.portfolio.application.commands.records.RecordDepositCommand;
+import com.laderrco.fortunelink.portfolio.application.commands.records.RecordPurchaseCommand;
+import com.laderrco.fortunelink.portfolio.application.commands.records.RecordSaleCommand;
+import com.laderrco.fortunelink.portfolio.application.repositories.AccountRepairRepository;
+import com.laderrco.fortunelink.portfolio.application.services.AccountLifecycleService;
+import com.laderrco.fortunelink.portfolio.application.services.EventPublicationResubmitter;
+import com.laderrco.fortunelink.portfolio.application.services.NetWorthSnapshotService;
+import com.laderrco.fortunelink.portfolio.application.services.PortfolioLifecycleService;
+import com.laderrco.fortunelink.portfolio.application.services.PositionRecalculationService;
+import com.laderrco.fortunelink.portfolio.application.services.StaleAccountSweeper;
+import com.laderrco.fortunelink.portfolio.application.services.TransactionPurgeService;
+import com.laderrco.fortunelink.portfolio.application.services.TransactionService;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AccountType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import com.laderrco.fortunelink.portfolio.domain.repositories.PortfolioRepository;
+import com.laderrco.fortunelink.portfolio.domain.services.MarketDataService;
+import com.laderrco.fortunelink.portfolio.infrastructure.config.limiting.RateLimitInterceptor;
+import com.laderrco.fortunelink.portfolio.infrastructure.config.securitytestsuite.TestSecurityConfig;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Upper bounds on the SQL each endpoint and scheduled job may issue, measured on Postgres with
+ * caching off so every request takes its uncached path. The versioned view cache stays on; every
+ * test seeds a fresh portfolio, so the first read of a view is always a miss.
+ * <p>
+ * Each user gets one portfolio with {@value #ACCOUNTS} ACB accounts, each holding
+ * {@value #SYMBOLS_PER_ACCOUNT} symbols and one realized gain. A query that runs once per account,
+ * position or transaction therefore costs several statements more than the batched version and
+ * breaks the budget. Raising a budget is a deliberate change, made next to the code that needs it.
+ * <p>
+ * Every account-changing write also pays four statements before commit to refresh the account
+ * read model; account reads pay one query against it.
+ * <p>
+ * No budget counts a per-account or per-row lookup: the portfolio graph comes back in one query
+ * and is saved from the persistence context, new transactions are inserted without a lookup, and
+ * fees and excluded counts are fetched for all accounts at once.
+ */
+@SuppressWarnings("resource")
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.laderrco.fortunelink.portfolio.infrastructure.persistence.budget.SqlStatementBudget",
+    "spring.cache.type=none"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+@Testcontainers
+@DisplayName("SQL Statement Budgets")
+class SqlStatementBudgetTest {
+  private static final Currency CAD = Currency.CAD;
+  private static final int ACCOUNTS = 3;
+  private static final int SYMBOLS_PER_ACCOUNT = 3;
+  private static final List<String> SYMBOLS = List.of("AAPL", "MSFT", "SHOP");
+
+  @Container
+  @ServiceConnection
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.9-alpine")
+      .withInitScript("init-auth.sql");
+
+  @Container
+  static GenericContainer<?> redis = new GenericContainer<>(
+      DockerImageName.parse("redis:8.6.2-alpine")).withExposedPorts(6379);
+
+  @DynamicPropertySource
+  static void redisProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.redis.host", redis::getHost);
+    registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+  }
+
+  @MockitoBean
+  private MarketDataService marketDataService;
+  @MockitoBean
+  private RateLimitInterceptor rateLimitInterceptor;
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private PortfolioLifecycleService portfolioLifecycleService;
+  @Autowired
+  private AccountLifecycleService accountLifecycleService;
+  @Autowired
+  private TransactionService transactionService;
+  @Autowired
+  private PortfolioRepository portfolioRepository;
+  @Autowired
+  private AccountRepairRepository accountRepairRepository;
+
+  private UserId userId;
+  private PortfolioId portfolioId;
+  private AccountId accountId;
+  private TransactionId buyId;
+
+  @BeforeEach
+  void seed() throws Exception {
+    when(rateLimitInterceptor.preHandle(any(), any(), any())).thenReturn(true);
+
+    userId = newUser();
+    portfolioId = portfolioLifecycleService.createPortfolio(
+        new CreatePortfolioCommand(userId, "Budget", "", CAD, false, null, null)).portfolioId();
+
+    Instant at = Instant.now().minus(Duration.ofDays(30));
+    List<AccountId> accounts = new ArrayList<>();
+    for (int i = 0; i < ACCOUNTS; i++) {
+      AccountId account = accountLifecycleService.createAccount(
+          new CreateAccountCommand(portfolioId, userId, "Account " + i, AccountType.TFSA,
+              PositionStrategy.ACB, CAD)).accountId();
+      transactionService.recordDeposit(new RecordDepositCommand(UUID.randomUUID(), portfolioId,
+          userId, account, Money.of("100000", CAD), at, ""));
+      for (String symbol : SYMBOLS) {
+        at = at.plusSeconds(60);
+        TransactionId id = transactionService.recordPurchase(
+            new RecordPurchaseCommand(UUID.randomUUID(), portfolioId, userId, account, symbol,
+                AssetType.STOCK, Quantity.of(10), Price.of("100", CAD), List.of(), at, "",
+                false)).transactionId();
+        if (buyId == null) {
+          buyId = id;
+        }
+      }
+      at = at.plusSeconds(60);
+      transactionService.recordSale(new RecordSaleCommand(UUID.randomUUID(), portfolioId, userId,
+          account, SYMBOLS.getFirst(), Quantity.of(5), Price.of("120", CAD), List.of(), at, "",
+          List.of()));
+      accounts.add(account);
+    }
+    accountId = accounts.getFirst();
+  }
+
+  @Nested
+  @DisplayName("PortfolioController")
+  class PortfolioEndpoints {
+    @Test
+    @DisplayName("POST /portfolios")
+    void createPortfolio() throws Throwable {
+      UserId newcomer = newUser();
+      expect(9, HttpMethod.POST, "/api/v1/portfolios", newcomer, """
+          {"name": "Fresh", "currency": "CAD", "createDefaultAccount": true,
+           "defaultAccountType": "TFSA", "defaultStrategy": "ACB"}""", 201);
+    }
+
+    @Test
+    @DisplayName("GET /portfolios")
+    void listPortfolios() throws Throwable {
+      expect(8, HttpMethod.GET, "/api/v1/portfolios", 200);
+    }
+
+    @Test
+    @DisplayName("GET /portfolios/{id}")
+    void getPortfolio() throws Throwable {
+      expect(5, HttpMethod.GET, portfolioPath(), 200);
+    }
+
+    @Test
+    @DisplayName("GET /portfolios/{id} repeated: only the version stamp")
+    void getPortfolioAgain() throws Throwable {
+      expect(5, HttpMethod.GET, portfolioPath(), 200);
+      expect(1, HttpMethod.GET, portfolioPath(), 200);
+    }
+
+    @Test
+    @DisplayName("GET /portfolios/{id}/net-worth")
+    void getNetWorth() throws Throwable {
+      expect(6, HttpMethod.GET, portfolioPath() + "/net-worth", 200);
+    }
+
+    @Test
+    @DisplayName("PATCH /portfolios/{id}")
+    void updatePortfolio() throws Throwable {
+      expect(13, HttpMethod.PATCH, portfolioPath(), userId, """
+          {"name": "Renamed"}""", 200);
+    }
+
+    @Test
+    @DisplayName("DELETE /portfolios/{id}")
+    void deletePortfolio() throws Throwable {
+      expect(13, HttpMethod.DELETE, portfolioPath(), 204);
+    }
+  }
+
+  @Nested
+  @DisplayName("AccountController")
+  class AccountEndpoints {
+    @Test
+    @DisplayName("POST /accounts")
+    void createAccount() throws Throwable {
+      expect(13, HttpMethod.POST, portfolioPath() + "/accounts", userId, """
+          {"accountName": "Another", "accountType": "TFSA", "strategy": "ACB",
+           "currency": "CAD"}""", 201);
+    }
+
+    @Test
+    @DisplayName("GET /accounts")
+    void listAccounts() throws Throwable {
+      expect(1, HttpMethod.GET, portfolioPath() + "/accounts", 200);
+    }
+
+    @Test
+    @DisplayName("GET /accounts/{id}")
+    void getAccount() throws Throwable {
+      expect(2, HttpMethod.GET, accountPath(), 200);
+    }
+
+    @Test
+    @DisplayName("GET /accounts/{id} repeated: only the version stamp")
+    void getAccountAgain() throws Throwable {
+      expect(2, HttpMethod.GET, accountPath(), 200);
+      expect(1, HttpMethod.GET, accountPath(), 200);
+    }
+
+    @Test
+    @DisplayName("PUT /accounts/{id}")
+    void updateAccount() throws Throwable {
+      expect(11, HttpMethod.PUT, accountPath(), userId, """
+          {"accountName": "Renamed"}""", 204);
+    }
+
+    @Test
+    @DisplayName("DELETE /accounts/{id} and PATCH /accounts/{id}/reopen")
+    void closeAndReopenAccount() throws Throwable {
+      AccountId empty = accountLifecycleService.createAccount(
+          new CreateAccountCommand(portfolioId, userId, "Empty", AccountType.TFSA,
+              PositionStrategy.ACB, CAD)).accountId();
+      String path = portfolioPath() + "/accounts/" + empty;
+
+      expect(12, HttpMethod.DELETE, path, 204);
+      expect(12, HttpMethod.PATCH, path + "/reopen", 204);
+    }
+  }
+
+  @Nested
+  @DisplayName("TransactionController")
+  class TransactionEndpoints {
+    @Test
+    @DisplayName("POST /transactions/deposit")
+    void deposit() throws Throwable {
+      expect(19, HttpMethod.POST, transactionsPath() + "/deposit", userId, """
+          {"amount": 500, "currency": "CAD"}""", 201);
+    }
+
+    @Test
+    @DisplayName("POST /transactions/buy")
+    void buy() throws Throwable {
+      expect(23, HttpMethod.POST, transactionsPath() + "/buy", userId, """
+          {"symbol": "MSFT", "type": "STOCK", "quantity": 2, "price": 100,
+           "currency": "CAD"}""", 201);
+    }
+
+    @Test
+    @DisplayName("POST /transactions/sell")
+    void sell() throws Throwable {
+      expect(27, HttpMethod.POST, transactionsPath() + "/sell", userId, """
+          {"symbol": "MSFT", "quantity": 2, "price": 110, "currency": "CAD"}""", 201);
+    }
+
+    @Test
+    @DisplayName("GET /transactions")
+    void history() throws Throwable {
+      expect(6, HttpMethod.GET, transactionsPath(), 200);
+    }
+
+    @Test
+    @DisplayName("GET /transactions/{id}")
+    void getTransaction() throws Throwable {
+      expect(5, HttpMethod.GET, transactionsPath() + "/" + buyId, 200);
+    }
+
+    @Test
+    @DisplayName("PATCH /transactions/{id}/exclude and /restore")
+    void excludeAndRestore() throws Throwable {
+      expect(27, HttpMethod.PATCH, transactionsPath() + "/" + buyId + "/exclude", userId, """
+          {"reason": "Duplicate entry"}""", 200);
+      expect(27, HttpMethod.PATCH, transactionsPath() + "/" + buyId + "/restore", 200);
+    }
+  }
+
+  @Nested
+  @DisplayName("Read-only reporting endpoints")
+  class ReportingEndpoints {
+    @Test
+    @DisplayName("GET /realized-gains")
+    void realizedGains() throws Throwable {
+      expect(6, HttpMethod.GET, accountPath() + "/realized-gains", 200);
+    }
+
+    @Test
+    @DisplayName("GET /net-worth/history")
+    void netWorthHistory() throws Throwable {
+      expect(2, HttpMethod.GET, "/api/v1/net-worth/history", 200);
+    }
+  }
+
+  @Nested
+  @DisplayName("Scheduled jobs")
+  class ScheduledJobs {
+    @Autowired
+    private NetWorthSnapshotService snapshotService;
+    @Autowired
+    private StaleAccountSweeper sweeper;
+    @Autowired
+    private TransactionPurgeService purgeService;
+    @Autowired
+    private EventPublicationResubmitter resubmitter;
+    @Autowired
+    private PositionRecalculationService recalculationService;
+
+    @Test
+    @DisplayName("NetWorthSnapshotService.snapshotAllUsers: constant cost per active user")
+    void snapshotAllUsers() throws Throwable {
+      int users = portfolioRepository.findAllActiveUserIds().size();
+      assertWithin(1 + 8 * users, "snapshotAllUsers", snapshotService::snapshotAllUsers);
+    }
+
+    @Test
+    @DisplayName("StaleAccountSweeper.sweep: one history count per repairable account")
+    void sweep() throws Throwable {
+      int stale = accountRepairRepository.findRepairableAfter(new UUID(0, 0), Instant.now(),
+          Integer.MAX_VALUE).size();
+      // Replays are only queued; they run as background recalculations, budgeted separately.
+      assertWithin(2 + stale, "sweep", sweeper::sweep);
+    }
+
+    @Test
+    @DisplayName("TransactionPurgeService: one bulk delete per job")
+    void purges() throws Throwable {
+      assertWithin(2, "purgeExpiredTransactions", purgeService::purgeExpiredTransactions);
+      assertWithin(2, "purgeExpiredAssetInfo", purgeService::purgeExpiredAssetInfo);
+    }
+
+    @Test
+    @DisplayName("EventPublicationResubmitter: a single claim when nothing is old enough")
+    void eventResubmission() throws Throwable {
+      assertWithin(1, "resubmitIncomplete", resubmitter::resubmitIncomplete);
+      assertWithin(2, "pruneArchive", resubmitter::pruneArchive);
+    }
+
+    @Test
+    @DisplayName("PositionRecalculationService.drainQueue: claims from Redis without SQL")
+    void drainQueue() throws Throwable {
+      assertWithin(0, "drainQueue", recalculationService::drainQueue);
+    }
+  }
+
+  private void expect(int budget, HttpMethod method, String path, int status) throws Throwable {
+    expect(budget, method, path, userId, null, status);
+  }
+
+  /**
+   * Performs the request as {@code caller} and holds it to {@code budget}. Every request carries an
+   * Idempotency-Key, as the frontend always sends one.
+   */
+  private void expect(int budget, HttpMethod method, String path, UserId caller, String body,
+      int status) throws Throwable {
+    MockHttpServletRequestBuilder request = request(method, path)
+        .header("Idempotency-Key", UUID.randomUUID().toString())
+        .with(jwt().jwt(j -> j.subject(caller.toString())));
+    if (body != null) {
+      request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+    assertWithin(budget, method + " " + path,
+        () -> mockMvc.perform(request).andExpect(status().is(status)));
+  }
+
+  private UserId newUser() {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update("INSERT INTO users (id, email) VALUES (?, ?)", id, id + "@budget.test");
+    return UserId.fromString(id.toString());
+  }
+
+  private String portfolioPath() {
+    return "/api/v1/portfolios/" + portfolioId;
+  }
+
+  private String accountPath() {
+    return portfolioPath() + "/accounts/" + accountId;
+  }
+
+  private String transactionsPath() {
+    return accountPath() + "/transactions";
+  }
+}
@@ -51,16 +51,23 @@ class AccountJpaEntityTest {
   }
 
   @Test
-  @DisplayName("addNewRealizedGains should append only and set back-reference")
-  void addNewRealizedGainsShouldAppend() {
+  @DisplayName("applyScalarsFrom should copy row columns without touching collections")
+  void applyScalarsFromShouldLeaveCollectionsAlone() {
+    AccountJpaEntity account = AccountJpaEntity.create(UUID.randomUUID(), null, "Old", "TFSA",
+        "USD", "ACB", "HEALTHY", "ACTIVE", BigDecimal.ZERO, "USD", null, Instant.now(),
+        Instant.now());
+    PositionJpaEntity position = mock(PositionJpaEntity.class);
+    account.replacePositions(Set.of(position));
 
-    AccountJpaEntity account = new AccountJpaEntity();
-    RealizedGainJpaEntity gain = mock(RealizedGainJpaEntity.class);
+    AccountJpaEntity source = AccountJpaEntity.create(account.getId(), null, "New", "TFSA", "USD",
+        "ACB", "STALE", "ACTIVE", BigDecimal.TEN, "USD", null, Instant.now(), Instant.now());
 
-    account.addNewRealizedGains(java.util.List.of(gain));
+    account.applyScalarsFrom(source);
 
-    assertThat(account.getRealizedGains()).contains(gain);
-    verify(gain).setAccount(account);
+    assertThat(account.getName()).isEqualTo("New");
+    assertThat(account.getHealthStatus()).isEqualTo("STALE");
+    assertThat(account.getCashBalanceAmount()).isEqualByComparingTo(BigDecimal.TEN);
+    assertThat(account.getPositions()).containsExactly(position);
   }
 
   @Test
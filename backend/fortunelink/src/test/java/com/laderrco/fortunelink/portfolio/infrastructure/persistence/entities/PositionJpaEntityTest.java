@@ -5,6 +5,7 @@ import static org.mockito.Mockito.mock;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -61,6 +62,25 @@ class PositionJpaEntityTest {
     assertThat(target.getLastModifiedAt()).isEqualTo(newTime);
   }
 
+  @Test
+  @DisplayName("replaceLots() should keep rows by lot sequence, add new lots and drop sold ones")
+  void replaceLotsShouldReconcileBySeq() {
+
+    PositionJpaEntity target = PositionJpaEntity.create(UUID.randomUUID(),
+        mock(AccountJpaEntity.class), "MARKET", "AAPL", "STOCK", BigDecimal.TEN, BigDecimal.TEN,
+        "USD", Instant.MIN, Instant.MIN);
+    TaxLotJpaEntity sold = lot(0, "4");
+    TaxLotJpaEntity trimmed = lot(1, "6");
+    target.replaceLots(List.of(sold, trimmed));
+
+    target.replaceLots(List.of(lot(1, "2"), lot(2, "5")));
+
+    assertThat(target.getLots()).extracting(TaxLotJpaEntity::getLotSeq).containsExactly(1L, 2L);
+    assertThat(target.getLots().getFirst()).isSameAs(trimmed);
+    assertThat(trimmed.getQuantity()).isEqualByComparingTo("2");
+    assertThat(target.getLots()).allMatch(l -> l.getPosition() == target);
+  }
+
   @Test
   @DisplayName("setAccount() should update the account reference")
   void setAccountShouldUpdateReference() {
@@ -72,4 +92,9 @@ class PositionJpaEntityTest {
 
     assertThat(entity.getAccount()).isEqualTo(newAccount);
   }
-}
\ No newline at end of file
+
+  private static TaxLotJpaEntity lot(long seq, String quantity) {
+    return TaxLotJpaEntity.create(UUID.randomUUID(), seq, null, new BigDecimal(quantity),
+        BigDecimal.TEN, "USD", Instant.EPOCH);
+  }
+}
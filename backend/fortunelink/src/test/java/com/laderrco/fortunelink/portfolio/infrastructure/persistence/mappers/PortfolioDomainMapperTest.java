@@ -10,17 +10,25 @@ import com.laderrco.fortunelink.portfolio.domain.model.enums.AssetType;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.HealthStatus;
 import com.laderrco.fortunelink.portfolio.domain.model.enums.PositionStrategy;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.LotSelection;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.TaxLot;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.AcbPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.FifoPosition;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.Position;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.PositionCheckpoint;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.positions.SpecificIdPosition;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.TransactionId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.AccountJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PortfolioJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PositionCheckpointJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PositionJpaEntity;
-import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.TaxLotJpaEntity;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
@@ -71,8 +79,7 @@ class PortfolioDomainMapperTest {
     Account updatedAccount = Account.reconstitute(ACCOUNT_ID, "Trading",
         AccountType.NON_REGISTERED_INVESTMENT, Currency.of("USD"), PositionStrategy.FIFO,
         HealthStatus.HEALTHY, AccountLifecycleState.ACTIVE, null, Instant.now(), Instant.now(),
-        new Money(BigDecimal.ZERO, Currency.of("USD")), Map.of(new AssetSymbol("MSFT"), msftPos),
-        List.of());
+        new Money(BigDecimal.ZERO, Currency.of("USD")), Map.of(new AssetSymbol("MSFT"), msftPos));
 
     Portfolio updatedDomain = Portfolio.reconstitute(PORTFOLIO_ID, USER_ID, "Main Portfolio",
         "Desc", Map.of(updatedAccount.getAccountId(), updatedAccount), Currency.of("USD"), false,
@@ -104,7 +111,7 @@ class PortfolioDomainMapperTest {
     Account account = Account.reconstitute(AccountId.fromString(ACCOUNT_UUID.toString()), "Trading",
         AccountType.TAXABLE_INVESTMENT, Currency.of("USD"), PositionStrategy.FIFO,
         HealthStatus.HEALTHY, AccountLifecycleState.ACTIVE, null, Instant.now(), Instant.now(),
-        new Money(BigDecimal.ZERO, Currency.of("USD")), Map.of(), List.of());
+        new Money(BigDecimal.ZERO, Currency.of("USD")), Map.of());
 
     return Portfolio.reconstitute(PortfolioId.fromString(PORTFOLIO_UUID.toString()),
         UserId.fromString(USER_UUID.toString()), "Main Portfolio", "Desc",
@@ -171,21 +178,16 @@ class PortfolioDomainMapperTest {
   class CollectionStrategy {
 
     @Test
-    @DisplayName("Realized gains should use append-only logic based on stable UUIDs")
-    void realizedGainsShouldUseAppendOnlyLogic() {
+    @DisplayName("Realized gains should be neither hydrated nor written by the mapper")
+    void realizedGainsShouldBeLeftToTheRepository() {
 
       PortfolioJpaEntity existingPortfolio = createBasePortfolioEntity();
       AccountJpaEntity existingAccount = createBaseAccountEntity(existingPortfolio);
-
-      UUID existingGainId = UUID.randomUUID();
-      RealizedGainJpaEntity existingGain = RealizedGainJpaEntity.create(existingGainId,
-          existingAccount, "AAPL", BigDecimal.TEN, "USD", BigDecimal.ONE, "USD", Instant.now());
-
-      existingAccount.addNewRealizedGains(List.of(existingGain));
       existingPortfolio.replaceAccounts(List.of(existingAccount));
 
       Portfolio domain = mapper.toDomain(existingPortfolio);
       Account domainAccount = domain.getAccounts().iterator().next();
+      assertThat(domainAccount.getNewRealizedGains()).isEmpty();
 
       domainAccount.recordRealizedGain(new AssetSymbol("MSFT"), Money.of(50, Currency.USD),
           new Money(BigDecimal.TEN, Currency.of("USD")), Instant.now());
@@ -195,8 +197,124 @@ class PortfolioDomainMapperTest {
       AccountJpaEntity resultAccount = result.getAccounts().stream()
           .filter(a -> a.getId().equals(ACCOUNT_UUID)).findFirst().orElseThrow();
 
-      assertThat(resultAccount.getRealizedGains()).hasSize(2);
-      assertThat(resultAccount.getRealizedGains()).contains(existingGain);
+      // New gains are inserted by PortfolioRepositoryImpl, never through the collection
+      assertThat(resultAccount.getRealizedGains()).isEmpty();
+      assertThat(domainAccount.getNewRealizedGains()).hasSize(1);
+    }
+  }
+
+  @Nested
+  @DisplayName("FIFO Positions")
+  class FifoPositions {
+    private static final Instant T1 = Instant.parse("2023-01-01T10:00:00Z");
+    private static final Instant T2 = Instant.parse("2023-02-01T10:00:00Z");
+
+    private FifoPosition soldPosition() {
+      FifoPosition pos = FifoPosition.reconstitute(new AssetSymbol("MSFT"), AssetType.STOCK,
+          Currency.USD, 0, List.of(
+              new TaxLot(Quantity.of(10), Money.of(100, Currency.USD), T1),
+              new TaxLot(Quantity.of(10), Money.of(200, Currency.USD), T2)), T2);
+      return pos.sell(Quantity.of(12), Money.of(300, Currency.USD), T2).newPosition();
+    }
+
+    @Test
+    @DisplayName("positionToEntity writes one lot row per open lot, keyed by sequence number")
+    void positionToEntityWritesLots() {
+      AccountJpaEntity account = createBaseAccountEntity(createBasePortfolioEntity());
+
+      PositionJpaEntity entity = mapper.positionToEntity(UUID.randomUUID(), account,
+          soldPosition());
+
+      assertThat(entity.getLots()).extracting(TaxLotJpaEntity::getLotSeq).containsExactly(1L);
+      assertThat(entity.getLots().getFirst().getQuantity()).isEqualByComparingTo("8");
+      assertThat(entity.getQuantity()).isEqualByComparingTo("8");
+      assertThat(entity.getCostBasisAmount()).isEqualByComparingTo("160");
+      assertThat(entity.getAcquiredDate()).isEqualTo(T2);
+    }
+
+    @Test
+    @DisplayName("accountToDomain rebuilds a FIFO position from its lot rows")
+    void accountToDomainRebuildsFifoPosition() {
+      AccountJpaEntity account = createBaseAccountEntity(createBasePortfolioEntity());
+      FifoPosition original = soldPosition();
+      account.replacePositions(
+          Set.of(mapper.positionToEntity(UUID.randomUUID(), account, original)));
+
+      Account domain = mapper.accountToDomain(account);
+
+      Position position = domain.getPosition(new AssetSymbol("MSFT")).orElseThrow();
+      assertThat(position).isInstanceOf(FifoPosition.class);
+      FifoPosition fifo = (FifoPosition) position;
+      assertThat(fifo.lots()).isEqualTo(original.lots());
+      assertThat(fifo.ledger().firstSeq()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("checkpoint round trip keeps the lots and their sequence numbers")
+    void checkpointRoundTripKeepsLots() {
+      FifoPosition original = soldPosition();
+      PositionCheckpoint checkpoint = new PositionCheckpoint(ACCOUNT_ID, original.symbol(), T2,
+          TransactionId.newId(), original);
+
+      PositionCheckpointJpaEntity entity = mapper.checkpointToEntity(UUID.randomUUID(),
+          checkpoint);
+      PositionCheckpoint restored = mapper.checkpointToDomain(entity);
+
+      assertThat(entity.hasLots()).isTrue();
+      FifoPosition fifo = (FifoPosition) restored.position();
+      assertThat(fifo.lots()).isEqualTo(original.lots());
+      assertThat(fifo.ledger().firstSeq()).isEqualTo(1);
+    }
+  }
+
+  @Nested
+  @DisplayName("SPECIFIC_ID Positions")
+  class SpecificIdPositions {
+    private static final Instant T1 = Instant.parse("2023-01-01T10:00:00Z");
+    private static final Instant T2 = Instant.parse("2023-02-01T10:00:00Z");
+    private final TransactionId firstLot = TransactionId.newId();
+    private final TransactionId secondLot = TransactionId.newId();
+    private final TransactionId thirdLot = TransactionId.newId();
+
+    // Closing the middle lot leaves seqs 0 and 2
+    private SpecificIdPosition soldPosition() {
+      return SpecificIdPosition.empty(new AssetSymbol("MSFT"), AssetType.STOCK, Currency.USD)
+          .buy(Quantity.of(10), Money.of(100, Currency.USD), T1, firstLot).newPosition()
+          .buy(Quantity.of(10), Money.of(200, Currency.USD), T1, secondLot).newPosition()
+          .buy(Quantity.of(10), Money.of(300, Currency.USD), T2, thirdLot).newPosition()
+          .sell(Quantity.of(10), Money.of(250, Currency.USD), T2,
+              List.of(new LotSelection(secondLot, Quantity.of(10)))).newPosition();
+    }
+
+    @Test
+    @DisplayName("positionToEntity writes each lot's id and keeps seq gaps")
+    void positionToEntityWritesLotIds() {
+      AccountJpaEntity account = createBaseAccountEntity(createBasePortfolioEntity());
+
+      PositionJpaEntity entity = mapper.positionToEntity(UUID.randomUUID(), account,
+          soldPosition());
+
+      assertThat(entity.getLots()).extracting(TaxLotJpaEntity::getLotSeq).containsExactly(0L, 2L);
+      assertThat(entity.getLots()).extracting(TaxLotJpaEntity::getLotId)
+          .containsExactly(firstLot.id(), thirdLot.id());
+    }
+
+    @Test
+    @DisplayName("checkpoint round trip restores the strategy, lot ids and seqs")
+    void checkpointRoundTripKeepsLotIds() {
+      SpecificIdPosition original = soldPosition();
+      PositionCheckpoint checkpoint = new PositionCheckpoint(ACCOUNT_ID, original.symbol(), T2,
+          TransactionId.newId(), original);
+
+      PositionCheckpointJpaEntity entity = mapper.checkpointToEntity(UUID.randomUUID(),
+          checkpoint);
+      PositionCheckpoint restored = mapper.checkpointToDomain(entity);
+
+      assertThat(entity.getLotStrategy()).isEqualTo("SPECIFIC_ID");
+      assertThat(restored.position()).isInstanceOf(SpecificIdPosition.class);
+      SpecificIdPosition position = (SpecificIdPosition) restored.position();
+      assertThat(position.sequencedLots()).isEqualTo(original.sequencedLots());
+      assertThat(position.index().seqOf(thirdLot)).isEqualTo(2L);
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.GainsAggregation;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.AccountJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PortfolioJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainTotalJpaEntity;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * The totals are maintained by hand-written native SQL (grouping sets, ON CONFLICT), so only a
+ * real Postgres can say whether the rollups stay in step with the gain rows.
+ */
+@SuppressWarnings("resource")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers
+class JpaRealizedGainTotalRepositoryTest {
+  @Container
+  @ServiceConnection
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+      "postgres:17.9-alpine").withDatabaseName("testdb").withUsername("test").withPassword("test")
+      .withInitScript("init-auth.sql").withInitScript("seed_user_portfolio.sql");
+
+  static {
+    postgres.start();
+    try {
+      postgres.execInContainer("psql", "-U", "test", "-c", "CREATE SCHEMA IF NOT EXISTS auth;");
+      postgres.execInContainer("psql", "-U", "test", "-c",
+          "CREATE TABLE IF NOT EXISTS auth.users (id UUID PRIMARY KEY, email TEXT);");
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to initialize dummy auth schema", e);
+    }
+  }
+
+  private static final UUID TEST_USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+  private static final Instant JAN_2023 = Instant.parse("2023-01-15T10:00:00Z");
+  private static final Instant JUN_2024 = Instant.parse("2024-06-15T10:00:00Z");
+  private static final Instant SEP_2024 = Instant.parse("2024-09-15T10:00:00Z");
+
+  @Autowired
+  private JpaPortfolioRepository portfolioRepository;
+  @Autowired
+  private JpaRealizedGainRepository gainRepository;
+  @Autowired
+  private JpaRealizedGainTotalRepository totalsRepository;
+  @Autowired
+  private TestEntityManager entityManager;
+
+  private UUID accountId;
+  private AccountJpaEntity account;
+
+  @AfterAll
+  static void stopContainer() {
+    if (postgres != null) {
+      postgres.stop();
+      postgres.close();
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    UUID portfolioId = UUID.randomUUID();
+    PortfolioJpaEntity portfolio = PortfolioJpaEntity.create(portfolioId, TEST_USER_ID,
+        "Portfolio name", "DESC", "CAD", false, null, null, Instant.now(), Instant.now());
+    portfolioRepository.save(portfolio);
+
+    accountId = UUID.randomUUID();
+    account = AccountJpaEntity.create(accountId, portfolio, "Taxable", "TFSA", "CAD",
+        "FIFO", "HEALTHY", "ACTIVE", BigDecimal.ZERO, "CAD", null, Instant.now(), Instant.now());
+    portfolio.replaceAccounts(List.of(account));
+    portfolioRepository.save(portfolio);
+    entityManager.flush();
+  }
+
+  @Test
+  void addGainsMaintainsDetailAndRollupRows() {
+    insert("AAPL", "100", JAN_2023);
+    insert("AAPL", "-30", JUN_2024);
+    insert("MSFT", "50", SEP_2024);
+
+    assertTotals("AAPL", 2023, "100", "0");
+    assertTotals("AAPL", RealizedGainTotalJpaEntity.ALL_YEARS, "100", "30");
+    assertTotals(RealizedGainTotalJpaEntity.ALL_SYMBOLS, 2024, "50", "30");
+    assertTotals(RealizedGainTotalJpaEntity.ALL_SYMBOLS, RealizedGainTotalJpaEntity.ALL_YEARS,
+        "150", "30");
+  }
+
+  @Test
+  void subtractSymbolAfterRemovesOnlyTrimmedGains() {
+    insert("AAPL", "100", JAN_2023);
+    insert("AAPL", "-30", JUN_2024);
+    insert("MSFT", "50", SEP_2024);
+
+    totalsRepository.subtractSymbolAfter(accountId, "AAPL", JAN_2023);
+    gainRepository.deleteByAccountIdAndSymbolAfter(accountId, "AAPL", JAN_2023);
+    totalsRepository.deleteEmpty(accountId);
+
+    assertTotals("AAPL", RealizedGainTotalJpaEntity.ALL_YEARS, "100", "0");
+    assertTotals(RealizedGainTotalJpaEntity.ALL_SYMBOLS, 2024, "50", "0");
+    assertThat(totalsRepository.findAll()).noneMatch(t -> t.getGainCount() == 0);
+  }
+
+  @Test
+  void subtractSymbolsLeavesOtherSymbolsIntact() {
+    insert("AAPL", "100", JAN_2023);
+    insert("MSFT", "-20", SEP_2024);
+
+    totalsRepository.subtractSymbols(accountId, List.of("AAPL"));
+    gainRepository.deleteByAccountIdAndSymbolIn(accountId, List.of("AAPL"));
+    totalsRepository.deleteEmpty(accountId);
+
+    assertTotals("AAPL", RealizedGainTotalJpaEntity.ALL_YEARS, "0", "0");
+    assertTotals(RealizedGainTotalJpaEntity.ALL_SYMBOLS, RealizedGainTotalJpaEntity.ALL_YEARS,
+        "0", "20");
+  }
+
+  private void insert(String symbol, String gainLoss, Instant occurredAt) {
+    RealizedGainJpaEntity row = RealizedGainJpaEntity.create(UUID.randomUUID(), account, symbol,
+        new BigDecimal(gainLoss), "CAD", BigDecimal.TEN, "CAD", occurredAt, null);
+    gainRepository.saveAllAndFlush(List.of(row));
+    totalsRepository.addGains(accountId, List.of(row.getId()));
+  }
+
+  private void assertTotals(String symbol, int taxYear, String gains, String losses) {
+    GainsAggregation totals = totalsRepository.findTotals(accountId, symbol, taxYear);
+    assertThat(totals.sumGains()).isEqualByComparingTo(gains);
+    assertThat(totals.sumLosses()).isEqualByComparingTo(losses);
+  }
+}
@@ -3,24 +3,37 @@ package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositori
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Account;
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Portfolio;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.RealizedGainRecord;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.AccountJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PortfolioJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PositionJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.mappers.PortfolioDomainMapper;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -37,10 +50,21 @@ class PortfolioRepositoryImplTest {
   private static final UserId USER_ID = UserId.fromString(RAW_USER_ID.toString());
   private static final AccountId ACCOUNT_ID = AccountId.fromString(RAW_ACCOUNT_ID.toString());
   private static final String CAD = "CAD";
+  private static final UUID ROW_ID = UUID.randomUUID();
   @Mock
   private JpaPortfolioRepository jpaRepository;
   @Mock
+  private JpaAccountRepository jpaAccountRepository;
+  @Mock
+  private JpaPositionRepository jpaPositionRepository;
+  @Mock
+  private JpaRealizedGainRepository jpaRealizedGainRepository;
+  @Mock
+  private JpaRealizedGainTotalRepository jpaRealizedGainTotalRepository;
+  @Mock
   private PortfolioDomainMapper mapper;
+  @Mock
+  private AccountReadModelProjector readModelProjector;
   @InjectMocks
   private PortfolioRepositoryImpl repository;
 
@@ -63,7 +87,7 @@ class PortfolioRepositoryImplTest {
       updatedEntity.update("Updated Name", "new desc", CAD, false, null, null, Instant.now());
 
       when(domain.getPortfolioId()).thenReturn(PORTFOLIO_ID);
-      when(jpaRepository.findWithAccountsById(RAW_PORTFOLIO_ID)).thenReturn(
+      when(jpaRepository.findById(RAW_PORTFOLIO_ID)).thenReturn(
           Optional.of(existingEntity));
       when(mapper.toEntity(domain, existingEntity)).thenReturn(updatedEntity);
       when(jpaRepository.save(updatedEntity)).thenReturn(updatedEntity);
@@ -74,7 +98,7 @@ class PortfolioRepositoryImplTest {
       assertThat(result).isEqualTo(domain);
       assertThat(result.getAccounts().size()).isEqualTo(0);
       assertThat(existingEntity.getAccounts().size()).isEqualTo(0);
-      verify(jpaRepository).findWithAccountsById(RAW_PORTFOLIO_ID);
+      verify(jpaRepository).findById(RAW_PORTFOLIO_ID);
       verify(jpaRepository).save(updatedEntity);
     }
 
@@ -86,6 +110,84 @@ class PortfolioRepositoryImplTest {
     }
   }
 
+  @Nested
+  @DisplayName("Realized Gain Writes")
+  class RealizedGainWrites {
+
+    @Test
+    @DisplayName("save should delete all account gains after a full replay")
+    void saveShouldDeleteAllGainsAfterFullReplay() {
+      Portfolio domain = mock(Portfolio.class);
+      Account account = mock(Account.class);
+      PortfolioJpaEntity entity = create();
+
+      when(domain.getPortfolioId()).thenReturn(PORTFOLIO_ID);
+      when(domain.getAccounts()).thenReturn(List.of(account));
+      when(account.getAccountId()).thenReturn(ACCOUNT_ID);
+      when(account.isRealizedGainHistoryReset()).thenReturn(true);
+      when(jpaRepository.findById(RAW_PORTFOLIO_ID)).thenReturn(Optional.of(entity));
+      when(mapper.toEntity(domain, entity)).thenReturn(entity);
+      when(jpaRepository.save(entity)).thenReturn(entity);
+      when(mapper.toDomain(entity)).thenReturn(domain);
+
+      repository.save(domain);
+
+      verify(jpaRealizedGainTotalRepository).deleteByAccountId(RAW_ACCOUNT_ID);
+      verify(jpaRealizedGainRepository).deleteByAccountId(RAW_ACCOUNT_ID);
+      verify(jpaRealizedGainRepository, never()).deleteByAccountIdAndSymbolIn(any(), any());
+      verify(jpaRealizedGainRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("save should trim a rewound symbol's gains back to its checkpoint only")
+    void saveShouldTrimGainsAfterWatermark() {
+      Portfolio domain = mock(Portfolio.class);
+      Account account = mock(Account.class);
+      PortfolioJpaEntity entity = create();
+      Instant asOf = Instant.parse("2024-01-01T00:00:00Z");
+
+      when(domain.getPortfolioId()).thenReturn(PORTFOLIO_ID);
+      when(domain.getAccounts()).thenReturn(List.of(account));
+      when(account.getAccountId()).thenReturn(ACCOUNT_ID);
+      when(account.getRealizedGainResetWatermarks()).thenReturn(
+          Map.of(new AssetSymbol("AAPL"), asOf));
+      when(jpaRepository.findById(RAW_PORTFOLIO_ID)).thenReturn(Optional.of(entity));
+      when(mapper.toEntity(domain, entity)).thenReturn(entity);
+      when(jpaRepository.save(entity)).thenReturn(entity);
+      when(mapper.toDomain(entity)).thenReturn(domain);
+
+      repository.save(domain);
+
+      InOrder inOrder = inOrder(jpaRealizedGainTotalRepository, jpaRealizedGainRepository);
+      inOrder.verify(jpaRealizedGainTotalRepository).subtractSymbolAfter(RAW_ACCOUNT_ID, "AAPL",
+          asOf);
+      inOrder.verify(jpaRealizedGainRepository).deleteByAccountIdAndSymbolAfter(RAW_ACCOUNT_ID,
+          "AAPL", asOf);
+      inOrder.verify(jpaRealizedGainTotalRepository).deleteEmpty(RAW_ACCOUNT_ID);
+      verify(jpaRealizedGainRepository, never()).deleteByAccountIdAndSymbolIn(any(), any());
+    }
+
+    @Test
+    @DisplayName("save should not touch gain rows when nothing changed")
+    void saveShouldSkipGainWritesWhenUnchanged() {
+      Portfolio domain = mock(Portfolio.class);
+      Account account = mock(Account.class);
+      PortfolioJpaEntity entity = create();
+
+      when(domain.getPortfolioId()).thenReturn(PORTFOLIO_ID);
+      when(domain.getAccounts()).thenReturn(List.of(account));
+      when(account.getAccountId()).thenReturn(ACCOUNT_ID);
+      when(jpaRepository.findById(RAW_PORTFOLIO_ID)).thenReturn(Optional.of(entity));
+      when(mapper.toEntity(domain, entity)).thenReturn(entity);
+      when(jpaRepository.save(entity)).thenReturn(entity);
+      when(mapper.toDomain(entity)).thenReturn(domain);
+
+      repository.save(domain);
+
+      verifyNoInteractions(jpaRealizedGainRepository, jpaRealizedGainTotalRepository);
+    }
+  }
+
   @Nested
   @DisplayName("Query Operations")
   class QueryOperations {
@@ -134,6 +236,113 @@ class PortfolioRepositoryImplTest {
     }
   }
 
+  @Nested
+  @DisplayName("Account Slice Operations")
+  class AccountSliceOperations {
+    private final AssetSymbol aapl = new AssetSymbol("AAPL");
+
+    @Test
+    @DisplayName("findAccountSlice should load only the requested positions")
+    void findAccountSliceShouldLoadScopedPositions() {
+      AccountJpaEntity entity = mock(AccountJpaEntity.class);
+      PositionJpaEntity position = mock(PositionJpaEntity.class);
+      Account domain = mock(Account.class);
+
+      when(entity.getId()).thenReturn(RAW_ACCOUNT_ID);
+      when(position.getSymbol()).thenReturn("AAPL");
+      when(jpaAccountRepository.findSliceByIdWithOwnershipCheck(RAW_ACCOUNT_ID, RAW_PORTFOLIO_ID,
+          RAW_USER_ID)).thenReturn(Optional.of(entity));
+      when(jpaPositionRepository.findByAccountIdAndSymbolIn(RAW_ACCOUNT_ID,
+          List.of("AAPL"))).thenReturn(List.of(position));
+      when(mapper.accountSliceToDomain(any(), any())).thenReturn(domain);
+
+      Optional<Account> result = repository.findAccountSlice(PORTFOLIO_ID, USER_ID, ACCOUNT_ID,
+          Set.of(aapl));
+
+      assertThat(result).contains(domain);
+      verify(jpaPositionRepository).findByAccountIdAndSymbolIn(RAW_ACCOUNT_ID, List.of("AAPL"));
+    }
+
+    @Test
+    @DisplayName("findAccountSlice should skip the position query for an empty scope")
+    void findAccountSliceShouldSkipPositionsForEmptyScope() {
+      AccountJpaEntity entity = mock(AccountJpaEntity.class);
+      when(jpaAccountRepository.findSliceByIdWithOwnershipCheck(RAW_ACCOUNT_ID, RAW_PORTFOLIO_ID,
+          RAW_USER_ID)).thenReturn(Optional.of(entity));
+      when(mapper.accountSliceToDomain(any(), any())).thenReturn(mock(Account.class));
+
+      repository.findAccountSlice(PORTFOLIO_ID, USER_ID, ACCOUNT_ID, Set.of());
+
+      verify(jpaPositionRepository, never()).findByAccountIdAndSymbolIn(any(), any());
+    }
+
+    @Test
+    @DisplayName("saveAccountSlice should delete a position the command closed out")
+    void saveAccountSliceShouldDeleteClosedPosition() {
+      AccountJpaEntity entity = mock(AccountJpaEntity.class);
+      PositionJpaEntity position = mock(PositionJpaEntity.class);
+      Account domain = mock(Account.class);
+
+      when(domain.getAccountId()).thenReturn(ACCOUNT_ID);
+      when(domain.getPosition(aapl)).thenReturn(Optional.empty());
+      when(entity.getId()).thenReturn(RAW_ACCOUNT_ID);
+      when(position.getSymbol()).thenReturn("AAPL");
+      when(jpaAccountRepository.findById(RAW_ACCOUNT_ID)).thenReturn(Optional.of(entity));
+      when(jpaPositionRepository.findByAccountIdAndSymbolIn(RAW_ACCOUNT_ID,
+          List.of("AAPL"))).thenReturn(List.of(position));
+
+      repository.saveAccountSlice(domain, Set.of(aapl));
+
+      verify(mapper).applyAccountSlice(domain, entity);
+      verify(jpaPositionRepository).delete(position);
+      verify(jpaRealizedGainRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("saveAccountSlice should delete reset symbols before inserting new gains")
+    void saveAccountSliceShouldReplaceRecalculatedGains() {
+      AccountJpaEntity entity = mock(AccountJpaEntity.class);
+      AccountJpaEntity reference = mock(AccountJpaEntity.class);
+      Account domain = mock(Account.class);
+      RealizedGainRecord gain = RealizedGainRecord.of(ACCOUNT_ID, aapl, Money.of(10, CAD),
+          Money.of(100, CAD), Instant.now());
+      RealizedGainJpaEntity row = mock(RealizedGainJpaEntity.class);
+      when(row.getId()).thenReturn(ROW_ID);
+
+      when(domain.getAccountId()).thenReturn(ACCOUNT_ID);
+      when(domain.getResetRealizedGainSymbols()).thenReturn(Set.of(aapl));
+      when(domain.getNewRealizedGains()).thenReturn(List.of(gain));
+      when(jpaAccountRepository.findById(RAW_ACCOUNT_ID)).thenReturn(Optional.of(entity));
+      when(jpaAccountRepository.getReferenceById(RAW_ACCOUNT_ID)).thenReturn(reference);
+      when(jpaRealizedGainRepository.findExistingIds(List.of(gain.id()))).thenReturn(List.of());
+      when(mapper.realizedGainToEntity(gain.id(), reference, gain)).thenReturn(row);
+
+      repository.saveAccountSlice(domain, Set.of());
+
+      InOrder inOrder = inOrder(jpaRealizedGainTotalRepository, jpaRealizedGainRepository);
+      inOrder.verify(jpaRealizedGainTotalRepository).subtractSymbols(RAW_ACCOUNT_ID,
+          List.of("AAPL"));
+      inOrder.verify(jpaRealizedGainRepository).deleteByAccountIdAndSymbolIn(RAW_ACCOUNT_ID,
+          List.of("AAPL"));
+      inOrder.verify(jpaRealizedGainTotalRepository).deleteEmpty(RAW_ACCOUNT_ID);
+      inOrder.verify(jpaRealizedGainRepository).saveAllAndFlush(List.of(row));
+      inOrder.verify(jpaRealizedGainTotalRepository).addGains(RAW_ACCOUNT_ID,
+          List.of(ROW_ID));
+      verify(jpaRealizedGainRepository, never()).deleteByAccountId(any());
+    }
+
+    @Test
+    @DisplayName("saveAccountSlice should throw when the account row does not exist")
+    void saveAccountSliceShouldThrowWhenAccountMissing() {
+      Account domain = mock(Account.class);
+      when(domain.getAccountId()).thenReturn(ACCOUNT_ID);
+      when(jpaAccountRepository.findById(RAW_ACCOUNT_ID)).thenReturn(Optional.empty());
+
+      assertThatThrownBy(() -> repository.saveAccountSlice(domain, Set.of())).isInstanceOf(
+          IllegalStateException.class);
+    }
+  }
+
   @Nested
   @DisplayName("Existence Checks")
   class ExistenceChecks {
@@ -212,6 +421,7 @@ class PortfolioRepositoryImplTest {
     void markAccountStaleShouldDelegate() {
       repository.markAccountStale(ACCOUNT_ID);
       verify(jpaRepository).markAccountStale(RAW_ACCOUNT_ID);
+      verify(readModelProjector).accountChanged(ACCOUNT_ID);
     }
 
     @Test
@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.laderrco.fortunelink.portfolio.application.utils.valueobjects.GainsAggregation;
@@ -16,6 +17,7 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.AccountJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.PortfolioJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainJpaEntity;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.RealizedGainTotalJpaEntity;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
@@ -47,6 +49,8 @@ class RealizedGainsQueryRepositoryImplTest {
   private static final Pageable PAGEABLE = PageRequest.of(0, 10);
   @Mock
   private JpaRealizedGainRepository jpaRepository;
+  @Mock
+  private JpaRealizedGainTotalRepository totalsRepository;
   @InjectMocks
   private RealizedGainsQueryRepositoryImpl repository;
 
@@ -62,7 +66,7 @@ class RealizedGainsQueryRepositoryImplTest {
 
   private RealizedGainJpaEntity createMockEntity() {
     RealizedGainJpaEntity entity = RealizedGainJpaEntity.create(UUID.randomUUID(), createAccount(),
-        "AAPL", BigDecimal.ZERO, CAD, BigDecimal.ZERO, CAD, Instant.now());
+        "AAPL", BigDecimal.ZERO, CAD, BigDecimal.ZERO, CAD, Instant.now(), null);
     return entity;
   }
 
@@ -125,11 +129,11 @@ class RealizedGainsQueryRepositoryImplTest {
   class AggregationOperations {
 
     @Test
-    @DisplayName("calculateTotals should handle null symbol and return aggregation")
+    @DisplayName("calculateTotals should read the all-symbols rollup when no symbol is given")
     void calculateTotalsShouldHandleNullSymbol() {
       GainsAggregation expectedAggregation = mock(GainsAggregation.class);
-      when(jpaRepository.calculateTotals(RAW_ACCOUNT_ID, TAX_YEAR, null)).thenReturn(
-          expectedAggregation);
+      when(totalsRepository.findTotals(RAW_ACCOUNT_ID, RealizedGainTotalJpaEntity.ALL_SYMBOLS,
+          TAX_YEAR)).thenReturn(expectedAggregation);
 
       GainsAggregation result = repository.calculateTotals(ACCOUNT_ID, TAX_YEAR, null);
 
@@ -141,7 +145,17 @@ class RealizedGainsQueryRepositoryImplTest {
     void calculateTotalsShouldPassSymbolString() {
       repository.calculateTotals(ACCOUNT_ID, TAX_YEAR, SYMBOL);
 
-      verify(jpaRepository).calculateTotals(RAW_ACCOUNT_ID, TAX_YEAR, "AAPL");
+      verify(totalsRepository).findTotals(RAW_ACCOUNT_ID, "AAPL", TAX_YEAR);
+    }
+
+    @Test
+    @DisplayName("calculateTotals should read the all-years rollup when no year is given")
+    void calculateTotalsShouldUseAllYearsRollup() {
+      repository.calculateTotals(ACCOUNT_ID, null, SYMBOL);
+
+      verify(totalsRepository).findTotals(RAW_ACCOUNT_ID, "AAPL",
+          RealizedGainTotalJpaEntity.ALL_YEARS);
+      verifyNoInteractions(jpaRepository);
     }
 
     @Test
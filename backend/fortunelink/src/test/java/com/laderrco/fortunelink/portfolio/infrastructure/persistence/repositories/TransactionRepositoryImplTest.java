@@ -1,6 +1,7 @@
 package com.laderrco.fortunelink.portfolio.infrastructure.persistence.repositories;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
@@ -13,7 +14,12 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction;
+import com.laderrco.fortunelink.portfolio.domain.model.entities.Transaction.TradeExecution;
+import com.laderrco.fortunelink.portfolio.domain.model.enums.TransactionType;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Currency;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Money;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Price;
+import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.financial.Quantity;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AccountId;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.AssetSymbol;
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.PortfolioId;
@@ -21,7 +27,9 @@ import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.
 import com.laderrco.fortunelink.portfolio.domain.model.valueobjects.identifiers.UserId;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.entities.TransactionJpaEntity;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.mappers.TransactionDomainMapper;
+import com.laderrco.fortunelink.portfolio.infrastructure.persistence.valueobjects.ExcludedCountResult;
 import com.laderrco.fortunelink.portfolio.infrastructure.persistence.valueobjects.FeeAggregationResult;
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Collections;
@@ -30,6 +38,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -61,11 +70,19 @@ class TransactionRepositoryImplTest {
   @Mock
   private JpaTransactionRepository jpaRepository;
   @Mock
+  private JpaAccountRepository accountRepository;
+  @Mock
   private TransactionDomainMapper mapper;
   @Mock
   private CacheManager cacheManager;
   @Mock
   private Cache cache;
+  @Mock
+  private JpaPositionCheckpointRepository checkpointRepository;
+  @Mock
+  private EntityManager entityManager;
+  @Mock
+  private AccountReadModelProjector readModelProjector;
   @InjectMocks
   private TransactionRepositoryImpl repository;
 
@@ -80,12 +97,10 @@ class TransactionRepositoryImplTest {
   class SaveLogic {
 
     @Test
-    @DisplayName("save should insert new entity when transaction does not exist")
-    void saveShouldInsertNewWhenNotExists() {
+    @DisplayName("save should insert without looking the transaction up first")
+    void saveShouldInsertNewWithoutLookup() {
       Transaction domain = mock(Transaction.class);
       TransactionJpaEntity entity = createTransaction();
-      when(domain.transactionId()).thenReturn(TX_ID);
-      when(jpaRepository.findById(TX_UUID)).thenReturn(Optional.empty());
       when(mapper.toEntity(eq(domain), eq(PORTFOLIO_UUID), anyString())).thenReturn(entity);
       when(jpaRepository.save(entity)).thenReturn(entity);
       when(mapper.toDomain(entity)).thenReturn(domain);
@@ -95,22 +110,67 @@ class TransactionRepositoryImplTest {
       assertThat(result).isEqualTo(domain);
       verify(mapper).toEntity(domain, PORTFOLIO_UUID, IDEM_UUID.toString());
       verify(mapper, never()).applyExclusionState(any(), any());
+      verify(jpaRepository, never()).findById(any());
     }
 
     @Test
-    @DisplayName("save should update exclusion state when transaction exists")
-    void saveShouldUpdateExclusionStateWhenExists() {
+    @DisplayName("saveExclusionState should update the managed row and bump the account version")
+    void saveExclusionStateShouldUpdateManagedRow() {
       Transaction domain = mock(Transaction.class);
       TransactionJpaEntity existingEntity = createTransaction();
       when(domain.transactionId()).thenReturn(TX_ID);
+      when(domain.accountId()).thenReturn(ACCOUNT_ID);
       when(jpaRepository.findById(TX_UUID)).thenReturn(Optional.of(existingEntity));
-      when(jpaRepository.save(existingEntity)).thenReturn(existingEntity);
       when(mapper.toDomain(existingEntity)).thenReturn(domain);
 
-      repository.save(domain, PORTFOLIO_ID, IDEM_UUID);
+      repository.saveExclusionState(domain);
 
       verify(mapper).applyExclusionState(domain, existingEntity);
       verify(mapper, never()).toEntity(any(), any(), any());
+      verify(accountRepository).incrementVersions(List.of(ACCOUNT_UUID));
+    }
+
+    @Test
+    @DisplayName("saveExclusionState should reject a transaction that was never recorded")
+    void saveExclusionStateShouldRejectUnknownTransaction() {
+      Transaction domain = mock(Transaction.class);
+      when(domain.transactionId()).thenReturn(TX_ID);
+      when(jpaRepository.findById(TX_UUID)).thenReturn(Optional.empty());
+
+      assertThatThrownBy(() -> repository.saveExclusionState(domain))
+          .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("save should delete position checkpoints from the transaction's occurredAt onward")
+    void saveShouldInvalidateCheckpointTail() {
+      Instant occurredAt = Instant.parse("2024-03-01T00:00:00Z");
+      Transaction domain = mock(Transaction.class);
+      TransactionJpaEntity entity = createTransaction();
+      when(domain.accountId()).thenReturn(ACCOUNT_ID);
+      when(domain.transactionType()).thenReturn(TransactionType.BUY);
+      when(domain.execution()).thenReturn(
+          new TradeExecution(SYMBOL, Quantity.of(1), Price.of("10.00", Currency.CAD)));
+      when(domain.occurredAt()).thenReturn(occurredAt);
+      when(mapper.toEntity(eq(domain), eq(PORTFOLIO_UUID), anyString())).thenReturn(entity);
+      when(jpaRepository.save(entity)).thenReturn(entity);
+
+      repository.save(domain, PORTFOLIO_ID, IDEM_UUID);
+
+      verify(checkpointRepository).deleteFrom(ACCOUNT_UUID, "MSFT", occurredAt);
+    }
+
+    @Test
+    @DisplayName("save should leave checkpoints alone for cash-only transactions")
+    void saveShouldNotInvalidateCheckpointsForCash() {
+      Transaction domain = mock(Transaction.class);
+      TransactionJpaEntity entity = createTransaction();
+      when(mapper.toEntity(eq(domain), eq(PORTFOLIO_UUID), anyString())).thenReturn(entity);
+      when(jpaRepository.save(entity)).thenReturn(entity);
+
+      repository.save(domain, PORTFOLIO_ID, IDEM_UUID);
+
+      verifyNoInteractions(checkpointRepository);
     }
   }
 
@@ -199,8 +259,12 @@ class TransactionRepositoryImplTest {
     @DisplayName("deleteExpiredTransactions should delegate to jpa")
     void deleteExpiredShouldCallJpa() {
       Instant now = Instant.now();
+      when(jpaRepository.deleteExpiredTransactions(ACCOUNT_UUID, now)).thenReturn(2);
+
       repository.deleteExpiredTransactions(ACCOUNT_ID, now);
-      verify(jpaRepository).deleteExpiredTransactions(ACCOUNT_UUID, now);
+
+      verify(accountRepository).incrementVersions(List.of(ACCOUNT_UUID));
+      verify(readModelProjector).accountChanged(ACCOUNT_ID);
     }
 
     @Test
@@ -233,12 +297,28 @@ class TransactionRepositoryImplTest {
     @DisplayName("deleteAllExpiredTransactions should delegate to jpaRepository")
     void deleteAllExpiredTransactionsShouldCallJpa() {
       Instant cutoff = Instant.now();
+      when(jpaRepository.findAccountIdsWithExpiredTransactions(cutoff))
+          .thenReturn(List.of(ACCOUNT_UUID));
       when(jpaRepository.deleteAllExpiredTransactions(cutoff)).thenReturn(5);
 
       int result = repository.deleteAllExpiredTransactions(cutoff);
 
       assertThat(result).isEqualTo(5);
       verify(jpaRepository).deleteAllExpiredTransactions(cutoff);
+      verify(accountRepository).incrementVersions(List.of(ACCOUNT_UUID));
+      verify(readModelProjector).accountsChanged(List.of(ACCOUNT_ID));
+    }
+
+    @Test
+    @DisplayName("deleteAllExpiredTransactions should skip the delete when nothing has expired")
+    void deleteAllExpiredTransactionsShouldSkipWhenNothingExpired() {
+      Instant cutoff = Instant.now();
+      when(jpaRepository.findAccountIdsWithExpiredTransactions(cutoff)).thenReturn(List.of());
+
+      assertThat(repository.deleteAllExpiredTransactions(cutoff)).isZero();
+
+      verify(jpaRepository, never()).deleteAllExpiredTransactions(cutoff);
+      verifyNoInteractions(accountRepository, readModelProjector);
     }
   }
 
@@ -262,6 +342,37 @@ class TransactionRepositoryImplTest {
           ACCOUNT_UUID);
     }
 
+    @Test
+    @DisplayName("streamReplayHistory should map rows lazily and detach each one once mapped")
+    void streamReplayHistoryShouldDetachMappedRows() {
+      TransactionJpaEntity entity = createTransaction();
+      Transaction domain = mock(Transaction.class);
+      when(jpaRepository.streamActiveByAccountId(ACCOUNT_UUID)).thenReturn(Stream.of(entity));
+      when(mapper.toDomain(entity)).thenReturn(domain);
+
+      try (Stream<Transaction> results = repository.streamReplayHistory(ACCOUNT_ID)) {
+        verifyNoInteractions(mapper, entityManager);
+        assertThat(results).containsExactly(domain);
+      }
+
+      verify(entityManager).detach(entity);
+    }
+
+    @Test
+    @DisplayName("streamReplayHistory should pass symbol and checkpoint instant to the symbol stream")
+    void streamReplayHistoryBySymbolShouldUnwrapArguments() {
+      Instant after = Instant.parse("2024-01-01T00:00:00Z");
+      when(jpaRepository.streamActiveByAccountIdAndSymbol(ACCOUNT_UUID, "MSFT", after)).thenReturn(
+          Stream.empty());
+
+      try (Stream<Transaction> results = repository.streamReplayHistory(ACCOUNT_ID, SYMBOL,
+          after)) {
+        assertThat(results).isEmpty();
+      }
+
+      verify(jpaRepository).streamActiveByAccountIdAndSymbol(ACCOUNT_UUID, "MSFT", after);
+    }
+
     @Test
     @DisplayName("findByAccountIdAndDateRange should map results to domain")
     void findByAccountIdAndDateRangeShouldReturnDomainList() {
@@ -339,14 +450,26 @@ class TransactionRepositoryImplTest {
     }
 
     @Test
-    @DisplayName("countExcludedPositionAffecting should return int cast from jpa long")
-    void countExcludedPositionAffectingShouldReturnInt() {
-      when(jpaRepository.countExcludedPositionAffecting(ACCOUNT_UUID)).thenReturn(12L);
+    @DisplayName("countExcludedPositionAffecting should map each account's count in one query")
+    void countExcludedPositionAffectingShouldMapCounts() {
+      ExcludedCountResult row = mock(ExcludedCountResult.class);
+      when(row.getAccountId()).thenReturn(ACCOUNT_UUID);
+      when(row.getExcludedCount()).thenReturn(12L);
+      when(jpaRepository.countExcludedPositionAffecting(List.of(ACCOUNT_UUID))).thenReturn(
+          List.of(row));
+
+      Map<AccountId, Integer> counts = repository.countExcludedPositionAffecting(
+          Set.of(ACCOUNT_ID));
 
-      int count = repository.countExcludedPositionAffecting(ACCOUNT_ID);
+      assertThat(counts).containsExactly(Map.entry(ACCOUNT_ID, 12));
+    }
 
-      assertThat(count).isEqualTo(12);
-      verify(jpaRepository).countExcludedPositionAffecting(ACCOUNT_UUID);
+    @Test
+    @DisplayName("countExcludedPositionAffecting should skip the query for no accounts")
+    void countExcludedPositionAffectingShouldSkipEmpty() {
+      assertThat(repository.countExcludedPositionAffecting(Set.of())).isEmpty();
+
+      verifyNoInteractions(jpaRepository);
     }
   }
 